@@ -0,0 +1,208 @@
+package com.madimadica.betterenv;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ *     Compares JMH results written with {@code -rf csv} against a checked-in baseline, and exits with status 1 if any benchmark regressed.
+ * </p>
+ * <p>
+ *     A benchmark regressed if its normalized allocation ({@code gc.alloc.rate.norm}, from {@code -prof gc}) grew by more than {@code allocTolerance},
+ *     which is the hard gate because allocation is mostly independent of the machine the benchmarks run on and has little noise.
+ * </p>
+ * <p>
+ *     A benchmark also regressed if its score is more than {@code timeTolerance} slower than the baseline, and the slowdown is larger than
+ *     the sum of both {@code Score Error (99.9%)} intervals, so a score is not reported when its confidence interval overlaps the baseline's.
+ * </p>
+ * <pre>{@code
+ * java -cp benchmarks.jar com.madimadica.betterenv.BaselineComparator <baseline.csv> <results.csv> [timeTolerance] [allocTolerance]
+ * }</pre>
+ */
+public final class BaselineComparator {
+
+    /**
+     * Default allowed relative increase of a score
+     */
+    static final double DEFAULT_TIME_TOLERANCE = 0.25;
+
+    /**
+     * Default allowed relative increase of allocated bytes per operation
+     */
+    static final double DEFAULT_ALLOC_TOLERANCE = 0.10;
+
+    /**
+     * Allowed absolute increase of allocated bytes per operation, for noise around zero
+     */
+    static final double ALLOC_SLACK_BYTES = 8;
+
+    private static final String ALLOC_METRIC = "gc.alloc.rate.norm";
+
+    private BaselineComparator() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || args.length > 4) {
+            System.err.println("Usage: BaselineComparator <baseline.csv> <results.csv> [timeTolerance] [allocTolerance]");
+            System.exit(2);
+        }
+        double timeTolerance = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_TIME_TOLERANCE;
+        double allocTolerance = args.length > 3 ? Double.parseDouble(args[3]) : DEFAULT_ALLOC_TOLERANCE;
+        List<String> regressions = compare(read(Paths.get(args[0])), read(Paths.get(args[1])), timeTolerance, allocTolerance);
+        if (regressions.isEmpty()) {
+            System.out.println("No regressions against " + args[0]);
+            return;
+        }
+        System.out.println(regressions.size() + " regression(s) against " + args[0] + ":");
+        for (String regression : regressions) {
+            System.out.println("\t" + regression);
+        }
+        System.exit(1);
+    }
+
+    /**
+     * Compare results against a baseline
+     * @param baseline baseline results
+     * @param current current results
+     * @param timeTolerance allowed relative increase of a score
+     * @param allocTolerance allowed relative increase of allocated bytes per operation
+     * @return a description of each regression
+     */
+    static List<String> compare(Map<String, Result> baseline, Map<String, Result> current, double timeTolerance, double allocTolerance) {
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, Result> entry : baseline.entrySet()) {
+            String key = entry.getKey();
+            Result expected = entry.getValue();
+            Result actual = current.get(key);
+            if (actual == null) {
+                continue;
+            }
+            if (!expected.unit.equals(actual.unit)) {
+                regressions.add(key + ": unit changed from " + expected.unit + " to " + actual.unit);
+                continue;
+            }
+            double limit;
+            if (isPrimary(expected.benchmark)) {
+                limit = Math.max(expected.score * (1 + timeTolerance), expected.score + expected.error + actual.error);
+            } else if (expected.benchmark.endsWith(ALLOC_METRIC)) {
+                limit = expected.score * (1 + allocTolerance) + ALLOC_SLACK_BYTES;
+            } else {
+                continue;
+            }
+            if (actual.score > limit) {
+                regressions.add(String.format("%s: %.3f %s, baseline %.3f %s", key, actual.score, actual.unit, expected.score, expected.unit));
+            }
+        }
+        return regressions;
+    }
+
+    /**
+     * Read JMH CSV results
+     * @param path CSV file
+     * @return results by benchmark name and parameters
+     * @throws IOException if the file cannot be read
+     */
+    static Map<String, Result> read(Path path) throws IOException {
+        return parse(Files.readAllLines(path, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parse JMH CSV results
+     * @param lines CSV lines, starting with the header
+     * @return results by benchmark name and parameters
+     */
+    static Map<String, Result> parse(List<String> lines) {
+        Map<String, Result> results = new LinkedHashMap<>();
+        if (lines.isEmpty()) {
+            return results;
+        }
+        List<String> header = splitCsv(lines.get(0));
+        int benchmarkColumn = header.indexOf("Benchmark");
+        int scoreColumn = header.indexOf("Score");
+        int unitColumn = header.indexOf("Unit");
+        int errorColumn = header.indexOf("Score Error (99.9%)");
+        if (benchmarkColumn < 0 || scoreColumn < 0 || unitColumn < 0) {
+            throw new IllegalArgumentException("Not a JMH CSV result, header is " + header);
+        }
+        for (String line : lines.subList(1, lines.size())) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            List<String> columns = splitCsv(line);
+            StringBuilder key = new StringBuilder(columns.get(benchmarkColumn));
+            for (int i = 0; i < header.size() && i < columns.size(); ++i) {
+                if (header.get(i).startsWith("Param: ") && !columns.get(i).isEmpty()) {
+                    key.append(' ').append(header.get(i).substring(7)).append('=').append(columns.get(i));
+                }
+            }
+            String score = columns.get(scoreColumn).replace(',', '.');
+            double error = errorColumn < 0 ? 0 : Double.parseDouble(columns.get(errorColumn).replace(',', '.'));
+            results.put(key.toString(), new Result(columns.get(benchmarkColumn), Double.parseDouble(score), Double.isNaN(error) ? 0 : error, columns.get(unitColumn)));
+        }
+        return results;
+    }
+
+    /**
+     * Split a CSV line, unquoting quoted columns
+     */
+    private static List<String> splitCsv(String line) {
+        List<String> columns = new ArrayList<>();
+        StringBuilder column = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); ++i) {
+            char ch = line.charAt(i);
+            if (quoted) {
+                if (ch == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    column.append('"');
+                    ++i;
+                } else if (ch == '"') {
+                    quoted = false;
+                } else {
+                    column.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+            } else if (ch == ',') {
+                columns.add(column.toString());
+                column.setLength(0);
+            } else {
+                column.append(ch);
+            }
+        }
+        columns.add(column.toString());
+        return columns;
+    }
+
+    /**
+     * Check if a benchmark name is a primary score, and not a secondary profiler metric such as {@code method:gc.alloc.rate}
+     */
+    private static boolean isPrimary(String benchmark) {
+        return benchmark.indexOf(':') < 0;
+    }
+
+    /**
+     * One row of JMH results
+     */
+    static final class Result {
+        final String benchmark;
+        final double score;
+        /**
+         * Half-width of the 99.9% confidence interval of the score, 0 if unknown
+         */
+        final double error;
+        final String unit;
+
+        Result(String benchmark, double score, double error, String unit) {
+            this.benchmark = benchmark;
+            this.score = score;
+            this.error = error;
+            this.unit = unit;
+        }
+    }
+}
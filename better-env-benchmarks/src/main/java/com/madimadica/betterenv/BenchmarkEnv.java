@@ -0,0 +1,31 @@
+package com.madimadica.betterenv;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Fixed environment variables used by every benchmark, so results don't depend on the process environment.
+ */
+final class BenchmarkEnv {
+
+    /**
+     * Source set with {@link BetterEnv#setSource(EnvSource)} before each trial
+     */
+    static final EnvSnapshot SOURCE;
+
+    static {
+        Map<String, String> env = new HashMap<>();
+        env.put("DB_USER", "admin");
+        env.put("DB_PASS", "hunter2");
+        env.put("DB_SERVER", "db.example.com");
+        env.put("DB_PORT", "5432");
+        env.put("DB_POOL_TIMEOUT", "30000");
+        env.put("DB_SSL", "true");
+        env.put("BLANK", "  ");
+        env.put("NOT_A_NUMBER", "12ab");
+        env.put("PORTS", "8080,8081,8082,8083,8084,8085,8086,8087");
+        SOURCE = EnvSnapshot.of(env);
+    }
+
+    private BenchmarkEnv() {}
+}
@@ -0,0 +1,46 @@
+package com.madimadica.betterenv;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link EnvBinder} loads, to compare against {@link LoadBenchmark#loadRecord()}: a binder created per load with
+ * {@link EnvBinder#withSource(EnvSource)}, and a binder with its own coercers and isolated plan cache
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BinderBenchmark {
+
+    private EnvBinder shared;
+    private EnvBinder isolated;
+
+    @Setup
+    public void setup() {
+        shared = EnvBinder.builder().source(BenchmarkEnv.SOURCE).build();
+        isolated = EnvBinder.builder().source(BenchmarkEnv.SOURCE).coercer(String.class, String::trim).build();
+    }
+
+    @Benchmark
+    public LoadBenchmark.DatabaseRecord loadWithNewBinder() {
+        return shared.withSource(BenchmarkEnv.SOURCE).load(LoadBenchmark.DatabaseRecord.class);
+    }
+
+    @Benchmark
+    public LoadBenchmark.DatabaseRecord loadWithIsolatedPlans() {
+        return isolated.load(LoadBenchmark.DatabaseRecord.class);
+    }
+}
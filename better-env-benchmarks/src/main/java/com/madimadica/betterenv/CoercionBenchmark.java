@@ -0,0 +1,69 @@
+package com.madimadica.betterenv;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ClassUtils#coerceType(String, Class)} for each supported type
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CoercionBenchmark {
+
+    /**
+     * Declared type and a valid input for it
+     */
+    public enum Case {
+        STRING(String.class, "db.example.com"),
+        PRIMITIVE_BOOLEAN(boolean.class, "true"),
+        BOOLEAN(Boolean.class, "FALSE"),
+        PRIMITIVE_BYTE(byte.class, "-12"),
+        BYTE(Byte.class, "12"),
+        PRIMITIVE_SHORT(short.class, "-1234"),
+        SHORT(Short.class, "1234"),
+        PRIMITIVE_CHAR(char.class, "A"),
+        CHARACTER(Character.class, "Z"),
+        PRIMITIVE_INT(int.class, "-5432"),
+        INTEGER(Integer.class, "5432"),
+        PRIMITIVE_LONG(long.class, "-3000000000"),
+        LONG(Long.class, "3000000000"),
+        PRIMITIVE_FLOAT(float.class, "-1.5"),
+        FLOAT(Float.class, "1.5"),
+        PRIMITIVE_DOUBLE(double.class, "-0.125"),
+        DOUBLE(Double.class, "0.125"),
+        BIG_INTEGER(BigInteger.class, "123456789012345678901234567890"),
+        BIG_DECIMAL(BigDecimal.class, "12345.6789");
+
+        private final Class<?> type;
+        private final String input;
+
+        Case(Class<?> type, String input) {
+            this.type = type;
+            this.input = input;
+        }
+    }
+
+    @Param
+    public Case coercion;
+
+    @Benchmark
+    public Object coerceType() {
+        return ClassUtils.coerceType(coercion.input, coercion.type);
+    }
+}
@@ -0,0 +1,64 @@
+package com.madimadica.betterenv;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link EnvDiff} of the 5,000 variable environment of {@link FootprintReport} after changing two variables, one read by
+ * {@link LoadBenchmark.DatabaseRecord}: with a snapshot derived by {@link EnvSnapshot#with(Map)}, with an equal snapshot built
+ * independently, which compares every entry, and the affected types of the derived diff from an {@link EnvKeyIndex}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DiffBenchmark {
+
+    private EnvSnapshot before;
+    private EnvSnapshot derived;
+    private EnvSnapshot rebuilt;
+    private EnvKeyIndex index;
+
+    @Setup
+    public void setup() {
+        Map<String, String> env = FootprintReport.environment(5000);
+        Map<String, String> changes = new HashMap<>();
+        changes.put("DB_PORT", "6543");
+        changes.put("PAYMENTS_100_SERVICE_HOST", "10.0.9.9");
+        before = EnvSnapshot.of(env);
+        derived = before.with(changes);
+        env.putAll(changes);
+        rebuilt = EnvSnapshot.of(env);
+        index = EnvKeyIndex.of(LoadBenchmark.DatabaseRecord.class, LoadBenchmark.DatabaseAllArgs.class);
+    }
+
+    @Benchmark
+    public EnvDiff diffDerived() {
+        return EnvDiff.between(before, derived);
+    }
+
+    @Benchmark
+    public EnvDiff diffRebuilt() {
+        return EnvDiff.between(before, rebuilt);
+    }
+
+    @Benchmark
+    public Set<Class<?>> affectedTypes() {
+        return index.getAffectedTypes(EnvDiff.between(before, derived));
+    }
+}
@@ -0,0 +1,58 @@
+package com.madimadica.betterenv;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BetterEnv#load(Class)} failing, including building the {@link InvalidEnvironmentException} message,
+ * and {@link BetterEnv#tryLoad(Class)} failing without building one
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FailureBenchmark {
+
+    public record InvalidRecord(
+            @Env({"MISSING", "BLANK"}) String missingOrBlank,
+            @Env("NOT_A_NUMBER") int notANumber,
+            @Env("DB_USER") boolean notABoolean,
+            @Env("DB_SERVER") String valid
+    ) {}
+
+    @Setup
+    public void setup() {
+        BetterEnv.setSource(BenchmarkEnv.SOURCE);
+    }
+
+    @Benchmark
+    public String loadInvalid() {
+        try {
+            BetterEnv.load(InvalidRecord.class);
+            throw new IllegalStateException("Expected an InvalidEnvironmentException");
+        } catch (InvalidEnvironmentException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public LoadResult<InvalidRecord> tryLoadInvalid() {
+        LoadResult<InvalidRecord> result = BetterEnv.tryLoad(InvalidRecord.class);
+        if (result.isSuccess()) {
+            throw new IllegalStateException("Expected a failed result");
+        }
+        return result;
+    }
+}
@@ -0,0 +1,76 @@
+package com.madimadica.betterenv;
+
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ *     Prints the retained heap size of a large environment held as a {@link HashMap}, an {@link EnvSnapshot} and a {@link CompactEnvSnapshot},
+ *     measured with JOL's {@link GraphLayout}, which includes every reachable key and value {@link String}.
+ * </p>
+ * <p>
+ *     The environment has {@code variables} entries shaped like those injected into Kubernetes pods, such as {@code PAYMENTS_SERVICE_PORT_HTTP=tcp://10.0.1.17:8080}.
+ * </p>
+ * <pre>{@code
+ * java -cp benchmarks.jar com.madimadica.betterenv.FootprintReport [variables]
+ * }</pre>
+ */
+public final class FootprintReport {
+
+    private static final String[] SERVICES = {"PAYMENTS", "ORDERS", "USERS", "INVENTORY", "SEARCH", "NOTIFICATIONS", "BILLING", "AUTH"};
+
+    private FootprintReport() {}
+
+    public static void main(String[] args) {
+        int variables = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        Map<String, String> env = environment(variables);
+
+        CompactEnvSnapshot compact = CompactEnvSnapshot.of(env);
+        long hashMap = GraphLayout.parseInstance(new HashMap<>(env)).totalSize();
+        long snapshot = GraphLayout.parseInstance(EnvSnapshot.of(env)).totalSize();
+        long compactSize = GraphLayout.parseInstance(compact).totalSize();
+        for (String key : env.keySet()) {
+            compact.get(key);
+        }
+        long compactDecoded = GraphLayout.parseInstance(compact).totalSize();
+
+        System.out.printf("%d variables, %d bytes of UTF-8 keys and values%n", variables, compact.arenaSize());
+        System.out.printf("%-36s %12s %10s %8s%n", "Layout", "Bytes", "Per var", "vs map");
+        print("HashMap<String, String>", hashMap, variables, hashMap);
+        print("EnvSnapshot", snapshot, variables, hashMap);
+        print("CompactEnvSnapshot", compactSize, variables, hashMap);
+        print("CompactEnvSnapshot, all decoded", compactDecoded, variables, hashMap);
+    }
+
+    /**
+     * Create a synthetic environment
+     * @param variables number of variables
+     * @return the variables
+     */
+    static Map<String, String> environment(int variables) {
+        Map<String, String> env = new HashMap<>();
+        for (int i = 0; i < variables; ++i) {
+            String service = SERVICES[i % SERVICES.length] + "_" + (i / SERVICES.length);
+            switch (i % 4) {
+                case 0:
+                    env.put(service + "_SERVICE_HOST", "10.0." + (i % 250) + "." + (i % 200));
+                    break;
+                case 1:
+                    env.put(service + "_SERVICE_PORT", Integer.toString(8000 + i % 1000));
+                    break;
+                case 2:
+                    env.put(service + "_PORT_8080_TCP", "tcp://10.0." + (i % 250) + "." + (i % 200) + ":8080");
+                    break;
+                default:
+                    env.put(service + "_PORT_8080_TCP_PROTO", "tcp");
+            }
+        }
+        return env;
+    }
+
+    private static void print(String layout, long bytes, int variables, long hashMap) {
+        System.out.printf("%-36s %12d %10.1f %7.0f%%%n", layout, bytes, (double) bytes / variables, 100.0 * bytes / hashMap);
+    }
+}
@@ -0,0 +1,72 @@
+package com.madimadica.betterenv;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Invalid numbers, comparing the exception-free {@link Parsers} against catching {@link NumberFormatException}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InvalidValueBenchmark {
+
+    public record PortAliases(
+            @Env({"NOT_A_NUMBER", "BLANK", "MISSING", "DB_PORT"}) int port
+    ) {}
+
+    public String invalidInt = "12ab";
+
+    public String invalidDouble = "1.5x";
+
+    @Setup
+    public void setup() {
+        BetterEnv.setSource(BenchmarkEnv.SOURCE);
+    }
+
+    @Benchmark
+    public int parseIntCatching() {
+        try {
+            return Integer.parseInt(invalidInt);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    @Benchmark
+    public int parseIntChecked() {
+        return Parsers.isInt(invalidInt) ? Integer.parseInt(invalidInt) : -1;
+    }
+
+    @Benchmark
+    public double parseDoubleCatching() {
+        try {
+            return Double.parseDouble(invalidDouble);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    @Benchmark
+    public double parseDoubleChecked() {
+        return Parsers.isDouble(invalidDouble) ? Double.parseDouble(invalidDouble) : -1;
+    }
+
+    @Benchmark
+    public PortAliases loadWithInvalidAliases() {
+        return BetterEnv.load(PortAliases.class);
+    }
+}
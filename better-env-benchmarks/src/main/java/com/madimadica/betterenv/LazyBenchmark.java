@@ -0,0 +1,78 @@
+package com.madimadica.betterenv;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ *     Interface configuration resolved on first access, against a class loaded eagerly, when only one of the 6 values is used.
+ * </p>
+ * <p>
+ *     This module does not run the {@code better-env-processor}, so the interface is implemented by a reflective proxy.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LazyBenchmark {
+
+    public interface DatabaseConfig {
+        @Env("DB_USER")
+        String user();
+        @Env("DB_PASS")
+        String password();
+        @Env("DB_SERVER")
+        String server();
+        @Env("DB_PORT")
+        int port();
+        @Env("DB_POOL_TIMEOUT")
+        long poolTimeout();
+        @Env("DB_SSL")
+        boolean ssl();
+    }
+
+    private DatabaseConfig resolved;
+
+    private LoadBenchmark.DatabaseAllArgs loaded;
+
+    @Setup
+    public void setup() {
+        BetterEnv.setSource(BenchmarkEnv.SOURCE);
+        resolved = BetterEnv.load(DatabaseConfig.class);
+        resolved.port();
+        loaded = BetterEnv.load(LoadBenchmark.DatabaseAllArgs.class);
+    }
+
+    @Benchmark
+    public int loadEagerThenRead() {
+        return BetterEnv.load(LoadBenchmark.DatabaseAllArgs.class).getPort();
+    }
+
+    @Benchmark
+    public int loadLazyThenRead() {
+        return BetterEnv.load(DatabaseConfig.class).port();
+    }
+
+    @Benchmark
+    public int readLoadedField() {
+        return loaded.getPort();
+    }
+
+    @Benchmark
+    public int readResolvedProxy() {
+        return resolved.port();
+    }
+}
@@ -0,0 +1,52 @@
+package com.madimadica.betterenv;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BetterEnv#load(Class)} with and without a {@link BindingListener}.
+ * Without one, the time and {@code gc.alloc.rate.norm} should match {@link LoadBenchmark#loadRecord()}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListenerBenchmark {
+
+    private static final BindingListener NO_OP = new BindingListener() {};
+
+    @Param({"false", "true"})
+    public boolean listening;
+
+    @Setup
+    public void setup() {
+        BetterEnv.setSource(BenchmarkEnv.SOURCE);
+        if (listening) {
+            BetterEnv.addListener(NO_OP);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        BetterEnv.removeListener(NO_OP);
+    }
+
+    @Benchmark
+    public LoadBenchmark.DatabaseRecord load() {
+        return BetterEnv.load(LoadBenchmark.DatabaseRecord.class);
+    }
+}
@@ -0,0 +1,103 @@
+package com.madimadica.betterenv;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BetterEnv#load(Class)} for each way of creating an instance, and {@link BetterEnv#shared(Class)} returning a canonical instance
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoadBenchmark {
+
+    public record DatabaseRecord(
+            @Env("DB_USER") String user,
+            @Env("DB_PASS") String password,
+            @Env("DB_SERVER") String server,
+            @Env("DB_PORT") int port,
+            @Env("DB_POOL_TIMEOUT") long poolTimeout,
+            @Env("DB_SSL") boolean ssl
+    ) {}
+
+    public static class DatabaseAllArgs {
+        @Env("DB_USER")
+        private final String user;
+        @Env("DB_PASS")
+        private final String password;
+        @Env("DB_SERVER")
+        private final String server;
+        @Env("DB_PORT")
+        private final int port;
+        @Env("DB_POOL_TIMEOUT")
+        private final long poolTimeout;
+        @Env("DB_SSL")
+        private final boolean ssl;
+
+        public DatabaseAllArgs(String user, String password, String server, int port, long poolTimeout, boolean ssl) {
+            this.user = user;
+            this.password = password;
+            this.server = server;
+            this.port = port;
+            this.poolTimeout = poolTimeout;
+            this.ssl = ssl;
+        }
+
+        public int getPort() {
+            return port;
+        }
+    }
+
+    public static class DatabaseNoArgs {
+        @Env("DB_USER")
+        private String user;
+        @Env("DB_PASS")
+        private String password;
+        @Env("DB_SERVER")
+        private String server;
+        @Env("DB_PORT")
+        private int port;
+        @Env("DB_POOL_TIMEOUT")
+        private long poolTimeout;
+        @Env("DB_SSL")
+        private boolean ssl;
+    }
+
+    @Setup
+    public void setup() {
+        BetterEnv.setSource(BenchmarkEnv.SOURCE);
+    }
+
+    @Benchmark
+    public DatabaseRecord loadRecord() {
+        return BetterEnv.load(DatabaseRecord.class);
+    }
+
+    @Benchmark
+    public DatabaseRecord sharedRecord() {
+        return BetterEnv.shared(DatabaseRecord.class);
+    }
+
+    @Benchmark
+    public DatabaseAllArgs loadAllArgsConstructor() {
+        return BetterEnv.load(DatabaseAllArgs.class);
+    }
+
+    @Benchmark
+    public DatabaseNoArgs loadNoArgsConstructor() {
+        return BetterEnv.load(DatabaseNoArgs.class);
+    }
+}
@@ -0,0 +1,104 @@
+package com.madimadica.betterenv;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ *     The {@link BetterEnv#getInt(String)} and {@link BetterEnv#getLong(String)} helpers, and their primitive variants.
+ *     The source is an {@link EnvSnapshot}, so after the first invocation each lookup is a read of the {@link TypedLookups} cache.
+ * </p>
+ * <p>
+ *     The primitive variants consume the optional in the benchmark method, like a caller reading a limit would,
+ *     so escape analysis can remove it. Run with {@code -prof gc} to check they allocate nothing.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LookupBenchmark {
+
+    @Setup
+    public void setup() {
+        BetterEnv.setSource(BenchmarkEnv.SOURCE);
+    }
+
+    @Benchmark
+    public Optional<Integer> getInt() {
+        return BetterEnv.getInt("DB_PORT");
+    }
+
+    @Benchmark
+    public Optional<Integer> getIntInvalid() {
+        return BetterEnv.getInt("NOT_A_NUMBER");
+    }
+
+    @Benchmark
+    public Optional<Integer> getIntMissing() {
+        return BetterEnv.getInt("MISSING");
+    }
+
+    @Benchmark
+    public Optional<Long> getLong() {
+        return BetterEnv.getLong("DB_POOL_TIMEOUT");
+    }
+
+    @Benchmark
+    public int getAsInt() {
+        return BetterEnv.getAsInt("DB_PORT").orElse(-1);
+    }
+
+    @Benchmark
+    public long getAsLong() {
+        return BetterEnv.getAsLong("DB_POOL_TIMEOUT").orElse(-1);
+    }
+
+    @Benchmark
+    public double getAsDouble() {
+        return BetterEnv.getAsDouble("DB_PORT").orElse(-1);
+    }
+
+    @Benchmark
+    public boolean getAsBoolean() {
+        return BetterEnv.getAsBoolean("DB_SSL").orElse(false);
+    }
+
+    @Benchmark
+    public int getIntDefault() {
+        return BetterEnv.getInt("DB_PORT", -1);
+    }
+
+    @Benchmark
+    public int getIntDefaultInvalid() {
+        return BetterEnv.getInt("NOT_A_NUMBER", -1);
+    }
+
+    @Benchmark
+    public long getLongDefault() {
+        return BetterEnv.getLong("DB_POOL_TIMEOUT", -1);
+    }
+
+    @Benchmark
+    public double getDoubleDefault() {
+        return BetterEnv.getDouble("DB_PORT", -1);
+    }
+
+    @Benchmark
+    public boolean getBooleanDefault() {
+        return BetterEnv.getBoolean("DB_SSL", false);
+    }
+}
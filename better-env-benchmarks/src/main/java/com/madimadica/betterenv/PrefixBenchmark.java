@@ -0,0 +1,81 @@
+package com.madimadica.betterenv;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prefixed loads of {@link LoadBenchmark.DatabaseRecord} for {@link PrefixBenchmark#TENANTS} tenants, such as {@code "TENANT_42_DB_USER"}:
+ * one tenant with {@link EnvBinder#load(Class, String)}, the same against a source which concatenates each key,
+ * and every tenant at once with {@link EnvBinder#loadPrefixed(Class, java.util.Collection)}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrefixBenchmark {
+
+    static final int TENANTS = 10_000;
+
+    private EnvBinder binder;
+    private EnvBinder concatenating;
+    private List<String> prefixes;
+    private int next;
+
+    @Setup
+    public void setup() {
+        Map<String, String> env = new HashMap<>();
+        prefixes = new ArrayList<>(TENANTS);
+        for (int i = 0; i < TENANTS; ++i) {
+            String prefix = "TENANT_" + i + "_";
+            env.put(prefix + "DB_USER", "admin" + i);
+            env.put(prefix + "DB_PASS", "hunter2");
+            env.put(prefix + "DB_SERVER", "db" + i + ".example.com");
+            env.put(prefix + "DB_PORT", "5432");
+            env.put(prefix + "DB_POOL_TIMEOUT", "30000");
+            env.put(prefix + "DB_SSL", "true");
+            prefixes.add(prefix);
+        }
+        EnvSnapshot snapshot = EnvSnapshot.of(env);
+        binder = EnvBinder.builder().source(snapshot).build();
+        // Only implements get(String), so every prefixed key is concatenated
+        concatenating = binder.withSource(snapshot::get);
+    }
+
+    private String nextPrefix() {
+        String prefix = prefixes.get(next);
+        next = next + 1 == TENANTS ? 0 : next + 1;
+        return prefix;
+    }
+
+    @Benchmark
+    public LoadBenchmark.DatabaseRecord loadTenant() {
+        return binder.load(LoadBenchmark.DatabaseRecord.class, nextPrefix());
+    }
+
+    @Benchmark
+    public LoadBenchmark.DatabaseRecord loadTenantConcatenated() {
+        return concatenating.load(LoadBenchmark.DatabaseRecord.class, nextPrefix());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Map<String, LoadBenchmark.DatabaseRecord> loadAllTenants() {
+        return binder.loadPrefixed(LoadBenchmark.DatabaseRecord.class, prefixes);
+    }
+}
@@ -0,0 +1,66 @@
+package com.madimadica.betterenv;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups in an {@link EnvSnapshot} and a {@link CompactEnvSnapshot} of the 5,000 variable environment of {@link FootprintReport},
+ * where the compact value was already decoded by an earlier lookup. See {@link FootprintReport} for their sizes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SnapshotBenchmark {
+
+    private static final String KEY = "PAYMENTS_100_SERVICE_HOST";
+
+    private Map<String, String> env;
+    private EnvSnapshot snapshot;
+    private CompactEnvSnapshot compact;
+
+    @Setup
+    public void setup() {
+        env = FootprintReport.environment(5000);
+        snapshot = EnvSnapshot.of(env);
+        compact = CompactEnvSnapshot.of(env);
+        if (compact.get(KEY) == null) {
+            throw new IllegalStateException("Missing " + KEY);
+        }
+    }
+
+    @Benchmark
+    public String getSnapshot() {
+        return snapshot.get(KEY);
+    }
+
+    @Benchmark
+    public String getCompact() {
+        return compact.get(KEY);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public CompactEnvSnapshot ofCompact() {
+        return CompactEnvSnapshot.of(env);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public EnvSnapshot ofSnapshot() {
+        return EnvSnapshot.of(env);
+    }
+}
@@ -0,0 +1,72 @@
+package com.madimadica.betterenv;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Comma-separated values, comparing the built-in split coercers against splitting a {@code String} field by hand
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SplitBenchmark {
+
+    public static class Ports {
+        @Env("PORTS")
+        int[] ports;
+    }
+
+    public static class PortList {
+        @Env("PORTS")
+        List<Integer> ports;
+    }
+
+    public String ports = "8080,8081,8082,8083,8084,8085,8086,8087";
+
+    private SplitCoercer intArray;
+
+    @Setup
+    public void setup() throws NoSuchFieldException {
+        BetterEnv.setSource(BenchmarkEnv.SOURCE);
+        intArray = (SplitCoercer) new FieldBinding(Ports.class.getDeclaredField("ports"), CoercerRegistry.getDefault()).getCoercer();
+    }
+
+    @Benchmark
+    public int[] splitByHand() {
+        String[] parts = ports.split(",");
+        int[] values = new int[parts.length];
+        for (int i = 0; i < parts.length; ++i) {
+            values[i] = Integer.parseInt(parts[i].trim());
+        }
+        return values;
+    }
+
+    @Benchmark
+    public Object splitIntArray() {
+        return intArray.tryCoerce(ports);
+    }
+
+    @Benchmark
+    public Ports loadIntArray() {
+        return BetterEnv.load(Ports.class);
+    }
+
+    @Benchmark
+    public PortList loadList() {
+        return BetterEnv.load(PortList.class);
+    }
+}
@@ -0,0 +1,50 @@
+package com.madimadica.betterenv;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BetterEnv#load(Class)} with {@link BindingStats} enabled, to compare against {@link LoadBenchmark#loadRecord()}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StatsBenchmark {
+
+    @Setup
+    public void setup() {
+        BetterEnv.setSource(BenchmarkEnv.SOURCE);
+        BindingStats.enable();
+    }
+
+    @TearDown
+    public void tearDown() {
+        BindingStats.disable();
+    }
+
+    @Benchmark
+    public LoadBenchmark.DatabaseRecord loadWithStats() {
+        return BetterEnv.load(LoadBenchmark.DatabaseRecord.class);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public LoadBenchmark.DatabaseRecord loadWithStatsConcurrently() {
+        return BetterEnv.load(LoadBenchmark.DatabaseRecord.class);
+    }
+}
@@ -0,0 +1,85 @@
+package com.madimadica.betterenv;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BaselineComparatorTest {
+
+    private static final String HEADER = "\"Benchmark\",\"Mode\",\"Threads\",\"Samples\",\"Score\",\"Score Error (99.9%)\",\"Unit\",\"Param: coercion\"";
+
+    private static Map<String, BaselineComparator.Result> parse(String... rows) {
+        String[] lines = new String[rows.length + 1];
+        lines[0] = HEADER;
+        System.arraycopy(rows, 0, lines, 1, rows.length);
+        return BaselineComparator.parse(Arrays.asList(lines));
+    }
+
+    @Test
+    void givenParams_thenKeyedByParams() {
+        Map<String, BaselineComparator.Result> results = parse(
+                "\"a.B.coerceType\",\"avgt\",1,3,3.5,0.6,\"ns/op\",STRING",
+                "\"a.B.coerceType\",\"avgt\",1,3,\"4,5\",0.6,\"ns/op\",INTEGER",
+                "\"a.B.load\",\"avgt\",1,3,100,0.6,\"ns/op\","
+        );
+        assertEquals(3, results.size());
+        assertEquals(3.5, results.get("a.B.coerceType coercion=STRING").score);
+        assertEquals(4.5, results.get("a.B.coerceType coercion=INTEGER").score);
+        assertEquals("ns/op", results.get("a.B.load").unit);
+        assertEquals(0.6, results.get("a.B.load").error);
+    }
+
+    @Test
+    void givenWithinTolerance_thenNoRegressions() {
+        Map<String, BaselineComparator.Result> baseline = parse(
+                "\"a.B.load\",\"avgt\",1,3,100,1,\"ns/op\",",
+                "\"a.B.load:gc.alloc.rate.norm\",\"avgt\",1,3,1000,0,\"B/op\",",
+                "\"a.B.load:gc.count\",\"avgt\",1,3,10,0,\"counts\","
+        );
+        Map<String, BaselineComparator.Result> current = parse(
+                "\"a.B.load\",\"avgt\",1,3,124,1,\"ns/op\",",
+                "\"a.B.load:gc.alloc.rate.norm\",\"avgt\",1,3,1100,0,\"B/op\",",
+                "\"a.B.load:gc.count\",\"avgt\",1,3,100,0,\"counts\","
+        );
+        assertTrue(BaselineComparator.compare(baseline, current, 0.25, 0.10).isEmpty());
+    }
+
+    @Test
+    void givenSlowerOrMoreAllocation_thenRegressions() {
+        Map<String, BaselineComparator.Result> baseline = parse(
+                "\"a.B.load\",\"avgt\",1,3,100,1,\"ns/op\",",
+                "\"a.B.load:gc.alloc.rate.norm\",\"avgt\",1,3,0,0,\"B/op\",",
+                "\"a.B.removed\",\"avgt\",1,3,100,1,\"ns/op\","
+        );
+        Map<String, BaselineComparator.Result> current = parse(
+                "\"a.B.load\",\"avgt\",1,3,126,1,\"ns/op\",",
+                "\"a.B.load:gc.alloc.rate.norm\",\"avgt\",1,3,16,0,\"B/op\","
+        );
+        List<String> regressions = BaselineComparator.compare(baseline, current, 0.25, 0.10);
+        assertEquals(2, regressions.size());
+        assertTrue(regressions.get(0).startsWith("a.B.load: "));
+        assertTrue(regressions.get(1).startsWith("a.B.load:gc.alloc.rate.norm: "));
+    }
+
+    @Test
+    void givenSlowerWithinError_thenOnlyAllocationRegressions() {
+        Map<String, BaselineComparator.Result> baseline = parse(
+                "\"a.B.load\",\"avgt\",1,10,100,30,\"ns/op\",",
+                "\"a.B.load:gc.alloc.rate.norm\",\"avgt\",1,10,100,NaN,\"B/op\","
+        );
+        Map<String, BaselineComparator.Result> current = parse(
+                "\"a.B.load\",\"avgt\",1,10,150,25,\"ns/op\",",
+                "\"a.B.load:gc.alloc.rate.norm\",\"avgt\",1,10,200,NaN,\"B/op\","
+        );
+        List<String> regressions = BaselineComparator.compare(baseline, current, 0.25, 0.10);
+        assertEquals(1, regressions.size());
+        assertTrue(regressions.get(0).startsWith("a.B.load:gc.alloc.rate.norm: "));
+
+        current = parse("\"a.B.load\",\"avgt\",1,10,160,25,\"ns/op\",");
+        assertEquals(1, BaselineComparator.compare(baseline, current, 0.25, 0.10).size());
+    }
+}
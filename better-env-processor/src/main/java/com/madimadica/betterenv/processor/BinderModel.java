@@ -0,0 +1,344 @@
+package com.madimadica.betterenv.processor;
+
+import com.madimadica.betterenv.Env;
+
+import javax.lang.model.element.*;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Analysis of a type with {@link Env} fields, and the source of its generated binder.
+ * The constructor and field rules match {@code BindingPlan} so generated binders behave like reflective loading.
+ */
+final class BinderModel {
+
+    /**
+     * Suffix of generated binder names, matching {@code GeneratedEnvBinder.SUFFIX}
+     */
+    static final String SUFFIX = "EnvBinder";
+
+    /**
+     * Data about a single {@link Env} field
+     */
+    static final class FieldModel {
+        final String name;
+        final TypeMirror type;
+        final String typeName;
+        final Coercion coercion;
+        final String[] keys;
+        final boolean required;
+        final boolean allowBlank;
+        final String fallback;
+
+        FieldModel(Element field, TypeMirror type, Coercion coercion) {
+            Env env = field.getAnnotation(Env.class);
+            Env.Fallback envFallback = field.getAnnotation(Env.Fallback.class);
+            this.name = field.getSimpleName().toString();
+            this.type = type;
+            this.typeName = Coercion.typeName(type);
+            this.coercion = coercion;
+            this.keys = env.value();
+            this.required = env.required();
+            this.allowBlank = env.allowBlank();
+            this.fallback = envFallback == null ? null : envFallback.value();
+        }
+    }
+
+    /**
+     * Thrown when no binder can be generated for a type, with the reason as the message.
+     * Reflective loading is still used for these types.
+     */
+    static final class UnsupportedTypeException extends Exception {
+        UnsupportedTypeException(String reason) {
+            super(reason);
+        }
+    }
+
+    private final String packageName;
+    private final String binderName;
+    private final String typeName;
+    private final boolean useConstructor;
+    private final List<FieldModel> fields;
+
+    private BinderModel(String packageName, String binderName, String typeName, boolean useConstructor, List<FieldModel> fields) {
+        this.packageName = packageName;
+        this.binderName = binderName;
+        this.typeName = typeName;
+        this.useConstructor = useConstructor;
+        this.fields = fields;
+    }
+
+    /**
+     * Get the qualified name of the generated binder
+     * @return binder class name
+     */
+    String getQualifiedBinderName() {
+        return packageName.isEmpty() ? binderName : packageName + "." + binderName;
+    }
+
+    /**
+     * Analyze a type for binder generation
+     * @param type type declaring {@link Env} fields
+     * @param elements element utilities
+     * @param types type utilities
+     * @return a new model
+     * @throws UnsupportedTypeException if the type can only be bound with reflection
+     */
+    static BinderModel analyze(TypeElement type, Elements elements, Types types) throws UnsupportedTypeException {
+        boolean isRecord = type.getKind().name().equals("RECORD");
+        if (type.getKind() != ElementKind.CLASS && !isRecord) {
+            throw new UnsupportedTypeException("only classes and records are supported");
+        }
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+            throw new UnsupportedTypeException("abstract types cannot be instantiated");
+        }
+        checkAccessible(type);
+
+        List<VariableElement> envFields = new ArrayList<>();
+        int instanceFields = 0;
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (field.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+            }
+            ++instanceFields;
+            if (field.getAnnotation(Env.Nested.class) != null) {
+                throw new UnsupportedTypeException("@Env.Nested field \"" + field.getSimpleName() + "\" is bound with reflection");
+            }
+            if (field.getAnnotation(Env.class) != null) {
+                envFields.add(field);
+            }
+        }
+
+        List<FieldModel> fields = new ArrayList<>(envFields.size());
+        for (VariableElement field : envFields) {
+            Coercion coercion = Coercion.of(field.asType());
+            if (coercion == null) {
+                throw new UnsupportedTypeException("field \"" + field.getSimpleName() + "\" has unsupported type \"" + field.asType() + "\"");
+            }
+            fields.add(new FieldModel(field, field.asType(), coercion));
+        }
+
+        boolean useConstructor;
+        ExecutableElement allArgs = findConstructor(type, envFields, types);
+        ExecutableElement noArgs = findConstructor(type, Collections.emptyList(), types);
+        if (isRecord) {
+            if (instanceFields != envFields.size()) {
+                throw new UnsupportedTypeException("all record fields must be annotated with @Env");
+            }
+            useConstructor = true;
+        } else if (allArgs != null) {
+            // Reflection prefers this constructor even if it is private, and setting the fields instead would skip its logic
+            if (allArgs.getModifiers().contains(Modifier.PRIVATE)) {
+                throw new UnsupportedTypeException("the all-env-args constructor is private");
+            }
+            useConstructor = true;
+        } else if (noArgs != null && !noArgs.getModifiers().contains(Modifier.PRIVATE)) {
+            for (VariableElement field : envFields) {
+                if (field.getModifiers().contains(Modifier.PRIVATE) || field.getModifiers().contains(Modifier.FINAL)) {
+                    throw new UnsupportedTypeException("field \"" + field.getSimpleName() + "\" must be non-private and non-final to be set without reflection");
+                }
+            }
+            useConstructor = false;
+        } else {
+            throw new UnsupportedTypeException("no accessible all-env-args or no-args constructor");
+        }
+
+        String packageName = elements.getPackageOf(type).getQualifiedName().toString();
+        return new BinderModel(packageName, binderName(type, packageName, elements), type.getQualifiedName().toString(), useConstructor, fields);
+    }
+
+    /**
+     * Get the simple name of the binder generated for a type, which is looked up by its binary name at runtime
+     * @param type bound type
+     * @param packageName package of the type
+     * @param elements element utilities
+     * @return binder class name, without the package
+     */
+    static String binderName(TypeElement type, String packageName, Elements elements) {
+        String binaryName = elements.getBinaryName(type).toString();
+        String simpleBinaryName = packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1);
+        return simpleBinaryName + SUFFIX;
+    }
+
+    /**
+     * Check that generated code in the same package can refer to a type
+     * @param type type to bind
+     * @throws UnsupportedTypeException if the type is generic, or not accessible from its package
+     */
+    static void checkAccessible(TypeElement type) throws UnsupportedTypeException {
+        if (!type.getTypeParameters().isEmpty()) {
+            throw new UnsupportedTypeException("generic types are not supported");
+        }
+        for (Element e = type; e instanceof TypeElement; e = e.getEnclosingElement()) {
+            TypeElement t = (TypeElement) e;
+            if (t.getModifiers().contains(Modifier.PRIVATE)) {
+                throw new UnsupportedTypeException("private types are not accessible");
+            }
+            if (t.getNestingKind() == NestingKind.MEMBER && !t.getModifiers().contains(Modifier.STATIC) && !t.getKind().name().equals("RECORD")) {
+                throw new UnsupportedTypeException("inner classes must be static");
+            }
+            if (t.getNestingKind() == NestingKind.LOCAL || t.getNestingKind() == NestingKind.ANONYMOUS) {
+                throw new UnsupportedTypeException("local types are not accessible");
+            }
+        }
+    }
+
+    /**
+     * Find the constructor with the exact parameter types of the given fields, like {@code Class#getDeclaredConstructor} at runtime
+     * @param type type to search
+     * @param fields fields with the expected parameter types, in order
+     * @param types type utilities
+     * @return the constructor, which may be private, or {@code null} if there is none
+     */
+    private static ExecutableElement findConstructor(TypeElement type, List<? extends VariableElement> fields, Types types) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            List<? extends VariableElement> params = constructor.getParameters();
+            if (params.size() != fields.size()) {
+                continue;
+            }
+            boolean matches = true;
+            for (int i = 0; i < params.size() && matches; ++i) {
+                matches = types.isSameType(types.erasure(params.get(i).asType()), types.erasure(fields.get(i).asType()));
+            }
+            if (matches) {
+                return constructor;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Generate the binder source
+     * @return Java source of the binder class
+     */
+    String write() {
+        SourceWriter out = new SourceWriter();
+        if (!packageName.isEmpty()) {
+            out.line("package " + packageName + ";").blank();
+        }
+        out.line("/**");
+        out.line(" * Reflection-free binder for {@link " + typeName + "}, generated by {@code " + EnvBinderProcessor.class.getName() + "}. Do not edit.");
+        out.line(" */");
+        out.open("public final class " + binderName + " extends com.madimadica.betterenv.GeneratedEnvBinder<" + typeName + "> {").blank();
+        writeSpecs(out, fields);
+
+        out.open("public " + binderName + "() {");
+        out.line("super(" + typeName + ".class, FIELDS);");
+        out.close("}").blank();
+
+        out.line("@Override");
+        out.open("public " + typeName + " bind(com.madimadica.betterenv.EnvSource source) {");
+        out.line(typeName + " instance = tryBind(source);");
+        out.open("if (instance == null) {");
+        out.line("throw failure(FIELDS, source);");
+        out.close("}");
+        out.line("return instance;");
+        out.close("}").blank();
+
+        out.line("@Override");
+        out.open("protected " + typeName + " tryBind(com.madimadica.betterenv.EnvSource source) {");
+        for (int i = 0; i < fields.size(); ++i) {
+            writeField(out, i, fields.get(i));
+        }
+        writeChecks(out);
+        writeInstantiation(out);
+        out.close("}");
+        out.close("}");
+        return out.toString();
+    }
+
+    /**
+     * Write the {@code KEYS_<i>} and {@code FIELDS} constants describing each field
+     * @param out source to write to
+     * @param fields fields in declared order
+     */
+    static void writeSpecs(SourceWriter out, List<FieldModel> fields) {
+        for (int i = 0; i < fields.size(); ++i) {
+            StringBuilder keys = new StringBuilder();
+            for (String key : fields.get(i).keys) {
+                keys.append(keys.length() == 0 ? "" : ", ").append(SourceWriter.literal(key));
+            }
+            out.line("private static final String[] KEYS_" + i + " = {" + keys + "};");
+        }
+        out.blank();
+        out.open("private static final FieldSpec[] FIELDS = {");
+        for (int i = 0; i < fields.size(); ++i) {
+            FieldModel field = fields.get(i);
+            out.line("field(" + SourceWriter.literal(field.name) + ", " + field.typeName + ".class, KEYS_" + i + ", "
+                    + field.required + ", " + field.allowBlank + ", " + SourceWriter.literal(field.fallback) + "),");
+        }
+        out.close("};").blank();
+    }
+
+    /**
+     * Write the resolution of a field into the locals {@code v<i>} and {@code ok<i>}
+     * @param out source to write to
+     * @param i index of the field
+     * @param field field to resolve from {@code source}
+     */
+    static void writeField(SourceWriter out, int i, FieldModel field) {
+        String target = "v" + i;
+        String ok = "ok" + i;
+        out.line("// Field " + SourceWriter.literal(field.name));
+        out.line(field.typeName + " " + target + " = " + Coercion.defaultValue(field.type) + ";");
+        out.line("boolean " + ok + " = false;");
+        out.open("for (int k = 0; !" + ok + " && k < KEYS_" + i + ".length; ++k) {");
+        out.line("String raw = source.get(KEYS_" + i + "[k]);");
+        out.open("if (isUsable(raw, " + field.allowBlank + ")) {");
+        field.coercion.write(out, target, ok);
+        out.close("}");
+        out.close("}");
+        if (field.fallback != null) {
+            out.open("if (!" + ok + ") {");
+            out.line("String raw = " + SourceWriter.literal(field.fallback) + ";");
+            out.open("if (isUsable(raw, " + field.allowBlank + ")) {");
+            field.coercion.write(out, target, ok);
+            out.close("}");
+            out.close("}");
+        }
+        out.blank();
+    }
+
+    private void writeChecks(SourceWriter out) {
+        StringBuilder required = new StringBuilder();
+        for (int i = 0; i < fields.size(); ++i) {
+            if (fields.get(i).required) {
+                required.append(required.length() == 0 ? "" : " || ").append("!ok").append(i);
+            }
+        }
+        if (required.length() != 0) {
+            out.open("if (" + required + ") {");
+            out.line("return null;");
+            out.close("}");
+        }
+        for (int i = 0; i < fields.size(); ++i) {
+            FieldModel field = fields.get(i);
+            if (!field.required && field.type.getKind().isPrimitive()) {
+                out.open("if (!ok" + i + ") {");
+                out.line("throw unbindable(" + SourceWriter.literal(field.name) + ");");
+                out.close("}");
+            }
+        }
+    }
+
+    private void writeInstantiation(SourceWriter out) {
+        if (useConstructor) {
+            StringBuilder args = new StringBuilder();
+            for (int i = 0; i < fields.size(); ++i) {
+                args.append(i == 0 ? "" : ", ").append('v').append(i);
+            }
+            out.line("return new " + typeName + "(" + args + ");");
+            return;
+        }
+        out.line(typeName + " obj = new " + typeName + "();");
+        for (int i = 0; i < fields.size(); ++i) {
+            out.line("obj." + fields.get(i).name + " = v" + i + ";");
+        }
+        out.line("return obj;");
+    }
+}
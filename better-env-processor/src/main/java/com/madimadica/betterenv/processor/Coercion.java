@@ -0,0 +1,199 @@
+package com.madimadica.betterenv.processor;
+
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import java.util.Locale;
+
+/**
+ * Typed parsing code emitted for each supported declared type, matching {@code ClassUtils.coerceType}.
+ */
+enum Coercion {
+    STRING("java.lang.String") {
+        @Override
+        void write(SourceWriter out, String target, String ok) {
+            out.line(target + " = raw;");
+            out.line(ok + " = true;");
+        }
+    },
+    BOOLEAN("java.lang.Boolean") {
+        @Override
+        void write(SourceWriter out, String target, String ok) {
+            out.line("String lower = raw.toLowerCase();");
+            out.open("if (\"true\".equals(lower)) {");
+            out.line(target + " = true;");
+            out.line(ok + " = true;");
+            out.reopen("} else if (\"false\".equals(lower)) {");
+            out.line(target + " = false;");
+            out.line(ok + " = true;");
+            out.close("}");
+        }
+    },
+    CHAR("java.lang.Character") {
+        @Override
+        void write(SourceWriter out, String target, String ok) {
+            out.open("if (raw.length() == 1) {");
+            out.line(target + " = raw.charAt(0);");
+            out.line(ok + " = true;");
+            out.close("}");
+        }
+    },
+    BYTE("java.lang.Byte") {
+        @Override
+        void write(SourceWriter out, String target, String ok) {
+            writeInteger(out, target, ok, "byte", "Byte");
+        }
+    },
+    SHORT("java.lang.Short") {
+        @Override
+        void write(SourceWriter out, String target, String ok) {
+            writeInteger(out, target, ok, "short", "Short");
+        }
+    },
+    INT("java.lang.Integer") {
+        @Override
+        void write(SourceWriter out, String target, String ok) {
+            writeInteger(out, target, ok, "int", "Integer");
+        }
+    },
+    LONG("java.lang.Long") {
+        @Override
+        void write(SourceWriter out, String target, String ok) {
+            out.line("long parsed = parseInteger(raw, Long.MIN_VALUE, Long.MAX_VALUE);");
+            // INVALID_INTEGER is also Long.MIN_VALUE
+            out.open("if (parsed != INVALID_INTEGER || isLong(raw)) {");
+            out.line(target + " = parsed;");
+            out.line(ok + " = true;");
+            out.close("}");
+        }
+    },
+    FLOAT("java.lang.Float", "Float.parseFloat(raw)", "isFloat(raw)"),
+    DOUBLE("java.lang.Double", "Double.parseDouble(raw)", "isDouble(raw)"),
+    BIG_INTEGER("java.math.BigInteger", "new java.math.BigInteger(raw)", null),
+    BIG_DECIMAL("java.math.BigDecimal", "new java.math.BigDecimal(raw)", null);
+
+    /**
+     * Qualified name of the reference type, the boxed type for primitives
+     */
+    private final String referenceType;
+
+    /**
+     * Expression parsing the {@code raw} variable, which may throw a {@link NumberFormatException}
+     */
+    private final String parseExpression;
+
+    /**
+     * Expression checking if {@link Coercion#parseExpression} would succeed, without throwing, or {@code null} to catch the exception instead
+     */
+    private final String checkExpression;
+
+    Coercion(String referenceType) {
+        this(referenceType, null, null);
+    }
+
+    Coercion(String referenceType, String parseExpression, String checkExpression) {
+        this.referenceType = referenceType;
+        this.parseExpression = parseExpression;
+        this.checkExpression = checkExpression;
+    }
+
+    /**
+     * Write statements coercing the local {@code String raw}, which is never null, into {@code target},
+     * and setting {@code ok} to {@code true} on success. Invalid values leave both unchanged.
+     * @param out writer to append to
+     * @param target local variable to assign
+     * @param ok local boolean variable to set on success
+     */
+    void write(SourceWriter out, String target, String ok) {
+        if (checkExpression != null) {
+            out.open("if (" + checkExpression + ") {");
+            out.line(target + " = " + parseExpression + ";");
+            out.line(ok + " = true;");
+            out.close("}");
+            return;
+        }
+        out.open("try {");
+        out.line(target + " = " + parseExpression + ";");
+        out.line(ok + " = true;");
+        out.reopen("} catch (NumberFormatException e) {");
+        out.line("// Invalid, try the next value");
+        out.close("}");
+    }
+
+    /**
+     * Write a single pass, exception-free integer parse
+     * @param out writer to append to
+     * @param target local variable to assign
+     * @param ok local boolean variable to set on success
+     * @param primitive primitive type name
+     * @param wrapper wrapper type name, with {@code MIN_VALUE} and {@code MAX_VALUE} constants
+     */
+    private static void writeInteger(SourceWriter out, String target, String ok, String primitive, String wrapper) {
+        out.line("long parsed = parseInteger(raw, " + wrapper + ".MIN_VALUE, " + wrapper + ".MAX_VALUE);");
+        out.open("if (parsed != INVALID_INTEGER) {");
+        out.line(target + " = (" + primitive + ") parsed;");
+        out.line(ok + " = true;");
+        out.close("}");
+    }
+
+    /**
+     * Find the coercion for a declared type
+     * @param type declared field type
+     * @return the coercion, or {@code null} if the type is unsupported
+     */
+    static Coercion of(TypeMirror type) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+                return BOOLEAN;
+            case BYTE:
+                return BYTE;
+            case SHORT:
+                return SHORT;
+            case CHAR:
+                return CHAR;
+            case INT:
+                return INT;
+            case LONG:
+                return LONG;
+            case FLOAT:
+                return FLOAT;
+            case DOUBLE:
+                return DOUBLE;
+            case DECLARED:
+                String name = typeName(type);
+                for (Coercion coercion : values()) {
+                    if (coercion.referenceType.equals(name)) {
+                        return coercion;
+                    }
+                }
+                return null;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Get the source name of a primitive or declared type, without any type annotations
+     * @param type primitive or declared type
+     * @return the primitive keyword or qualified class name
+     */
+    static String typeName(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return type.getKind().name().toLowerCase(Locale.ROOT);
+        }
+        return ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+    }
+
+    /**
+     * Get the initial value of a local variable of the given type, before any value is resolved
+     * @param type declared field type
+     * @return a Java literal
+     */
+    static String defaultValue(TypeMirror type) {
+        if (type.getKind() == TypeKind.BOOLEAN) {
+            return "false";
+        }
+        return type.getKind().isPrimitive() ? "0" : "null";
+    }
+}
@@ -0,0 +1,97 @@
+package com.madimadica.betterenv.processor;
+
+import com.madimadica.betterenv.Env;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * <p>
+ *     Annotation processor generating a {@code <Type>EnvBinder} for each type with {@link Env} fields or record components.
+ * </p>
+ * <p>
+ *     For interfaces with {@link Env} accessor methods, the binder returns a generated implementation which resolves each accessor on first access.
+ * </p>
+ * <p>
+ *     Generated binders extend {@code GeneratedEnvBinder}, call the constructor directly, and parse values with typed parsers
+ *     such as {@link Integer#parseInt(String)}. {@code BetterEnv.load} uses them automatically instead of reflection.
+ * </p>
+ * <p>
+ *     Types which cannot be bound without reflection, such as a no-args constructor with {@code private} fields, are skipped with a note,
+ *     and are still loaded with reflection at runtime.
+ * </p>
+ */
+@SupportedAnnotationTypes("com.madimadica.betterenv.Env")
+public class EnvBinderProcessor extends AbstractProcessor {
+
+    /**
+     * Qualified names of types already processed, across rounds
+     */
+    private final Set<String> processed = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<TypeElement> types = new LinkedHashSet<>();
+        for (Element element : roundEnv.getElementsAnnotatedWith(Env.class)) {
+            if (element.getKind() == ElementKind.FIELD && element.getEnclosingElement() instanceof TypeElement) {
+                types.add((TypeElement) element.getEnclosingElement());
+            } else if (element.getKind() == ElementKind.METHOD && element.getEnclosingElement().getKind() == ElementKind.INTERFACE) {
+                types.add((TypeElement) element.getEnclosingElement());
+            }
+        }
+        for (TypeElement type : types) {
+            if (processed.add(type.getQualifiedName().toString())) {
+                generate(type);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Generate the binder source file for a type, or report why it was skipped
+     * @param type type declaring {@link Env} fields, or an interface declaring {@link Env} methods
+     */
+    private void generate(TypeElement type) {
+        String binderName;
+        String source;
+        try {
+            if (type.getKind() == ElementKind.INTERFACE) {
+                LazyBinderModel model = LazyBinderModel.analyze(type, processingEnv.getElementUtils());
+                binderName = model.getQualifiedBinderName();
+                source = model.write();
+            } else {
+                BinderModel model = BinderModel.analyze(type, processingEnv.getElementUtils(), processingEnv.getTypeUtils());
+                binderName = model.getQualifiedBinderName();
+                source = model.write();
+            }
+        } catch (BinderModel.UnsupportedTypeException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "No EnvBinder generated, " + e.getMessage(), type);
+            return;
+        }
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(binderName, type);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source);
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to write EnvBinder: " + e.getMessage(), type);
+        }
+    }
+}
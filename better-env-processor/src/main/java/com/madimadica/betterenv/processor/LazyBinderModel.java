@@ -0,0 +1,196 @@
+package com.madimadica.betterenv.processor;
+
+import com.madimadica.betterenv.Env;
+
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * <p>
+ *     Analysis of an interface with {@link Env} accessor methods, and the source of its generated binder.
+ * </p>
+ * <p>
+ *     The binder returns a nested implementation of the interface which resolves each accessor on first access.
+ *     The value is kept in a plain field, published by a {@code volatile} flag written after it, so later reads are a flag check and a field read.
+ * </p>
+ */
+final class LazyBinderModel {
+
+    private final String packageName;
+    private final String binderName;
+    private final String typeName;
+    private final List<BinderModel.FieldModel> fields;
+
+    private LazyBinderModel(String packageName, String binderName, String typeName, List<BinderModel.FieldModel> fields) {
+        this.packageName = packageName;
+        this.binderName = binderName;
+        this.typeName = typeName;
+        this.fields = fields;
+    }
+
+    /**
+     * Get the qualified name of the generated binder
+     * @return binder class name
+     */
+    String getQualifiedBinderName() {
+        return packageName.isEmpty() ? binderName : packageName + "." + binderName;
+    }
+
+    /**
+     * Analyze an interface for binder generation, with the same method rules as {@code InterfacePlan}
+     * @param type interface declaring {@link Env} methods
+     * @param elements element utilities
+     * @return a new model
+     * @throws BinderModel.UnsupportedTypeException if the interface can only be implemented with a reflective proxy
+     */
+    static LazyBinderModel analyze(TypeElement type, Elements elements) throws BinderModel.UnsupportedTypeException {
+        if (type.getKind() != ElementKind.INTERFACE) {
+            throw new BinderModel.UnsupportedTypeException("only interfaces can have @Env methods");
+        }
+        if (!type.getInterfaces().isEmpty()) {
+            checkRedeclaredAccessors(type, elements);
+            throw new BinderModel.UnsupportedTypeException("extended interfaces are not supported");
+        }
+        BinderModel.checkAccessible(type);
+
+        List<BinderModel.FieldModel> fields = new ArrayList<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            String name = method.getSimpleName().toString();
+            boolean annotated = method.getAnnotation(Env.class) != null;
+            if (method.getModifiers().contains(Modifier.STATIC) || method.getModifiers().contains(Modifier.PRIVATE)) {
+                continue;
+            }
+            if (method.isDefault()) {
+                if (annotated) {
+                    throw new BinderModel.UnsupportedTypeException("@Env method \"" + name + "\" must be abstract");
+                }
+                continue;
+            }
+            if (!annotated) {
+                throw new BinderModel.UnsupportedTypeException("abstract method \"" + name + "\" must be annotated with @Env");
+            }
+            if (!method.getParameters().isEmpty() || !method.getTypeParameters().isEmpty() || method.getReturnType().getKind() == TypeKind.VOID) {
+                throw new BinderModel.UnsupportedTypeException("@Env method \"" + name + "\" must have no parameters and a return type");
+            }
+            Coercion coercion = Coercion.of(method.getReturnType());
+            if (coercion == null) {
+                throw new BinderModel.UnsupportedTypeException("method \"" + name + "\" has unsupported type \"" + method.getReturnType() + "\"");
+            }
+            fields.add(new BinderModel.FieldModel(method, method.getReturnType(), coercion));
+        }
+
+        String packageName = elements.getPackageOf(type).getQualifiedName().toString();
+        return new LazyBinderModel(packageName, BinderModel.binderName(type, packageName, elements), type.getQualifiedName().toString(), fields);
+    }
+
+    /**
+     * Check that accessors redeclared by several super interfaces can share one value, with the same rule as {@code InterfacePlan}
+     * @param type interface extending other interfaces
+     * @param elements element utilities
+     * @throws BinderModel.UnsupportedTypeException if two accessors of the same name differ in return type or annotations
+     */
+    private static void checkRedeclaredAccessors(TypeElement type, Elements elements) throws BinderModel.UnsupportedTypeException {
+        Map<String, ExecutableElement> declarations = new HashMap<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+            if (method.getAnnotation(Env.class) == null || method.isDefault() || method.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+            }
+            String name = method.getSimpleName().toString();
+            ExecutableElement declared = declarations.putIfAbsent(name, method);
+            if (declared != null && !isSameAccessor(declared, method)) {
+                throw new BinderModel.UnsupportedTypeException("@Env method \"" + name + "\" is declared differently by \""
+                        + declared.getEnclosingElement() + "\" and \"" + method.getEnclosingElement() + "\"");
+            }
+        }
+    }
+
+    private static boolean isSameAccessor(ExecutableElement a, ExecutableElement b) {
+        return a.getReturnType().toString().equals(b.getReturnType().toString())
+                && a.getAnnotation(Env.class).equals(b.getAnnotation(Env.class))
+                && Objects.equals(a.getAnnotation(Env.Fallback.class), b.getAnnotation(Env.Fallback.class))
+                && Objects.equals(a.getAnnotation(Env.Delimiter.class), b.getAnnotation(Env.Delimiter.class));
+    }
+
+    /**
+     * Generate the binder source
+     * @return Java source of the binder class
+     */
+    String write() {
+        SourceWriter out = new SourceWriter();
+        if (!packageName.isEmpty()) {
+            out.line("package " + packageName + ";").blank();
+        }
+        out.line("/**");
+        out.line(" * Lazy, reflection-free implementation of {@link " + typeName + "}, generated by {@code " + EnvBinderProcessor.class.getName() + "}. Do not edit.");
+        out.line(" */");
+        out.open("public final class " + binderName + " extends com.madimadica.betterenv.GeneratedEnvBinder<" + typeName + "> {").blank();
+        BinderModel.writeSpecs(out, fields);
+
+        out.open("public " + binderName + "() {");
+        out.line("super(" + typeName + ".class, FIELDS);");
+        out.close("}").blank();
+
+        out.line("@Override");
+        out.open("public " + typeName + " bind(com.madimadica.betterenv.EnvSource source) {");
+        out.line("return new Implementation(this, source);");
+        out.close("}").blank();
+
+        out.open("private static final class Implementation implements " + typeName + " {");
+        out.line("private final " + binderName + " binder;");
+        out.line("private final com.madimadica.betterenv.EnvSource source;");
+        for (int i = 0; i < fields.size(); ++i) {
+            out.line("private " + fields.get(i).typeName + " value" + i + ";");
+            out.line("private volatile boolean resolved" + i + ";");
+        }
+        out.blank();
+        out.open("Implementation(" + binderName + " binder, com.madimadica.betterenv.EnvSource source) {");
+        out.line("this.binder = binder;");
+        out.line("this.source = source;");
+        out.close("}");
+        for (int i = 0; i < fields.size(); ++i) {
+            out.blank();
+            writeAccessor(out, i, fields.get(i));
+        }
+        out.close("}");
+        out.close("}");
+        return out.toString();
+    }
+
+    private static void writeAccessor(SourceWriter out, int i, BinderModel.FieldModel field) {
+        out.line("@Override");
+        out.open("public " + field.typeName + " " + field.name + "() {");
+        out.open("if (!resolved" + i + ") {");
+        out.line("resolve" + i + "();");
+        out.close("}");
+        out.line("return value" + i + ";");
+        out.close("}").blank();
+
+        out.open("private synchronized void resolve" + i + "() {");
+        out.open("if (resolved" + i + ") {");
+        out.line("return;");
+        out.close("}");
+        BinderModel.writeField(out, i, field);
+        if (field.required) {
+            out.open("if (!ok" + i + ") {");
+            out.line("throw binder.failure(FIELDS[" + i + "], source);");
+            out.close("}");
+        } else if (field.type.getKind().isPrimitive()) {
+            out.open("if (!ok" + i + ") {");
+            out.line("throw unbindable(" + SourceWriter.literal(field.name) + ");");
+            out.close("}");
+        }
+        out.line("value" + i + " = v" + i + ";");
+        out.line("resolved" + i + " = true;");
+        out.close("}");
+    }
+}
@@ -0,0 +1,110 @@
+package com.madimadica.betterenv.processor;
+
+/**
+ * Minimal indenting writer for generated Java source.
+ */
+final class SourceWriter {
+
+    private static final String INDENT = "    ";
+
+    private final StringBuilder sb = new StringBuilder();
+
+    private int depth;
+
+    /**
+     * Write a single line at the current indentation
+     * @param line line content, without a line separator
+     * @return {@code this}
+     */
+    SourceWriter line(String line) {
+        for (int i = 0; i < depth; ++i) {
+            sb.append(INDENT);
+        }
+        sb.append(line).append('\n');
+        return this;
+    }
+
+    /**
+     * Write an empty line
+     * @return {@code this}
+     */
+    SourceWriter blank() {
+        sb.append('\n');
+        return this;
+    }
+
+    /**
+     * Write a line opening a block, and indent the following lines
+     * @param line line content, usually ending in <code>{</code>
+     * @return {@code this}
+     */
+    SourceWriter open(String line) {
+        line(line);
+        ++depth;
+        return this;
+    }
+
+    /**
+     * Write a line continuing a block at the outer indentation, such as <code>} else {</code>
+     * @param line line content
+     * @return {@code this}
+     */
+    SourceWriter reopen(String line) {
+        --depth;
+        return open(line);
+    }
+
+    /**
+     * Outdent and write a line closing a block
+     * @param line line content, usually <code>}</code>
+     * @return {@code this}
+     */
+    SourceWriter close(String line) {
+        --depth;
+        return line(line);
+    }
+
+    /**
+     * Quote a value as a Java String literal
+     * @param value value to quote, nullable
+     * @return a String literal, or {@code null}
+     */
+    static String literal(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); ++i) {
+            char ch = value.charAt(i);
+            switch (ch) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (ch < 0x20 || ch > 0x7e) {
+                        sb.append(String.format("\\u%04x", (int) ch));
+                    } else {
+                        sb.append(ch);
+                    }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    @Override
+    public String toString() {
+        return sb.toString();
+    }
+}
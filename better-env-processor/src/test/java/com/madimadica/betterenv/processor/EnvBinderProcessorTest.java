@@ -0,0 +1,263 @@
+package com.madimadica.betterenv.processor;
+
+import com.madimadica.betterenv.BetterEnv;
+import com.madimadica.betterenv.EnvSource;
+import com.madimadica.betterenv.GeneratedEnvBinder;
+import com.madimadica.betterenv.InvalidEnvTypeException;
+import com.madimadica.betterenv.InvalidEnvironmentException;
+import com.madimadica.betterenv.LoadResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.*;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// run configuration env (same as better-env tests):
+// primitive_int=3;primitive_boolean=true;primitive_char=A;reference_BigDecimal=0.123;reference_String=foo;reference_Blank=;reference_bar=bar
+class EnvBinderProcessorTest {
+
+    private static final String ALL_ARGS = "package com.example;\n"
+            + "import com.madimadica.betterenv.Env;\n"
+            + "public class AllArgs {\n"
+            + "    @Env(\"reference_String\") private final String s;\n"
+            + "    @Env({\"reference_na\", \"primitive_int\"}) private final int i;\n"
+            + "    @Env(\"primitive_boolean\") private final Boolean b;\n"
+            + "    @Env(\"primitive_char\") private final char c;\n"
+            + "    @Env(\"reference_BigDecimal\") private final java.math.BigDecimal d;\n"
+            + "    @Env(value = \"reference_na\", required = false) @Env.Fallback(\"42\") private final long fallback;\n"
+            + "    @Env(value = \"reference_Blank\", allowBlank = true) private final String blank;\n"
+            + "    private final String other = \"other\";\n"
+            + "    public AllArgs(String s, int i, Boolean b, char c, java.math.BigDecimal d, long fallback, String blank) {\n"
+            + "        this.s = s; this.i = i; this.b = b; this.c = c; this.d = d; this.fallback = fallback; this.blank = blank;\n"
+            + "    }\n"
+            + "    public String toString() { return s + \",\" + i + \",\" + b + \",\" + c + \",\" + d + \",\" + fallback + \",[\" + blank + \"]\"; }\n"
+            + "}\n";
+
+    private static final String NO_ARGS = "package com.example;\n"
+            + "import com.madimadica.betterenv.Env;\n"
+            + "public class NoArgs {\n"
+            + "    @Env(\"reference_bar\") String bar;\n"
+            + "    @Env(value = \"reference_na\", required = false) Integer missing;\n"
+            + "    public String toString() { return bar + \",\" + missing; }\n"
+            + "}\n";
+
+    private static final String INVALID = "package com.example;\n"
+            + "import com.madimadica.betterenv.Env;\n"
+            + "public class Invalid {\n"
+            + "    @Env(\"reference_String\") String ok;\n"
+            + "    @Env({\"reference_na\", \"reference_Blank\", \"reference_String\"}) int number;\n"
+            + "    @Env(\"reference_String\") @Env.Fallback(\"maybe\") boolean flag;\n"
+            + "    @Env(\"reference_bar\") char ch;\n"
+            + "}\n";
+
+    private static final String PRIVATE_FIELDS = "package com.example;\n"
+            + "import com.madimadica.betterenv.Env;\n"
+            + "public class PrivateFields {\n"
+            + "    @Env(\"reference_String\") private String s;\n"
+            + "}\n";
+
+    private static final String PRIVATE_CONSTRUCTOR = "package com.example;\n"
+            + "import com.madimadica.betterenv.Env;\n"
+            + "public class PrivateConstructor {\n"
+            + "    @Env(\"reference_String\") String s;\n"
+            + "    public PrivateConstructor() {}\n"
+            + "    private PrivateConstructor(String s) { this.s = s.toUpperCase(); }\n"
+            + "    public String toString() { return s; }\n"
+            + "}\n";
+
+    private static final String RECORD = "package com.example;\n"
+            + "import com.madimadica.betterenv.Env;\n"
+            + "public record Rec(@Env(\"reference_String\") String s, @Env(\"primitive_int\") int i) {}\n";
+
+    private static final String LAZY = "package com.example;\n"
+            + "import com.madimadica.betterenv.Env;\n"
+            + "public interface Lazy {\n"
+            + "    @Env(\"reference_String\") String s();\n"
+            + "    @Env({\"reference_na\", \"primitive_int\"}) int i();\n"
+            + "    @Env(\"reference_bar\") int invalid();\n"
+            + "    @Env(value = \"reference_na\", required = false) Integer missing();\n"
+            + "    default String describe() { return s() + \",\" + i() + \",\" + missing(); }\n"
+            + "}\n";
+
+    private static final String LAZY_CONFLICTING = "package com.example;\n"
+            + "import com.madimadica.betterenv.Env;\n"
+            + "public interface LazyConflicting extends LazyFirst, LazySecond {\n"
+            + "    @Env(\"reference_bar\") String bar();\n"
+            + "}\n"
+            + "interface LazyFirst { @Env(\"reference_String\") String s(); }\n"
+            + "interface LazySecond { @Env(\"reference_bar\") String s(); }\n";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void givenAllArgsConstructor_thenGenerateBinder() throws Exception {
+        ClassLoader loader = compile(true, "AllArgs", ALL_ARGS);
+        Class<?> type = loader.loadClass("com.example.AllArgs");
+        Class<?> binderType = loader.loadClass("com.example.AllArgsEnvBinder");
+        assertTrue(GeneratedEnvBinder.class.isAssignableFrom(binderType));
+
+        String source = new String(Files.readAllBytes(dir.resolve("generated/com/example/AllArgsEnvBinder.java")), StandardCharsets.UTF_8);
+        assertTrue(source.contains("parseInteger(raw, Integer.MIN_VALUE, Integer.MAX_VALUE)"));
+        assertTrue(source.contains("return new com.example.AllArgs(v0, v1, v2, v3, v4, v5, v6);"));
+        assertFalse(source.contains("coerceType"));
+
+        Object viaBinder = ((GeneratedEnvBinder<?>) binderType.getConstructor().newInstance()).bind(BetterEnv.getSource());
+        assertEquals("foo,3,true,A,0.123,42,[]", viaBinder.toString());
+        assertEquals("foo,3,true,A,0.123,42,[]", BetterEnv.load(type).toString());
+    }
+
+    @Test
+    void givenNoArgsConstructor_thenGenerateBinderSettingFields() throws Exception {
+        ClassLoader loader = compile(true, "NoArgs", NO_ARGS);
+        Class<?> binderType = loader.loadClass("com.example.NoArgsEnvBinder");
+        Object viaBinder = ((GeneratedEnvBinder<?>) binderType.getConstructor().newInstance()).bind(BetterEnv.getSource());
+        assertEquals("bar,null", viaBinder.toString());
+    }
+
+    @Test
+    void givenPrivateFieldsWithoutConstructor_thenSkip() throws Exception {
+        ClassLoader loader = compile(true, "PrivateFields", PRIVATE_FIELDS);
+        assertThrows(ClassNotFoundException.class, () -> loader.loadClass("com.example.PrivateFieldsEnvBinder"));
+        Object reflective = BetterEnv.load(loader.loadClass("com.example.PrivateFields"));
+        assertNotNull(reflective);
+    }
+
+    @Test
+    void givenPrivateAllArgsConstructor_thenSkipLikeReflection() throws Exception {
+        ClassLoader loader = compile(true, "PrivateConstructor", PRIVATE_CONSTRUCTOR);
+        assertThrows(ClassNotFoundException.class, () -> loader.loadClass("com.example.PrivateConstructorEnvBinder"));
+        // Reflection selects the private constructor instead of setting the fields, and cannot call it
+        Class<?> type = loader.loadClass("com.example.PrivateConstructor");
+        assertThrows(RuntimeException.class, () -> BetterEnv.load(type));
+    }
+
+    @Test
+    void givenInvalidEnvironment_thenSameMessageAsReflection() throws Exception {
+        ClassLoader generated = compile(true, "Invalid", INVALID);
+        Class<?> generatedType = generated.loadClass("com.example.Invalid");
+        assertNotNull(generated.loadClass("com.example.InvalidEnvBinder"));
+
+        Path reflectiveDir = dir.resolve("reflective");
+        ClassLoader reflective = compile(false, "Invalid", INVALID, reflectiveDir);
+        Class<?> reflectiveType = reflective.loadClass("com.example.Invalid");
+
+        String expected = assertThrows(InvalidEnvironmentException.class, () -> BetterEnv.load(reflectiveType)).getMessage();
+        String actual = assertThrows(InvalidEnvironmentException.class, () -> BetterEnv.load(generatedType)).getMessage();
+        assertEquals(expected, actual);
+        assertEquals("Failed to load env data for type \"com.example.Invalid\":"
+                + "\n\tField \"number\":"
+                + "\n\t\t\"reference_na\": Missing environment variable"
+                + "\n\t\t\"reference_Blank\": Cannot be blank"
+                + "\n\t\t\"reference_String\": Failed to coerce type to \"int\": NumberFormatException"
+                + "\n\tField \"flag\":"
+                + "\n\t\t\"reference_String\": Failed to coerce type to \"boolean\": Expected 'true' or 'false' (case-insensitive)"
+                + "\n\t\t\"@Env.Fallback\": Failed to coerce type to \"boolean\": Expected 'true' or 'false' (case-insensitive)"
+                + "\n\tField \"ch\":"
+                + "\n\t\t\"reference_bar\": Failed to coerce type to \"char\": Character/char input must be length 1, instead found length 3", actual);
+
+        LoadResult<?> failed = BetterEnv.tryLoad(generatedType, BetterEnv.getSource());
+        assertEquals(BetterEnv.tryLoad(reflectiveType, BetterEnv.getSource()).getFailures().toString(), failed.getFailures().toString());
+    }
+
+    @Test
+    void givenGeneratedBinder_whenTryLoad_thenResolveEachKeyOnce() throws Exception {
+        ClassLoader loader = compile(true, "NoArgs", NO_ARGS);
+        Class<?> type = loader.loadClass("com.example.NoArgs");
+        List<String> lookups = new ArrayList<>();
+        EnvSource counting = key -> {
+            lookups.add(key);
+            return BetterEnv.getSource().get(key);
+        };
+        assertEquals("bar,null", BetterEnv.tryLoad(type, counting).get().toString());
+        assertEquals(Arrays.asList("reference_bar", "reference_na"), lookups);
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_16)
+    void givenRecord_thenGenerateBinder() throws Exception {
+        ClassLoader loader = compile(true, "Rec", RECORD);
+        Class<?> binderType = loader.loadClass("com.example.RecEnvBinder");
+        Object viaBinder = ((GeneratedEnvBinder<?>) binderType.getConstructor().newInstance()).bind(BetterEnv.getSource());
+        Method s = viaBinder.getClass().getMethod("s");
+        Method i = viaBinder.getClass().getMethod("i");
+        assertEquals("foo", s.invoke(viaBinder));
+        assertEquals(3, i.invoke(viaBinder));
+    }
+
+    @Test
+    void givenInterface_thenGenerateLazyImplementation() throws Exception {
+        ClassLoader loader = compile(true, "Lazy", LAZY);
+        Class<?> type = loader.loadClass("com.example.Lazy");
+        assertNotNull(loader.loadClass("com.example.LazyEnvBinder"));
+
+        String source = new String(Files.readAllBytes(dir.resolve("generated/com/example/LazyEnvBinder.java")), StandardCharsets.UTF_8);
+        assertTrue(source.contains("private volatile boolean resolved1;"));
+        assertFalse(source.contains("coerceType"));
+
+        Object lazy = BetterEnv.load(type);
+        assertFalse(lazy instanceof java.lang.reflect.Proxy);
+        assertEquals("foo,3,null", type.getMethod("describe").invoke(lazy));
+
+        Method invalid = type.getMethod("invalid");
+        Throwable actual = assertThrows(java.lang.reflect.InvocationTargetException.class, () -> invalid.invoke(lazy)).getCause();
+        assertInstanceOf(InvalidEnvironmentException.class, actual);
+        assertEquals("Failed to load env data for type \"com.example.Lazy\":"
+                + "\n\tField \"invalid\":"
+                + "\n\t\t\"reference_bar\": Failed to coerce type to \"int\": NumberFormatException", actual.getMessage());
+    }
+
+    @Test
+    void givenConflictingInheritedAccessors_thenSkipAndThrowLikeReflection() throws Exception {
+        ClassLoader loader = compile(true, "LazyConflicting", LAZY_CONFLICTING);
+        assertThrows(ClassNotFoundException.class, () -> loader.loadClass("com.example.LazyConflictingEnvBinder"));
+        InvalidEnvTypeException e = assertThrows(InvalidEnvTypeException.class, () -> BetterEnv.load(loader.loadClass("com.example.LazyConflicting")));
+        assertTrue(e.getMessage().contains("\"s\" is declared differently"), e.getMessage());
+    }
+
+    private ClassLoader compile(boolean process, String name, String source) throws IOException {
+        return compile(process, name, source, dir);
+    }
+
+    private static ClassLoader compile(boolean process, String name, String source, Path dir) throws IOException {
+        Path sources = Files.createDirectories(dir.resolve("src/com/example"));
+        Path classes = Files.createDirectories(dir.resolve("classes"));
+        Path generated = Files.createDirectories(dir.resolve("generated"));
+        Path file = sources.resolve(name + ".java");
+        Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        StringWriter output = new StringWriter();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            List<String> options = new ArrayList<>(Arrays.asList(
+                    "-classpath", System.getProperty("java.class.path"),
+                    "-d", classes.toString(),
+                    "-s", generated.toString()));
+            if (!process) {
+                options.add("-proc:none");
+            }
+            JavaCompiler.CompilationTask task = compiler.getTask(output, fileManager, null, options, null,
+                    fileManager.getJavaFileObjectsFromFiles(Collections.singletonList(file.toFile())));
+            if (process) {
+                task.setProcessors(Collections.singletonList(new EnvBinderProcessor()));
+            }
+            assertTrue(task.call(), output::toString);
+        }
+        return new URLClassLoader(new URL[] {classes.toUri().toURL()}, EnvBinderProcessorTest.class.getClassLoader());
+    }
+}
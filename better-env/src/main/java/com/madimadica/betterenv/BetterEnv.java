@@ -0,0 +1,656 @@
+package com.madimadica.betterenv;
+
+import java.util.*;
+
+/**
+ * <p>
+ *     Static entry point to load environment bindings to POJO types.
+ * </p>
+ * <p>
+ *     Also provides simple Optional return values and number parsing with
+ *     {@link BetterEnv#get(String)}, {@link BetterEnv#getInt(String)}, and {@link BetterEnv#getLong(String)}.
+ * </p>
+ * <p>
+ *     For hot paths, {@link BetterEnv#getAsInt(String)}, {@link BetterEnv#getAsLong(String)}, {@link BetterEnv#getAsDouble(String)},
+ *     and {@link BetterEnv#getAsBoolean(String)} avoid boxing, and the defaulted variants such as {@link BetterEnv#getInt(String, int)}
+ *     return primitives without allocating.
+ * </p>
+ *
+ * @see BetterEnv#load(Class)
+ * @see Env
+ * @see Env.Fallback
+ */
+public class BetterEnv {
+
+    /**
+     * Binder used by the static methods, resolving against a snapshot of the process environment by default
+     */
+    private static volatile EnvBinder binder = EnvBinder.ofDefaults(EnvSnapshot.ofSystem());
+
+    /**
+     * Hide the constructor
+     */
+    private BetterEnv() {}
+
+    /**
+     * Get the source all static methods resolve environment variables against.
+     * @return the current source
+     */
+    public static EnvSource getSource() {
+        return binder.getSource();
+    }
+
+    /**
+     * <p>
+     *     Replace the source all static methods resolve environment variables against, such as an {@link EnvSnapshot} for tests.
+     * </p>
+     * <p>
+     *     The default is {@link EnvSnapshot#ofSystem()}, taken when this class is initialized.
+     * </p>
+     * <p>
+     *     Replacing the source discards the cached results of {@link BetterEnv#getInt(String)} and the other typed lookups,
+     *     and releases the instances of {@link BetterEnv#shared(Class)}.
+     * </p>
+     * @param source new source
+     * @throws NullPointerException if {@code source} is null
+     */
+    public static synchronized void setSource(EnvSource source) {
+        binder = binder.withSource(source);
+        SourceGeneration.sourceChanged(source);
+    }
+
+    /**
+     * <p>
+     *     Get the binder the static methods delegate to. It resolves against {@link BetterEnv#getSource()},
+     *     with the coercers of {@link BetterEnv#registerCoercer(Class, Coercer)} and listeners of {@link BetterEnv#addListener(BindingListener)}.
+     * </p>
+     * <p>
+     *     The binder is replaced by {@link BetterEnv#setSource(EnvSource)}. Use {@link EnvBinder#builder()} for binders independent of this class.
+     * </p>
+     * @return the default binder
+     */
+    public static EnvBinder getBinder() {
+        return binder;
+    }
+
+    /**
+     * <p>
+     *     Load environment variables and attempt to bind them to a new instance of type {@code T}. Supports classes and records, even in older runtimes.
+     *     This only binds variables to instance-variable types, and will bind to static variables.
+     * </p>
+     * <p>
+     *     Invoke this with {@code MyType myType = BetterEnv.load(MyType.class)}
+     * </p>
+     * <p>
+     *     For records, all fields/components must have an {@link Env} annotation provided. The canonical constructor will be used.
+     * </p>
+     * <p>
+     *     For classes, any number of fields can be annotated with {@link Env}. There must be at least 1 valid constructor to use for these types, and you have 2 options.
+     * </p>
+     * <p>
+     *     First, you can have a no-args constructor, which <em>does not</em> support {@code final} modifiers on {@link Env} fields. The valus are directly set and do not
+     *     use any defined setters/mutators.
+     * </p>
+     * <p>
+     *     Next, you can use an overloaded constructor, which must have each {@link Env} annotated field in the same declared order. This overloaded constructor
+     *     will allow {@code final} modifiers on annotated fields, and does not update set values with reflection.
+     * </p>
+     * <p>
+     *     If both the overloaded and no-args constructors are provided, the overloaded constructor is used. If neither are provided, an {@link InvalidEnvTypeException} is thrown.
+     * </p>
+     * <p>
+     *     Fields may be automatically coerced into the following supported types: all primitives, all primitive wrappers, {@link String}, {@link java.math.BigDecimal}, {@link java.math.BigInteger}
+     * </p>
+     * <p>
+     *     If the {@code better-env-processor} annotation processor generated a {@link GeneratedEnvBinder} for the type, it is used instead of reflection.
+     * </p>
+     * <p>
+     *     For interfaces, every abstract method must be a no-args accessor annotated with {@link Env}. The returned implementation
+     *     resolves and coerces each value on its first access and caches it, so invalid values are only reported when accessed.
+     *     Without a generated binder, the implementation is a {@link java.lang.reflect.Proxy}.
+     * </p>
+     *
+     * @param pojoType Type to load
+     * @return an instance of type {@code T}
+     * @param <T> type to bind/return
+     * @throws InvalidEnvironmentException if the runtime environment has invalid environment variables required to bind to type {@code T}.
+     * @throws InvalidEnvTypeException if the given type {@code T} has problems with the declared fields or constructors.
+     */
+    public static <T> T load(Class<T> pojoType) {
+        return binder.load(pojoType);
+    }
+
+    /**
+     * <p>
+     *     Get one canonical instance of type {@code T} for the current source, loaded like {@link BetterEnv#load(Class)} on first use,
+     *     instead of a new instance on every call. Callers share the instance, so they must not modify it.
+     * </p>
+     * <p>
+     *     When many threads ask for the same type at once, only one loads it and the others wait for it. A failed load is not kept,
+     *     so the next call tries again. The instance is released when {@link BetterEnv#setSource(EnvSource)} replaces the source,
+     *     or an {@link EnvWatcher} source reloads a changed file, and the next call loads a new instance.
+     * </p>
+     * @param pojoType Type to load
+     * @return the shared instance of type {@code T}
+     * @param <T> type to bind/return
+     * @throws InvalidEnvironmentException if the runtime environment has invalid environment variables required to bind to type {@code T}.
+     * @throws InvalidEnvTypeException if the given type {@code T} has problems with the declared fields or constructors.
+     */
+    public static <T> T shared(Class<T> pojoType) {
+        return SourceGeneration.current().shared(Objects.requireNonNull(pojoType, "pojoType"));
+    }
+
+    /**
+     * Load environment variables from the given source and attempt to bind them to a new instance of type {@code T}.
+     * This behaves the same as {@link BetterEnv#load(Class)}, but resolves against {@code source} instead of {@link BetterEnv#getSource()}.
+     * @param pojoType Type to load
+     * @param source source of environment variables
+     * @return an instance of type {@code T}
+     * @param <T> type to bind/return
+     * @throws InvalidEnvironmentException if the source has invalid environment variables required to bind to type {@code T}.
+     * @throws InvalidEnvTypeException if the given type {@code T} has problems with the declared fields or constructors.
+     */
+    public static <T> T load(Class<T> pojoType, EnvSource source) {
+        return binder.load(pojoType, source);
+    }
+
+    /**
+     * <p>
+     *     Load environment variables with every {@link Env} key prepended with a prefix, such as {@code "ACME_"} for one tenant,
+     *     and bind them to a new instance of type {@code T}. This behaves the same as {@link BetterEnv#load(Class)},
+     *     with the prefix also applied to the keys of {@link Env.Nested} fields, and invalid keys reported with the prefix.
+     * </p>
+     * <p>
+     *     The type is only analyzed once for all prefixes. With an {@link EnvSnapshot} source, the prefixed keys are looked up
+     *     without concatenating them, so loading many tenants costs little more than loading the type without a prefix.
+     * </p>
+     * @param pojoType Type to load
+     * @param prefix prefix prepended to every key
+     * @return an instance of type {@code T}
+     * @param <T> type to bind/return
+     * @throws InvalidEnvironmentException if the runtime environment has invalid environment variables required to bind to type {@code T}.
+     * @throws InvalidEnvTypeException if the given type {@code T} has problems with the declared fields or constructors.
+     */
+    public static <T> T load(Class<T> pojoType, String prefix) {
+        return binder.load(pojoType, prefix);
+    }
+
+    /**
+     * Load a new instance of type {@code T} for each prefix, with the same behavior as {@link BetterEnv#load(Class, String)} for each one.
+     * An invalid prefix doesn't stop the others from being bound, and every invalid prefix is reported together in one exception.
+     * @param pojoType Type to load
+     * @param prefixes prefixes prepended to every key, duplicates are only loaded once
+     * @return the loaded instance for each prefix, in iteration order of {@code prefixes}
+     * @param <T> type to bind/return
+     * @throws InvalidEnvironmentException if any prefix could not be bound, summarizing each one, which are also attached as suppressed exceptions.
+     * @throws InvalidEnvTypeException if the given type {@code T} has problems with the declared fields or constructors.
+     */
+    public static <T> Map<String, T> loadPrefixed(Class<T> pojoType, Collection<String> prefixes) {
+        return binder.loadPrefixed(pojoType, prefixes);
+    }
+
+    /**
+     * <p>
+     *     Load environment variables and attempt to bind them to a new instance of type {@code T}, like {@link BetterEnv#load(Class)},
+     *     but report invalid environment variables in the result instead of throwing.
+     * </p>
+     * <p>
+     *     Failures don't build an exception message or capture a stack trace, which makes this suitable for repeatedly probing optional configuration.
+     *     Interfaces have every accessor validated up front, instead of on first access.
+     * </p>
+     * @param pojoType Type to load
+     * @return the loaded instance, or each invalid field and key
+     * @param <T> type to bind/return
+     * @throws InvalidEnvTypeException if the given type {@code T} has problems with the declared fields or constructors.
+     */
+    public static <T> LoadResult<T> tryLoad(Class<T> pojoType) {
+        return binder.tryLoad(pojoType);
+    }
+
+    /**
+     * Load environment variables from the given source, like {@link BetterEnv#tryLoad(Class)}
+     * @param pojoType Type to load
+     * @param source source of environment variables
+     * @return the loaded instance, or each invalid field and key
+     * @param <T> type to bind/return
+     * @throws InvalidEnvTypeException if the given type {@code T} has problems with the declared fields or constructors.
+     */
+    public static <T> LoadResult<T> tryLoad(Class<T> pojoType, EnvSource source) {
+        return binder.tryLoad(pojoType, source);
+    }
+
+    /**
+     * <p>
+     *     Load many types at once, such as every configuration type at startup, with the same behavior as {@link BetterEnv#load(Class)} for each type.
+     * </p>
+     * <p>
+     *     The distinct {@link Env} keys across all types are resolved once from {@link BetterEnv#getSource()}, then the types are bound in parallel
+     *     on the common {@link java.util.concurrent.ForkJoinPool}. An invalid type doesn't stop the others from being bound,
+     *     and every invalid type is reported together in one exception.
+     * </p>
+     * @param types types to load, duplicates are only loaded once
+     * @return the loaded instance of each type
+     * @throws InvalidEnvironmentException if any type could not be bound, summarizing each one, which are also attached as suppressed exceptions.
+     * @throws InvalidEnvTypeException if any given type has problems with the declared fields or constructors.
+     */
+    public static LoadedTypes loadAll(Class<?>... types) {
+        return binder.loadAll(types);
+    }
+
+    /**
+     * Load many types at once from the given source. This behaves the same as {@link BetterEnv#loadAll(Class[])},
+     * but resolves against {@code source} instead of {@link BetterEnv#getSource()}.
+     * @param source source of environment variables
+     * @param types types to load, duplicates are only loaded once
+     * @return the loaded instance of each type
+     * @throws InvalidEnvironmentException if any type could not be bound, summarizing each one, which are also attached as suppressed exceptions.
+     * @throws InvalidEnvTypeException if any given type has problems with the declared fields or constructors.
+     */
+    public static LoadedTypes loadAll(EnvSource source, Class<?>... types) {
+        return LoadedTypes.load(binder, Objects.requireNonNull(source, "source"), types);
+    }
+
+    /**
+     * Get the bindings of each {@link Env} field or accessor of a type, including those of {@link Env.Nested} fields, without binding it
+     * @param type type to inspect, with the same requirements as {@link BetterEnv#load(Class)}
+     * @return the field bindings. Do not modify the returned array.
+     * @throws InvalidEnvTypeException if the given type has problems with the declared fields or constructors.
+     */
+    static FieldBinding[] getFields(Class<?> type) {
+        return binder.getFields(type);
+    }
+
+    /**
+     * <p>
+     *     Register the {@link Coercer} used to bind fields declared with a type, such as {@code Duration.class, Duration::parse}.
+     *     This can add a type, or replace the coercer of a built-in type.
+     * </p>
+     * <p>
+     *     Primitive types require the matching specialized coercer, such as {@link IntCoercer} for {@code int.class}.
+     *     Registering a coercer for a primitive type doesn't change its wrapper type, and vice versa.
+     *     Generated binders are not used while a built-in type has a replaced coercer.
+     * </p>
+     * @param type declared field type
+     * @param coercer coercer for the type
+     * @param <T> declared field type
+     * @throws IllegalArgumentException if {@code type} is primitive, and the coercer is not the matching specialized variant
+     */
+    public static <T> void registerCoercer(Class<T> type, Coercer<? extends T> coercer) {
+        CoercerRegistry.getDefault().register(type, coercer);
+        BindingPlan.invalidate();
+    }
+
+    /**
+     * Register a {@link BindingListener} to be notified of every following load by {@link BetterEnv}, after any already registered.
+     * Listeners declared as {@link java.util.ServiceLoader} providers are registered automatically.
+     * @param listener listener to add
+     * @throws NullPointerException if {@code listener} is null
+     */
+    public static void addListener(BindingListener listener) {
+        BindingListeners.add(listener);
+    }
+
+    /**
+     * Unregister a {@link BindingListener}, added in code or discovered with {@link java.util.ServiceLoader}
+     * @param listener listener to remove
+     * @return {@code true} if the listener was registered
+     */
+    public static boolean removeListener(BindingListener listener) {
+        return BindingListeners.remove(listener);
+    }
+
+    /**
+     * Collect the resolved values of each field, instantiating {@link Env.Nested} types from their own values.
+     * @param fields field bindings in declared order
+     * @param leafValues resolved value of each leaf field, in the order of {@link FieldBinding#flatten(FieldBinding[])}
+     * @param next index of the next unused value in {@code leafValues}, updated as values are used
+     * @return an {@code Object[]} of strongly typed values, one for each field
+     */
+    private static Object[] getValues(FieldBinding[] fields, Object[] leafValues, int[] next) {
+        Object[] values = new Object[fields.length];
+        for (int i = 0; i < fields.length; ++i) {
+            FieldBinding field = fields[i];
+            values[i] = field.isNested()
+                    ? field.getNestedPlan().newInstance(getValues(field.getNestedFields(), leafValues, next))
+                    : leafValues[next[0]++];
+        }
+        return values;
+    }
+
+    /**
+     * Process the {@link Env} and {@link Env.Fallback} annotations for the given plan into resolved types/values.
+     * Values are resolved without collecting diagnostics, and each field is only resolved again with {@link EnvMetadata}
+     * when one is invalid, to build the exception.
+     * @param plan compiled binding plan of the type to load
+     * @param source source of environment variables
+     * @param listeners listeners to notify of each field, or {@code null} if there are none
+     * @return an {@code Object[]} of strongly typed values
+     * @throws InvalidEnvironmentException if any environment variables fail to resolve to a valid type
+     * @throws InvalidEnvTypeException if a primitive field that is not {@link Env#required()} has no valid value
+     */
+    static Object[] getValuesForEnvFields(BindingPlan<?> plan, EnvSource source, BindingListener[] listeners) throws InvalidEnvironmentException {
+        Object[] values = tryGetValuesForEnvFields(plan, source, listeners);
+        if (values == null) {
+            // Unhappy path, at least one value is invalid
+            throw invalidEnvironment(plan.getType(), getEnvMetadata(plan.getLeafFields(), source));
+        }
+        return values;
+    }
+
+    /**
+     * {@link BetterEnv#getValuesForEnvFields(BindingPlan, EnvSource, BindingListener[])}, stopping at the first invalid field
+     * without collecting diagnostics or throwing
+     * @param plan compiled binding plan of the type to load
+     * @param source source of environment variables
+     * @param listeners listeners to notify of each field, or {@code null} if there are none
+     * @return an {@code Object[]} of strongly typed values, or {@code null} if any field is invalid
+     * @throws InvalidEnvTypeException if a primitive field that is not {@link Env#required()} has no valid value
+     */
+    static Object[] tryGetValuesForEnvFields(BindingPlan<?> plan, EnvSource source, BindingListener[] listeners) {
+        FieldBinding[] leaves = plan.getLeafFields();
+        Object[] values = new Object[leaves.length];
+        for (int i = 0; i < leaves.length; ++i) {
+            Object value = resolve(plan.getType(), leaves[i], source, listeners);
+            if (value == CheckedCoercer.INVALID) {
+                return null;
+            }
+            if (value == null && leaves[i].getType().isPrimitive()) {
+                throw new InvalidEnvTypeException("Unable to bind field \"" + leaves[i].getName() + "\"");
+            }
+            values[i] = value;
+        }
+        FieldBinding[] fields = plan.getFields();
+        return fields == leaves ? values : getValues(fields, values, new int[1]);
+    }
+
+    /**
+     * Resolve the value of a field without collecting diagnostics, stopping at the first valid key.
+     * Accepts the same value that {@link EnvMetadata#getFirstValue()} would for the same source.
+     * @param field precompiled field annotated with {@link Env}
+     * @param source source of environment variables
+     * @return the coerced value, {@code null} if there is no valid value and the field is not {@link Env#required()},
+     * or {@link CheckedCoercer#INVALID} if there is no valid value and the field is required
+     */
+    static Object resolve(FieldBinding field, EnvSource source) {
+        for (String key : field.getKeys()) {
+            Object value = tryCoerce(field, source.get(key));
+            if (value != CheckedCoercer.INVALID) {
+                return value;
+            }
+        }
+        if (field.hasFallback()) {
+            Object value = tryCoerce(field, field.getFallback());
+            if (value != CheckedCoercer.INVALID) {
+                return value;
+            }
+        }
+        return field.isRequired() ? CheckedCoercer.INVALID : null;
+    }
+
+    /**
+     * {@link BetterEnv#resolve(FieldBinding, EnvSource)}, recorded as a {@link ResolveEvent} and reported to listeners when either is enabled
+     * @param type type declaring the field
+     * @param field precompiled field annotated with {@link Env}
+     * @param source source of environment variables
+     * @param listeners registered listeners, or {@code null} if there are none
+     * @return the same value as {@link BetterEnv#resolve(FieldBinding, EnvSource)}
+     */
+    static Object resolve(Class<?> type, FieldBinding field, EnvSource source, BindingListener[] listeners) {
+        if (EnvEvents.AVAILABLE) {
+            return EnvEvents.resolve(type, field, source, listeners);
+        }
+        return listeners == null ? resolve(field, source) : BindingListeners.resolve(listeners, type, field, source);
+    }
+
+    /**
+     * {@link BetterEnv#resolve(FieldBinding, EnvSource)}, also recording which key was used, how many keys were tried,
+     * and how long coercion took when {@link ResolveTrace#timed}
+     * @param field precompiled field annotated with {@link Env}
+     * @param source source of environment variables
+     * @param trace empty trace to fill in
+     * @return the same value as {@link BetterEnv#resolve(FieldBinding, EnvSource)}
+     */
+    static Object resolve(FieldBinding field, EnvSource source, ResolveTrace trace) {
+        for (String key : field.getKeys()) {
+            String raw = source.get(key);
+            ++trace.aliasesTried;
+            Object value = tryCoerce(field, raw, trace);
+            if (value != CheckedCoercer.INVALID) {
+                trace.key = key;
+                return value;
+            }
+        }
+        if (field.hasFallback()) {
+            Object value = tryCoerce(field, field.getFallback(), trace);
+            if (value != CheckedCoercer.INVALID) {
+                trace.key = EnvMetadata.FALLBACK_KEY;
+                return value;
+            }
+        }
+        return field.isRequired() ? CheckedCoercer.INVALID : null;
+    }
+
+    private static Object tryCoerce(FieldBinding field, String value, ResolveTrace trace) {
+        if (!trace.timed) {
+            return tryCoerce(field, value);
+        }
+        long start = System.nanoTime();
+        Object coerced = tryCoerce(field, value);
+        trace.coercionNanos += System.nanoTime() - start;
+        return coerced;
+    }
+
+    /**
+     * Check and coerce a single value of a field without collecting diagnostics
+     * @param field precompiled field
+     * @param value environment value, nullable
+     * @return the coerced value, or {@link CheckedCoercer#INVALID} if the value is missing, blank or fails coercion
+     */
+    static Object tryCoerce(FieldBinding field, String value) {
+        if (EnvMetadata.checkEnvVal(field.isAllowBlank(), value) != null) {
+            return CheckedCoercer.INVALID;
+        }
+        CheckedCoercer checked = field.getCheckedCoercer();
+        if (checked != null) {
+            return checked.tryCoerce(value);
+        }
+        try {
+            Object coerced = field.getCoercer().coerce(value);
+            return coerced == null ? CheckedCoercer.INVALID : coerced;
+        } catch (RuntimeException e) {
+            return CheckedCoercer.INVALID;
+        }
+    }
+
+    /**
+     * Create the exception summarizing each invalid field
+     * @param type Type being loaded
+     * @param envMetadata binding results for each field, at least one of which is invalid
+     * @return a new exception with a summary of each invalid field and key
+     */
+    static InvalidEnvironmentException invalidEnvironment(Class<?> type, List<EnvMetadata> envMetadata) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Failed to load env data for type \"").append(type.getName()).append("\":");
+        for (EnvMetadata metadata : envMetadata) {
+            if (metadata.isValid()) {
+                continue;
+            }
+            sb.append("\n\tField \"").append(metadata.getName()).append("\":");
+            for (EnvMetadata.Entry entry : metadata.getInvalidEntries()) {
+                sb.append("\n\t\t\"").append(entry.getKey()).append("\": ").append(entry.getErrorMessage());
+            }
+        }
+        return new InvalidEnvironmentException(sb.toString());
+    }
+
+    /**
+     * Process the {@link Env} and {@link Env.Fallback} annotations for the given fields into resolved types/values.
+     * @param fields precompiled fields annotated with {@link Env}
+     * @param source source of environment variables
+     * @return a list of {@link EnvMetadata} with the binding results for each field
+     */
+    static List<EnvMetadata> getEnvMetadata(FieldBinding[] fields, EnvSource source) {
+        List<EnvMetadata> envMetadata = new ArrayList<>(fields.length);
+        for (FieldBinding field : fields) {
+            envMetadata.add(getEnvMetadata(field, source));
+        }
+        return envMetadata;
+    }
+
+    /**
+     * Process the {@link Env} and {@link Env.Fallback} annotations for the given field, with a diagnostic entry for every key.
+     * @param field precompiled field annotated with {@link Env}
+     * @param source source of environment variables
+     * @return an {@link EnvMetadata} of binding results
+     */
+    static EnvMetadata getEnvMetadata(FieldBinding field, EnvSource source) {
+        if (source instanceof PrefixedSource) {
+            // Only reached for invalid fields, so the prefixed copy is not made on successful loads
+            PrefixedSource prefixed = (PrefixedSource) source;
+            return getEnvMetadata(field.withPrefix(prefixed.prefix), prefixed.source);
+        }
+        EnvMetadata metadata = new EnvMetadata(field);
+
+        for (String key : field.getKeys()) {
+            String value = source.get(key);
+            metadata.addEntry(key, value);
+        }
+
+        if (metadata.hasValidEntry()) {
+            return metadata;
+        }
+
+        if (field.hasFallback()) {
+            metadata.addFallback(field.getFallback());
+        }
+
+        return metadata;
+    }
+
+    /**
+     * Try to find the environment variable value with the given name,
+     * returning an empty optional if it doesn't exist, or a present
+     * optional with the value.
+     * @param name name of the environment variable
+     * @return Optional String value of the environment variable
+     */
+    public static Optional<String> get(String name) {
+        return TypedLookups.STRING.get(name);
+    }
+
+    /**
+     * Try to find the environment variable value with the given name,
+     * and try to call {@link Integer#parseInt(String)} on it. If the
+     * value doesn't exist or cannot be parsed, an empty optional is returned.
+     * @param name name of the environment variable
+     * @return Optional Integer value of the environment variable
+     */
+    public static Optional<Integer> getInt(String name) {
+        return TypedLookups.INT.get(name);
+    }
+
+    /**
+     * Try to find the environment variable value with the given name,
+     * and try to call {@link Long#parseLong(String)} on it. If the
+     * value doesn't exist or cannot be parsed, an empty optional is returned.
+     * @param name name of the environment variable
+     * @return Optional Long value of the environment variable
+     */
+    public static Optional<Long> getLong(String name) {
+        return TypedLookups.LONG.get(name);
+    }
+
+    /**
+     * Try to find the environment variable value with the given name,
+     * and parse it like {@link Integer#parseInt(String)} without boxing.
+     * If the value doesn't exist or cannot be parsed, an empty optional is returned.
+     * @param name name of the environment variable
+     * @return OptionalInt value of the environment variable
+     */
+    public static OptionalInt getAsInt(String name) {
+        return TypedLookups.AS_INT.get(name);
+    }
+
+    /**
+     * Try to find the environment variable value with the given name,
+     * and parse it like {@link Long#parseLong(String)} without boxing.
+     * If the value doesn't exist or cannot be parsed, an empty optional is returned.
+     * @param name name of the environment variable
+     * @return OptionalLong value of the environment variable
+     */
+    public static OptionalLong getAsLong(String name) {
+        return TypedLookups.AS_LONG.get(name);
+    }
+
+    /**
+     * Try to find the environment variable value with the given name,
+     * and parse it with {@link Double#parseDouble(String)} without boxing.
+     * If the value doesn't exist or cannot be parsed, an empty optional is returned.
+     * @param name name of the environment variable
+     * @return OptionalDouble value of the environment variable
+     */
+    public static OptionalDouble getAsDouble(String name) {
+        return TypedLookups.AS_DOUBLE.get(name);
+    }
+
+    /**
+     * Try to find the environment variable value with the given name,
+     * and parse it as {@code true} or {@code false}, ignoring case.
+     * If the value doesn't exist or is neither, an empty optional is returned.
+     * The present values are the cached {@link Boolean#TRUE} and {@link Boolean#FALSE}.
+     * @param name name of the environment variable
+     * @return Optional Boolean value of the environment variable
+     */
+    public static Optional<Boolean> getAsBoolean(String name) {
+        return TypedLookups.AS_BOOLEAN.get(name);
+    }
+
+    /**
+     * Get the environment variable value with the given name parsed like {@link Integer#parseInt(String)},
+     * or a default if the value doesn't exist or cannot be parsed.
+     * @param name name of the environment variable
+     * @param defaultValue value returned if the environment variable is missing or invalid
+     * @return int value of the environment variable, or {@code defaultValue}
+     */
+    public static int getInt(String name, int defaultValue) {
+        OptionalInt value = TypedLookups.AS_INT.get(name);
+        return value.isPresent() ? value.getAsInt() : defaultValue;
+    }
+
+    /**
+     * Get the environment variable value with the given name parsed like {@link Long#parseLong(String)},
+     * or a default if the value doesn't exist or cannot be parsed.
+     * @param name name of the environment variable
+     * @param defaultValue value returned if the environment variable is missing or invalid
+     * @return long value of the environment variable, or {@code defaultValue}
+     */
+    public static long getLong(String name, long defaultValue) {
+        OptionalLong value = TypedLookups.AS_LONG.get(name);
+        return value.isPresent() ? value.getAsLong() : defaultValue;
+    }
+
+    /**
+     * Get the environment variable value with the given name parsed with {@link Double#parseDouble(String)},
+     * or a default if the value doesn't exist or cannot be parsed.
+     * @param name name of the environment variable
+     * @param defaultValue value returned if the environment variable is missing or invalid
+     * @return double value of the environment variable, or {@code defaultValue}
+     */
+    public static double getDouble(String name, double defaultValue) {
+        OptionalDouble value = TypedLookups.AS_DOUBLE.get(name);
+        return value.isPresent() ? value.getAsDouble() : defaultValue;
+    }
+
+    /**
+     * Get the environment variable value with the given name parsed as {@code true} or {@code false}, ignoring case,
+     * or a default if the value doesn't exist or is neither.
+     * @param name name of the environment variable
+     * @param defaultValue value returned if the environment variable is missing or invalid
+     * @return boolean value of the environment variable, or {@code defaultValue}
+     */
+    public static boolean getBoolean(String name, boolean defaultValue) {
+        Optional<Boolean> value = TypedLookups.AS_BOOLEAN.get(name);
+        return value.isPresent() ? value.get() : defaultValue;
+    }
+
+}
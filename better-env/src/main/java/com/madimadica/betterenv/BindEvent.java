@@ -0,0 +1,33 @@
+package com.madimadica.betterenv;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Internal Java Flight Recorder event of a single {@link BetterEnv#load(Class, EnvSource)} call.
+ * Only loaded when {@link EnvEvents#AVAILABLE}, and never records environment variable values.
+ */
+@Name("com.madimadica.betterenv.Bind")
+@Label("Env Bind")
+@Category("better-env")
+@Description("Binding environment variables to a new instance of a type")
+@StackTrace(false)
+final class BindEvent extends jdk.jfr.Event {
+
+    @Label("Type")
+    Class<?> type;
+
+    @Label("Field Count")
+    @Description("Number of fields or accessors resolved, including those of nested types")
+    int fieldCount;
+
+    @Label("Strategy")
+    @Description("How instances are created")
+    String strategy;
+
+    @Label("Success")
+    boolean success;
+}
@@ -0,0 +1,97 @@
+package com.madimadica.betterenv;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.Locale;
+
+/**
+ * <p>
+ *     Strategy used to invoke constructors and set fields when binding a POJO type.
+ * </p>
+ * <p>
+ *     The default is {@link BinderEngine#METHOD_HANDLES}. The previous core reflection behavior can be restored by
+ *     starting the JVM with {@code -Dcom.madimadica.betterenv.binder=reflection}.
+ * </p>
+ * @see BetterEnv#load(Class)
+ */
+public enum BinderEngine {
+    /**
+     * Bind with {@link java.lang.invoke.MethodHandle}s unreflected once per type.
+     * The handles can be inlined by the JIT.
+     */
+    METHOD_HANDLES {
+        @Override
+        <T> Instantiator<T> instantiator(Constructor<T> constructor) {
+            return MethodHandleBinders.instantiator(constructor);
+        }
+
+        @Override
+        FieldSetter setter(Field field) {
+            return MethodHandleBinders.setter(field);
+        }
+    },
+    /**
+     * Bind with {@link Constructor#newInstance(Object...)} and {@link Field#set(Object, Object)}.
+     */
+    REFLECTION {
+        @Override
+        <T> Instantiator<T> instantiator(Constructor<T> constructor) {
+            return new ReflectiveBinders.ReflectiveInstantiator<>(constructor);
+        }
+
+        @Override
+        FieldSetter setter(Field field) {
+            return new ReflectiveBinders.ReflectiveFieldSetter(field);
+        }
+    };
+
+    /**
+     * System property used to select the {@link BinderEngine#getDefault()} engine, case-insensitive.
+     */
+    public static final String PROPERTY = "com.madimadica.betterenv.binder";
+
+    /**
+     * Engine selected from {@link BinderEngine#PROPERTY}
+     */
+    private static final BinderEngine DEFAULT = fromProperty(System.getProperty(PROPERTY));
+
+    /**
+     * Get the engine used by {@link BetterEnv}, based on the {@link BinderEngine#PROPERTY} system property when the library is first used.
+     * @return the default binder engine
+     */
+    public static BinderEngine getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Parse an engine name, defaulting to {@link BinderEngine#METHOD_HANDLES} for missing or unknown values.
+     * @param value engine name, nullable
+     * @return the matching engine
+     */
+    static BinderEngine fromProperty(String value) {
+        if (value != null) {
+            for (BinderEngine engine : values()) {
+                if (engine.name().equals(value.trim().toUpperCase(Locale.ROOT))) {
+                    return engine;
+                }
+            }
+        }
+        return METHOD_HANDLES;
+    }
+
+    /**
+     * Create an instantiator for the given constructor
+     * @param constructor constructor to invoke
+     * @return a new instantiator
+     * @param <T> type to create
+     */
+    abstract <T> Instantiator<T> instantiator(Constructor<T> constructor);
+
+    /**
+     * Create a setter for the given field, which must already be accessible and not {@code final}.
+     * @param field field to set
+     * @return a new setter
+     * @throws InvalidEnvTypeException if the field cannot be bound
+     */
+    abstract FieldSetter setter(Field field);
+}
@@ -0,0 +1,53 @@
+package com.madimadica.betterenv;
+
+/**
+ * <p>
+ *     Receives callbacks while {@link BetterEnv#load(Class, EnvSource)} binds a type, such as to feed a tracing system.
+ *     Every method does nothing by default. Callbacks only ever include key and field names, never environment values.
+ * </p>
+ * <p>
+ *     Listeners are registered with {@link BetterEnv#addListener(BindingListener)}, or discovered with {@link java.util.ServiceLoader}
+ *     from {@code META-INF/services/com.madimadica.betterenv.BindingListener} the first time a type is loaded.
+ *     An {@link EnvBinder} built with {@link EnvBinder.Builder#listener(BindingListener)} only notifies its own listeners.
+ *     While none are registered, loading costs a single volatile read, and no callbacks or allocations are made.
+ * </p>
+ * <p>
+ *     Callbacks are made on the loading thread, so listeners must be thread-safe and should return quickly.
+ *     An exception thrown by a listener propagates to the caller of {@link BetterEnv#load(Class, EnvSource)}.
+ * </p>
+ * <p>
+ *     {@link BindingListener#onFieldResolved(Class, String, String)} is only called for fields bound with reflection.
+ *     Types with a {@link GeneratedEnvBinder} only report the start and end of binding, and interface accessors are reported
+ *     when first accessed, after {@link BindingListener#onBindEnd(Class)}.
+ * </p>
+ */
+public interface BindingListener {
+
+    /**
+     * Called before a type is bound
+     * @param type type being loaded
+     */
+    default void onBindStart(Class<?> type) {}
+
+    /**
+     * Called after each {@link Env} field is resolved, including fields of {@link Env.Nested} types, named such as {@code "primary.url"}
+     * @param type type being loaded
+     * @param field name of the field or accessor
+     * @param key the environment variable name whose value was used, {@code "@Env.Fallback"} if the fallback was used,
+     *            or {@code null} if there was no valid value
+     */
+    default void onFieldResolved(Class<?> type, String field, String key) {}
+
+    /**
+     * Called after a type is bound successfully
+     * @param type loaded type
+     */
+    default void onBindEnd(Class<?> type) {}
+
+    /**
+     * Called instead of {@link BindingListener#onBindEnd(Class)} when a type could not be bound
+     * @param type type being loaded
+     * @param failure the exception about to be thrown to the caller, such as an {@link InvalidEnvironmentException}
+     */
+    default void onBindFailure(Class<?> type, RuntimeException failure) {}
+}
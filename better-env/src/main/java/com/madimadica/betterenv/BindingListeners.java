@@ -0,0 +1,154 @@
+package com.madimadica.betterenv;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.ServiceLoader;
+
+/**
+ * <p>
+ *     Internal registry and notification of {@link BindingListener}s.
+ * </p>
+ * <p>
+ *     The registered listeners are a copy-on-write array, which is null while there are none,
+ *     so callers only take the notifying path after a single volatile read finds listeners.
+ * </p>
+ */
+final class BindingListeners {
+
+    /**
+     * Registered listeners, or null when there are none
+     */
+    private static volatile BindingListener[] registered = discover();
+
+    private BindingListeners() {}
+
+    /**
+     * Find the listeners declared as {@link ServiceLoader} providers
+     * @return the discovered listeners, or null if there are none
+     */
+    private static BindingListener[] discover() {
+        List<BindingListener> listeners = new ArrayList<>();
+        for (BindingListener listener : ServiceLoader.load(BindingListener.class)) {
+            listeners.add(listener);
+        }
+        return listeners.isEmpty() ? null : listeners.toArray(new BindingListener[0]);
+    }
+
+    /**
+     * Get the registered listeners
+     * @return the listeners, or {@code null} if there are none. Do not modify the returned array.
+     */
+    static BindingListener[] registered() {
+        return registered;
+    }
+
+    /**
+     * Register a listener, which is notified after any already registered
+     * @param listener listener to add
+     * @throws NullPointerException if {@code listener} is null
+     */
+    static synchronized void add(BindingListener listener) {
+        Objects.requireNonNull(listener, "listener");
+        BindingListener[] current = registered;
+        if (current == null) {
+            registered = new BindingListener[] {listener};
+            return;
+        }
+        BindingListener[] next = Arrays.copyOf(current, current.length + 1);
+        next[current.length] = listener;
+        registered = next;
+    }
+
+    /**
+     * Unregister the first registration of a listener
+     * @param listener listener to remove
+     * @return {@code true} if the listener was registered
+     */
+    static synchronized boolean remove(BindingListener listener) {
+        BindingListener[] current = registered;
+        if (current == null) {
+            return false;
+        }
+        for (int i = 0; i < current.length; ++i) {
+            if (current[i] == listener) {
+                if (current.length == 1) {
+                    registered = null;
+                } else {
+                    BindingListener[] next = new BindingListener[current.length - 1];
+                    System.arraycopy(current, 0, next, 0, i);
+                    System.arraycopy(current, i + 1, next, i, next.length - i);
+                    registered = next;
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@link EnvBinder#bind(Class, EnvSource, boolean)}, notifying listeners of the start and end.
+     * When {@code orNull} and the source is invalid, the exception passed to {@link BindingListener#onBindFailure(Class, RuntimeException)} is still created.
+     * @param listeners listeners of the binder
+     * @param binder binder to bind with
+     * @param type Type to load
+     * @param source source of environment variables
+     * @param orNull {@code true} to return {@code null} instead of throwing {@link InvalidEnvironmentException}, for {@link EnvBinder#tryLoad(Class, EnvSource)}
+     * @return an instance of type {@code T}, or {@code null} if {@code orNull} and the source is invalid
+     * @param <T> type to bind/return
+     */
+    static <T> T load(BindingListener[] listeners, EnvBinder binder, Class<T> type, EnvSource source, boolean orNull) {
+        for (BindingListener listener : listeners) {
+            listener.onBindStart(type);
+        }
+        T instance;
+        try {
+            instance = EnvEvents.AVAILABLE ? EnvEvents.load(binder, type, source, orNull) : binder.bind(type, source, orNull);
+        } catch (RuntimeException e) {
+            for (BindingListener listener : listeners) {
+                listener.onBindFailure(type, e);
+            }
+            throw e;
+        }
+        if (instance == null) {
+            InvalidEnvironmentException e = BetterEnv.invalidEnvironment(type, BetterEnv.getEnvMetadata(binder.getFields(type), source));
+            for (BindingListener listener : listeners) {
+                listener.onBindFailure(type, e);
+            }
+            return null;
+        }
+        for (BindingListener listener : listeners) {
+            listener.onBindEnd(type);
+        }
+        return instance;
+    }
+
+    /**
+     * {@link BetterEnv#resolve(FieldBinding, EnvSource)}, notifying listeners of the key used
+     * @param listeners registered listeners
+     * @param type type declaring the field
+     * @param field precompiled field annotated with {@link Env}
+     * @param source source of environment variables
+     * @return the coerced value, {@code null}, or {@link CheckedCoercer#INVALID}
+     */
+    static Object resolve(BindingListener[] listeners, Class<?> type, FieldBinding field, EnvSource source) {
+        ResolveTrace trace = new ResolveTrace(false);
+        Object value = BetterEnv.resolve(field, source, trace);
+        fieldResolved(listeners, type, field, trace);
+        return value;
+    }
+
+    /**
+     * Notify listeners that a field was resolved
+     * @param listeners registered listeners
+     * @param type type declaring the field
+     * @param field the resolved field
+     * @param trace details of the resolution
+     */
+    static void fieldResolved(BindingListener[] listeners, Class<?> type, FieldBinding field, ResolveTrace trace) {
+        for (BindingListener listener : listeners) {
+            listener.onFieldResolved(type, field.getName(), trace.key);
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package com.madimadica.betterenv;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * <p>
+ *     Internal, precompiled description of how to bind a POJO type: the resolved constructor and the ordered {@link FieldBinding}s.
+ * </p>
+ * <p>
+ *     Plans are compiled once per type and cached in a {@link ClassValue}, so the reflection work in {@link ClassUtils}
+ *     is only done on the first load of a type, and the cache never keeps a class loader alive on its own.
+ *     An {@link EnvBinder} with its own coercers compiles its plans into its own {@link PlanCache} instead.
+ * </p>
+ * @param <T> the bound type
+ */
+final class BindingPlan<T> {
+
+    /**
+     * Per-type cache of compiled plans, replaced when the plans are invalidated
+     */
+    private static volatile ClassValue<BindingPlan<?>> cache = newCache();
+
+    /**
+     * Arguments for a no-args constructor
+     */
+    private static final Object[] NO_ARGS = new Object[0];
+
+    /**
+     * Types being compiled on the current thread, to reject {@link Env.Nested} cycles
+     */
+    private static final ThreadLocal<Set<Class<?>>> COMPILING = ThreadLocal.withInitial(HashSet::new);
+
+    /**
+     * The bound type
+     */
+    private final Class<T> type;
+
+    /**
+     * If {@link BindingPlan#type} is a record
+     */
+    private final boolean record;
+
+    /**
+     * Creates instances with the constructor taking all the {@link Env} fields in order, or the no-args constructor.
+     */
+    private final Instantiator<T> instantiator;
+
+    /**
+     * If {@link BindingPlan#instantiator} uses the no-args constructor, so fields must be set after instantiation.
+     */
+    private final boolean usingDefaultConstructor;
+
+    /**
+     * Fields annotated with {@link Env} or {@link Env.Nested}, in declared order
+     */
+    private final FieldBinding[] fields;
+
+    /**
+     * {@link BindingPlan#fields} with each {@link Env.Nested} field replaced by its nested bindings
+     */
+    private final FieldBinding[] leaves;
+
+    /**
+     * Setters for each of {@link BindingPlan#fields}, only present when {@link BindingPlan#usingDefaultConstructor}
+     */
+    private final FieldSetter[] setters;
+
+    private BindingPlan(Class<T> type, boolean record, Instantiator<T> instantiator, boolean usingDefaultConstructor, FieldBinding[] fields, FieldSetter[] setters) {
+        this.type = type;
+        this.record = record;
+        this.instantiator = instantiator;
+        this.usingDefaultConstructor = usingDefaultConstructor;
+        this.fields = fields;
+        this.leaves = FieldBinding.flatten(fields);
+        this.setters = setters;
+    }
+
+    /**
+     * Get the cached plan for a type, compiling it on first use.
+     * @param type type to bind
+     * @return the binding plan for {@code type}
+     * @param <T> type to bind
+     * @throws InvalidEnvTypeException if the given type has problems with the declared fields or constructors.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> BindingPlan<T> of(Class<T> type) {
+        BindingStats stats = BindingStats.active();
+        if (stats != null) {
+            stats.planLookup();
+        }
+        return (BindingPlan<T>) cache.get(type);
+    }
+
+    /**
+     * Discard every cached plan, such as after registering a {@link Coercer} that compiled plans may have looked up.
+     */
+    static void invalidate() {
+        cache = newCache();
+        InterfacePlan.invalidate();
+    }
+
+    private static ClassValue<BindingPlan<?>> newCache() {
+        return new ClassValue<BindingPlan<?>>() {
+            @Override
+            protected BindingPlan<?> computeValue(Class<?> type) {
+                BindingStats stats = BindingStats.active();
+                if (stats != null) {
+                    stats.planCompile();
+                }
+                return compile(type, BinderEngine.getDefault());
+            }
+        };
+    }
+
+    /**
+     * Do all the reflection analysis for a type, with the default coercers and shared plans of nested types.
+     * @param type type to bind
+     * @param engine engine used to create the constructor and field binders
+     * @return a new binding plan
+     * @param <T> type to bind
+     * @throws InvalidEnvTypeException if the given type has problems with the declared fields or constructors.
+     */
+    static <T> BindingPlan<T> compile(Class<T> type, BinderEngine engine) {
+        return compile(type, engine, PlanCache.SHARED);
+    }
+
+    /**
+     * Do all the reflection analysis for a type, with the coercers, engine and nested plans of a cache.
+     * @param type type to bind
+     * @param plans cache the plan is compiled for
+     * @return a new binding plan
+     * @param <T> type to bind
+     * @throws InvalidEnvTypeException if the given type has problems with the declared fields or constructors.
+     */
+    static <T> BindingPlan<T> compile(Class<T> type, PlanCache plans) {
+        return compile(type, plans.engine, plans);
+    }
+
+    private static <T> BindingPlan<T> compile(Class<T> type, BinderEngine engine, PlanCache plans) {
+        Set<Class<?>> compiling = COMPILING.get();
+        if (!compiling.add(type)) {
+            throw new InvalidEnvTypeException("Type \"" + type.getName() + "\" cannot be nested within itself");
+        }
+        try {
+            boolean isRecord = ClassUtils.isRecord(type);
+            Field[] envFields = ClassUtils.getAnnotatedInstanceFields(type, Env.class, Env.Nested.class);
+            FieldBinding[] fields = new FieldBinding[envFields.length];
+            for (int i = 0; i < envFields.length; ++i) {
+                fields[i] = bind(envFields[i], plans);
+            }
+            return isRecord
+                    ? compileRecord(type, envFields, fields, engine)
+                    : compileClass(type, envFields, fields, engine);
+        } finally {
+            compiling.remove(type);
+        }
+    }
+
+    /**
+     * Read the annotations of a field, reusing the cached plan of an {@link Env.Nested} field type
+     * @param field field annotated with {@link Env} or {@link Env.Nested}
+     * @param plans cache of nested plans, and the coercers of {@link Env} fields
+     * @return the field binding
+     * @throws InvalidEnvTypeException if the field has both annotations, or its nested type cannot be bound
+     */
+    private static FieldBinding bind(Field field, PlanCache plans) {
+        if (!field.isAnnotationPresent(Env.Nested.class)) {
+            return new FieldBinding(field, plans.coercers);
+        }
+        if (field.isAnnotationPresent(Env.class)) {
+            throw new InvalidEnvTypeException("Field \"" + field.getName() + "\" cannot be annotated with both @Env and @Env.Nested");
+        }
+        if (field.getType().isPrimitive() || field.getType().isInterface() || field.getType().isArray()) {
+            throw new InvalidEnvTypeException("@Env.Nested field \"" + field.getName() + "\" must be a class or record type");
+        }
+        return new FieldBinding(field, plans.binding(field.getType()));
+    }
+
+    /**
+     * Compile a record type
+     * @param type Type to load
+     * @param envFields fields annotated with {@link Env} or {@link Env.Nested}
+     * @param fields bindings for {@code envFields}
+     * @param engine engine used to create the constructor binder
+     * @return a new binding plan
+     * @param <T> type to bind
+     * @throws InvalidEnvTypeException if the given type has problems with the declared fields or constructors.
+     */
+    private static <T> BindingPlan<T> compileRecord(Class<T> type, Field[] envFields, FieldBinding[] fields, BinderEngine engine) {
+        // All records must have a canonical constructor (all args)
+        Constructor<T> constructor = ClassUtils.getAllArgsConstructor(type);
+
+        // All record fields should have @Env
+        if (constructor.getParameterCount() != envFields.length) {
+            throw new InvalidEnvTypeException("All fields on record type \"" + type.getName() + "\" must be annotated with @Env or @Env.Nested");
+        }
+        return new BindingPlan<>(type, true, engine.instantiator(constructor), false, fields, null);
+    }
+
+    /**
+     * Compile a class type
+     * @param type Type to load
+     * @param envFields fields annotated with {@link Env} or {@link Env.Nested}
+     * @param fields bindings for {@code envFields}
+     * @param engine engine used to create the constructor and field binders
+     * @return a new binding plan
+     * @param <T> type to bind
+     * @throws InvalidEnvTypeException if the given type has problems with the declared fields or constructors.
+     */
+    private static <T> BindingPlan<T> compileClass(Class<T> type, Field[] envFields, FieldBinding[] fields, BinderEngine engine) {
+        // Prioritize using all-args constructor, otherwise no-args
+        Constructor<T> constructor = ClassUtils.getConstructor(type, envFields);
+        boolean usingDefaultConstructor = constructor == null;
+        if (usingDefaultConstructor) {
+            constructor = ClassUtils.getNoArgsConstructor(type);
+        }
+        if (constructor == null) {
+            throw new InvalidEnvTypeException("No suitable constructor found for type \"" + type.getName() + "\". Expected an all-env-args or no-args constructor to be defined.");
+        }
+        if (!usingDefaultConstructor) {
+            return new BindingPlan<>(type, false, engine.instantiator(constructor), false, fields, null);
+        }
+
+        FieldSetter[] setters = new FieldSetter[fields.length];
+        for (int i = 0; i < fields.length; ++i) {
+            FieldBinding field = fields[i];
+            if (field.isFinal()) {
+                throw new InvalidEnvTypeException("Cannot bind final field \"" + field.getName() + "\"");
+            }
+            field.getField().setAccessible(true);
+            setters[i] = engine.setter(field.getField());
+        }
+        return new BindingPlan<>(type, false, engine.instantiator(constructor), true, fields, setters);
+    }
+
+    /**
+     * Create a new instance of the bound type with resolved values.
+     * @param values strongly typed values, one for each of {@link BindingPlan#getFields()} in order
+     * @return a new bound instance
+     * @throws InvalidEnvTypeException if a field cannot be set
+     */
+    T newInstance(Object[] values) {
+        if (!usingDefaultConstructor) {
+            return instantiator.newInstance(values);
+        }
+
+        T obj = instantiator.newInstance(NO_ARGS);
+
+        // Bind values
+        for (int i = 0; i < setters.length; ++i) {
+            setters[i].set(obj, values[i]);
+        }
+        return obj;
+    }
+
+    /**
+     * Get the bound type
+     * @return the type this plan creates
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Check if the bound type is a record
+     * @return {@code true} if the bound type is a record
+     */
+    public boolean isRecord() {
+        return record;
+    }
+
+    /**
+     * Check if the no-args constructor is used, with values set directly on the fields after.
+     * @return {@code true} if the no-args constructor is used
+     */
+    public boolean isUsingDefaultConstructor() {
+        return usingDefaultConstructor;
+    }
+
+    /**
+     * Get the bindings of each {@link Env} or {@link Env.Nested} field, in declared order. Do not modify the returned array.
+     * @return field bindings
+     */
+    public FieldBinding[] getFields() {
+        return fields;
+    }
+
+    /**
+     * Get the bindings which resolve environment variables, including those of nested types, in depth-first declared order.
+     * Do not modify the returned array.
+     * @return the same as {@link BindingPlan#getFields()} when nothing is nested
+     */
+    public FieldBinding[] getLeafFields() {
+        return leaves;
+    }
+}
@@ -0,0 +1,292 @@
+package com.madimadica.betterenv;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * <p>
+ *     Opt-in statistics of {@link BetterEnv#load(Class, EnvSource)} calls, exposed through JMX as {@value BindingStats#OBJECT_NAME},
+ *     such as to find code loading a type in a hot loop.
+ * </p>
+ * <p>
+ *     Statistics are only collected between {@link BindingStats#enable()} and {@link BindingStats#disable()}, and cost a single volatile read per load otherwise.
+ *     Every counter is a {@link LongAdder} or {@link LongAccumulator}, so concurrent loads never contend on a shared counter.
+ * </p>
+ * <pre>{@code
+ * BindingStats stats = BindingStats.enable();
+ * long loads = stats.getLoadCount();
+ * }</pre>
+ */
+public final class BindingStats implements BindingStatsMXBean {
+
+    /**
+     * JMX object name the statistics are registered under
+     */
+    public static final String OBJECT_NAME = "com.madimadica.betterenv:type=BindingStats";
+
+    /**
+     * The enabled statistics, or null when disabled
+     */
+    private static volatile BindingStats active;
+
+    /**
+     * Counters since enabled or last reset
+     */
+    private volatile Counters counters = new Counters();
+
+    private BindingStats() {}
+
+    /**
+     * Start collecting statistics, and register them with the platform {@link MBeanServer}.
+     * Calling this while already enabled returns the enabled statistics.
+     * @return the enabled statistics
+     * @throws IllegalStateException if the MBean cannot be registered, such as when another copy of this library registered it
+     */
+    public static synchronized BindingStats enable() {
+        if (active != null) {
+            return active;
+        }
+        BindingStats stats = new BindingStats();
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(stats, new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            throw new IllegalStateException("Unable to register MBean \"" + OBJECT_NAME + "\"", e);
+        }
+        active = stats;
+        return stats;
+    }
+
+    /**
+     * Stop collecting statistics, and unregister them. Does nothing if not enabled.
+     */
+    public static synchronized void disable() {
+        if (active == null) {
+            return;
+        }
+        active = null;
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            // Already unregistered through JMX
+        }
+    }
+
+    /**
+     * Get the enabled statistics
+     * @return the enabled statistics, or {@code null} if disabled
+     */
+    static BindingStats active() {
+        return active;
+    }
+
+    /**
+     * Load and record a type, counting each environment variable lookup
+     * @param binder binder to load with
+     * @param type Type to load
+     * @param source source of environment variables
+     * @param orNull {@code true} to return {@code null} instead of throwing {@link InvalidEnvironmentException}, for {@link EnvBinder#tryLoad(Class, EnvSource)}
+     * @return an instance of type {@code T}, or {@code null} if {@code orNull} and the source is invalid
+     * @param <T> type to bind/return
+     */
+    <T> T load(EnvBinder binder, Class<T> type, EnvSource source, boolean orNull) {
+        Counters current = counters;
+        TypeCounters typeCounters = current.byType.get(type);
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            T instance = binder.loadWithEvents(type, CountingSource.of(source, current.envLookups), orNull);
+            success = instance != null;
+            return instance;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            typeCounters.loads.increment();
+            typeCounters.totalNanos.add(elapsed);
+            typeCounters.maxNanos.accumulate(elapsed);
+            if (!success) {
+                typeCounters.failures.increment();
+            }
+        }
+    }
+
+    /**
+     * Record a lookup of a compiled plan
+     */
+    void planLookup() {
+        counters.planLookups.increment();
+    }
+
+    /**
+     * Record a plan cache miss, which compiles a plan
+     */
+    void planCompile() {
+        counters.planCompiles.increment();
+    }
+
+    @Override
+    public long getLoadCount() {
+        return sum(t -> t.loads.sum());
+    }
+
+    @Override
+    public long getFailureCount() {
+        return sum(t -> t.failures.sum());
+    }
+
+    @Override
+    public long getTotalBindTimeNanos() {
+        return sum(t -> t.totalNanos.sum());
+    }
+
+    @Override
+    public long getMaxBindTimeNanos() {
+        long max = 0;
+        for (TypeCounters typeCounters : counters.byName.values()) {
+            max = Math.max(max, typeCounters.maxNanos.get());
+        }
+        return max;
+    }
+
+    @Override
+    public long getPlanCacheLookups() {
+        return counters.planLookups.sum();
+    }
+
+    @Override
+    public double getPlanCacheHitRate() {
+        Counters current = counters;
+        long lookups = current.planLookups.sum();
+        if (lookups == 0) {
+            return Double.NaN;
+        }
+        // Compiles can be counted before their lookup, so clamp the rate
+        return Math.max(0, lookups - current.planCompiles.sum()) / (double) lookups;
+    }
+
+    @Override
+    public long getEnvLookups() {
+        return counters.envLookups.sum();
+    }
+
+    @Override
+    public Map<String, Long> getLoadCountsByType() {
+        return byType(t -> t.loads.sum());
+    }
+
+    @Override
+    public Map<String, Long> getFailureCountsByType() {
+        return byType(t -> t.failures.sum());
+    }
+
+    @Override
+    public Map<String, Long> getTotalBindTimeNanosByType() {
+        return byType(t -> t.totalNanos.sum());
+    }
+
+    @Override
+    public Map<String, Long> getMaxBindTimeNanosByType() {
+        return byType(t -> t.maxNanos.get());
+    }
+
+    @Override
+    public void reset() {
+        counters = new Counters();
+    }
+
+    private long sum(ToLongFunction<TypeCounters> stat) {
+        long sum = 0;
+        for (TypeCounters typeCounters : counters.byName.values()) {
+            sum += stat.applyAsLong(typeCounters);
+        }
+        return sum;
+    }
+
+    private Map<String, Long> byType(ToLongFunction<TypeCounters> stat) {
+        Map<String, Long> values = new TreeMap<>();
+        for (Map.Entry<String, TypeCounters> entry : counters.byName.entrySet()) {
+            values.put(entry.getKey(), stat.applyAsLong(entry.getValue()));
+        }
+        return values;
+    }
+
+    /**
+     * Every counter, replaced as a whole by {@link BindingStats#reset()}
+     */
+    private static final class Counters {
+        private final LongAdder planLookups = new LongAdder();
+        private final LongAdder planCompiles = new LongAdder();
+        private final LongAdder envLookups = new LongAdder();
+
+        /**
+         * Counters by class name, so types from different class loaders with the same name are combined, and no class is kept alive
+         */
+        private final ConcurrentMap<String, TypeCounters> byName = new ConcurrentHashMap<>();
+
+        /**
+         * Counters of each type, cached so loads don't hash the class name
+         */
+        private final ClassValue<TypeCounters> byType = new ClassValue<TypeCounters>() {
+            @Override
+            protected TypeCounters computeValue(Class<?> type) {
+                return byName.computeIfAbsent(type.getName(), name -> new TypeCounters());
+            }
+        };
+    }
+
+    /**
+     * Counters of a single type
+     */
+    private static final class TypeCounters {
+        private final LongAdder loads = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    }
+
+    /**
+     * Counts the lookups of a source
+     */
+    private static final class CountingSource implements EnvSource {
+        private final EnvSource source;
+        private final LongAdder lookups;
+
+        private CountingSource(EnvSource source, LongAdder lookups) {
+            this.source = source;
+            this.lookups = lookups;
+        }
+
+        /**
+         * Count the lookups of a source, keeping a {@link PrefixedSource} outermost so invalid keys are still reported with their prefix
+         * @param source source to count
+         * @param lookups counter of lookups
+         * @return the counting source
+         */
+        private static EnvSource of(EnvSource source, LongAdder lookups) {
+            if (source instanceof PrefixedSource) {
+                PrefixedSource prefixed = (PrefixedSource) source;
+                return prefixed.withSource(new CountingSource(prefixed.source, lookups));
+            }
+            return new CountingSource(source, lookups);
+        }
+
+        @Override
+        public String get(String key) {
+            lookups.increment();
+            return source.get(key);
+        }
+
+        @Override
+        public String get(String prefix, String suffix) {
+            lookups.increment();
+            return source.get(prefix, suffix);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.madimadica.betterenv;
+
+import java.util.Map;
+
+/**
+ * <p>
+ *     Management interface of {@link BindingStats}, registered as {@value BindingStats#OBJECT_NAME} once enabled.
+ * </p>
+ * <p>
+ *     Counts and times cover every {@link BetterEnv#load(Class, EnvSource)} call since the statistics were enabled or last reset,
+ *     including the loads done by {@link BetterEnv#loadAll(Class[])} and {@link EnvWatcher}. Per-type values are keyed by class name.
+ * </p>
+ */
+public interface BindingStatsMXBean {
+
+    /**
+     * Get the number of loads
+     * @return the number of loads, successful or not
+     */
+    long getLoadCount();
+
+    /**
+     * Get the number of loads which threw an exception
+     * @return the number of failed loads
+     */
+    long getFailureCount();
+
+    /**
+     * Get the total time spent in loads
+     * @return cumulative load time in nanoseconds
+     */
+    long getTotalBindTimeNanos();
+
+    /**
+     * Get the longest time spent in a single load
+     * @return maximum load time in nanoseconds
+     */
+    long getMaxBindTimeNanos();
+
+    /**
+     * Get the number of times a compiled binding plan was looked up
+     * @return the number of plan cache lookups
+     */
+    long getPlanCacheLookups();
+
+    /**
+     * Get the fraction of binding plan lookups which didn't need to compile a plan
+     * @return the hit rate from 0 to 1, or {@code NaN} if there were no lookups
+     */
+    double getPlanCacheHitRate();
+
+    /**
+     * Get the number of environment variables looked up by loads, including values later resolved by lazily bound interfaces
+     * @return the number of {@link EnvSource#get(String)} calls
+     */
+    long getEnvLookups();
+
+    /**
+     * Get the number of loads of each type
+     * @return load counts by class name
+     */
+    Map<String, Long> getLoadCountsByType();
+
+    /**
+     * Get the number of failed loads of each type
+     * @return failure counts by class name
+     */
+    Map<String, Long> getFailureCountsByType();
+
+    /**
+     * Get the total time spent loading each type
+     * @return cumulative load time in nanoseconds by class name
+     */
+    Map<String, Long> getTotalBindTimeNanosByType();
+
+    /**
+     * Get the longest time spent in a single load of each type
+     * @return maximum load time in nanoseconds by class name
+     */
+    Map<String, Long> getMaxBindTimeNanosByType();
+
+    /**
+     * Reset every statistic to zero
+     */
+    void reset();
+}
@@ -0,0 +1,21 @@
+package com.madimadica.betterenv;
+
+/**
+ * {@link Coercer} specialized for {@code boolean}, required to register a coercer for {@code boolean.class}.
+ */
+@FunctionalInterface
+public interface BooleanCoercer extends Coercer<Boolean> {
+
+    /**
+     * Coerce a value to a {@code boolean}.
+     * @param input environment variable value
+     * @return the coerced value
+     * @throws RuntimeException if the value is invalid for the type
+     */
+    boolean coerceBoolean(String input);
+
+    @Override
+    default Boolean coerce(String input) {
+        return coerceBoolean(input);
+    }
+}
@@ -0,0 +1,21 @@
+package com.madimadica.betterenv;
+
+/**
+ * {@link Coercer} specialized for {@code byte}, required to register a coercer for {@code byte.class}.
+ */
+@FunctionalInterface
+public interface ByteCoercer extends Coercer<Byte> {
+
+    /**
+     * Coerce a value to a {@code byte}.
+     * @param input environment variable value
+     * @return the coerced value
+     * @throws RuntimeException if the value is invalid for the type
+     */
+    byte coerceByte(String input);
+
+    @Override
+    default Byte coerce(String input) {
+        return coerceByte(input);
+    }
+}
@@ -0,0 +1,238 @@
+package com.madimadica.betterenv;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * <p>
+ *     Internal open-addressing hash index over UTF-8 keys stored in a {@link ByteBuffer}.
+ *     Keys are referenced by offset and length, and are compared in place, so no key is ever decoded to a {@link String}.
+ * </p>
+ * <p>
+ *     The hash is the {@code 31 * h + b} polynomial over the UTF-8 bytes, which equals {@link String#hashCode()} for ASCII keys,
+ *     so ASCII lookups hash the {@link String} directly without encoding it.
+ * </p>
+ */
+final class ByteKeyIndex {
+
+    /**
+     * Buffer holding the key bytes, only read with absolute gets
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Offset of each entry's key in {@link ByteKeyIndex#buffer}
+     */
+    private final int[] offsets;
+
+    /**
+     * Length in bytes of each entry's key
+     */
+    private final int[] lengths;
+
+    /**
+     * Entry index plus one for each slot, 0 for an empty slot
+     */
+    private final int[] slots;
+
+    /**
+     * Number of slots minus one, the slot count is a power of two
+     */
+    private final int mask;
+
+    /**
+     * Index the given keys. When the same key is given more than once, the last entry wins.
+     * @param buffer buffer holding the key bytes
+     * @param offsets offset of each entry's key
+     * @param lengths length of each entry's key
+     * @param count number of entries to index
+     */
+    ByteKeyIndex(ByteBuffer buffer, int[] offsets, int[] lengths, int count) {
+        this.buffer = buffer;
+        this.offsets = Arrays.copyOf(offsets, count);
+        this.lengths = Arrays.copyOf(lengths, count);
+        // Keep the load factor at or below 0.5
+        int slotCount = Integer.highestOneBit(Math.max(2, count) * 2 - 1) << 1;
+        this.slots = new int[slotCount];
+        this.mask = slotCount - 1;
+        for (int i = 0; i < count; ++i) {
+            int slot = spread(hash(buffer, offsets[i], lengths[i])) & mask;
+            while (slots[slot] != 0) {
+                int other = slots[slot] - 1;
+                if (regionEquals(other, offsets[i], lengths[i])) {
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = i + 1;
+        }
+    }
+
+    /**
+     * Find the entry of a key
+     * @param key key to find
+     * @return the entry index, or -1 if the key is not indexed
+     */
+    int find(String key) {
+        int length = key.length();
+        for (int i = 0; i < length; ++i) {
+            if (key.charAt(i) >= 0x80) {
+                return find(key.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        int slot = spread(key.hashCode()) & mask;
+        int entry;
+        while ((entry = slots[slot]) != 0) {
+            --entry;
+            if (lengths[entry] == length && asciiEquals(offsets[entry], key)) {
+                return entry;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Find the entry of a UTF-8 encoded key
+     * @param key encoded key to find
+     * @return the entry index, or -1 if the key is not indexed
+     */
+    private int find(byte[] key) {
+        int h = 0;
+        for (byte b : key) {
+            h = 31 * h + b;
+        }
+        int slot = spread(h) & mask;
+        int entry;
+        while ((entry = slots[slot]) != 0) {
+            --entry;
+            if (lengths[entry] == key.length && bytesEqual(offsets[entry], key)) {
+                return entry;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Get the number of distinct keys
+     * @return the number of distinct keys
+     */
+    int size() {
+        int size = 0;
+        for (int slot : slots) {
+            if (slot != 0) {
+                ++size;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Get the entries of each distinct key, in entry order
+     * @return entry indices
+     */
+    int[] entries() {
+        int[] entries = new int[size()];
+        int i = 0;
+        for (int slot : slots) {
+            if (slot != 0) {
+                entries[i++] = slot - 1;
+            }
+        }
+        Arrays.sort(entries);
+        return entries;
+    }
+
+    /**
+     * Get the offset just past the key of an entry
+     * @param entry entry index
+     * @return the end offset of the key
+     */
+    int keyEnd(int entry) {
+        return offsets[entry] + lengths[entry];
+    }
+
+    /**
+     * Decode the key of an entry
+     * @param entry entry index
+     * @return the decoded key
+     */
+    String key(int entry) {
+        return decode(buffer, offsets[entry], lengths[entry]);
+    }
+
+    /**
+     * Hash a region of UTF-8 bytes, matching {@link String#hashCode()} for ASCII
+     * @param buffer buffer to read
+     * @param offset start of the region
+     * @param length length of the region
+     * @return the polynomial hash
+     */
+    static int hash(ByteBuffer buffer, int offset, int length) {
+        int h = 0;
+        for (int i = offset, end = offset + length; i < end; ++i) {
+            h = 31 * h + buffer.get(i);
+        }
+        return h;
+    }
+
+    /**
+     * Spread a hash so the low bits used for the slot depend on all bits
+     * @param h hash
+     * @return spread hash
+     */
+    static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Decode a region of UTF-8 bytes
+     * @param buffer buffer to read
+     * @param offset start of the region
+     * @param length length of the region
+     * @return the decoded String
+     */
+    static String decode(ByteBuffer buffer, int offset, int length) {
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + offset, length, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; ++i) {
+            bytes[i] = buffer.get(offset + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private boolean asciiEquals(int offset, String key) {
+        for (int i = 0, length = key.length(); i < length; ++i) {
+            if (buffer.get(offset + i) != key.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean bytesEqual(int offset, byte[] key) {
+        for (int i = 0; i < key.length; ++i) {
+            if (buffer.get(offset + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean regionEquals(int entry, int offset, int length) {
+        if (lengths[entry] != length) {
+            return false;
+        }
+        int otherOffset = offsets[entry];
+        for (int i = 0; i < length; ++i) {
+            if (buffer.get(otherOffset + i) != buffer.get(offset + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
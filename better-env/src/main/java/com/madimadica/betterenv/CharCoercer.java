@@ -0,0 +1,21 @@
+package com.madimadica.betterenv;
+
+/**
+ * {@link Coercer} specialized for {@code char}, required to register a coercer for {@code char.class}.
+ */
+@FunctionalInterface
+public interface CharCoercer extends Coercer<Character> {
+
+    /**
+     * Coerce a value to a {@code char}.
+     * @param input environment variable value
+     * @return the coerced value
+     * @throws RuntimeException if the value is invalid for the type
+     */
+    char coerceChar(String input);
+
+    @Override
+    default Character coerce(String input) {
+        return coerceChar(input);
+    }
+}
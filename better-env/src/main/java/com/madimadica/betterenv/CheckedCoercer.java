@@ -0,0 +1,26 @@
+package com.madimadica.betterenv;
+
+/**
+ * Internal extension of a built-in {@link Coercer} which can reject invalid values without throwing.
+ */
+interface CheckedCoercer {
+
+    /**
+     * Returned by {@link CheckedCoercer#tryCoerce(String)} for invalid values
+     */
+    Object INVALID = new Object();
+
+    /**
+     * Coerce a value without throwing
+     * @param input environment variable value, non-null
+     * @return the coerced value, or {@link CheckedCoercer#INVALID} if the value is invalid
+     */
+    Object tryCoerce(String input);
+
+    /**
+     * Describe why {@link CheckedCoercer#tryCoerce(String)} rejected a value
+     * @param input the rejected value
+     * @return an error message which doesn't contain the value
+     */
+    String invalidReason(String input);
+}
@@ -5,8 +5,6 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Modifier;
-import java.math.BigDecimal;
-import java.math.BigInteger;
 import java.util.Arrays;
 
 class ClassUtils {
@@ -38,9 +36,14 @@ class ClassUtils {
     }
 
     public static Field[] getAnnotatedInstanceFields(Class<?> clazz, Class<? extends Annotation> annotation) {
+        return getAnnotatedInstanceFields(clazz, annotation, annotation);
+    }
+
+    public static Field[] getAnnotatedInstanceFields(Class<?> clazz, Class<? extends Annotation> annotation, Class<? extends Annotation> other) {
         Field[] allFields = clazz.getDeclaredFields();
         return Arrays.stream(allFields)
-                .filter(field -> !Modifier.isStatic(field.getModifiers()) && field.isAnnotationPresent(annotation))
+                .filter(field -> !Modifier.isStatic(field.getModifiers())
+                        && (field.isAnnotationPresent(annotation) || field.isAnnotationPresent(other)))
                 .toArray(Field[]::new);
     }
 
@@ -82,41 +85,8 @@ class ClassUtils {
             throw new IllegalArgumentException("Cannot coerce null input to primitive type");
         } else if (input == null) {
             return null;
-        } else if (type == String.class) {
-            return input;
-        } else if (type == boolean.class || type == Boolean.class) {
-            String lower = input.toLowerCase();
-            if ("true".equals(lower)) {
-                return Boolean.TRUE;
-            } else if ("false".equals(lower)) {
-                return Boolean.FALSE;
-            } else {
-                throw new IllegalArgumentException("Expected 'true' or 'false' (case-insensitive)");
-            }
-        } else if (type == byte.class || type == Byte.class) {
-            return Byte.parseByte(input);
-        } else if (type == short.class || type == Short.class) {
-            return Short.parseShort(input);
-        } else if (type == char.class || type == Character.class) {
-            if (input.length() != 1) {
-                throw new IllegalArgumentException("Character/char input must be length 1, instead found length " + input.length());
-            }
-            return input.charAt(0);
-        } else if (type == int.class || type == Integer.class) {
-            return Integer.parseInt(input);
-        } else if (type == long.class || type == Long.class) {
-            return Long.parseLong(input);
-        } else if (type == float.class || type == Float.class) {
-            return Float.parseFloat(input);
-        } else if (type == double.class || type == Double.class) {
-            return Double.parseDouble(input);
-        } else if (type == BigInteger.class) {
-            return new BigInteger(input);
-        } else if (type == BigDecimal.class) {
-            return new BigDecimal(input);
-        } else {
-            throw new IllegalArgumentException("Unsupported type \"" + type.getName() + "\"");
         }
+        return CoercerRegistry.getDefault().find(type).coerce(input);
     }
 
 }
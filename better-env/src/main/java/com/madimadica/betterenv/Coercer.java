@@ -0,0 +1,29 @@
+package com.madimadica.betterenv;
+
+/**
+ * <p>
+ *     Converts an environment variable value to a field's declared type.
+ * </p>
+ * <p>
+ *     Coercers for additional types can be registered with {@link BetterEnv#registerCoercer(Class, Coercer)},
+ *     such as {@code BetterEnv.registerCoercer(Duration.class, Duration::parse)}. Primitive types use one of the
+ *     specialized variants, such as {@link IntCoercer}, whose methods return the unboxed value when called directly.
+ *     Bound fields still receive the value boxed, then unboxed by the field or constructor.
+ * </p>
+ * <p>
+ *     Implementations must be safe to use from multiple threads.
+ * </p>
+ * @param <T> the coerced type
+ */
+@FunctionalInterface
+public interface Coercer<T> {
+
+    /**
+     * Coerce a value. The value is never {@code null}, and has already passed the {@link Env#allowBlank()} check.
+     * @param input environment variable value
+     * @return the coerced value, non-null
+     * @throws RuntimeException if the value is invalid for the type. The exception message is only included in error messages
+     * for built-in coercers, otherwise only the exception type is, to avoid exposing environment variable values.
+     */
+    T coerce(String input);
+}
@@ -0,0 +1,424 @@
+package com.madimadica.betterenv;
+
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * <p>
+ *     Internal registry of the {@link Coercer} for each supported type, replacing a chain of type comparisons per value.
+ * </p>
+ * <p>
+ *     A {@link FieldBinding} looks up its coercer once when its {@link BindingPlan} is compiled,
+ *     Each built {@link EnvBinder} has its own copy of a registry, with its own plans.
+ *     Each {@link EnvBinder} with its own coercers has its own registry, with its own plans.
+ * </p>
+ */
+final class CoercerRegistry {
+
+    static final Coercer<String> STRING = input -> input;
+
+    static final BooleanCoercer BOOLEAN = new BooleanParser();
+
+    static final ByteCoercer BYTE = new ByteParser();
+
+    static final ShortCoercer SHORT = new ShortParser();
+
+    static final CharCoercer CHAR = new CharParser();
+
+    static final IntCoercer INT = new IntParser();
+
+    static final LongCoercer LONG = new LongParser();
+
+    static final FloatCoercer FLOAT = new FloatParser();
+
+    static final DoubleCoercer DOUBLE = new DoubleParser();
+
+    static final Coercer<BigInteger> BIG_INTEGER = BigInteger::new;
+
+    static final Coercer<BigDecimal> BIG_DECIMAL = BigDecimal::new;
+
+    /**
+     * Error reported for invalid numbers, matching the redacted {@link NumberFormatException}
+     */
+    private static final String INVALID_NUMBER = "NumberFormatException";
+
+    /**
+     * Coercers of the types supported out of the box
+     */
+    private static final Map<Class<?>, Coercer<?>> BUILT_IN;
+
+    /**
+     * Specialized coercer interface required for each primitive type
+     */
+    private static final Map<Class<?>, Class<?>> PRIMITIVE_COERCERS;
+
+    static {
+        Map<Class<?>, Coercer<?>> builtIn = new HashMap<>();
+        builtIn.put(String.class, STRING);
+        builtIn.put(boolean.class, BOOLEAN);
+        builtIn.put(Boolean.class, BOOLEAN);
+        builtIn.put(byte.class, BYTE);
+        builtIn.put(Byte.class, BYTE);
+        builtIn.put(short.class, SHORT);
+        builtIn.put(Short.class, SHORT);
+        builtIn.put(char.class, CHAR);
+        builtIn.put(Character.class, CHAR);
+        builtIn.put(int.class, INT);
+        builtIn.put(Integer.class, INT);
+        builtIn.put(long.class, LONG);
+        builtIn.put(Long.class, LONG);
+        builtIn.put(float.class, FLOAT);
+        builtIn.put(Float.class, FLOAT);
+        builtIn.put(double.class, DOUBLE);
+        builtIn.put(Double.class, DOUBLE);
+        builtIn.put(BigInteger.class, BIG_INTEGER);
+        builtIn.put(BigDecimal.class, BIG_DECIMAL);
+        BUILT_IN = Collections.unmodifiableMap(builtIn);
+
+        Map<Class<?>, Class<?>> primitiveCoercers = new HashMap<>();
+        primitiveCoercers.put(boolean.class, BooleanCoercer.class);
+        primitiveCoercers.put(byte.class, ByteCoercer.class);
+        primitiveCoercers.put(short.class, ShortCoercer.class);
+        primitiveCoercers.put(char.class, CharCoercer.class);
+        primitiveCoercers.put(int.class, IntCoercer.class);
+        primitiveCoercers.put(long.class, LongCoercer.class);
+        primitiveCoercers.put(float.class, FloatCoercer.class);
+        primitiveCoercers.put(double.class, DoubleCoercer.class);
+        PRIMITIVE_COERCERS = Collections.unmodifiableMap(primitiveCoercers);
+    }
+
+    /**
+     * Registry used by {@link BetterEnv}, and copied by every {@link EnvBinder} built without its own coercers
+     */
+    private static final CoercerRegistry DEFAULT = new CoercerRegistry();
+
+    /**
+     * Current coercers, copied on write
+     */
+    private volatile Map<Class<?>, Coercer<?>> coercers = BUILT_IN;
+
+    /**
+     * If a coercer of a built-in type was replaced
+     */
+    private volatile boolean builtInOverridden;
+
+    /**
+     * Create a registry of only the built-in coercers
+     */
+    CoercerRegistry() {}
+
+    /**
+     * Copy the current coercers into a new registry, which later registrations to either registry don't affect
+     * @return a new registry
+     */
+    synchronized CoercerRegistry copy() {
+        CoercerRegistry copy = new CoercerRegistry();
+        copy.coercers = coercers;
+        copy.builtInOverridden = builtInOverridden;
+        return copy;
+    }
+
+    /**
+     * Get the registry used by {@link BetterEnv#registerCoercer(Class, Coercer)}
+     * @return the default registry
+     */
+    static CoercerRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Find the coercer of a type
+     * @param type declared type
+     * @return the registered coercer, or a coercer that always throws if the type is unsupported
+     */
+    Coercer<?> find(Class<?> type) {
+        Coercer<?> coercer = coercers.get(type);
+        return coercer != null ? coercer : new UnsupportedCoercer(type.getName());
+    }
+
+    /**
+     * Find the built-in coercer of a type, ignoring registered coercers, such as for fields of {@link GeneratedEnvBinder}s,
+     * which are only used while no built-in coercer is replaced
+     * @param type declared type
+     * @return the built-in coercer, or a coercer that always throws if the type is unsupported
+     */
+    static Coercer<?> findBuiltIn(Class<?> type) {
+        Coercer<?> coercer = BUILT_IN.get(type);
+        return coercer != null ? coercer : new UnsupportedCoercer(type.getName());
+    }
+
+    /**
+     * Find the coercer of a field type, which may also be an array or collection split by {@link SplitCoercer}
+     * @param type declared type
+     * @param genericType declared generic type
+     * @param delimiters {@link Env.Delimiter} of the field, nullable
+     * @return the registered coercer, a split coercer, or a coercer that always throws if the type is unsupported
+     * @throws InvalidEnvTypeException if a delimiter is empty
+     */
+    Coercer<?> find(Class<?> type, Type genericType, Env.Delimiter delimiters) {
+        Coercer<?> coercer = coercers.get(type);
+        if (coercer != null) {
+            return coercer;
+        }
+        coercer = SplitCoercer.of(type, genericType, delimiters, this);
+        return coercer != null ? coercer : new UnsupportedCoercer(genericType.getTypeName());
+    }
+
+    /**
+     * Find the registered coercer of a type
+     * @param type declared type
+     * @return the coercer, or {@code null} if the type is unsupported
+     */
+    Coercer<?> findRegistered(Class<?> type) {
+        return coercers.get(type);
+    }
+
+    /**
+     * Check if a coercer is built-in, so its exception messages are known not to contain the input value
+     * @param coercer coercer to check
+     * @return {@code true} if the coercer is built-in
+     */
+    static boolean isBuiltIn(Coercer<?> coercer) {
+        return coercer instanceof UnsupportedCoercer || coercer instanceof SplitCoercer || BUILT_IN.containsValue(coercer);
+    }
+
+    /**
+     * Check if a coercer of a built-in type was replaced, which {@link GeneratedEnvBinder}s don't use
+     * @return {@code true} if a built-in type has a registered coercer
+     */
+    boolean isBuiltInOverridden() {
+        return builtInOverridden;
+    }
+
+    /**
+     * Register or replace the coercer of a type. Plans already compiled with this registry are not updated.
+     * @param type declared type
+     * @param coercer coercer for the type
+     * @param <T> declared type
+     * @throws IllegalArgumentException if {@code type} is primitive, and the coercer is not the matching specialized variant
+     */
+    synchronized <T> void register(Class<T> type, Coercer<? extends T> coercer) {
+        Objects.requireNonNull(type);
+        Objects.requireNonNull(coercer);
+        Class<?> required = PRIMITIVE_COERCERS.get(type);
+        if (required != null && !required.isInstance(coercer)) {
+            throw new IllegalArgumentException("Coercer for \"" + type.getName() + "\" must implement " + required.getName());
+        }
+        Map<Class<?>, Coercer<?>> updated = new HashMap<>(coercers);
+        updated.put(type, coercer);
+        coercers = Collections.unmodifiableMap(updated);
+        if (BUILT_IN.containsKey(type)) {
+            builtInOverridden = true;
+        }
+    }
+
+    /**
+     * Coercer of an unsupported type, failing on every value
+     */
+    private static final class UnsupportedCoercer implements Coercer<Object>, CheckedCoercer {
+        private final String message;
+
+        private UnsupportedCoercer(String typeName) {
+            this.message = "Unsupported type \"" + typeName + "\"";
+        }
+
+        @Override
+        public Object coerce(String input) {
+            throw new IllegalArgumentException(message);
+        }
+
+        @Override
+        public Object tryCoerce(String input) {
+            return INVALID;
+        }
+
+        @Override
+        public String invalidReason(String input) {
+            return message;
+        }
+    }
+
+    private static final class BooleanParser implements BooleanCoercer, CheckedCoercer {
+        private static final String INVALID_BOOLEAN = "Expected 'true' or 'false' (case-insensitive)";
+
+        @Override
+        public boolean coerceBoolean(String input) {
+            if (!Parsers.isBoolean(input)) {
+                throw new IllegalArgumentException(INVALID_BOOLEAN);
+            }
+            return Parsers.parseBoolean(input, 0, input.length());
+        }
+
+        @Override
+        public Object tryCoerce(String input) {
+            return Parsers.isBoolean(input) ? Boolean.valueOf(Parsers.parseBoolean(input, 0, input.length())) : INVALID;
+        }
+
+        @Override
+        public String invalidReason(String input) {
+            return INVALID_BOOLEAN;
+        }
+    }
+
+    private static final class CharParser implements CharCoercer, CheckedCoercer {
+        @Override
+        public char coerceChar(String input) {
+            if (input.length() != 1) {
+                throw new IllegalArgumentException(invalidReason(input));
+            }
+            return input.charAt(0);
+        }
+
+        @Override
+        public Object tryCoerce(String input) {
+            return input.length() == 1 ? Character.valueOf(input.charAt(0)) : INVALID;
+        }
+
+        @Override
+        public String invalidReason(String input) {
+            return "Character/char input must be length 1, instead found length " + input.length();
+        }
+    }
+
+    /**
+     * Base of the integer coercers, parsing in a single pass without throwing
+     */
+    private abstract static class IntegerParser implements CheckedCoercer {
+        private final long min;
+        private final long max;
+
+        IntegerParser(long min, long max) {
+            this.min = min;
+            this.max = max;
+        }
+
+        /**
+         * Parse a value
+         * @return the value, or {@link Parsers#INVALID}, which is ambiguous with {@link Long#MIN_VALUE}
+         */
+        final long parse(String input) {
+            return Parsers.parseInteger(input, 0, input.length(), min, max);
+        }
+
+        @Override
+        public String invalidReason(String input) {
+            return INVALID_NUMBER;
+        }
+    }
+
+    private static final class ByteParser extends IntegerParser implements ByteCoercer {
+        ByteParser() {
+            super(Byte.MIN_VALUE, Byte.MAX_VALUE);
+        }
+
+        @Override
+        public byte coerceByte(String input) {
+            long value = parse(input);
+            // Let the JDK throw its exception for invalid values
+            return value != Parsers.INVALID ? (byte) value : Byte.parseByte(input);
+        }
+
+        @Override
+        public Object tryCoerce(String input) {
+            long value = parse(input);
+            return value != Parsers.INVALID ? Byte.valueOf((byte) value) : INVALID;
+        }
+    }
+
+    private static final class ShortParser extends IntegerParser implements ShortCoercer {
+        ShortParser() {
+            super(Short.MIN_VALUE, Short.MAX_VALUE);
+        }
+
+        @Override
+        public short coerceShort(String input) {
+            long value = parse(input);
+            return value != Parsers.INVALID ? (short) value : Short.parseShort(input);
+        }
+
+        @Override
+        public Object tryCoerce(String input) {
+            long value = parse(input);
+            return value != Parsers.INVALID ? Short.valueOf((short) value) : INVALID;
+        }
+    }
+
+    private static final class IntParser extends IntegerParser implements IntCoercer {
+        IntParser() {
+            super(Integer.MIN_VALUE, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public int coerceInt(String input) {
+            long value = parse(input);
+            return value != Parsers.INVALID ? (int) value : Integer.parseInt(input);
+        }
+
+        @Override
+        public Object tryCoerce(String input) {
+            long value = parse(input);
+            return value != Parsers.INVALID ? Integer.valueOf((int) value) : INVALID;
+        }
+    }
+
+    private static final class LongParser extends IntegerParser implements LongCoercer {
+        LongParser() {
+            super(Long.MIN_VALUE, Long.MAX_VALUE);
+        }
+
+        @Override
+        public long coerceLong(String input) {
+            long value = parse(input);
+            // Also Long.MIN_VALUE itself, which the JDK returns
+            return value != Parsers.INVALID ? value : Long.parseLong(input);
+        }
+
+        @Override
+        public Object tryCoerce(String input) {
+            long value = parse(input);
+            if (value == Parsers.INVALID && !Parsers.isLong(input)) {
+                return INVALID;
+            }
+            return value;
+        }
+    }
+
+    private static final class FloatParser implements FloatCoercer, CheckedCoercer {
+        @Override
+        public float coerceFloat(String input) {
+            return Float.parseFloat(input);
+        }
+
+        @Override
+        public Object tryCoerce(String input) {
+            return Parsers.isFloat(input) ? Float.valueOf(Float.parseFloat(input)) : INVALID;
+        }
+
+        @Override
+        public String invalidReason(String input) {
+            return INVALID_NUMBER;
+        }
+    }
+
+    private static final class DoubleParser implements DoubleCoercer, CheckedCoercer {
+        @Override
+        public double coerceDouble(String input) {
+            return Double.parseDouble(input);
+        }
+
+        @Override
+        public Object tryCoerce(String input) {
+            return Parsers.isDouble(input) ? Double.valueOf(Parsers.parseDouble(input)) : INVALID;
+        }
+
+        @Override
+        public String invalidReason(String input) {
+            return INVALID_NUMBER;
+        }
+    }
+}
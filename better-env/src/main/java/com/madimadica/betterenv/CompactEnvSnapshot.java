@@ -0,0 +1,165 @@
+package com.madimadica.betterenv;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * <p>
+ *     Immutable {@link EnvSource} holding a copy of environment variables packed into a single UTF-8 {@code byte[]} arena,
+ *     for environments with thousands of variables.
+ * </p>
+ * <p>
+ *     Each key is followed by its value in the arena, and keys are found with an open-addressing index of offsets,
+ *     compared in place without decoding them. A value is only decoded to a {@link String} when it is first looked up,
+ *     so the variables that are never read cost their UTF-8 bytes plus about 30 bytes of index each,
+ *     instead of the map entry and two {@link String}s per variable of a {@link java.util.HashMap} or {@link EnvSnapshot}.
+ * </p>
+ * <p>
+ *     Lookups compare the key bytes in place, which takes a few times longer than the {@link String#equals(Object)} of an {@link EnvSnapshot},
+ *     in the order of tens of nanoseconds. Each value is decoded once, on its first lookup.
+ * </p>
+ * @see BetterEnv#setSource(EnvSource)
+ */
+public final class CompactEnvSnapshot implements EnvSource {
+
+    /**
+     * Key and value bytes of every entry, back to back
+     */
+    private final byte[] arena;
+
+    /**
+     * Index of every key in {@link CompactEnvSnapshot#arena}. Each value starts where its key ends.
+     */
+    private final ByteKeyIndex index;
+
+    /**
+     * Length in bytes of each entry's value
+     */
+    private final int[] valueLengths;
+
+    /**
+     * Values decoded so far, by entry. Racy caching is safe because {@link String} is immutable.
+     */
+    private final String[] decoded;
+
+    private CompactEnvSnapshot(Map<String, String> env) {
+        int count = 0;
+        long bytes = 0;
+        for (Map.Entry<String, String> entry : env.entrySet()) {
+            if (entry.getKey() != null && entry.getValue() != null) {
+                ++count;
+                bytes += utf8Length(entry.getKey()) + utf8Length(entry.getValue());
+            }
+        }
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Environment is too large to pack: " + bytes + " bytes");
+        }
+        this.arena = new byte[(int) bytes];
+        int[] keyOffsets = new int[count];
+        int[] keyLengths = new int[count];
+        this.valueLengths = new int[count];
+        int i = 0;
+        int offset = 0;
+        for (Map.Entry<String, String> entry : env.entrySet()) {
+            String key = entry.getKey();
+            String value = entry.getValue();
+            if (key == null || value == null) {
+                continue;
+            }
+            keyOffsets[i] = offset;
+            offset = encode(key, arena, offset);
+            keyLengths[i] = offset - keyOffsets[i];
+            int valueOffset = offset;
+            offset = encode(value, arena, offset);
+            valueLengths[i] = offset - valueOffset;
+            ++i;
+        }
+        this.index = new ByteKeyIndex(ByteBuffer.wrap(arena), keyOffsets, keyLengths, count);
+        this.decoded = new String[count];
+    }
+
+    /**
+     * Capture the current process environment from {@link System#getenv()}
+     * @return a new snapshot
+     */
+    public static CompactEnvSnapshot ofSystem() {
+        return new CompactEnvSnapshot(System.getenv());
+    }
+
+    /**
+     * Copy the given variables into a new snapshot. Entries with a {@code null} key or value are ignored.
+     * @param env environment variables to copy
+     * @return a new snapshot
+     * @throws IllegalArgumentException if the variables take more than 2 GiB as UTF-8
+     */
+    public static CompactEnvSnapshot of(Map<String, String> env) {
+        return new CompactEnvSnapshot(env);
+    }
+
+    @Override
+    public String get(String key) {
+        int entry = index.find(key);
+        if (entry < 0) {
+            return null;
+        }
+        String value = decoded[entry];
+        if (value == null) {
+            value = new String(arena, index.keyEnd(entry), valueLengths[entry], StandardCharsets.UTF_8);
+            decoded[entry] = value;
+        }
+        return value;
+    }
+
+    /**
+     * Get the number of variables in this snapshot
+     * @return the number of variables
+     */
+    public int size() {
+        return valueLengths.length;
+    }
+
+    /**
+     * Get the number of bytes of the UTF-8 arena holding every key and value
+     * @return the arena size in bytes
+     */
+    public int arenaSize() {
+        return arena.length;
+    }
+
+    /**
+     * Get the encoded length of a String, matching {@link String#getBytes(java.nio.charset.Charset)} with UTF-8
+     * @param s String to measure
+     * @return the UTF-8 length in bytes
+     */
+    private static int utf8Length(String s) {
+        int length = s.length();
+        for (int i = 0; i < length; ++i) {
+            if (s.charAt(i) >= 0x80) {
+                return s.getBytes(StandardCharsets.UTF_8).length;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Write a String as UTF-8, copying ASCII directly
+     * @param s String to write
+     * @param arena destination
+     * @param offset position to write at
+     * @return the position after the written bytes
+     */
+    private static int encode(String s, byte[] arena, int offset) {
+        int length = s.length();
+        for (int i = 0; i < length; ++i) {
+            char ch = s.charAt(i);
+            if (ch >= 0x80) {
+                byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+                System.arraycopy(bytes, 0, arena, offset, bytes.length);
+                return offset + bytes.length;
+            }
+            arena[offset + i] = (byte) ch;
+        }
+        return offset + length;
+    }
+}
@@ -0,0 +1,73 @@
+package com.madimadica.betterenv;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * {@link EnvSource} resolving each key against a list of sources, in order of precedence.
+ */
+final class CompositeEnvSource implements EnvSource {
+
+    /**
+     * Sources in order of precedence, with nested composites flattened
+     */
+    private final EnvSource[] sources;
+
+    private CompositeEnvSource(EnvSource[] sources) {
+        this.sources = sources;
+    }
+
+    /**
+     * Combine sources, flattening any nested composites
+     * @param sources sources in order of precedence
+     * @return the combined source, or the only source if there is one
+     */
+    static EnvSource of(EnvSource... sources) {
+        Objects.requireNonNull(sources);
+        List<EnvSource> flattened = new ArrayList<>(sources.length);
+        for (EnvSource source : sources) {
+            Objects.requireNonNull(source);
+            if (source instanceof CompositeEnvSource) {
+                Collections.addAll(flattened, ((CompositeEnvSource) source).sources);
+            } else {
+                flattened.add(source);
+            }
+        }
+        if (flattened.size() == 1) {
+            return flattened.get(0);
+        }
+        return new CompositeEnvSource(flattened.toArray(new EnvSource[0]));
+    }
+
+    /**
+     * Get the combined sources
+     * @return sources in order of precedence. Do not modify the returned array.
+     */
+    EnvSource[] getSources() {
+        return sources;
+    }
+
+    @Override
+    public String get(String key) {
+        for (EnvSource source : sources) {
+            String value = source.get(key);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String get(String prefix, String suffix) {
+        for (EnvSource source : sources) {
+            String value = source.get(prefix, suffix);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,351 @@
+package com.madimadica.betterenv;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * <p>
+ *     {@link EnvSource} reading a {@code .env} or properties-style file of {@code KEY=value} lines.
+ * </p>
+ * <p>
+ *     The file is indexed once by key offsets, and values are only decoded to a {@link String} when they are looked up.
+ *     With {@link DotEnvSource#map(Path)} the file is memory-mapped, so the file contents are never copied onto the heap.
+ * </p>
+ * <p>
+ *     The supported syntax is
+ * </p>
+ * <ul>
+ *     <li>One {@code KEY=value} or {@code KEY: value} entry per line, with an optional {@code export } prefix</li>
+ *     <li>Blank lines, and lines starting with {@code #}, are ignored</li>
+ *     <li>Unquoted values are trimmed, and end at a {@code #} that follows whitespace</li>
+ *     <li>Single-quoted values are literal, and double-quoted values support {@code \n}, {@code \r}, {@code \t}, {@code \"} and {@code \\} escapes. Both may span lines</li>
+ *     <li>If a key is repeated, the last value wins</li>
+ * </ul>
+ * <p>
+ *     To combine a file with the process environment, use {@link EnvSource#orElse(EnvSource)} with the preferred source first.
+ * </p>
+ */
+public final class DotEnvSource implements EnvSource {
+
+    private static final byte UNQUOTED = 0;
+    private static final byte SINGLE_QUOTED = 1;
+    private static final byte DOUBLE_QUOTED = 2;
+
+    /**
+     * File contents, only read with absolute gets
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Index of every key
+     */
+    private final ByteKeyIndex index;
+
+    /**
+     * Offset of each entry's raw value in {@link DotEnvSource#buffer}
+     */
+    private final int[] valueOffsets;
+
+    /**
+     * Length in bytes of each entry's raw value
+     */
+    private final int[] valueLengths;
+
+    /**
+     * Quoting of each entry's raw value
+     */
+    private final byte[] quoting;
+
+    /**
+     * Values decoded so far, by entry. Racy caching is safe because {@link String} is immutable.
+     */
+    private final String[] decoded;
+
+    private DotEnvSource(ByteBuffer buffer) {
+        this.buffer = buffer;
+        Parser parser = new Parser(buffer);
+        parser.parse();
+        this.index = new ByteKeyIndex(buffer, parser.keyOffsets, parser.keyLengths, parser.count);
+        this.valueOffsets = Arrays.copyOf(parser.valueOffsets, parser.count);
+        this.valueLengths = Arrays.copyOf(parser.valueLengths, parser.count);
+        this.quoting = Arrays.copyOf(parser.quoting, parser.count);
+        this.decoded = new String[parser.count];
+    }
+
+    /**
+     * Memory-map and index a file. The mapping is released when this source is garbage collected.
+     * The file must not be truncated or rewritten in place while this source is in use, use {@link DotEnvSource#read(Path)} for files that may be.
+     * @param path path of the file
+     * @return a new source
+     * @throws IOException if the file cannot be read
+     */
+    public static DotEnvSource map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File is too large to map: " + path);
+            }
+            return new DotEnvSource(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+    }
+
+    /**
+     * Read a file onto the heap and index it.
+     * @param path path of the file
+     * @return a new source
+     * @throws IOException if the file cannot be read
+     */
+    public static DotEnvSource read(Path path) throws IOException {
+        return new DotEnvSource(ByteBuffer.wrap(Files.readAllBytes(path)));
+    }
+
+    /**
+     * Index UTF-8 file contents
+     * @param contents file contents, not copied
+     * @return a new source
+     */
+    static DotEnvSource of(byte[] contents) {
+        return new DotEnvSource(ByteBuffer.wrap(contents));
+    }
+
+    @Override
+    public String get(String key) {
+        int entry = index.find(key);
+        if (entry < 0) {
+            return null;
+        }
+        String value = decoded[entry];
+        if (value == null) {
+            value = decode(entry);
+            decoded[entry] = value;
+        }
+        return value;
+    }
+
+    /**
+     * Get the number of distinct keys in the file
+     * @return the number of keys
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Decode every distinct key in the file
+     * @return the keys, in file order
+     */
+    Set<String> keys() {
+        Set<String> keys = new LinkedHashSet<>();
+        for (int entry : index.entries()) {
+            keys.add(index.key(entry));
+        }
+        return keys;
+    }
+
+    /**
+     * Decode the raw value of an entry
+     * @param entry entry index
+     * @return the value
+     */
+    private String decode(int entry) {
+        String raw = ByteKeyIndex.decode(buffer, valueOffsets[entry], valueLengths[entry]);
+        if (quoting[entry] != DOUBLE_QUOTED || raw.indexOf('\\') < 0) {
+            return raw;
+        }
+        StringBuilder sb = new StringBuilder(raw.length());
+        for (int i = 0; i < raw.length(); ++i) {
+            char ch = raw.charAt(i);
+            if (ch != '\\' || i + 1 == raw.length()) {
+                sb.append(ch);
+                continue;
+            }
+            char next = raw.charAt(++i);
+            switch (next) {
+                case 'n':
+                    sb.append('\n');
+                    break;
+                case 'r':
+                    sb.append('\r');
+                    break;
+                case 't':
+                    sb.append('\t');
+                    break;
+                case '"':
+                case '\\':
+                    sb.append(next);
+                    break;
+                default:
+                    sb.append(ch).append(next);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Single pass scanner recording the key and value offsets of each line
+     */
+    private static final class Parser {
+        private final ByteBuffer buffer;
+        private final int limit;
+        private int pos;
+
+        int count;
+        int[] keyOffsets = new int[64];
+        int[] keyLengths = new int[64];
+        int[] valueOffsets = new int[64];
+        int[] valueLengths = new int[64];
+        byte[] quoting = new byte[64];
+
+        Parser(ByteBuffer buffer) {
+            this.buffer = buffer;
+            this.limit = buffer.limit();
+        }
+
+        void parse() {
+            // UTF-8 byte order mark
+            if (limit >= 3 && buffer.get(0) == (byte) 0xEF && buffer.get(1) == (byte) 0xBB && buffer.get(2) == (byte) 0xBF) {
+                pos = 3;
+            }
+            while (pos < limit) {
+                byte b = buffer.get(pos);
+                if (b == ' ' || b == '\t' || b == '\r' || b == '\n' || b == '\f') {
+                    ++pos;
+                } else if (b == '#') {
+                    skipLine();
+                } else {
+                    parseEntry();
+                }
+            }
+        }
+
+        private void parseEntry() {
+            if (startsWithExport()) {
+                pos += 6;
+                skipSpaces();
+            }
+            int keyStart = pos;
+            while (pos < limit) {
+                byte b = buffer.get(pos);
+                if (b == '=' || b == ':' || b == '\n') {
+                    break;
+                }
+                ++pos;
+            }
+            if (pos == limit || buffer.get(pos) == '\n') {
+                // No separator, not an entry
+                return;
+            }
+            int keyEnd = trimEnd(keyStart, pos);
+            int separatorEnd = ++pos;
+            skipSpaces();
+            if (keyEnd == keyStart) {
+                skipLine();
+                return;
+            }
+
+            byte quote = pos < limit ? buffer.get(pos) : 0;
+            if ((quote == '"' || quote == '\'') && parseQuoted(keyStart, keyEnd, quote)) {
+                return;
+            }
+            int valueStart = pos;
+            int valueEnd = valueStart;
+            // A # right after the separator is part of the value, such as a color
+            boolean afterSpace = pos > separatorEnd;
+            while (pos < limit) {
+                byte b = buffer.get(pos);
+                if (b == '\n' || (b == '#' && afterSpace)) {
+                    break;
+                }
+                afterSpace = b == ' ' || b == '\t';
+                ++pos;
+                valueEnd = pos;
+            }
+            add(keyStart, keyEnd, valueStart, trimEnd(valueStart, valueEnd), UNQUOTED);
+            skipLine();
+        }
+
+        /**
+         * Parse a quoted value starting at {@code pos}
+         * @return {@code false} if there is no closing quote, so the value should be parsed unquoted
+         */
+        private boolean parseQuoted(int keyStart, int keyEnd, byte quote) {
+            int valueStart = pos + 1;
+            for (int i = valueStart; i < limit; ++i) {
+                byte b = buffer.get(i);
+                if (b == '\\' && quote == '"') {
+                    ++i;
+                } else if (b == quote) {
+                    add(keyStart, keyEnd, valueStart, i, quote == '"' ? DOUBLE_QUOTED : SINGLE_QUOTED);
+                    pos = i + 1;
+                    skipLine();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean startsWithExport() {
+            if (pos + 7 > limit) {
+                return false;
+            }
+            for (int i = 0; i < 6; ++i) {
+                if (buffer.get(pos + i) != "export".charAt(i)) {
+                    return false;
+                }
+            }
+            byte next = buffer.get(pos + 6);
+            return next == ' ' || next == '\t';
+        }
+
+        private void skipSpaces() {
+            while (pos < limit) {
+                byte b = buffer.get(pos);
+                if (b != ' ' && b != '\t') {
+                    return;
+                }
+                ++pos;
+            }
+        }
+
+        private void skipLine() {
+            while (pos < limit && buffer.get(pos) != '\n') {
+                ++pos;
+            }
+        }
+
+        private int trimEnd(int start, int end) {
+            while (end > start) {
+                byte b = buffer.get(end - 1);
+                if (b != ' ' && b != '\t' && b != '\r') {
+                    break;
+                }
+                --end;
+            }
+            return end;
+        }
+
+        private void add(int keyStart, int keyEnd, int valueStart, int valueEnd, byte quote) {
+            if (count == keyOffsets.length) {
+                int capacity = count * 2;
+                keyOffsets = Arrays.copyOf(keyOffsets, capacity);
+                keyLengths = Arrays.copyOf(keyLengths, capacity);
+                valueOffsets = Arrays.copyOf(valueOffsets, capacity);
+                valueLengths = Arrays.copyOf(valueLengths, capacity);
+                quoting = Arrays.copyOf(quoting, capacity);
+            }
+            keyOffsets[count] = keyStart;
+            keyLengths[count] = keyEnd - keyStart;
+            valueOffsets[count] = valueStart;
+            valueLengths[count] = valueEnd - valueStart;
+            quoting[count] = quote;
+            ++count;
+        }
+    }
+}
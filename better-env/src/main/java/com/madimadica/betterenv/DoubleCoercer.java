@@ -0,0 +1,21 @@
+package com.madimadica.betterenv;
+
+/**
+ * {@link Coercer} specialized for {@code double}, required to register a coercer for {@code double.class}.
+ */
+@FunctionalInterface
+public interface DoubleCoercer extends Coercer<Double> {
+
+    /**
+     * Coerce a value to a {@code double}.
+     * @param input environment variable value
+     * @return the coerced value
+     * @throws RuntimeException if the value is invalid for the type
+     */
+    double coerceDouble(String input);
+
+    @Override
+    default Double coerce(String input) {
+        return coerceDouble(input);
+    }
+}
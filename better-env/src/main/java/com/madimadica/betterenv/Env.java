@@ -29,10 +29,14 @@ import java.lang.annotation.Target;
  *     If {@link Env#required()} is {@code false} and {@link Env#allowBlank()} is {@code false}, and the value is blank,
  *     then the resulting value will be {@code null}.
  * </p>
+ * <p>
+ *     This can also annotate the no-args accessor methods of an interface, which {@link BetterEnv#load(Class)} implements
+ *     by resolving each value on first access.
+ * </p>
  * @see BetterEnv#load(Class) 
  */
 @Retention(RetentionPolicy.RUNTIME)
-@Target(ElementType.FIELD)
+@Target({ElementType.FIELD, ElementType.METHOD})
 public @interface Env {
     /**
      * The key, or array of keys, to find the environment variable
@@ -56,7 +60,7 @@ public @interface Env {
      * An additional annotation to specify a hardcoded fallback value if no valid environment variables were found in {@link Env}
      */
     @Retention(RetentionPolicy.RUNTIME)
-    @Target(ElementType.FIELD)
+    @Target({ElementType.FIELD, ElementType.METHOD})
     @interface Fallback {
         /**
          * Hardcoded fallback value to use when no valid variables were found in {@link Env}
@@ -64,4 +68,50 @@ public @interface Env {
          */
         String value();
     }
+
+    /**
+     * <p>
+     *     Configure how array, {@link java.util.List}, {@link java.util.Set} and {@link java.util.Map} fields are split into elements.
+     *     These types can be bound without this annotation, using a comma and an equals sign, such as {@code "a=1,b=2"}.
+     * </p>
+     * <p>
+     *     Elements are trimmed, and coerced with the same {@link Coercer} as a field of the element type.
+     *     Map entries are split into a key and value on the first {@link Delimiter#keyValue()}, and cannot repeat a key.
+     * </p>
+     */
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.FIELD, ElementType.METHOD})
+    @interface Delimiter {
+        /**
+         * Separates elements, or map entries. Defaults to {@code ","}.
+         * @return the element delimiter
+         */
+        String value() default ",";
+
+        /**
+         * Separates the key and value of a map entry. Defaults to {@code "="}.
+         * @return the key-value delimiter
+         */
+        String keyValue() default "=";
+    }
+
+    /**
+     * <p>
+     *     Bind a field to a nested type, whose own {@link Env} keys are all prepended with {@link Nested#prefix()}.
+     *     The nested type is bound with the same rules as {@link BetterEnv#load(Class)}, and may itself have nested fields.
+     * </p>
+     * <p>
+     *     The nested type is only analyzed once, so the same type can be nested under many prefixes cheaply.
+     *     A field cannot be annotated with both {@link Env} and {@link Nested}.
+     * </p>
+     */
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.FIELD)
+    @interface Nested {
+        /**
+         * Prefix prepended to every key of the nested type, such as {@code "PRIMARY_DB_"}. Defaults to no prefix.
+         * @return the key prefix
+         */
+        String prefix() default "";
+    }
 }
@@ -0,0 +1,428 @@
+package com.madimadica.betterenv;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * <p>
+ *     Binds environment variables to types like {@link BetterEnv#load(Class)}, with its own source, coercers, plan cache and listeners.
+ *     The static methods of {@link BetterEnv} delegate to a default binder, see {@link BetterEnv#getBinder()}.
+ * </p>
+ * <p>
+ *     Binders are immutable and thread-safe, so tests can bind against different environments in parallel without changing any global state.
+ *     A built binder compiles plans into its own cache, see {@link PlanCaching}, and never sees coercers registered with {@link BetterEnv} after it is built.
+ *     Binders created with {@link EnvBinder#withSource(EnvSource)} share that cache, so thousands of them cost little more than their sources.
+ * </p>
+ * <pre>{@code
+ * EnvBinder binder = EnvBinder.builder()
+ *         .source(EnvSnapshot.of(testEnv))
+ *         .coercer(Duration.class, Duration::parse)
+ *         .build();
+ * AppConfig config = binder.load(AppConfig.class);
+ * }</pre>
+ */
+public final class EnvBinder {
+
+    /**
+     * How a binder caches the compiled plans of the types it binds
+     */
+    public enum PlanCaching {
+        /**
+         * Keep plans in a cache owned by the binder and the binders created from it, which is garbage collected with them.
+         * This is the default.
+         */
+        ISOLATED,
+        /**
+         * Compile plans on every load, keeping nothing between loads, such as for binders which only load once
+         */
+        NONE
+    }
+
+    /**
+     * Source of environment variables for {@link EnvBinder#load(Class)}
+     */
+    private final EnvSource source;
+
+    /**
+     * Compiled plans, and the coercers and engine they are compiled with
+     */
+    private final PlanCache plans;
+
+    /**
+     * Listeners of this binder, or null if there are none or it uses {@link BindingListeners#registered()}
+     */
+    private final BindingListener[] listeners;
+
+    /**
+     * If this binder notifies the listeners registered with {@link BetterEnv#addListener(BindingListener)}, instead of its own
+     */
+    private final boolean globalListeners;
+
+    private EnvBinder(EnvSource source, PlanCache plans, BindingListener[] listeners, boolean globalListeners) {
+        this.source = source;
+        this.plans = plans;
+        this.listeners = listeners;
+        this.globalListeners = globalListeners;
+    }
+
+    /**
+     * Create a binder with the defaults used by the static methods of {@link BetterEnv}
+     * @param source source of environment variables
+     * @return a new binder
+     */
+    static EnvBinder ofDefaults(EnvSource source) {
+        return new EnvBinder(source, PlanCache.SHARED, null, true);
+    }
+
+    /**
+     * Start building a binder. Without any other configuration, it resolves against a new {@link EnvSnapshot#ofSystem()},
+     * with the coercers currently registered with {@link BetterEnv}, its own plan cache, and no listeners.
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Get the source this binder resolves environment variables against
+     * @return the source
+     */
+    public EnvSource getSource() {
+        return source;
+    }
+
+    /**
+     * Create a binder with a different source, sharing the coercers, plans and listeners of this binder.
+     * This is cheap enough to do per test, or per simulated environment.
+     * @param source source of environment variables
+     * @return a new binder
+     * @throws NullPointerException if {@code source} is null
+     */
+    public EnvBinder withSource(EnvSource source) {
+        return new EnvBinder(Objects.requireNonNull(source, "source"), plans, listeners, globalListeners);
+    }
+
+    /**
+     * Bind environment variables to a new instance of type {@code T}, with the same rules as {@link BetterEnv#load(Class)}
+     * @param type Type to load
+     * @return an instance of type {@code T}
+     * @param <T> type to bind/return
+     * @throws InvalidEnvironmentException if the source has invalid environment variables required to bind to type {@code T}.
+     * @throws InvalidEnvTypeException if the given type {@code T} has problems with the declared fields or constructors.
+     */
+    public <T> T load(Class<T> type) {
+        return load(type, source);
+    }
+
+    /**
+     * Bind environment variables to a new instance of type {@code T}, with every key prepended with a prefix, like {@link BetterEnv#load(Class, String)}
+     * @param type Type to load
+     * @param prefix prefix prepended to every {@link Env} key, such as a tenant prefix {@code "ACME_"}
+     * @return an instance of type {@code T}
+     * @param <T> type to bind/return
+     * @throws InvalidEnvironmentException if the source has invalid environment variables required to bind to type {@code T}.
+     * @throws InvalidEnvTypeException if the given type {@code T} has problems with the declared fields or constructors.
+     */
+    public <T> T load(Class<T> type, String prefix) {
+        return load(type, PrefixedSource.of(source, Objects.requireNonNull(prefix, "prefix")));
+    }
+
+    /**
+     * Bind a new instance of type {@code T} for each prefix, like {@link BetterEnv#loadPrefixed(Class, Collection)}
+     * @param type Type to load
+     * @param prefixes prefixes prepended to every {@link Env} key, duplicates are only loaded once
+     * @return the loaded instance for each prefix, in iteration order of {@code prefixes}
+     * @param <T> type to bind/return
+     * @throws InvalidEnvironmentException if any prefix could not be bound, summarizing each one, which are also attached as suppressed exceptions.
+     * @throws InvalidEnvTypeException if the given type {@code T} has problems with the declared fields or constructors.
+     */
+    public <T> Map<String, T> loadPrefixed(Class<T> type, Collection<String> prefixes) {
+        Map<String, T> byPrefix = new LinkedHashMap<>(Math.max(16, (int) (prefixes.size() / 0.75f) + 1));
+        RuntimeException[] failures = null;
+        int index = 0;
+        for (String prefix : prefixes) {
+            Objects.requireNonNull(prefix, "prefix");
+            if (byPrefix.containsKey(prefix)) {
+                continue;
+            }
+            try {
+                byPrefix.put(prefix, load(type, PrefixedSource.of(source, prefix)));
+            } catch (InvalidEnvironmentException e) {
+                if (failures == null) {
+                    failures = new RuntimeException[prefixes.size()];
+                }
+                failures[index] = e;
+                byPrefix.put(prefix, null);
+            }
+            ++index;
+        }
+        if (failures != null) {
+            throw LoadedTypes.combine(Arrays.copyOf(failures, index), "prefixes");
+        }
+        return Collections.unmodifiableMap(byPrefix);
+    }
+
+    /**
+     * Bind environment variables to a new instance of type {@code T}, reporting invalid environment variables
+     * in the result instead of throwing, like {@link BetterEnv#tryLoad(Class)}
+     * @param type Type to load
+     * @return the loaded instance, or each invalid field and key
+     * @param <T> type to bind/return
+     * @throws InvalidEnvTypeException if the given type {@code T} has problems with the declared fields or constructors.
+     */
+    public <T> LoadResult<T> tryLoad(Class<T> type) {
+        return tryLoad(type, source);
+    }
+
+    /**
+     * Load many types at once, like {@link BetterEnv#loadAll(Class[])}
+     * @param types types to load, duplicates are only loaded once
+     * @return the loaded instance of each type
+     * @throws InvalidEnvironmentException if any type could not be bound, summarizing each one, which are also attached as suppressed exceptions.
+     * @throws InvalidEnvTypeException if any given type has problems with the declared fields or constructors.
+     */
+    public LoadedTypes loadAll(Class<?>... types) {
+        return LoadedTypes.load(this, source, types);
+    }
+
+    /**
+     * Bind a new instance against a source, recording {@link BindingStats} when enabled
+     * @param type Type to load
+     * @param source source of environment variables
+     * @return an instance of type {@code T}
+     * @param <T> type to bind/return
+     * @throws InvalidEnvironmentException if the source has invalid environment variables required to bind to type {@code T}.
+     * @throws InvalidEnvTypeException if the given type {@code T} has problems with the declared fields or constructors.
+     */
+    <T> T load(Class<T> type, EnvSource source) {
+        return load(type, source, false);
+    }
+
+    /**
+     * Bind a new instance against a source, recording {@link BindingStats} when enabled
+     * @param type Type to load
+     * @param source source of environment variables
+     * @param orNull {@code true} to return {@code null} instead of throwing {@link InvalidEnvironmentException}, for {@link EnvBinder#tryLoad(Class, EnvSource)}
+     * @return an instance of type {@code T}, or {@code null} if {@code orNull} and the source is invalid
+     * @param <T> type to bind/return
+     * @throws InvalidEnvironmentException if not {@code orNull} and the source has invalid environment variables required to bind to type {@code T}.
+     * @throws InvalidEnvTypeException if the given type {@code T} has problems with the declared fields or constructors.
+     */
+    <T> T load(Class<T> type, EnvSource source, boolean orNull) {
+        BindingStats stats = BindingStats.active();
+        if (stats != null) {
+            return stats.load(this, type, source, orNull);
+        }
+        return loadWithEvents(type, source, orNull);
+    }
+
+    /**
+     * Bind with the diagnostic-free fast path, resolving each field once, and only collect {@link EnvMetadata} when a field is invalid
+     * @param type Type to load
+     * @param source source of environment variables
+     * @return the loaded instance, or each invalid field and key
+     * @param <T> type to bind/return
+     * @throws InvalidEnvTypeException if the given type {@code T} has problems with the declared fields or constructors.
+     */
+    <T> LoadResult<T> tryLoad(Class<T> type, EnvSource source) {
+        T instance = load(type, source, true);
+        return instance == null
+                ? LoadResult.failure(type, BetterEnv.getEnvMetadata(getFields(type), source))
+                : LoadResult.success(type, instance);
+    }
+
+    /**
+     * Bind a new instance, notifying any {@link BindingListener}s, and recording a {@link BindEvent} if Java Flight Recorder is available
+     * @param type Type to load
+     * @param source source of environment variables
+     * @param orNull {@code true} to return {@code null} instead of throwing {@link InvalidEnvironmentException}, for {@link EnvBinder#tryLoad(Class, EnvSource)}
+     * @return an instance of type {@code T}, or {@code null} if {@code orNull} and the source is invalid
+     * @param <T> type to bind/return
+     * @throws InvalidEnvironmentException if not {@code orNull} and the source has invalid environment variables required to bind to type {@code T}.
+     * @throws InvalidEnvTypeException if the given type {@code T} has problems with the declared fields or constructors.
+     */
+    <T> T loadWithEvents(Class<T> type, EnvSource source, boolean orNull) {
+        BindingListener[] listeners = getListeners();
+        if (listeners != null) {
+            return BindingListeners.load(listeners, this, type, source, orNull);
+        }
+        if (EnvEvents.AVAILABLE) {
+            return EnvEvents.load(this, type, source, orNull);
+        }
+        return bind(type, source, orNull);
+    }
+
+    /**
+     * Bind a new instance, without notifying listeners or recording a {@link BindEvent}.
+     * When {@code orNull}, interfaces are checked up front, since their accessors are otherwise only resolved on first access.
+     * @param type Type to load
+     * @param source source of environment variables
+     * @param orNull {@code true} to return {@code null} instead of throwing {@link InvalidEnvironmentException}, for {@link EnvBinder#tryLoad(Class, EnvSource)}
+     * @return an instance of type {@code T}, or {@code null} if {@code orNull} and the source is invalid
+     * @param <T> type to bind/return
+     * @throws InvalidEnvironmentException if not {@code orNull} and the source has invalid environment variables required to bind to type {@code T}.
+     * @throws InvalidEnvTypeException if the given type {@code T} has problems with the declared fields or constructors.
+     */
+    <T> T bind(Class<T> type, EnvSource source, boolean orNull) {
+        if (orNull && type.isInterface()) {
+            for (FieldBinding field : getFields(type)) {
+                if (BetterEnv.resolve(field, source) == CheckedCoercer.INVALID) {
+                    return null;
+                }
+            }
+        }
+        GeneratedEnvBinder<T> generated = findGenerated(type);
+        if (generated != null) {
+            return orNull ? generated.tryBind(source) : generated.bind(source);
+        }
+        if (type.isInterface()) {
+            return plans.forInterface(type).newProxy(this, source);
+        }
+        BindingPlan<T> plan = plans.binding(type);
+        Object[] args = orNull
+                ? BetterEnv.tryGetValuesForEnvFields(plan, source, getListeners())
+                : BetterEnv.getValuesForEnvFields(plan, source, getListeners());
+        return args == null ? null : plan.newInstance(args);
+    }
+
+    /**
+     * Get the bindings of each {@link Env} field or accessor of a type, including those of {@link Env.Nested} fields, without binding it
+     * @param type type to inspect, with the same requirements as {@link BetterEnv#load(Class)}
+     * @return the field bindings. Do not modify the returned array.
+     * @throws InvalidEnvTypeException if the given type has problems with the declared fields or constructors.
+     */
+    FieldBinding[] getFields(Class<?> type) {
+        GeneratedEnvBinder<?> generated = findGenerated(type);
+        FieldBinding[] fields = generated == null ? null : generated.getFields();
+        if (fields != null) {
+            return fields;
+        }
+        return type.isInterface() ? plans.forInterface(type).getFields() : plans.binding(type).getLeafFields();
+    }
+
+    /**
+     * Find the generated binder of a type, which is not used while this binder replaces a built-in coercer
+     * @param type the bound type
+     * @return the generated binder, or {@code null} if there is none or it cannot be used
+     * @param <T> the bound type
+     */
+    <T> GeneratedEnvBinder<T> findGenerated(Class<T> type) {
+        return plans.coercers.isBuiltInOverridden() ? null : GeneratedEnvBinder.find(type);
+    }
+
+    /**
+     * Get the plans of this binder
+     * @return the plan cache
+     */
+    PlanCache getPlans() {
+        return plans;
+    }
+
+    /**
+     * Get the listeners to notify
+     * @return the listeners, or {@code null} if there are none. Do not modify the returned array.
+     */
+    BindingListener[] getListeners() {
+        return globalListeners ? BindingListeners.registered() : listeners;
+    }
+
+    /**
+     * Configures and creates an {@link EnvBinder}
+     */
+    public static final class Builder {
+        private final List<EnvSource> sources = new ArrayList<>();
+        private final CoercerRegistry coercers = new CoercerRegistry();
+        private boolean customCoercers;
+        private BinderEngine engine = BinderEngine.getDefault();
+        private PlanCaching planCaching = PlanCaching.ISOLATED;
+        private final List<BindingListener> listeners = new ArrayList<>();
+
+        private Builder() {}
+
+        /**
+         * Add a source of environment variables. A key resolves to its value in the first added source that has it.
+         * @param source source to add
+         * @return this builder
+         * @throws NullPointerException if {@code source} is null
+         */
+        public Builder source(EnvSource source) {
+            sources.add(Objects.requireNonNull(source, "source"));
+            return this;
+        }
+
+        /**
+         * Register the {@link Coercer} used to bind fields declared with a type, with the same rules as {@link BetterEnv#registerCoercer(Class, Coercer)}.
+         * Coercers registered with {@link BetterEnv} are not used by a binder with its own coercers.
+         * Without any, the binder copies the coercers registered with {@link BetterEnv} when it is built.
+         * @param type declared field type
+         * @param coercer coercer for the type
+         * @param <T> declared field type
+         * @return this builder
+         * @throws IllegalArgumentException if {@code type} is primitive, and the coercer is not the matching specialized variant
+         */
+        public <T> Builder coercer(Class<T> type, Coercer<? extends T> coercer) {
+            coercers.register(type, coercer);
+            customCoercers = true;
+            return this;
+        }
+
+        /**
+         * Set the engine used to invoke constructors and set fields. Defaults to {@link BinderEngine#getDefault()}.
+         * @param engine binder engine
+         * @return this builder
+         * @throws NullPointerException if {@code engine} is null
+         */
+        public Builder engine(BinderEngine engine) {
+            this.engine = Objects.requireNonNull(engine, "engine");
+            return this;
+        }
+
+        /**
+         * Set how compiled plans are cached. Defaults to {@link PlanCaching#ISOLATED}.
+         * @param planCaching caching policy
+         * @return this builder
+         * @throws NullPointerException if {@code planCaching} is null
+         */
+        public Builder planCaching(PlanCaching planCaching) {
+            this.planCaching = Objects.requireNonNull(planCaching, "planCaching");
+            return this;
+        }
+
+        /**
+         * Add a listener notified of every load by the binder. Listeners registered with {@link BetterEnv#addListener(BindingListener)}
+         * are only notified of loads by {@link BetterEnv}.
+         * @param listener listener to add
+         * @return this builder
+         * @throws NullPointerException if {@code listener} is null
+         */
+        public Builder listener(BindingListener listener) {
+            listeners.add(Objects.requireNonNull(listener, "listener"));
+            return this;
+        }
+
+        /**
+         * Create the binder. The builder can be reused, and changing it doesn't affect binders already built.
+         * @return a new binder
+         */
+        public EnvBinder build() {
+            CoercerRegistry registry = (customCoercers ? coercers : CoercerRegistry.getDefault()).copy();
+            PlanCache plans = planCaching == PlanCaching.NONE ? PlanCache.uncached(registry, engine) : PlanCache.isolated(registry, engine);
+            EnvSource source;
+            if (sources.isEmpty()) {
+                source = EnvSnapshot.ofSystem();
+            } else if (sources.size() == 1) {
+                source = sources.get(0);
+            } else {
+                source = EnvSource.firstOf(sources.toArray(new EnvSource[0]));
+            }
+            BindingListener[] bound = listeners.isEmpty() ? null : listeners.toArray(new BindingListener[0]);
+            return new EnvBinder(source, plans, bound, false);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.madimadica.betterenv;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * <p>
+ *     The environment variables whose value changed between two sources, such as before and after a configuration refresh.
+ *     Combined with an {@link EnvKeyIndex}, this finds the bound types affected by a change without rebinding every type.
+ * </p>
+ * <p>
+ *     Two {@link EnvSnapshot}s where one was derived from the other with {@link EnvSnapshot#with(java.util.Map)} are compared
+ *     in time proportional to the number of changed keys. Other sources are compared on a given set of keys,
+ *     such as {@link EnvKeyIndex#getKeys()}.
+ * </p>
+ * <pre>{@code
+ * EnvSnapshot after = before.with(refreshed);
+ * Set<Class<?>> affected = index.getAffectedTypes(EnvDiff.between(before, after));
+ * }</pre>
+ */
+public final class EnvDiff {
+
+    private final EnvSource before;
+    private final EnvSource after;
+    private final Set<String> changedKeys;
+
+    private EnvDiff(EnvSource before, EnvSource after, Set<String> changedKeys) {
+        this.before = before;
+        this.after = after;
+        this.changedKeys = Collections.unmodifiableSet(changedKeys);
+    }
+
+    /**
+     * Compare two snapshots. This takes time proportional to the number of changed keys if one snapshot was derived from the other
+     * with {@link EnvSnapshot#with(java.util.Map)}, otherwise every entry is compared.
+     * @param before earlier snapshot
+     * @param after later snapshot
+     * @return the difference
+     */
+    public static EnvDiff between(EnvSnapshot before, EnvSnapshot after) {
+        Objects.requireNonNull(before, "before");
+        Objects.requireNonNull(after, "after");
+        return new EnvDiff(before, after, EnvSnapshot.changedKeys(before, after));
+    }
+
+    /**
+     * Compare two sources on the given keys only, in time proportional to the number of keys
+     * @param before earlier source
+     * @param after later source
+     * @param keys keys to compare, such as {@link EnvKeyIndex#getKeys()}
+     * @return the difference
+     */
+    public static EnvDiff between(EnvSource before, EnvSource after, Collection<String> keys) {
+        Objects.requireNonNull(before, "before");
+        Objects.requireNonNull(after, "after");
+        Set<String> changed = new LinkedHashSet<>();
+        for (String key : keys) {
+            if (!Objects.equals(before.get(key), after.get(key))) {
+                changed.add(key);
+            }
+        }
+        return new EnvDiff(before, after, changed);
+    }
+
+    /**
+     * Get the keys whose value changed, including added and removed keys
+     * @return the changed keys
+     */
+    public Set<String> getChangedKeys() {
+        return changedKeys;
+    }
+
+    /**
+     * Check if no compared value changed
+     * @return {@code true} if there are no changed keys
+     */
+    public boolean isEmpty() {
+        return changedKeys.isEmpty();
+    }
+
+    /**
+     * Get the value of a key before the change
+     * @param key environment variable name
+     * @return the earlier value, or {@code null} if it didn't exist
+     */
+    public String getBefore(String key) {
+        return before.get(key);
+    }
+
+    /**
+     * Get the value of a key after the change
+     * @param key environment variable name
+     * @return the later value, or {@code null} if it was removed
+     */
+    public String getAfter(String key) {
+        return after.get(key);
+    }
+
+    @Override
+    public String toString() {
+        return changedKeys.toString();
+    }
+}
@@ -0,0 +1,113 @@
+package com.madimadica.betterenv;
+
+/**
+ * <p>
+ *     Internal recording of {@link BindEvent} and {@link ResolveEvent} for Java Flight Recorder.
+ * </p>
+ * <p>
+ *     Callers must check {@link EnvEvents#AVAILABLE} first, so the event classes are never loaded on runtimes without {@code jdk.jfr}.
+ *     When no recording enables an event, its {@code isEnabled()} check is constant folded and the unused event is never allocated,
+ *     so the only cost is the check itself.
+ * </p>
+ */
+final class EnvEvents {
+
+    /**
+     * If the runtime has the {@code jdk.jfr} module, such as Java 11 or higher
+     */
+    static final boolean AVAILABLE = isAvailable();
+
+    private EnvEvents() {}
+
+    private static boolean isAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event");
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * {@link EnvBinder#bind(Class, EnvSource, boolean)}, recorded as a {@link BindEvent} when enabled
+     * @param binder binder to bind with
+     * @param type Type to load
+     * @param source source of environment variables
+     * @param orNull {@code true} to return {@code null} instead of throwing {@link InvalidEnvironmentException}, for {@link EnvBinder#tryLoad(Class, EnvSource)}
+     * @return an instance of type {@code T}, or {@code null} if {@code orNull} and the source is invalid
+     * @param <T> type to bind/return
+     */
+    static <T> T load(EnvBinder binder, Class<T> type, EnvSource source, boolean orNull) {
+        BindEvent event = new BindEvent();
+        if (!event.isEnabled()) {
+            return binder.bind(type, source, orNull);
+        }
+        event.begin();
+        event.type = type;
+        try {
+            T instance = binder.bind(type, source, orNull);
+            event.success = instance != null;
+            return instance;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                describe(event, binder, type);
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Fill in the binding strategy of a type, which is skipped if the type cannot be bound
+     */
+    private static void describe(BindEvent event, EnvBinder binder, Class<?> type) {
+        try {
+            event.fieldCount = binder.getFields(type).length;
+            GeneratedEnvBinder<?> generated = binder.findGenerated(type);
+            if (generated != null) {
+                event.strategy = type.isInterface() ? "generated lazy implementation" : "generated binder";
+            } else if (type.isInterface()) {
+                event.strategy = "lazy proxy";
+            } else {
+                BindingPlan<?> plan = binder.getPlans().binding(type);
+                event.strategy = plan.isRecord() ? "canonical constructor"
+                        : plan.isUsingDefaultConstructor() ? "no-args constructor" : "all-args constructor";
+            }
+        } catch (InvalidEnvTypeException e) {
+            event.strategy = null;
+        }
+    }
+
+    /**
+     * {@link BetterEnv#resolve(FieldBinding, EnvSource)}, recorded as a {@link ResolveEvent} when enabled
+     * @param type type declaring the field
+     * @param field precompiled field annotated with {@link Env}
+     * @param source source of environment variables
+     * @param listeners registered listeners to notify, or {@code null} if there are none
+     * @return the coerced value, {@code null}, or {@link CheckedCoercer#INVALID}
+     */
+    static Object resolve(Class<?> type, FieldBinding field, EnvSource source, BindingListener[] listeners) {
+        ResolveEvent event = new ResolveEvent();
+        if (!event.isEnabled()) {
+            return listeners == null ? BetterEnv.resolve(field, source) : BindingListeners.resolve(listeners, type, field, source);
+        }
+        event.begin();
+        ResolveTrace trace = new ResolveTrace(true);
+        Object value = BetterEnv.resolve(field, source, trace);
+        event.end();
+        if (listeners != null) {
+            BindingListeners.fieldResolved(listeners, type, field, trace);
+        }
+        if (event.shouldCommit()) {
+            event.type = type;
+            event.field = field.getName();
+            event.aliasesTried = trace.aliasesTried;
+            event.key = trace.key;
+            event.fallbackUsed = trace.isFallbackUsed();
+            event.success = value != CheckedCoercer.INVALID;
+            event.coercionTime = trace.coercionNanos;
+            event.commit();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,225 @@
+package com.madimadica.betterenv;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>
+ *     Reverse index from each environment variable name to the fields of bound types that read it,
+ *     built from the {@link Env#value()} aliases, {@link Env.Nested} prefixes and {@link Env.Fallback} of each field.
+ * </p>
+ * <p>
+ *     With an {@link EnvDiff}, the types affected by a change are found in time proportional to the number of changed keys,
+ *     so only those types need to be rebound or notified, no matter how many types are indexed.
+ *     Indexes are immutable, and {@link EnvKeyIndex#with(Class)} returns a new index with another type.
+ * </p>
+ * <pre>{@code
+ * EnvKeyIndex index = EnvKeyIndex.of(DatabaseEnv.class, CacheEnv.class);
+ * for (Class<?> type : index.getAffectedTypes(EnvDiff.between(before, after))) {
+ *     reload(type);
+ * }
+ * }</pre>
+ */
+public final class EnvKeyIndex {
+
+    private static final EnvKeyIndex EMPTY = new EnvKeyIndex(Collections.emptySet(), Collections.emptyMap());
+
+    /**
+     * Indexed types, in the order they were added
+     */
+    private final Set<Class<?>> types;
+
+    /**
+     * Fields reading each key
+     */
+    private final Map<String, KeyUsage[]> byKey;
+
+    private EnvKeyIndex(Set<Class<?>> types, Map<String, KeyUsage[]> byKey) {
+        this.types = types;
+        this.byKey = byKey;
+    }
+
+    /**
+     * Index the keys of the given types
+     * @param types types with the same requirements as {@link BetterEnv#load(Class)}
+     * @return a new index
+     * @throws InvalidEnvTypeException if any given type has problems with the declared fields or constructors.
+     */
+    public static EnvKeyIndex of(Class<?>... types) {
+        Set<Class<?>> indexedTypes = new LinkedHashSet<>();
+        Map<String, KeyUsage[]> indexed = new HashMap<>();
+        for (Class<?> type : types) {
+            if (indexedTypes.add(type)) {
+                index(type, indexed);
+            }
+        }
+        return indexedTypes.isEmpty() ? EMPTY : new EnvKeyIndex(Collections.unmodifiableSet(indexedTypes), indexed);
+    }
+
+    /**
+     * Create a new index with the keys of another type, copying this index.
+     * Use {@link EnvKeyIndex#of(Class[])} to index many types at once.
+     * @param type type with the same requirements as {@link BetterEnv#load(Class)}
+     * @return a new index, or this index if the type is already indexed
+     * @throws InvalidEnvTypeException if the given type has problems with the declared fields or constructors.
+     */
+    public EnvKeyIndex with(Class<?> type) {
+        if (types.contains(type)) {
+            return this;
+        }
+        Map<String, KeyUsage[]> indexed = new HashMap<>(byKey);
+        index(type, indexed);
+        Set<Class<?>> withType = new LinkedHashSet<>(types);
+        withType.add(type);
+        return new EnvKeyIndex(Collections.unmodifiableSet(withType), indexed);
+    }
+
+    /**
+     * Add the usages of every key of a type
+     * @param type type to index
+     * @param indexed mutable map of the fields reading each key, updated in place
+     */
+    private static void index(Class<?> type, Map<String, KeyUsage[]> indexed) {
+        for (FieldBinding field : BetterEnv.getFields(type)) {
+            String[] keys = field.getKeys();
+            for (int i = 0; i < keys.length; ++i) {
+                String key = keys[i];
+                KeyUsage usage = new KeyUsage(type, field, i);
+                KeyUsage[] usages = indexed.get(key);
+                if (usages == null) {
+                    usages = new KeyUsage[] {usage};
+                } else {
+                    usages = Arrays.copyOf(usages, usages.length + 1);
+                    usages[usages.length - 1] = usage;
+                }
+                indexed.put(key, usages);
+            }
+        }
+    }
+
+    /**
+     * Get the indexed types
+     * @return the types, in the order they were added
+     */
+    public Set<Class<?>> getTypes() {
+        return types;
+    }
+
+    /**
+     * Get every key read by an indexed type, such as to compare sources with {@link EnvDiff#between(EnvSource, EnvSource, java.util.Collection)}
+     * @return the indexed keys
+     */
+    public Set<String> getKeys() {
+        return Collections.unmodifiableSet(byKey.keySet());
+    }
+
+    /**
+     * Get the fields that read a key
+     * @param key environment variable name
+     * @return the fields reading {@code key}, empty if no indexed type reads it
+     */
+    public List<KeyUsage> getUsages(String key) {
+        KeyUsage[] usages = byKey.get(key);
+        return usages == null ? Collections.emptyList() : Collections.unmodifiableList(Arrays.asList(usages));
+    }
+
+    /**
+     * Get the types with a field that reads a changed key
+     * @param diff changed keys
+     * @return the affected types, in the order of the changed keys
+     */
+    public Set<Class<?>> getAffectedTypes(EnvDiff diff) {
+        Set<Class<?>> affected = new LinkedHashSet<>();
+        for (String key : diff.getChangedKeys()) {
+            KeyUsage[] usages = byKey.get(key);
+            if (usages != null) {
+                for (KeyUsage usage : usages) {
+                    affected.add(usage.type);
+                }
+            }
+        }
+        return affected;
+    }
+
+    /**
+     * Get the fields that read a changed key
+     * @param diff changed keys
+     * @return one usage per changed key and field reading it
+     */
+    public List<KeyUsage> getAffectedUsages(EnvDiff diff) {
+        List<KeyUsage> affected = new ArrayList<>();
+        for (String key : diff.getChangedKeys()) {
+            KeyUsage[] usages = byKey.get(key);
+            if (usages != null) {
+                Collections.addAll(affected, usages);
+            }
+        }
+        return affected;
+    }
+
+    /**
+     * A key read by a field of an indexed type, as one of its {@link Env#value()} aliases
+     */
+    public static final class KeyUsage {
+        private final Class<?> type;
+        private final FieldBinding field;
+        private final int aliasIndex;
+
+        private KeyUsage(Class<?> type, FieldBinding field, int aliasIndex) {
+            this.type = type;
+            this.field = field;
+            this.aliasIndex = aliasIndex;
+        }
+
+        /**
+         * Get the indexed type declaring or nesting the field
+         * @return the type passed to {@link EnvKeyIndex#with(Class)}
+         */
+        public Class<?> getType() {
+            return type;
+        }
+
+        /**
+         * Get the name of the field, such as {@code "primary.url"} for a field of an {@link Env.Nested} type
+         * @return the field or accessor name
+         */
+        public String getField() {
+            return field.getName();
+        }
+
+        /**
+         * Get the key, including any {@link Env.Nested} prefix
+         * @return the environment variable name
+         */
+        public String getKey() {
+            return field.getKeys()[aliasIndex];
+        }
+
+        /**
+         * Get the position of the key among the aliases of the field, where earlier aliases take precedence
+         * @return the alias index, starting at 0
+         */
+        public int getAliasIndex() {
+            return aliasIndex;
+        }
+
+        /**
+         * Get the {@link Env.Fallback} used when none of the aliases of the field have a valid value
+         * @return the fallback value, or {@code null} if the field has none
+         */
+        public String getFallback() {
+            return field.hasFallback() ? field.getFallback() : null;
+        }
+
+        @Override
+        public String toString() {
+            return type.getSimpleName() + "." + getField() + "[" + getKey() + "]";
+        }
+    }
+}
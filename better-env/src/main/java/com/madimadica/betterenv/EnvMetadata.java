@@ -24,7 +24,7 @@ class EnvMetadata {
          */
         private final String key;
         /**
-         * Environment variable original value, which is nullable, returned by {@link System#getenv(String)}
+         * Environment variable original value, which is nullable, returned by {@link EnvSource#get(String)}
          */
         private final String value;
         /**
@@ -32,7 +32,7 @@ class EnvMetadata {
          */
         private String valueError;
         /**
-         * The strongly typed coered value from {@link ClassUtils#coerceType(String, Class)}, nullable.
+         * The strongly typed coerced value from {@link FieldBinding#getCoercer()}, nullable.
          */
         private Object coercedValue;
         /**
@@ -82,23 +82,17 @@ class EnvMetadata {
     }
 
     /**
-     * The field this environment data is mapped to
+     * The precompiled field this environment data is mapped to
      */
-    private final Field field;
-
-    /**
-     * The {@link Env} annotation on {@code this} {@link EnvMetadata#field}
-     */
-    private final Env annotation;
+    private final FieldBinding binding;
 
     /**
      * List of environment entries, one for each value in {@link Env#value()}
      */
     private final List<Entry> entries = new ArrayList<>();
 
-    public EnvMetadata(Field field, Env annotation) {
-        this.field = field;
-        this.annotation = annotation;
+    public EnvMetadata(FieldBinding binding) {
+        this.binding = binding;
     }
 
     /**
@@ -106,7 +100,7 @@ class EnvMetadata {
      * @return {@code true} if the annotation requires a non-null value.
      */
     public boolean isRequired() {
-        return annotation.required();
+        return binding.isRequired();
     }
 
     /**
@@ -116,23 +110,69 @@ class EnvMetadata {
      */
     public void addEntry(String key, String value) {
         Entry entry = new Entry(key, value);
+        entries.add(entry);
+        entry.valueError = checkEnvVal(binding.isAllowBlank(), value);
+        if (entry.valueError != null) {
+            return;
+        }
+        CheckedCoercer checked = binding.getCheckedCoercer();
+        if (checked != null) {
+            // Built-in coercers reject invalid values without throwing
+            coerceChecked(entry, checked);
+        } else {
+            coerceCatching(entry);
+        }
+    }
+
+    /**
+     * Coerce the value of an entry with a coercer that rejects invalid values without throwing
+     * @param entry entry with a present value
+     * @param checked coercer of the field type
+     */
+    private void coerceChecked(Entry entry, CheckedCoercer checked) {
+        Object coerced = checked.tryCoerce(entry.value);
+        if (coerced == CheckedCoercer.INVALID) {
+            entry.coercionError = coercionError(checked.invalidReason(entry.value));
+        } else {
+            entry.coercedValue = coerced;
+        }
+    }
+
+    /**
+     * Coerce the value of an entry with a coercer that throws for invalid values
+     * @param entry entry with a present value
+     */
+    private void coerceCatching(Entry entry) {
         try {
-            EnvMetadata.validateEnvVal(annotation, value);
-            try {
-                entry.coercedValue = ClassUtils.coerceType(value, field.getType());
-            } catch (IllegalArgumentException e) {
-                String error =  "Failed to coerce type to \"" + field.getType().getName() + "\": ";
-                if (e instanceof NumberFormatException) {
-                    error += "NumberFormatException"; // Redact NFE to prevent exposing env-value in logs
-                } else {
-                    error += e.getMessage();
-                }
-                entry.coercionError = error;
+            entry.coercedValue = binding.getCoercer().coerce(entry.value);
+            if (entry.coercedValue == null) {
+                entry.coercionError = coercionError("Coercer returned null");
+            }
+        } catch (RuntimeException e) {
+            if (e instanceof NumberFormatException || !binding.isBuiltInCoercer()) {
+                // Redact NFE and custom coercer messages to prevent exposing env-value in logs
+                entry.coercionError = coercionError(e.getClass().getSimpleName());
+            } else {
+                entry.coercionError = coercionError(e.getMessage());
             }
-        } catch (IllegalArgumentException e) {
-            entry.valueError = e.getMessage();
         }
-        entries.add(entry);
+    }
+
+    /**
+     * Create the error message of a value that failed type coercion
+     * @param reason reason the value is invalid, which must not contain the value
+     * @return the error message
+     */
+    private String coercionError(String reason) {
+        return "Failed to coerce type to \"" + binding.getType().getTypeName() + "\": " + reason;
+    }
+
+    /**
+     * Get the name of the field associated with {@code this}
+     * @return the field name
+     */
+    public String getName() {
+        return binding.getName();
     }
 
     /**
@@ -140,7 +180,7 @@ class EnvMetadata {
      * @return the {@link Field} {@code this} metadata refers to.
      */
     public Field getField() {
-        return field;
+        return binding.getField();
     }
 
     /**
@@ -199,26 +239,26 @@ class EnvMetadata {
     }
 
     /**
-     * Validate an environment value for errors
-     * @param env {@link Env} configuration
-     * @param value value to validate
-     * @throws IllegalArgumentException if invalid, with a custom error message.
+     * Check an environment value for errors, without throwing
+     * @param allowBlank {@link Env#allowBlank()} configuration
+     * @param value value to check
+     * @return the error message, or {@code null} if the value is valid
      */
-    public static void validateEnvVal(Env env, String value) {
+    static String checkEnvVal(boolean allowBlank, String value) {
         if (value == null) {
-            throw new IllegalArgumentException("Missing environment variable");
+            return "Missing environment variable";
         }
-        if (env.allowBlank()) {
-            return;
+        if (allowBlank) {
+            return null;
         }
         // Cannot be blank, manual check since String#isBlank is JDK11
         for (int i = 0; i < value.length(); ++i) {
             char ch = value.charAt(i);
             if (!Character.isWhitespace(ch)) {
-                return;
+                return null;
             }
         }
-        throw new IllegalArgumentException("Cannot be blank");
+        return "Cannot be blank";
     }
 
 }
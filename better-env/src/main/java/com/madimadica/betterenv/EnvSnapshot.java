@@ -0,0 +1,262 @@
+package com.madimadica.betterenv;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ *     Immutable {@link EnvSource} holding a copy of environment variables, taken once.
+ * </p>
+ * <p>
+ *     The entries are stored in a single open-addressing array of alternating keys and values,
+ *     so a lookup is a hash probe over one array with no per-call checks or allocation.
+ * </p>
+ * @see BetterEnv#setSource(EnvSource)
+ */
+public final class EnvSnapshot implements EnvSource {
+
+    /**
+     * Powers of 31 by suffix length, to combine the {@link String#hashCode()} of a prefix and suffix
+     */
+    private static final int[] POWERS_OF_31 = new int[64];
+
+    static {
+        int power = 1;
+        for (int i = 0; i < POWERS_OF_31.length; ++i) {
+            POWERS_OF_31[i] = power;
+            power *= 31;
+        }
+    }
+
+    /**
+     * Source of {@link EnvSnapshot#id}
+     */
+    private static final AtomicLong IDS = new AtomicLong();
+
+    /**
+     * Alternating keys and values, indexed by {@code 2 * slot}. Empty slots have a {@code null} key.
+     */
+    private final String[] table;
+
+    /**
+     * Number of slots minus one, the slot count is a power of two
+     */
+    private final int mask;
+
+    /**
+     * Number of entries
+     */
+    private final int size;
+
+    /**
+     * Unique id of this snapshot, referenced by snapshots derived from it
+     */
+    private final long id = IDS.incrementAndGet();
+
+    /**
+     * Id of the snapshot this was derived from with {@link EnvSnapshot#with(Map)}, or {@code 0}
+     */
+    private final long parentId;
+
+    /**
+     * Keys whose value differs from the parent snapshot, empty without a parent
+     */
+    private final String[] changedKeys;
+
+    private EnvSnapshot(Map<String, String> env) {
+        this(env, 0, new String[0]);
+    }
+
+    private EnvSnapshot(Map<String, String> env, long parentId, String[] changedKeys) {
+        this.parentId = parentId;
+        this.changedKeys = changedKeys;
+        int count = 0;
+        for (Map.Entry<String, String> entry : env.entrySet()) {
+            if (entry.getKey() != null && entry.getValue() != null) {
+                ++count;
+            }
+        }
+        // Keep the load factor at or below 0.5
+        int slots = Integer.highestOneBit(Math.max(2, count) * 2 - 1) << 1;
+        this.table = new String[slots * 2];
+        this.mask = slots - 1;
+        this.size = count;
+        for (Map.Entry<String, String> entry : env.entrySet()) {
+            String key = entry.getKey();
+            String value = entry.getValue();
+            if (key == null || value == null) {
+                continue;
+            }
+            int slot = hash(key) & mask;
+            while (table[slot << 1] != null) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot << 1] = key;
+            table[(slot << 1) + 1] = value;
+        }
+    }
+
+    /**
+     * Capture the current process environment from {@link System#getenv()}
+     * @return a new snapshot
+     */
+    public static EnvSnapshot ofSystem() {
+        return new EnvSnapshot(System.getenv());
+    }
+
+    /**
+     * Copy the given variables into a new snapshot, such as for tests. Entries with a {@code null} key or value are ignored.
+     * @param env environment variables to copy
+     * @return a new snapshot
+     */
+    public static EnvSnapshot of(Map<String, String> env) {
+        return new EnvSnapshot(env);
+    }
+
+    /**
+     * <p>
+     *     Copy this snapshot with some variables added, replaced or removed, such as after a configuration refresh.
+     * </p>
+     * <p>
+     *     The copy remembers which keys changed, so {@link EnvDiff#between(EnvSnapshot, EnvSnapshot)} of this snapshot and the copy
+     *     takes time proportional to the number of changed keys, instead of the size of the snapshots.
+     * </p>
+     * @param changes new value of each changed variable, or {@code null} to remove it
+     * @return a new snapshot
+     * @throws NullPointerException if a key is {@code null}
+     */
+    public EnvSnapshot with(Map<String, String> changes) {
+        Map<String, String> env = new HashMap<>(size * 2);
+        for (int i = 0; i < table.length; i += 2) {
+            if (table[i] != null) {
+                env.put(table[i], table[i + 1]);
+            }
+        }
+        List<String> changed = new ArrayList<>(changes.size());
+        for (Map.Entry<String, String> entry : changes.entrySet()) {
+            String key = Objects.requireNonNull(entry.getKey(), "key");
+            String value = entry.getValue();
+            if (Objects.equals(get(key), value)) {
+                continue;
+            }
+            changed.add(key);
+            if (value == null) {
+                env.remove(key);
+            } else {
+                env.put(key, value);
+            }
+        }
+        return new EnvSnapshot(env, id, changed.toArray(new String[0]));
+    }
+
+    /**
+     * Get the keys whose value differs between two snapshots. When one was derived from the other with {@link EnvSnapshot#with(Map)},
+     * these are the recorded changed keys, otherwise every entry of both snapshots is compared.
+     * @param before earlier snapshot
+     * @param after later snapshot
+     * @return the changed keys
+     */
+    static Set<String> changedKeys(EnvSnapshot before, EnvSnapshot after) {
+        if (before == after) {
+            return Collections.emptySet();
+        }
+        if (after.parentId == before.id) {
+            return new LinkedHashSet<>(Arrays.asList(after.changedKeys));
+        }
+        if (before.parentId == after.id) {
+            return new LinkedHashSet<>(Arrays.asList(before.changedKeys));
+        }
+        Set<String> changed = new LinkedHashSet<>();
+        for (int i = 0; i < after.table.length; i += 2) {
+            String key = after.table[i];
+            if (key != null) {
+                String value = before.get(key);
+                if (value != after.table[i + 1] && !after.table[i + 1].equals(value)) {
+                    changed.add(key);
+                }
+            }
+        }
+        for (int i = 0; i < before.table.length; i += 2) {
+            String key = before.table[i];
+            if (key != null && after.get(key) == null) {
+                changed.add(key);
+            }
+        }
+        return changed;
+    }
+
+    @Override
+    public String get(String key) {
+        int slot = hash(key) & mask;
+        String k;
+        while ((k = table[slot << 1]) != null) {
+            if (k == key || k.equals(key)) {
+                return table[(slot << 1) + 1];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Get the value of the variable named {@code prefix + suffix} without concatenating them.
+     * The hash of the name is combined from the cached hashes of both parts, and candidates are compared in place.
+     */
+    @Override
+    public String get(String prefix, String suffix) {
+        int prefixLength = prefix.length();
+        int length = prefixLength + suffix.length();
+        int h = prefix.hashCode() * powerOf31(suffix.length()) + suffix.hashCode();
+        int slot = (h ^ (h >>> 16)) & mask;
+        String k;
+        while ((k = table[slot << 1]) != null) {
+            if (k.length() == length && k.startsWith(prefix) && k.startsWith(suffix, prefixLength)) {
+                return table[(slot << 1) + 1];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Get the number of variables in this snapshot
+     * @return the number of variables
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Spread the String hash so the low bits used for the slot depend on all bits
+     * @param key key to hash
+     * @return spread hash
+     */
+    private static int hash(String key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Get {@code 31} raised to a power, with int overflow like {@link String#hashCode()}
+     * @param exponent suffix length
+     * @return {@code 31^exponent}
+     */
+    private static int powerOf31(int exponent) {
+        if (exponent < POWERS_OF_31.length) {
+            return POWERS_OF_31[exponent];
+        }
+        int power = POWERS_OF_31[POWERS_OF_31.length - 1];
+        for (int i = POWERS_OF_31.length - 1; i < exponent; ++i) {
+            power *= 31;
+        }
+        return power;
+    }
+}
@@ -0,0 +1,55 @@
+package com.madimadica.betterenv;
+
+/**
+ * <p>
+ *     Source of environment variable values, used in place of {@link System#getenv(String)}.
+ * </p>
+ * <p>
+ *     By default, {@link BetterEnv} resolves against an {@link EnvSnapshot} of the process environment, captured once.
+ *     A different source can be set with {@link BetterEnv#setSource(EnvSource)}, or passed to {@link BetterEnv#load(Class, EnvSource)}.
+ * </p>
+ * <p>
+ *     Implementations must be safe to use from multiple threads.
+ * </p>
+ * @see EnvSnapshot
+ * @see DotEnvSource
+ */
+@FunctionalInterface
+public interface EnvSource {
+
+    /**
+     * Get the value of an environment variable
+     * @param key environment variable name, non-null
+     * @return the value, or {@code null} if it doesn't exist
+     */
+    String get(String key);
+
+    /**
+     * Get the value of an environment variable whose name is a prefix followed by a suffix, such as a tenant prefix and an {@link Env} key.
+     * Implementations may override this to look up the name without concatenating it.
+     * @param prefix start of the environment variable name, non-null
+     * @param suffix rest of the environment variable name, non-null
+     * @return the value, or {@code null} if it doesn't exist
+     */
+    default String get(String prefix, String suffix) {
+        return get(prefix.concat(suffix));
+    }
+
+    /**
+     * Combine this source with another, where this source takes precedence.
+     * @param other source used for keys that don't exist in this source
+     * @return a combined source
+     */
+    default EnvSource orElse(EnvSource other) {
+        return firstOf(this, other);
+    }
+
+    /**
+     * Combine sources in order of precedence, where a key resolves to its value in the first source that has it.
+     * @param sources sources in order of precedence
+     * @return a combined source
+     */
+    static EnvSource firstOf(EnvSource... sources) {
+        return CompositeEnvSource.of(sources);
+    }
+}
@@ -0,0 +1,327 @@
+package com.madimadica.betterenv;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * <p>
+ *     {@link EnvSource} backed by {@code .env} files which are reloaded when they change, such as mounted config files.
+ * </p>
+ * <p>
+ *     The parent directories of the files are watched with a {@link WatchService}. When a file changes, only that file is read again,
+ *     and only its keys are compared to find an {@link EnvDiff} of the keys whose resolved value changed.
+ *     An {@link EnvKeyIndex} of the bound types maps those keys to the affected types, so only their bindings are rebound,
+ *     each publishing a new instance atomically.
+ * </p>
+ * <pre>{@code
+ * EnvWatcher watcher = EnvWatcher.watch(EnvSnapshot.ofSystem(), Paths.get("/etc/config/app.env"));
+ * LiveBinding<DatabaseEnv> dbEnv = watcher.bind(DatabaseEnv.class);
+ * String user = dbEnv.get().getUser();
+ * }</pre>
+ */
+public final class EnvWatcher implements EnvSource, Closeable {
+
+    /**
+     * Absolute watched files, in order of precedence
+     */
+    private final Path[] files;
+
+    /**
+     * Source used for keys that are not in any file
+     */
+    private final EnvSource fallback;
+
+    /**
+     * Watch service of the parent directories, {@code null} if only refreshed manually
+     */
+    private final WatchService watchService;
+
+    /**
+     * Exception of the latest failed refresh by the watch service, cleared by the next successful one
+     */
+    private volatile RuntimeException lastFailure;
+
+    /**
+     * Keys of every bound type, guarded by {@code this}. {@code null} after a new type is bound,
+     * so a burst of binds rebuilds the index once, on the next refresh.
+     */
+    private EnvKeyIndex index = EnvKeyIndex.of();
+
+    /**
+     * Bindings of each type, guarded by {@code this}
+     */
+    private final Map<Class<?>, List<LiveBinding<?>>> bindingsByType = new LinkedHashMap<>();
+
+    /**
+     * Latest loaded files, replaced as a whole
+     */
+    private volatile State state;
+
+    EnvWatcher(EnvSource fallback, Path[] files, boolean watch) throws IOException {
+        this.fallback = Objects.requireNonNull(fallback);
+        this.files = new Path[files.length];
+        DotEnvSource[] sources = new DotEnvSource[files.length];
+        FileStamp[] stamps = new FileStamp[files.length];
+        for (int i = 0; i < files.length; ++i) {
+            this.files[i] = files[i].toAbsolutePath().normalize();
+            stamps[i] = FileStamp.of(this.files[i]);
+            sources[i] = read(this.files[i]);
+        }
+        this.state = new State(sources, stamps, combine(sources));
+        this.watchService = watch ? FileSystems.getDefault().newWatchService() : null;
+        if (watchService != null) {
+            Set<Path> directories = new HashSet<>();
+            for (Path file : this.files) {
+                Path directory = file.getParent();
+                if (directories.add(directory)) {
+                    directory.register(watchService,
+                            StandardWatchEventKinds.ENTRY_CREATE,
+                            StandardWatchEventKinds.ENTRY_MODIFY,
+                            StandardWatchEventKinds.ENTRY_DELETE);
+                }
+            }
+            Thread thread = new Thread(this::run, "better-env-watcher");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Load files and start watching them for changes on a daemon thread. Missing files are treated as empty until they are created.
+     * @param fallback source used for keys that are not in any file, such as {@link EnvSnapshot#ofSystem()}
+     * @param files files in order of precedence
+     * @return a new watcher, which must be closed to stop watching
+     * @throws IOException if a file cannot be read or watched
+     */
+    public static EnvWatcher watch(EnvSource fallback, Path... files) throws IOException {
+        return new EnvWatcher(fallback, files, true);
+    }
+
+    @Override
+    public String get(String key) {
+        return state.source.get(key);
+    }
+
+    @Override
+    public String get(String prefix, String suffix) {
+        return state.source.get(prefix, suffix);
+    }
+
+    /**
+     * Get the source used for keys that are not in any file
+     * @return the fallback source
+     */
+    EnvSource getFallback() {
+        return fallback;
+    }
+
+    /**
+     * Bind a type now, and rebind it whenever one of its {@link Env} keys changes.
+     * @param type type to bind, with the same requirements as {@link BetterEnv#load(Class)}
+     * @return a holder of the latest bound instance
+     * @param <T> the bound type
+     * @throws InvalidEnvironmentException if the current environment variables are invalid for the type
+     */
+    public synchronized <T> LiveBinding<T> bind(Class<T> type) {
+        LiveBinding<T> binding = new LiveBinding<>(type, BetterEnv.load(type, state.source));
+        bindingsByType.computeIfAbsent(type, t -> {
+            index = null;
+            return new ArrayList<>();
+        }).add(binding);
+        return binding;
+    }
+
+    /**
+     * Get the exception of the latest refresh by the watch service, if it failed. The watcher keeps processing later changes.
+     * @return the exception thrown by the latest refresh, or {@code null} if it succeeded
+     */
+    public RuntimeException getLastFailure() {
+        return lastFailure;
+    }
+
+    /**
+     * Check every file for changes now, instead of waiting for the watch service.
+     * @return the keys whose resolved value changed
+     * @throws IOException if a changed file cannot be read
+     */
+    public Set<String> refresh() throws IOException {
+        return refresh(Collections.emptySet());
+    }
+
+    /**
+     * Stop watching the files. Bindings keep their latest instance.
+     * @throws IOException if the watch service cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    /**
+     * Read files that changed, and rebind the bindings that depend on a key with a new value.
+     * @param touched files reported by the watch service, read again even if their size and modified time are the same
+     * @return the keys whose resolved value changed
+     * @throws IOException if a changed file cannot be read
+     */
+    synchronized Set<String> refresh(Set<Path> touched) throws IOException {
+        State previous = state;
+        DotEnvSource[] sources = previous.sources.clone();
+        FileStamp[] stamps = previous.stamps.clone();
+        Set<String> candidates = new HashSet<>();
+        for (int i = 0; i < files.length; ++i) {
+            FileStamp stamp = FileStamp.of(files[i]);
+            if (!touched.contains(files[i]) && stamp.equals(stamps[i])) {
+                continue;
+            }
+            sources[i] = read(files[i]);
+            stamps[i] = stamp;
+            candidates.addAll(previous.sources[i].keys());
+            candidates.addAll(sources[i].keys());
+        }
+        if (candidates.isEmpty()) {
+            state = new State(sources, stamps, previous.source);
+            return Collections.emptySet();
+        }
+
+        EnvSource source = combine(sources);
+        EnvDiff diff = EnvDiff.between(previous.source, source, candidates);
+        state = new State(sources, stamps, source);
+        if (!diff.isEmpty()) {
+            SourceGeneration.invalidate();
+        }
+
+        if (index == null) {
+            index = EnvKeyIndex.of(bindingsByType.keySet().toArray(new Class<?>[0]));
+        }
+        for (Class<?> type : index.getAffectedTypes(diff)) {
+            for (LiveBinding<?> binding : bindingsByType.get(type)) {
+                binding.rebind(source);
+            }
+        }
+        return diff.getChangedKeys();
+    }
+
+    /**
+     * Process watch events until the watch service is closed
+     */
+    private void run() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Set<Path> touched = new HashSet<>();
+                // Drain all pending events so a burst of writes is one refresh
+                while (key != null) {
+                    Path directory = (Path) key.watchable();
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.context() instanceof Path) {
+                            touched.add(directory.resolve((Path) event.context()));
+                        }
+                    }
+                    key.reset();
+                    key = watchService.poll();
+                }
+                try {
+                    refresh(touched);
+                    lastFailure = null;
+                } catch (IOException e) {
+                    // The file is read again on its next change
+                } catch (RuntimeException e) {
+                    // Such as from the fallback source, keep watching for the next change
+                    lastFailure = e;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Closed
+        }
+    }
+
+    private EnvSource combine(DotEnvSource[] sources) {
+        EnvSource[] all = Arrays.copyOf(sources, sources.length + 1, EnvSource[].class);
+        all[sources.length] = fallback;
+        return EnvSource.firstOf(all);
+    }
+
+    private static DotEnvSource read(Path file) throws IOException {
+        try {
+            // Not mapped, since a file rewritten in place would invalidate the mapping
+            return DotEnvSource.read(file);
+        } catch (NoSuchFileException e) {
+            return DotEnvSource.of(new byte[0]);
+        }
+    }
+
+    /**
+     * Loaded files and the combined source, published together
+     */
+    private static final class State {
+        private final DotEnvSource[] sources;
+        private final FileStamp[] stamps;
+        private final EnvSource source;
+
+        private State(DotEnvSource[] sources, FileStamp[] stamps, EnvSource source) {
+            this.sources = sources;
+            this.stamps = stamps;
+            this.source = source;
+        }
+    }
+
+    /**
+     * Modified time and size of a file, to detect changes without reading it
+     */
+    private static final class FileStamp {
+        private static final FileStamp MISSING = new FileStamp(null, -1);
+
+        private final FileTime lastModified;
+        private final long size;
+
+        private FileStamp(FileTime lastModified, long size) {
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+
+        static FileStamp of(Path file) throws IOException {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                return new FileStamp(attributes.lastModifiedTime(), attributes.size());
+            } catch (NoSuchFileException e) {
+                return MISSING;
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof FileStamp)) {
+                return false;
+            }
+            FileStamp other = (FileStamp) o;
+            return size == other.size && Objects.equals(lastModified, other.lastModified);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(lastModified, size);
+        }
+    }
+}
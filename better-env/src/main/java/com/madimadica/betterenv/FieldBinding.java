@@ -0,0 +1,361 @@
+package com.madimadica.betterenv;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Internal, precompiled view of a single {@link Env} annotated field, or interface accessor method.
+ * All annotation data is read once so that repeat loads never touch the annotation proxies.
+ * An {@link Env.Nested} field has no keys of its own, and instead holds prefixed copies of the nested type's bindings.
+ */
+final class FieldBinding {
+
+    /**
+     * The field being bound, null when described by a {@link GeneratedEnvBinder} or an interface method
+     */
+    private final Field field;
+
+    /**
+     * Name of the field being bound
+     */
+    private final String name;
+
+    /**
+     * Declared type of {@link FieldBinding#field}
+     */
+    private final Class<?> type;
+
+    /**
+     * Environment variable names to try, in order, copied from {@link Env#value()}
+     */
+    private final String[] keys;
+
+    /**
+     * Copy of {@link Env#required()}
+     */
+    private final boolean required;
+
+    /**
+     * Copy of {@link Env#allowBlank()}
+     */
+    private final boolean allowBlank;
+
+    /**
+     * Value of {@link Env.Fallback#value()}, or null if there is no fallback annotation
+     */
+    private final String fallback;
+
+    /**
+     * Coercer of {@link FieldBinding#type}, looked up once
+     */
+    private final Coercer<?> coercer;
+
+    /**
+     * If {@link FieldBinding#coercer} is built-in, so its exception messages can be included in error messages
+     */
+    private final boolean builtInCoercer;
+
+    /**
+     * {@link FieldBinding#coercer} if it rejects invalid values without throwing, otherwise null
+     */
+    private final CheckedCoercer checkedCoercer;
+
+    /**
+     * Cached plan of the nested type of an {@link Env.Nested} field, otherwise null
+     */
+    private final BindingPlan<?> nestedPlan;
+
+    /**
+     * Copies of the {@link BindingPlan#getFields()} of {@link FieldBinding#nestedPlan} with prefixed keys, otherwise null
+     */
+    private final FieldBinding[] nestedFields;
+
+    /**
+     * Describe a field without reflection, such as from a {@link GeneratedEnvBinder}, with the built-in coercer of its type.
+     * @param name field name
+     * @param type declared type of the field
+     * @param keys environment variable names to try, in order
+     * @param required {@link Env#required()}
+     * @param allowBlank {@link Env#allowBlank()}
+     * @param fallback {@link Env.Fallback#value()}, nullable
+     */
+    FieldBinding(String name, Class<?> type, String[] keys, boolean required, boolean allowBlank, String fallback) {
+        this.field = null;
+        this.name = name;
+        this.type = type;
+        this.keys = keys.clone();
+        this.required = required;
+        this.allowBlank = allowBlank;
+        this.fallback = fallback;
+        this.coercer = CoercerRegistry.findBuiltIn(type);
+        this.builtInCoercer = CoercerRegistry.isBuiltIn(coercer);
+        this.checkedCoercer = coercer instanceof CheckedCoercer ? (CheckedCoercer) coercer : null;
+        this.nestedPlan = null;
+        this.nestedFields = null;
+    }
+
+    /**
+     * Read the {@link Env} and {@link Env.Fallback} annotations of a field.
+     * @param field field annotated with {@link Env}
+     * @param coercers registry to find the coercer of the field type in
+     */
+    FieldBinding(Field field, CoercerRegistry coercers) {
+        Env env = field.getAnnotation(Env.class);
+        Env.Fallback envFallback = field.getAnnotation(Env.Fallback.class);
+        this.field = field;
+        this.name = field.getName();
+        this.type = field.getType();
+        this.keys = env.value().clone();
+        this.required = env.required();
+        this.allowBlank = env.allowBlank();
+        this.fallback = envFallback == null ? null : envFallback.value();
+        this.coercer = coercers.find(type, field.getGenericType(), field.getAnnotation(Env.Delimiter.class));
+        this.builtInCoercer = CoercerRegistry.isBuiltIn(coercer);
+        this.checkedCoercer = coercer instanceof CheckedCoercer ? (CheckedCoercer) coercer : null;
+        this.nestedPlan = null;
+        this.nestedFields = null;
+    }
+
+    /**
+     * Read the {@link Env} and {@link Env.Fallback} annotations of an interface accessor method.
+     * The method name is used as the field name, and its return type as the field type.
+     * @param method no-args method annotated with {@link Env}
+     * @param coercers registry to find the coercer of the return type in
+     */
+    FieldBinding(Method method, CoercerRegistry coercers) {
+        Env env = method.getAnnotation(Env.class);
+        Env.Fallback envFallback = method.getAnnotation(Env.Fallback.class);
+        this.field = null;
+        this.name = method.getName();
+        this.type = method.getReturnType();
+        this.keys = env.value().clone();
+        this.required = env.required();
+        this.allowBlank = env.allowBlank();
+        this.fallback = envFallback == null ? null : envFallback.value();
+        this.coercer = coercers.find(type, method.getGenericReturnType(), method.getAnnotation(Env.Delimiter.class));
+        this.builtInCoercer = CoercerRegistry.isBuiltIn(coercer);
+        this.checkedCoercer = coercer instanceof CheckedCoercer ? (CheckedCoercer) coercer : null;
+        this.nestedPlan = null;
+        this.nestedFields = null;
+    }
+
+    /**
+     * Read the {@link Env.Nested} annotation of a field.
+     * @param field field annotated with {@link Env.Nested}
+     * @param plan cached plan of the field type
+     */
+    FieldBinding(Field field, BindingPlan<?> plan) {
+        String prefix = field.getAnnotation(Env.Nested.class).prefix();
+        this.field = field;
+        this.name = field.getName();
+        this.type = field.getType();
+        this.keys = new String[0];
+        this.required = true;
+        this.allowBlank = false;
+        this.fallback = null;
+        this.coercer = null;
+        this.builtInCoercer = false;
+        this.checkedCoercer = null;
+        this.nestedPlan = plan;
+        this.nestedFields = prefixed(plan.getFields(), prefix, name);
+    }
+
+    /**
+     * Copy a binding of a nested type, without repeating any reflection or coercer lookups.
+     * @param nested binding declared by the nested type
+     * @param prefix prefix prepended to every key
+     * @param parentName name of the {@link Env.Nested} field, prepended to the field name in error messages, or {@code null} to keep the name
+     */
+    private FieldBinding(FieldBinding nested, String prefix, String parentName) {
+        this.field = nested.field;
+        this.name = parentName == null ? nested.name : parentName + "." + nested.name;
+        this.type = nested.type;
+        this.keys = new String[nested.keys.length];
+        for (int i = 0; i < keys.length; ++i) {
+            keys[i] = prefix + nested.keys[i];
+        }
+        this.required = nested.required;
+        this.allowBlank = nested.allowBlank;
+        this.fallback = nested.fallback;
+        this.coercer = nested.coercer;
+        this.builtInCoercer = nested.builtInCoercer;
+        this.checkedCoercer = nested.checkedCoercer;
+        this.nestedPlan = nested.nestedPlan;
+        this.nestedFields = nested.nestedFields == null ? null : prefixed(nested.nestedFields, prefix, parentName);
+    }
+
+    /**
+     * Copy this binding with every key prepended with a prefix, such as for the diagnostics of {@link EnvBinder#load(Class, String)}
+     * @param prefix prefix prepended to every key
+     * @return the prefixed copy, with the same name
+     */
+    FieldBinding withPrefix(String prefix) {
+        return new FieldBinding(this, prefix, null);
+    }
+
+    /**
+     * Copy the bindings of a nested type with a key prefix
+     * @param fields bindings declared by the nested type
+     * @param prefix prefix prepended to every key
+     * @param parentName name of the {@link Env.Nested} field
+     * @return the prefixed copies
+     */
+    private static FieldBinding[] prefixed(FieldBinding[] fields, String prefix, String parentName) {
+        FieldBinding[] copies = new FieldBinding[fields.length];
+        for (int i = 0; i < fields.length; ++i) {
+            copies[i] = new FieldBinding(fields[i], prefix, parentName);
+        }
+        return copies;
+    }
+
+    /**
+     * Collect the bindings which resolve environment variables, replacing each {@link Env.Nested} field with its nested bindings.
+     * @param fields bindings in declared order
+     * @return the leaf bindings in depth-first order, which is {@code fields} itself when nothing is nested
+     */
+    static FieldBinding[] flatten(FieldBinding[] fields) {
+        boolean hasNested = false;
+        for (FieldBinding field : fields) {
+            hasNested |= field.isNested();
+        }
+        if (!hasNested) {
+            return fields;
+        }
+        List<FieldBinding> leaves = new ArrayList<>();
+        addLeaves(fields, leaves);
+        return leaves.toArray(new FieldBinding[0]);
+    }
+
+    private static void addLeaves(FieldBinding[] fields, List<FieldBinding> leaves) {
+        for (FieldBinding field : fields) {
+            if (field.isNested()) {
+                addLeaves(field.nestedFields, leaves);
+            } else {
+                leaves.add(field);
+            }
+        }
+    }
+
+    /**
+     * Get the underlying field
+     * @return the bound {@link Field}, or {@code null} if described by a {@link GeneratedEnvBinder} or an interface method
+     */
+    public Field getField() {
+        return field;
+    }
+
+    /**
+     * Get the simple name of the underlying field, which is qualified by the {@link Env.Nested} field names it was bound through
+     * @return field name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the declared type of the underlying field
+     * @return field type
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Get the environment variable names to try, in order. Do not modify the returned array.
+     * @return the environment variable names
+     */
+    public String[] getKeys() {
+        return keys;
+    }
+
+    /**
+     * Check if the annotation is {@link Env#required()}
+     * @return {@code true} if the annotation requires a non-null value.
+     */
+    public boolean isRequired() {
+        return required;
+    }
+
+    /**
+     * Check if the annotation has {@link Env#allowBlank()}
+     * @return {@code true} if blank values are allowed
+     */
+    public boolean isAllowBlank() {
+        return allowBlank;
+    }
+
+    /**
+     * Check if the field has an {@link Env.Fallback}
+     * @return {@code true} if there is a hardcoded fallback value
+     */
+    public boolean hasFallback() {
+        return fallback != null;
+    }
+
+    /**
+     * Get the {@link Env.Fallback#value()}
+     * @return the fallback value, or {@code null} if there is none
+     */
+    public String getFallback() {
+        return fallback;
+    }
+
+    /**
+     * Get the coercer of the declared type, which is the specialized variant for primitive types
+     * @return the coercer, which throws if the type is unsupported
+     */
+    public Coercer<?> getCoercer() {
+        return coercer;
+    }
+
+    /**
+     * Check if {@link FieldBinding#getCoercer()} is built-in, so its exception messages never contain the input value
+     * @return {@code true} if the coercer is built-in
+     */
+    public boolean isBuiltInCoercer() {
+        return builtInCoercer;
+    }
+
+    /**
+     * Get {@link FieldBinding#getCoercer()} if it rejects invalid values without throwing
+     * @return the checked coercer, or {@code null} if invalid values must be detected by catching exceptions
+     */
+    public CheckedCoercer getCheckedCoercer() {
+        return checkedCoercer;
+    }
+
+    /**
+     * Check if this is an {@link Env.Nested} field
+     * @return {@code true} if the field is bound to a nested type
+     */
+    public boolean isNested() {
+        return nestedPlan != null;
+    }
+
+    /**
+     * Get the cached plan of the nested type
+     * @return the plan of the {@link Env.Nested} field type, or {@code null} if not nested
+     */
+    public BindingPlan<?> getNestedPlan() {
+        return nestedPlan;
+    }
+
+    /**
+     * Get the nested bindings with prefixed keys. Do not modify the returned array.
+     * @return one binding for each of the nested plan's fields, or {@code null} if not nested
+     */
+    public FieldBinding[] getNestedFields() {
+        return nestedFields;
+    }
+
+    /**
+     * Check if the underlying field is declared {@code final}
+     * @return {@code true} if the field is final
+     */
+    public boolean isFinal() {
+        return Modifier.isFinal(field.getModifiers());
+    }
+}
@@ -0,0 +1,16 @@
+package com.madimadica.betterenv;
+
+/**
+ * Internal accessor setting the value of a single instance field.
+ * @see BinderEngine
+ */
+interface FieldSetter {
+
+    /**
+     * Set the field to a reference or boxed primitive value
+     * @param target instance to modify
+     * @param value value to set
+     * @throws InvalidEnvTypeException if the field cannot be set
+     */
+    void set(Object target, Object value);
+}
@@ -0,0 +1,21 @@
+package com.madimadica.betterenv;
+
+/**
+ * {@link Coercer} specialized for {@code float}, required to register a coercer for {@code float.class}.
+ */
+@FunctionalInterface
+public interface FloatCoercer extends Coercer<Float> {
+
+    /**
+     * Coerce a value to a {@code float}.
+     * @param input environment variable value
+     * @return the coerced value
+     * @throws RuntimeException if the value is invalid for the type
+     */
+    float coerceFloat(String input);
+
+    @Override
+    default Float coerce(String input) {
+        return coerceFloat(input);
+    }
+}
@@ -0,0 +1,273 @@
+package com.madimadica.betterenv;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>
+ *     Base type of the {@code <Type>EnvBinder} classes generated by the {@code better-env-processor} annotation processor.
+ *     Generated binders call the constructor directly and parse values with typed parsers, so no reflection is needed to bind the type.
+ * </p>
+ * <p>
+ *     {@link BetterEnv#load(Class)} looks for a class named {@code <binary name of type>EnvBinder} next to the loaded type,
+ *     and uses it instead of reflection if it exists. The protected methods are only meant to be called from generated code.
+ * </p>
+ * <p>
+ *     For interfaces, {@link GeneratedEnvBinder#bind(EnvSource)} returns a generated implementation which resolves each accessor on first access.
+ * </p>
+ * @param <T> the bound type
+ */
+public abstract class GeneratedEnvBinder<T> {
+
+    /**
+     * Suffix appended to the binary name of a type to find its generated binder
+     */
+    public static final String SUFFIX = "EnvBinder";
+
+    /**
+     * Per-type cache of generated binders, null when there is none
+     */
+    private static final ClassValue<GeneratedEnvBinder<?>> CACHE = new ClassValue<GeneratedEnvBinder<?>>() {
+        @Override
+        protected GeneratedEnvBinder<?> computeValue(Class<?> type) {
+            return locate(type);
+        }
+    };
+
+    /**
+     * Returned by {@link GeneratedEnvBinder#parseInteger(String, long, long)} for invalid values
+     */
+    protected static final long INVALID_INTEGER = Parsers.INVALID;
+
+    /**
+     * The bound type
+     */
+    private final Class<T> type;
+
+    /**
+     * Description of every {@link Env} field, or null for binders generated before they were passed to the constructor
+     */
+    private final FieldSpec[] fields;
+
+    /**
+     * Construct the binder for a type
+     * @param type the bound type
+     */
+    protected GeneratedEnvBinder(Class<T> type) {
+        this(type, null);
+    }
+
+    /**
+     * Construct the binder for a type, with a description of its fields so they can be inspected without reflection
+     * @param type the bound type
+     * @param fields description of every {@link Env} field, in declared order
+     */
+    protected GeneratedEnvBinder(Class<T> type, FieldSpec[] fields) {
+        this.type = type;
+        this.fields = fields;
+    }
+
+    /**
+     * Get the bound type
+     * @return the type this binder creates
+     */
+    public final Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Get the bindings of each {@link Env} field
+     * @return the field bindings, or {@code null} if the generated binder did not describe them
+     */
+    FieldBinding[] getFields() {
+        if (fields == null) {
+            return null;
+        }
+        FieldBinding[] bindings = new FieldBinding[fields.length];
+        for (int i = 0; i < fields.length; ++i) {
+            bindings[i] = fields[i].binding;
+        }
+        return bindings;
+    }
+
+    /**
+     * Bind environment variables to a new instance, with the same behavior as {@link BetterEnv#load(Class, EnvSource)}.
+     * @param source source of environment variables
+     * @return a new bound instance
+     * @throws InvalidEnvironmentException if the source has invalid environment variables required to bind to type {@code T}.
+     */
+    public abstract T bind(EnvSource source);
+
+    /**
+     * Bind like {@link GeneratedEnvBinder#bind(EnvSource)}, but return {@code null} instead of throwing {@link InvalidEnvironmentException},
+     * so {@link BetterEnv#tryLoad(Class)} resolves each field once and creates no exception.
+     * Generated binders override this, and {@link GeneratedEnvBinder#bind(EnvSource)} creates the exception when it returns {@code null}.
+     * Binders generated without this method fall back to catching the exception.
+     * @param source source of environment variables
+     * @return a new bound instance, or {@code null} if the source has invalid environment variables required to bind to type {@code T}.
+     */
+    protected T tryBind(EnvSource source) {
+        try {
+            return bind(source);
+        } catch (InvalidEnvironmentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Find the generated binder of a type
+     * @param type the bound type
+     * @return the generated binder, or {@code null} if there is none
+     * @param <T> the bound type
+     */
+    @SuppressWarnings("unchecked")
+    static <T> GeneratedEnvBinder<T> find(Class<T> type) {
+        return (GeneratedEnvBinder<T>) CACHE.get(type);
+    }
+
+    /**
+     * Load and instantiate the generated binder of a type.
+     * @param type the bound type
+     * @return the generated binder, or {@code null} if there is none
+     */
+    private static GeneratedEnvBinder<?> locate(Class<?> type) {
+        if (type.isPrimitive() || type.isArray()) {
+            return null;
+        }
+        Class<?> binderType;
+        try {
+            binderType = Class.forName(type.getName() + SUFFIX, true, type.getClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+        if (!GeneratedEnvBinder.class.isAssignableFrom(binderType)) {
+            return null;
+        }
+        GeneratedEnvBinder<?> binder;
+        try {
+            binder = (GeneratedEnvBinder<?>) binderType.getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new InvalidEnvTypeException("Unable to instantiate generated binder \"" + binderType.getName() + "\"", e);
+        }
+        return binder.getType() == type ? binder : null;
+    }
+
+    /**
+     * Describe an {@link Env} field, used to build error messages.
+     * @param name field name
+     * @param type declared type of the field
+     * @param keys {@link Env#value()}
+     * @param required {@link Env#required()}
+     * @param allowBlank {@link Env#allowBlank()}
+     * @param fallback {@link Env.Fallback#value()}, or {@code null} if there is none
+     * @return a new field description
+     */
+    protected static FieldSpec field(String name, Class<?> type, String[] keys, boolean required, boolean allowBlank, String fallback) {
+        return new FieldSpec(new FieldBinding(name, type, keys, required, allowBlank, fallback));
+    }
+
+    /**
+     * Check if an environment value is present and passes the {@link Env#allowBlank()} check, before type coercion.
+     * @param value environment value, nullable
+     * @param allowBlank {@link Env#allowBlank()}
+     * @return {@code true} if the value can be coerced
+     */
+    protected static boolean isUsable(String value, boolean allowBlank) {
+        if (value == null) {
+            return false;
+        }
+        if (allowBlank) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); ++i) {
+            if (!Character.isWhitespace(value.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parse a base 10 integer within bounds without throwing, accepting the same values as {@link Long#parseLong(String)}
+     * @param value non-null value
+     * @param min minimum value, inclusive
+     * @param max maximum value, inclusive
+     * @return the parsed value, or {@link GeneratedEnvBinder#INVALID_INTEGER} if invalid.
+     * This is also the valid value {@link Long#MIN_VALUE}, which must be confirmed with {@link GeneratedEnvBinder#isLong(String)}.
+     */
+    protected static long parseInteger(String value, long min, long max) {
+        return Parsers.parseInteger(value, 0, value.length(), min, max);
+    }
+
+    /**
+     * Check if {@link Long#parseLong(String)} would succeed, without throwing
+     * @param value non-null value
+     * @return {@code true} if the value is a valid long
+     */
+    protected static boolean isLong(String value) {
+        return Parsers.isLong(value);
+    }
+
+    /**
+     * Check if {@link Float#parseFloat(String)} would succeed, without throwing
+     * @param value non-null value
+     * @return {@code true} if the value is a valid float
+     */
+    protected static boolean isFloat(String value) {
+        return Parsers.isFloat(value);
+    }
+
+    /**
+     * Check if {@link Double#parseDouble(String)} would succeed, without throwing
+     * @param value non-null value
+     * @return {@code true} if the value is a valid double
+     */
+    protected static boolean isDouble(String value) {
+        return Parsers.isDouble(value);
+    }
+
+    /**
+     * Resolve every field again with full diagnostics, and create the same exception {@link BetterEnv#load(Class)} throws.
+     * @param fields description of every {@link Env} field, in declared order
+     * @param source source of environment variables passed to {@link GeneratedEnvBinder#bind(EnvSource)}
+     * @return a new exception summarizing each invalid field
+     */
+    protected final InvalidEnvironmentException failure(FieldSpec[] fields, EnvSource source) {
+        List<EnvMetadata> envMetadata = new ArrayList<>(fields.length);
+        for (FieldSpec field : fields) {
+            envMetadata.add(BetterEnv.getEnvMetadata(field.binding, source));
+        }
+        return BetterEnv.invalidEnvironment(type, envMetadata);
+    }
+
+    /**
+     * Resolve a single field again with full diagnostics, and create the exception thrown when a lazily resolved interface accessor is invalid.
+     * @param field description of the {@link Env} accessor
+     * @param source source of environment variables passed to {@link GeneratedEnvBinder#bind(EnvSource)}
+     * @return a new exception summarizing the invalid accessor
+     */
+    protected final InvalidEnvironmentException failure(FieldSpec field, EnvSource source) {
+        return BetterEnv.invalidEnvironment(type, Collections.singletonList(BetterEnv.getEnvMetadata(field.binding, source)));
+    }
+
+    /**
+     * Create the exception thrown when a primitive field that is not {@link Env#required()} could not be resolved.
+     * @param name field name
+     * @return a new exception
+     */
+    protected static InvalidEnvTypeException unbindable(String name) {
+        return new InvalidEnvTypeException("Unable to bind field \"" + name + "\"");
+    }
+
+    /**
+     * Opaque description of an {@link Env} field for generated code.
+     */
+    protected static final class FieldSpec {
+        private final FieldBinding binding;
+
+        private FieldSpec(FieldBinding binding) {
+            this.binding = binding;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.madimadica.betterenv;
+
+/**
+ * Internal factory creating instances of a bound type from a constructor.
+ * @param <T> type to create
+ * @see BinderEngine
+ */
+interface Instantiator<T> {
+
+    /**
+     * Invoke the underlying constructor.
+     * @param args constructor arguments, must match the parameter count of the underlying constructor
+     * @return a new instance
+     * @throws RuntimeException if the constructor throws
+     */
+    T newInstance(Object[] args);
+}
@@ -0,0 +1,21 @@
+package com.madimadica.betterenv;
+
+/**
+ * {@link Coercer} specialized for {@code int}, required to register a coercer for {@code int.class}.
+ */
+@FunctionalInterface
+public interface IntCoercer extends Coercer<Integer> {
+
+    /**
+     * Coerce a value to a {@code int}.
+     * @param input environment variable value
+     * @return the coerced value
+     * @throws RuntimeException if the value is invalid for the type
+     */
+    int coerceInt(String input);
+
+    @Override
+    default Integer coerce(String input) {
+        return coerceInt(input);
+    }
+}
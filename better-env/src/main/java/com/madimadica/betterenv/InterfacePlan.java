@@ -0,0 +1,299 @@
+package com.madimadica.betterenv;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * <p>
+ *     Internal, precompiled description of an interface whose accessor methods are annotated with {@link Env},
+ *     used when the {@code better-env-processor} did not generate an implementation.
+ * </p>
+ * <p>
+ *     Instances are {@link Proxy} objects which resolve and coerce each value on its first access, then cache it.
+ *     Every abstract method must be a no-args {@link Env} accessor, and default methods are supported on Java 16 or higher.
+ * </p>
+ * @param <T> the bound interface
+ */
+final class InterfacePlan<T> {
+
+    /**
+     * Per-type cache of compiled plans, replaced when the plans are invalidated
+     */
+    private static volatile ClassValue<InterfacePlan<?>> cache = newCache();
+
+    /**
+     * {@code InvocationHandler.invokeDefault(Object, Method, Object...)}, or null before Java 16
+     */
+    private static final Method INVOKE_DEFAULT = findInvokeDefault();
+
+    /**
+     * Marks a resolved {@code null} value in {@link Handler#values}
+     */
+    private static final Object NULL = new Object();
+
+    /**
+     * The bound interface
+     */
+    private final Class<T> type;
+
+    /**
+     * Accessor methods annotated with {@link Env}, mapped to their index in {@link InterfacePlan#fields}
+     */
+    private final Map<Method, Integer> indexes;
+
+    /**
+     * Bindings of each accessor method
+     */
+    private final FieldBinding[] fields;
+
+    private InterfacePlan(Class<T> type, Map<Method, Integer> indexes, FieldBinding[] fields) {
+        this.type = type;
+        this.indexes = indexes;
+        this.fields = fields;
+    }
+
+    /**
+     * Get the cached plan for an interface, compiling it on first use.
+     * @param type interface to bind
+     * @return the plan for {@code type}
+     * @param <T> interface to bind
+     * @throws InvalidEnvTypeException if the interface has methods which cannot be implemented
+     */
+    @SuppressWarnings("unchecked")
+    static <T> InterfacePlan<T> of(Class<T> type) {
+        BindingStats stats = BindingStats.active();
+        if (stats != null) {
+            stats.planLookup();
+        }
+        return (InterfacePlan<T>) cache.get(type);
+    }
+
+    /**
+     * Discard every cached plan, such as after registering a {@link Coercer} that compiled plans may have looked up.
+     */
+    static void invalidate() {
+        cache = newCache();
+    }
+
+    private static ClassValue<InterfacePlan<?>> newCache() {
+        return new ClassValue<InterfacePlan<?>>() {
+            @Override
+            protected InterfacePlan<?> computeValue(Class<?> type) {
+                BindingStats stats = BindingStats.active();
+                if (stats != null) {
+                    stats.planCompile();
+                }
+                return compile(type);
+            }
+        };
+    }
+
+    /**
+     * Do all the reflection analysis for an interface, with the default coercers.
+     * @param type interface to bind
+     * @return a new plan
+     * @param <T> interface to bind
+     * @throws InvalidEnvTypeException if the interface has methods which cannot be implemented
+     */
+    static <T> InterfacePlan<T> compile(Class<T> type) {
+        return compile(type, CoercerRegistry.getDefault());
+    }
+
+    /**
+     * Do all the reflection analysis for an interface.
+     * @param type interface to bind
+     * @param coercers registry to find the coercer of each accessor in
+     * @return a new plan
+     * @param <T> interface to bind
+     * @throws InvalidEnvTypeException if the interface has methods which cannot be implemented
+     */
+    static <T> InterfacePlan<T> compile(Class<T> type, CoercerRegistry coercers) {
+        if (!type.isInterface() || type.isAnnotation()) {
+            throw new InvalidEnvTypeException("Type \"" + type.getName() + "\" is not an interface");
+        }
+        Map<Method, Integer> indexes = new HashMap<>();
+        Map<String, FieldBinding> fields = new LinkedHashMap<>();
+        Map<String, Method> declarations = new HashMap<>();
+        for (Method method : type.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers()) || isObjectMethod(method)) {
+                continue;
+            }
+            boolean annotated = method.isAnnotationPresent(Env.class);
+            if (method.isDefault()) {
+                if (annotated) {
+                    throw new InvalidEnvTypeException("@Env method \"" + method.getName() + "\" must be abstract");
+                }
+                if (INVOKE_DEFAULT == null) {
+                    throw new InvalidEnvTypeException("Default method \"" + method.getName() + "\" requires Java 16 or higher, or the better-env-processor");
+                }
+                continue;
+            }
+            if (!annotated) {
+                throw new InvalidEnvTypeException("Abstract method \"" + method.getName() + "\" must be annotated with @Env");
+            }
+            if (method.getParameterCount() != 0 || method.getReturnType() == void.class) {
+                throw new InvalidEnvTypeException("@Env method \"" + method.getName() + "\" must have no parameters and a return type");
+            }
+            Method declared = declarations.putIfAbsent(method.getName(), method);
+            if (declared == null) {
+                fields.put(method.getName(), new FieldBinding(method, coercers));
+            } else if (!isSameAccessor(declared, method)) {
+                throw new InvalidEnvTypeException("@Env method \"" + method.getName() + "\" is declared differently by \""
+                        + declared.getDeclaringClass().getName() + "\" and \"" + method.getDeclaringClass().getName() + "\"");
+            }
+            indexes.put(method, -1);
+        }
+        FieldBinding[] bindings = fields.values().toArray(new FieldBinding[0]);
+        Map<String, Integer> byName = new HashMap<>();
+        for (int i = 0; i < bindings.length; ++i) {
+            byName.put(bindings[i].getName(), i);
+        }
+        // Methods redeclared by several super interfaces share one value
+        for (Map.Entry<Method, Integer> entry : indexes.entrySet()) {
+            entry.setValue(byName.get(entry.getKey().getName()));
+        }
+        return new InterfacePlan<>(type, Collections.unmodifiableMap(indexes), bindings);
+    }
+
+    /**
+     * Get the bound interface
+     * @return the interface type
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Get the bindings of each accessor method. Do not modify the returned array.
+     * @return the {@link Env} accessor bindings
+     */
+    public FieldBinding[] getFields() {
+        return fields;
+    }
+
+    /**
+     * Create a proxy resolving against a source
+     * @param binder binder whose listeners are notified as accessors are resolved
+     * @param source source of environment variables
+     * @return a new proxy implementing {@link InterfacePlan#getType()}
+     */
+    public T newProxy(EnvBinder binder, EnvSource source) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, new Handler(this, binder, source));
+        return type.cast(proxy);
+    }
+
+    /**
+     * Resolve the value of one accessor
+     * @param type interface declaring the accessor, used in error messages
+     * @param field accessor binding
+     * @param source source of environment variables
+     * @param listeners listeners to notify, or {@code null} if there are none
+     * @return the coerced value, nullable when not {@link Env#required()}
+     * @throws InvalidEnvironmentException if the accessor is required and has no valid value
+     * @throws InvalidEnvTypeException if the accessor returns a primitive and has no valid value
+     */
+    static Object resolve(Class<?> type, FieldBinding field, EnvSource source, BindingListener[] listeners) {
+        Object value = BetterEnv.resolve(type, field, source, listeners);
+        if (value == CheckedCoercer.INVALID) {
+            throw BetterEnv.invalidEnvironment(type, Collections.singletonList(BetterEnv.getEnvMetadata(field, source)));
+        }
+        if (value == null && field.getType().isPrimitive()) {
+            throw new InvalidEnvTypeException("Unable to bind field \"" + field.getName() + "\"");
+        }
+        return value;
+    }
+
+    /**
+     * Check if two accessors of the same name, redeclared by several super interfaces, can share one value
+     */
+    private static boolean isSameAccessor(Method a, Method b) {
+        return a.getGenericReturnType().equals(b.getGenericReturnType())
+                && a.getAnnotation(Env.class).equals(b.getAnnotation(Env.class))
+                && Objects.equals(a.getAnnotation(Env.Fallback.class), b.getAnnotation(Env.Fallback.class))
+                && Objects.equals(a.getAnnotation(Env.Delimiter.class), b.getAnnotation(Env.Delimiter.class));
+    }
+
+    /**
+     * Check if an interface method redeclares a public {@link Object} method, which proxies always dispatch as the {@link Object} method
+     */
+    private static boolean isObjectMethod(Method method) {
+        try {
+            Object.class.getMethod(method.getName(), method.getParameterTypes());
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static Method findInvokeDefault() {
+        try {
+            return InvocationHandler.class.getMethod("invokeDefault", Object.class, Method.class, Object[].class);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Handles calls on a proxy, caching each resolved value
+     */
+    private static final class Handler implements InvocationHandler {
+        private final InterfacePlan<?> plan;
+        private final EnvBinder binder;
+        private final EnvSource source;
+
+        /**
+         * Resolved values by index, null until first access, and {@link InterfacePlan#NULL} for a resolved null
+         */
+        private final AtomicReferenceArray<Object> values;
+
+        private Handler(InterfacePlan<?> plan, EnvBinder binder, EnvSource source) {
+            this.plan = plan;
+            this.binder = binder;
+            this.source = source;
+            this.values = new AtomicReferenceArray<>(plan.fields.length);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Integer index = plan.indexes.get(method);
+            if (index != null) {
+                return get(index);
+            }
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        return plan.type.getName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+                }
+            }
+            try {
+                return INVOKE_DEFAULT.invoke(null, proxy, method, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private Object get(int index) {
+            Object value = values.get(index);
+            if (value == null) {
+                Object resolved = resolve(plan.type, plan.fields[index], source, binder.getListeners());
+                // The first resolved value wins, so every caller sees the same one
+                values.compareAndSet(index, null, resolved == null ? NULL : resolved);
+                value = values.get(index);
+            }
+            return value == NULL ? null : value;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.madimadica.betterenv;
+
+/**
+ * <p>
+ *     Holder of a bound instance that an {@link EnvWatcher} replaces when the environment variables it depends on change.
+ * </p>
+ * <p>
+ *     Each rebind creates a new instance and publishes it with a single volatile write, so {@link LiveBinding#get()}
+ *     never locks and always returns a fully bound instance. Callers should not cache the returned instance if they want to see updates.
+ * </p>
+ * @param <T> the bound type
+ */
+public final class LiveBinding<T> {
+
+    /**
+     * The bound type
+     */
+    private final Class<T> type;
+
+    /**
+     * Latest successfully bound instance
+     */
+    private volatile T value;
+
+    /**
+     * Exception of the latest failed rebind, cleared by the next successful one
+     */
+    private volatile RuntimeException lastFailure;
+
+    LiveBinding(Class<T> type, T value) {
+        this.type = type;
+        this.value = value;
+    }
+
+    /**
+     * Get the bound type
+     * @return the type of the bound instances
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Get the latest bound instance
+     * @return the latest successfully bound instance
+     */
+    public T get() {
+        return value;
+    }
+
+    /**
+     * Get the exception of the latest rebind, if it failed. When a rebind fails, {@link LiveBinding#get()} keeps returning the previous instance.
+     * @return the exception thrown by the latest rebind, or {@code null} if it succeeded
+     */
+    public RuntimeException getLastFailure() {
+        return lastFailure;
+    }
+
+    /**
+     * Rebind against a new source, keeping the current instance if it fails
+     * @param source source to bind against
+     * @return {@code true} if a new instance was published
+     */
+    boolean rebind(EnvSource source) {
+        try {
+            value = BetterEnv.load(type, source);
+            lastFailure = null;
+            return true;
+        } catch (InvalidEnvironmentException | InvalidEnvTypeException e) {
+            lastFailure = e;
+            return false;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.madimadica.betterenv;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+/**
+ * <p>
+ *     Result of {@link BetterEnv#tryLoad(Class)}, holding either the loaded instance, or the invalid fields and keys.
+ * </p>
+ * <p>
+ *     A failed result holds the same data as the {@link InvalidEnvironmentException} {@link BetterEnv#load(Class)} would throw,
+ *     but its message and stack trace are only built if requested with {@link LoadResult#get()} or {@link LoadResult#toException()}.
+ * </p>
+ * @param <T> the loaded type
+ */
+public final class LoadResult<T> {
+
+    /**
+     * The loaded type
+     */
+    private final Class<T> type;
+
+    /**
+     * The loaded instance, null when failed
+     */
+    private final T instance;
+
+    /**
+     * Binding results of every field, null when successful
+     */
+    private final List<EnvMetadata> envMetadata;
+
+    private LoadResult(Class<T> type, T instance, List<EnvMetadata> envMetadata) {
+        this.type = type;
+        this.instance = instance;
+        this.envMetadata = envMetadata;
+    }
+
+    /**
+     * Create a successful result
+     * @param type the loaded type
+     * @param instance the loaded instance
+     * @return a new result
+     * @param <T> the loaded type
+     */
+    static <T> LoadResult<T> success(Class<T> type, T instance) {
+        return new LoadResult<>(type, instance, null);
+    }
+
+    /**
+     * Create a failed result
+     * @param type the loaded type
+     * @param envMetadata binding results of every field, at least one of which is invalid
+     * @return a new result
+     * @param <T> the loaded type
+     */
+    static <T> LoadResult<T> failure(Class<T> type, List<EnvMetadata> envMetadata) {
+        return new LoadResult<>(type, null, envMetadata);
+    }
+
+    /**
+     * Get the loaded type
+     * @return the type passed to {@link BetterEnv#tryLoad(Class)}
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Check if the type was loaded
+     * @return {@code true} if every field had a valid value
+     */
+    public boolean isSuccess() {
+        return envMetadata == null;
+    }
+
+    /**
+     * Get the loaded instance, or throw the exception {@link BetterEnv#load(Class)} would have thrown
+     * @return the loaded instance
+     * @throws InvalidEnvironmentException if the type could not be loaded
+     */
+    public T get() {
+        if (envMetadata != null) {
+            throw toException();
+        }
+        return instance;
+    }
+
+    /**
+     * Get the loaded instance if there is one
+     * @return the loaded instance, or an empty optional if the type could not be loaded
+     */
+    public Optional<T> toOptional() {
+        return Optional.ofNullable(instance);
+    }
+
+    /**
+     * Get each invalid field, in declared order, including fields of {@link Env.Nested} types
+     * @return the invalid fields, which is empty when successful
+     */
+    public List<FieldFailure> getFailures() {
+        if (envMetadata == null) {
+            return Collections.emptyList();
+        }
+        List<FieldFailure> failures = new ArrayList<>();
+        for (EnvMetadata metadata : envMetadata) {
+            if (!metadata.isValid()) {
+                failures.add(new FieldFailure(metadata));
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * Create the exception {@link BetterEnv#load(Class)} would have thrown, building its message and stack trace
+     * @return a new exception summarizing each invalid field
+     * @throws NoSuchElementException if the type was loaded
+     */
+    public InvalidEnvironmentException toException() {
+        if (envMetadata == null) {
+            throw new NoSuchElementException("Type \"" + type.getName() + "\" was loaded");
+        }
+        return BetterEnv.invalidEnvironment(type, envMetadata);
+    }
+
+    /**
+     * A required field without a valid value
+     */
+    public static final class FieldFailure {
+        private final EnvMetadata metadata;
+
+        private FieldFailure(EnvMetadata metadata) {
+            this.metadata = metadata;
+        }
+
+        /**
+         * Get the name of the field, such as {@code "primary.url"} for a field of an {@link Env.Nested} type
+         * @return the field or accessor name
+         */
+        public String getField() {
+            return metadata.getName();
+        }
+
+        /**
+         * Get the reason each key of the field was rejected, in the order they were tried
+         * @return one failure per key, ending with {@value EnvMetadata#FALLBACK_KEY} if there is a fallback
+         */
+        public List<AliasFailure> getAliasFailures() {
+            List<EnvMetadata.Entry> entries = metadata.getInvalidEntries();
+            List<AliasFailure> failures = new ArrayList<>(entries.size());
+            for (EnvMetadata.Entry entry : entries) {
+                failures.add(new AliasFailure(entry));
+            }
+            return failures;
+        }
+
+        @Override
+        public String toString() {
+            return getField() + getAliasFailures();
+        }
+    }
+
+    /**
+     * A key of a field, and why its value was rejected. Never includes the value itself.
+     */
+    public static final class AliasFailure {
+        private final EnvMetadata.Entry entry;
+
+        private AliasFailure(EnvMetadata.Entry entry) {
+            this.entry = entry;
+        }
+
+        /**
+         * Get the environment variable name, or {@value EnvMetadata#FALLBACK_KEY} for the fallback
+         * @return the key
+         */
+        public String getKey() {
+            return entry.getKey();
+        }
+
+        /**
+         * Get why the value was rejected, such as {@code "Missing environment variable"}
+         * @return the error message
+         */
+        public String getError() {
+            return entry.getErrorMessage();
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + ": " + getError();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.madimadica.betterenv;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * <p>
+ *     The instances created by {@link BetterEnv#loadAll(Class[])}, by type.
+ * </p>
+ * <p>
+ *     Loading first resolves the distinct {@link Env} keys of every type once into an {@link EnvSnapshot}, then binds each type
+ *     against that snapshot in parallel. Compiling the binding plans, which is most of the cost of a first load, is also done in parallel.
+ * </p>
+ */
+public final class LoadedTypes {
+
+    /**
+     * Loaded instances by type, in the order the types were given
+     */
+    private final Map<Class<?>, Object> instances;
+
+    private LoadedTypes(Map<Class<?>, Object> instances) {
+        this.instances = instances;
+    }
+
+    /**
+     * Load every type against a source
+     * @param binder binder to load with
+     * @param source source of environment variables
+     * @param types types to load
+     * @return the loaded instances
+     * @throws InvalidEnvironmentException if any type could not be bound
+     * @throws InvalidEnvTypeException if any type has problems with the declared fields or constructors.
+     */
+    static LoadedTypes load(EnvBinder binder, EnvSource source, Class<?>[] types) {
+        Class<?>[] distinct = new LinkedHashSet<>(Arrays.asList(types)).toArray(new Class<?>[0]);
+        int count = distinct.length;
+
+        // Compiles every plan, so declaration problems are thrown here and not combined with invalid environments
+        FieldBinding[][] fields = new FieldBinding[count][];
+        IntStream.range(0, count).parallel().forEach(i -> fields[i] = binder.getFields(distinct[i]));
+
+        Map<String, String> resolved = new HashMap<>();
+        for (FieldBinding[] typeFields : fields) {
+            for (FieldBinding field : typeFields) {
+                for (String key : field.getKeys()) {
+                    if (!resolved.containsKey(key)) {
+                        resolved.put(key, source.get(key));
+                    }
+                }
+            }
+        }
+        EnvSnapshot snapshot = EnvSnapshot.of(resolved);
+
+        Object[] instances = new Object[count];
+        RuntimeException[] failures = new RuntimeException[count];
+        IntStream.range(0, count).parallel().forEach(i -> {
+            try {
+                instances[i] = binder.load(distinct[i], snapshot);
+            } catch (InvalidEnvironmentException e) {
+                failures[i] = e;
+            }
+        });
+
+        InvalidEnvironmentException failure = combine(failures, "types");
+        if (failure != null) {
+            throw failure;
+        }
+        Map<Class<?>, Object> byType = new LinkedHashMap<>();
+        for (int i = 0; i < count; ++i) {
+            byType.put(distinct[i], instances[i]);
+        }
+        return new LoadedTypes(Collections.unmodifiableMap(byType));
+    }
+
+    /**
+     * Combine the failure of each type into one exception
+     * @param failures failure of each type, null for types which were bound
+     * @param noun what was loaded, such as {@code "types"}
+     * @return an exception summarizing every failure, or {@code null} if there are none
+     */
+    static InvalidEnvironmentException combine(RuntimeException[] failures, String noun) {
+        int failed = 0;
+        StringBuilder sb = new StringBuilder();
+        for (RuntimeException failure : failures) {
+            if (failure != null) {
+                ++failed;
+                sb.append("\n\t").append(failure.getMessage().replace("\n", "\n\t"));
+            }
+        }
+        if (failed == 0) {
+            return null;
+        }
+        InvalidEnvironmentException combined = new InvalidEnvironmentException(
+                "Failed to load env data for " + failed + " of " + failures.length + " " + noun + ":" + sb);
+        for (RuntimeException failure : failures) {
+            if (failure != null) {
+                combined.addSuppressed(failure);
+            }
+        }
+        return combined;
+    }
+
+    /**
+     * Get the loaded instance of a type
+     * @param type one of the loaded types
+     * @return the instance of {@code type}
+     * @param <T> the loaded type
+     * @throws IllegalArgumentException if the type was not loaded
+     */
+    public <T> T get(Class<T> type) {
+        Object instance = instances.get(type);
+        if (instance == null) {
+            throw new IllegalArgumentException("Type \"" + type.getName() + "\" was not loaded");
+        }
+        return type.cast(instance);
+    }
+
+    /**
+     * Check if a type was loaded
+     * @param type type to check
+     * @return {@code true} if there is an instance of {@code type}
+     */
+    public boolean contains(Class<?> type) {
+        return instances.containsKey(type);
+    }
+
+    /**
+     * Get the loaded types, in the order they were given
+     * @return unmodifiable set of types
+     */
+    public Set<Class<?>> getTypes() {
+        return instances.keySet();
+    }
+
+    /**
+     * Get the number of loaded types
+     * @return the number of distinct types
+     */
+    public int size() {
+        return instances.size();
+    }
+}
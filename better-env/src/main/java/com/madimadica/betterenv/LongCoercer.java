@@ -0,0 +1,21 @@
+package com.madimadica.betterenv;
+
+/**
+ * {@link Coercer} specialized for {@code long}, required to register a coercer for {@code long.class}.
+ */
+@FunctionalInterface
+public interface LongCoercer extends Coercer<Long> {
+
+    /**
+     * Coerce a value to a {@code long}.
+     * @param input environment variable value
+     * @return the coerced value
+     * @throws RuntimeException if the value is invalid for the type
+     */
+    long coerceLong(String input);
+
+    @Override
+    default Long coerce(String input) {
+        return coerceLong(input);
+    }
+}
@@ -0,0 +1,115 @@
+package com.madimadica.betterenv;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+
+/**
+ * Internal {@link BinderEngine#METHOD_HANDLES} implementations using unreflected {@link MethodHandle}s.
+ * Handles are adapted once to a fixed call site type, so each call is a single {@code invokeExact}.
+ */
+final class MethodHandleBinders {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /**
+     * Call site type of {@link MethodHandleInstantiator#handle}
+     */
+    private static final MethodType INSTANTIATOR_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+    /**
+     * Call site type of {@link MethodHandleFieldSetter#handle}
+     */
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    /**
+     * Hide the constructor
+     */
+    private MethodHandleBinders() {}
+
+    /**
+     * Create an instantiator for a constructor. If the constructor cannot be unreflected due to access checks,
+     * a {@link ReflectiveBinders.ReflectiveInstantiator} is returned instead.
+     * @param constructor constructor to invoke
+     * @return a new instantiator
+     * @param <T> type to create
+     */
+    static <T> Instantiator<T> instantiator(Constructor<T> constructor) {
+        MethodHandle handle;
+        try {
+            handle = LOOKUP.unreflectConstructor(constructor);
+        } catch (IllegalAccessException e) {
+            return new ReflectiveBinders.ReflectiveInstantiator<>(constructor);
+        }
+        handle = handle.asSpreader(Object[].class, constructor.getParameterCount()).asType(INSTANTIATOR_TYPE);
+        return new MethodHandleInstantiator<>(constructor.getDeclaringClass(), handle);
+    }
+
+    /**
+     * Create a setter for a field. The field must already be accessible and not {@code final}.
+     * @param field field to set
+     * @return a new setter
+     * @throws InvalidEnvTypeException if the field cannot be unreflected
+     */
+    static FieldSetter setter(Field field) {
+        MethodHandle handle;
+        try {
+            handle = LOOKUP.unreflectSetter(field);
+        } catch (IllegalAccessException e) {
+            throw new InvalidEnvTypeException("Unable to bind field \"" + field.getName() + "\"", e);
+        }
+        return new MethodHandleFieldSetter(field.getName(), handle.asType(SETTER_TYPE));
+    }
+
+    /**
+     * Instantiator invoking a constructor handle spread over an {@code Object[]}
+     * @param <T> type to create
+     */
+    static final class MethodHandleInstantiator<T> implements Instantiator<T> {
+        private final Class<T> type;
+        private final MethodHandle handle;
+
+        MethodHandleInstantiator(Class<T> type, MethodHandle handle) {
+            this.type = type;
+            this.handle = handle;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T newInstance(Object[] args) {
+            try {
+                return (T) (Object) handle.invokeExact(args);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new RuntimeException("Unable to instantiate type \"" + type.getName() + "\"", e);
+            }
+        }
+    }
+
+    /**
+     * Setter invoking a field setter handle adapted to {@code (Object, Object)}
+     */
+    static final class MethodHandleFieldSetter implements FieldSetter {
+        private final String name;
+        private final MethodHandle handle;
+
+        MethodHandleFieldSetter(String name, MethodHandle handle) {
+            this.name = name;
+            this.handle = handle;
+        }
+
+        @Override
+        public void set(Object target, Object value) {
+            try {
+                handle.invokeExact(target, value);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new InvalidEnvTypeException("Unable to bind field \"" + name + "\"", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package com.madimadica.betterenv;
+
+/**
+ * <p>
+ *     Internal exception-free validation of numeric and boolean values, accepting exactly what the JDK parsers accept.
+ * </p>
+ * <p>
+ *     Invalid values are common when trying several {@link Env#value()} aliases, and detecting them by catching
+ *     {@link NumberFormatException} pays for filling in a stack trace each time. Values are validated here first,
+ *     so the JDK parser is only called when it is known to succeed.
+ * </p>
+ * <p>
+ *     Each check takes a {@code [start, end)} range of a {@link CharSequence}, so parts of a value can be checked without copying.
+ * </p>
+ */
+final class Parsers {
+
+    /**
+     * Returned by {@link Parsers#parseInteger(CharSequence, int, int, long, long)} for invalid values.
+     * This is also the valid value {@link Long#MIN_VALUE}, so callers parsing a {@code long} must confirm it with
+     * {@link Parsers#isInteger(CharSequence, int, int, long, long)}.
+     */
+    static final long INVALID = Long.MIN_VALUE;
+
+    /**
+     * Powers of ten which are exact doubles, for {@link Parsers#parseDouble(String)}
+     */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+    };
+
+    /**
+     * Maximum number of digits handled by the {@link Parsers#parseDouble(String)} fast path, so the significand is an exact double
+     */
+    private static final int MAX_FAST_DIGITS = 15;
+
+    private Parsers() {}
+
+    /**
+     * Check if {@link Byte#parseByte(String)} would succeed
+     * @param s value to check
+     * @return {@code true} if the value is a valid byte
+     */
+    static boolean isByte(CharSequence s) {
+        return isInteger(s, 0, s.length(), Byte.MIN_VALUE, Byte.MAX_VALUE);
+    }
+
+    /**
+     * Check if {@link Short#parseShort(String)} would succeed
+     * @param s value to check
+     * @return {@code true} if the value is a valid short
+     */
+    static boolean isShort(CharSequence s) {
+        return isInteger(s, 0, s.length(), Short.MIN_VALUE, Short.MAX_VALUE);
+    }
+
+    /**
+     * Check if {@link Integer#parseInt(String)} would succeed
+     * @param s value to check
+     * @return {@code true} if the value is a valid int
+     */
+    static boolean isInt(CharSequence s) {
+        return isInteger(s, 0, s.length(), Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Check if {@link Long#parseLong(String)} would succeed
+     * @param s value to check
+     * @return {@code true} if the value is a valid long
+     */
+    static boolean isLong(CharSequence s) {
+        return isInteger(s, 0, s.length(), Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Check if {@link Float#parseFloat(String)} would succeed, which has the same grammar as {@link Double#parseDouble(String)}
+     * @param s value to check
+     * @return {@code true} if the value is a valid float
+     */
+    static boolean isFloat(CharSequence s) {
+        return isFloatingPoint(s, 0, s.length());
+    }
+
+    /**
+     * Check if {@link Double#parseDouble(String)} would succeed
+     * @param s value to check
+     * @return {@code true} if the value is a valid double
+     */
+    static boolean isDouble(CharSequence s) {
+        return isFloatingPoint(s, 0, s.length());
+    }
+
+    /**
+     * Check if a value is {@code true} or {@code false}, ignoring case
+     * @param s value to check
+     * @return {@code true} if the value is a valid boolean
+     */
+    static boolean isBoolean(CharSequence s) {
+        return isBoolean(s, 0, s.length());
+    }
+
+    /**
+     * Check if a range is {@code true} or {@code false}, ignoring case
+     * @param s value to check
+     * @param start start of the range, inclusive
+     * @param end end of the range, exclusive
+     * @return {@code true} if the range is a valid boolean
+     */
+    static boolean isBoolean(CharSequence s, int start, int end) {
+        return regionMatchesIgnoreCase(s, start, end, "true") || regionMatchesIgnoreCase(s, start, end, "false");
+    }
+
+    /**
+     * Parse a range known to be a valid boolean
+     * @param s value to parse
+     * @param start start of the range, inclusive
+     * @param end end of the range, exclusive
+     * @return the parsed value
+     */
+    static boolean parseBoolean(CharSequence s, int start, int end) {
+        return regionMatchesIgnoreCase(s, start, end, "true");
+    }
+
+    /**
+     * Check if a range is a base 10 integer within bounds, with the grammar of {@link Long#parseLong(String)}:
+     * an optional {@code +} or {@code -} sign, followed by at least one digit, as defined by {@link Character#digit(char, int)}.
+     * @param s value to check
+     * @param start start of the range, inclusive
+     * @param end end of the range, exclusive
+     * @param min minimum value, inclusive
+     * @param max maximum value, inclusive
+     * @return {@code true} if the range is a valid integer within bounds
+     */
+    static boolean isInteger(CharSequence s, int start, int end, long min, long max) {
+        return accumulate(s, start, end, min, max) <= 0;
+    }
+
+    /**
+     * Parse a base 10 integer within bounds in a single pass, with the grammar of {@link Long#parseLong(String)}
+     * @param s value to parse
+     * @param start start of the range, inclusive
+     * @param end end of the range, exclusive
+     * @param min minimum value, inclusive
+     * @param max maximum value, inclusive
+     * @return the parsed value, or {@link Parsers#INVALID} if the range is invalid or out of bounds
+     */
+    static long parseInteger(CharSequence s, int start, int end, long min, long max) {
+        long negated = accumulate(s, start, end, min, max);
+        if (negated > 0) {
+            return INVALID;
+        }
+        return s.charAt(start) == '-' ? negated : -negated;
+    }
+
+    /**
+     * Accumulate the digits of an integer negatively, like {@link Long#parseLong(String)}, since |{@link Long#MIN_VALUE}| > {@link Long#MAX_VALUE}
+     * @return the negated magnitude of the value, or {@code 1} if the range is invalid or out of bounds
+     */
+    private static long accumulate(CharSequence s, int start, int end, long min, long max) {
+        int i = start;
+        if (i == end) {
+            return 1;
+        }
+        char first = s.charAt(i);
+        boolean negative = first == '-';
+        if (negative || first == '+') {
+            if (++i == end) {
+                return 1;
+            }
+        }
+        long limit = negative ? min : -max;
+        long multiplyMin = limit / 10;
+        long result = 0;
+        for (; i < end; ++i) {
+            int digit = Character.digit(s.charAt(i), 10);
+            if (digit < 0 || result < multiplyMin) {
+                return 1;
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return 1;
+            }
+            result -= digit;
+        }
+        return result;
+    }
+
+    /**
+     * Check if a range is a floating point value, with the grammar of {@link Double#parseDouble(String)}:
+     * leading and trailing whitespace, an optional sign, then {@code NaN}, {@code Infinity},
+     * a decimal or hexadecimal significand with an optional exponent, and an optional {@code f}, {@code F}, {@code d} or {@code D} suffix.
+     * @param s value to check
+     * @param start start of the range, inclusive
+     * @param end end of the range, exclusive
+     * @return {@code true} if the range is a valid floating point value
+     */
+    static boolean isFloatingPoint(CharSequence s, int start, int end) {
+        // Trimmed like String#trim
+        while (start < end && s.charAt(start) <= ' ') {
+            ++start;
+        }
+        while (end > start && s.charAt(end - 1) <= ' ') {
+            --end;
+        }
+        int i = start;
+        if (i == end) {
+            return false;
+        }
+        char ch = s.charAt(i);
+        if (ch == '+' || ch == '-') {
+            if (++i == end) {
+                return false;
+            }
+            ch = s.charAt(i);
+        }
+        if (ch == 'N') {
+            return regionMatches(s, i, end, "NaN");
+        }
+        if (ch == 'I') {
+            return regionMatches(s, i, end, "Infinity");
+        }
+        if (ch == '0' && i + 1 < end && (s.charAt(i + 1) == 'x' || s.charAt(i + 1) == 'X')) {
+            return isHexFloatingPoint(s, i + 2, end);
+        }
+
+        int digits = 0;
+        while (i < end && isDigit(s.charAt(i))) {
+            ++i;
+            ++digits;
+        }
+        if (i < end && s.charAt(i) == '.') {
+            ++i;
+            while (i < end && isDigit(s.charAt(i))) {
+                ++i;
+                ++digits;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+        if (i < end && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+            i = skipExponent(s, i + 1, end);
+            if (i < 0) {
+                return false;
+            }
+        }
+        return isSuffix(s, i, end);
+    }
+
+    /**
+     * Parse a value known to be valid by {@link Parsers#isDouble(CharSequence)}, with the same result as {@link Double#parseDouble(String)}.
+     * <p>
+     *     Plain decimals with at most 15 digits, such as {@code 8080} or {@code -0.25}, are parsed without allocating:
+     *     the digits and the power of ten are both exact doubles, so a single division is correctly rounded.
+     *     Anything else is passed to {@link Double#parseDouble(String)}.
+     * </p>
+     * @param s valid value to parse
+     * @return the parsed value
+     */
+    static double parseDouble(String s) {
+        int end = s.length();
+        int i = 0;
+        boolean negative = false;
+        char first = s.charAt(0);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            ++i;
+        }
+        long significand = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (; i < end; ++i) {
+            char ch = s.charAt(i);
+            if (isDigit(ch)) {
+                significand = significand * 10 + (ch - '0');
+                ++digits;
+                if (fractionDigits >= 0) {
+                    ++fractionDigits;
+                }
+            } else if (ch == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                // Exponent, suffix, whitespace, NaN, Infinity, or hexadecimal
+                return Double.parseDouble(s);
+            }
+        }
+        if (digits > MAX_FAST_DIGITS) {
+            return Double.parseDouble(s);
+        }
+        double value = fractionDigits > 0 ? significand / POWERS_OF_TEN[fractionDigits] : significand;
+        return negative ? -value : value;
+    }
+
+    /**
+     * Check the rest of a hexadecimal floating point value after {@code 0x}, where the binary exponent is required
+     */
+    private static boolean isHexFloatingPoint(CharSequence s, int i, int end) {
+        int digits = 0;
+        while (i < end && Character.digit(s.charAt(i), 16) >= 0 && s.charAt(i) < 128) {
+            ++i;
+            ++digits;
+        }
+        if (i < end && s.charAt(i) == '.') {
+            ++i;
+            while (i < end && Character.digit(s.charAt(i), 16) >= 0 && s.charAt(i) < 128) {
+                ++i;
+                ++digits;
+            }
+        }
+        if (digits == 0 || i == end || (s.charAt(i) != 'p' && s.charAt(i) != 'P')) {
+            return false;
+        }
+        i = skipExponent(s, i + 1, end);
+        return i >= 0 && isSuffix(s, i, end);
+    }
+
+    /**
+     * Skip a signed decimal exponent
+     * @return the index after the exponent, or {@code -1} if there is no digit
+     */
+    private static int skipExponent(CharSequence s, int i, int end) {
+        if (i < end && (s.charAt(i) == '+' || s.charAt(i) == '-')) {
+            ++i;
+        }
+        int digitsStart = i;
+        while (i < end && isDigit(s.charAt(i))) {
+            ++i;
+        }
+        return i == digitsStart ? -1 : i;
+    }
+
+    /**
+     * Check if the rest of a floating point value is empty, or a single type suffix
+     */
+    private static boolean isSuffix(CharSequence s, int i, int end) {
+        if (i == end) {
+            return true;
+        }
+        char ch = s.charAt(i);
+        return i + 1 == end && (ch == 'f' || ch == 'F' || ch == 'd' || ch == 'D');
+    }
+
+    private static boolean isDigit(char ch) {
+        return ch >= '0' && ch <= '9';
+    }
+
+    private static boolean regionMatches(CharSequence s, int start, int end, String expected) {
+        if (end - start != expected.length()) {
+            return false;
+        }
+        for (int i = 0; i < expected.length(); ++i) {
+            if (s.charAt(start + i) != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean regionMatchesIgnoreCase(CharSequence s, int start, int end, String lowerExpected) {
+        if (end - start != lowerExpected.length()) {
+            return false;
+        }
+        for (int i = 0; i < lowerExpected.length(); ++i) {
+            if (Character.toLowerCase(s.charAt(start + i)) != lowerExpected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
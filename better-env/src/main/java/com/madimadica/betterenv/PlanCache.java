@@ -0,0 +1,137 @@
+package com.madimadica.betterenv;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>
+ *     Internal source of the compiled {@link BindingPlan}s and {@link InterfacePlan}s of an {@link EnvBinder},
+ *     with the coercers and engine they are compiled with.
+ * </p>
+ * <p>
+ *     The {@link PlanCache#SHARED} cache is the {@link ClassValue} of each plan type, used only by {@link BetterEnv}.
+ *     Built binders get an isolated cache with their own copy of the coercers, which is garbage collected with the binder,
+ *     or no cache at all.
+ * </p>
+ */
+abstract class PlanCache {
+
+    /**
+     * Plans compiled with the {@link CoercerRegistry#getDefault()} registry and {@link BinderEngine#getDefault()} engine
+     */
+    static final PlanCache SHARED = new PlanCache(CoercerRegistry.getDefault(), BinderEngine.getDefault()) {
+        @Override
+        <T> BindingPlan<T> binding(Class<T> type) {
+            return BindingPlan.of(type);
+        }
+
+        @Override
+        <T> InterfacePlan<T> forInterface(Class<T> type) {
+            return InterfacePlan.of(type);
+        }
+    };
+
+    /**
+     * Coercers of every field of the compiled plans
+     */
+    final CoercerRegistry coercers;
+
+    /**
+     * Engine used to create the constructor and field binders
+     */
+    final BinderEngine engine;
+
+    private PlanCache(CoercerRegistry coercers, BinderEngine engine) {
+        this.coercers = coercers;
+        this.engine = engine;
+    }
+
+    /**
+     * Create a cache only used by one binder
+     * @param coercers coercers to compile fields with
+     * @param engine engine to compile plans with
+     * @return a new, empty cache
+     */
+    static PlanCache isolated(CoercerRegistry coercers, BinderEngine engine) {
+        return new Isolated(coercers, engine);
+    }
+
+    /**
+     * Create a cache which compiles plans on every lookup, keeping nothing between loads
+     * @param coercers coercers to compile fields with
+     * @param engine engine to compile plans with
+     * @return a new cache
+     */
+    static PlanCache uncached(CoercerRegistry coercers, BinderEngine engine) {
+        return new PlanCache(coercers, engine) {
+            @Override
+            <T> BindingPlan<T> binding(Class<T> type) {
+                return BindingPlan.compile(type, this);
+            }
+
+            @Override
+            <T> InterfacePlan<T> forInterface(Class<T> type) {
+                return InterfacePlan.compile(type, coercers);
+            }
+        };
+    }
+
+    /**
+     * Get the plan for a class or record
+     * @param type type to bind
+     * @return the binding plan for {@code type}
+     * @param <T> type to bind
+     * @throws InvalidEnvTypeException if the given type has problems with the declared fields or constructors.
+     */
+    abstract <T> BindingPlan<T> binding(Class<T> type);
+
+    /**
+     * Get the plan for an interface
+     * @param type interface to bind
+     * @return the plan for {@code type}
+     * @param <T> interface to bind
+     * @throws InvalidEnvTypeException if the interface has methods which cannot be implemented
+     */
+    abstract <T> InterfacePlan<T> forInterface(Class<T> type);
+
+    /**
+     * Plans cached by type in maps owned by a single binder.
+     * Compiling is not done inside {@link ConcurrentMap#computeIfAbsent}, since compiling a plan looks up the plans of nested types.
+     */
+    private static final class Isolated extends PlanCache {
+        private final ConcurrentMap<Class<?>, BindingPlan<?>> bindingPlans = new ConcurrentHashMap<>();
+        private final ConcurrentMap<Class<?>, InterfacePlan<?>> interfacePlans = new ConcurrentHashMap<>();
+
+        private Isolated(CoercerRegistry coercers, BinderEngine engine) {
+            super(coercers, engine);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        <T> BindingPlan<T> binding(Class<T> type) {
+            BindingPlan<?> plan = bindingPlans.get(type);
+            if (plan == null) {
+                BindingPlan<?> compiled = BindingPlan.compile(type, this);
+                plan = bindingPlans.putIfAbsent(type, compiled);
+                if (plan == null) {
+                    plan = compiled;
+                }
+            }
+            return (BindingPlan<T>) plan;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        <T> InterfacePlan<T> forInterface(Class<T> type) {
+            InterfacePlan<?> plan = interfacePlans.get(type);
+            if (plan == null) {
+                InterfacePlan<?> compiled = InterfacePlan.compile(type, coercers);
+                plan = interfacePlans.putIfAbsent(type, compiled);
+                if (plan == null) {
+                    plan = compiled;
+                }
+            }
+            return (InterfacePlan<T>) plan;
+        }
+    }
+}
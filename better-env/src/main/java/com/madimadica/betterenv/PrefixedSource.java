@@ -0,0 +1,65 @@
+package com.madimadica.betterenv;
+
+/**
+ * <p>
+ *     View of an {@link EnvSource} where every key is prepended with a prefix, used to bind one type for many tenants.
+ * </p>
+ * <p>
+ *     Lookups go through {@link EnvSource#get(String, String)}, so sources like {@link EnvSnapshot} resolve each prefixed key
+ *     without concatenating it. Diagnostics of invalid fields are reported with the prefixed keys,
+ *     see {@link BetterEnv#getEnvMetadata(FieldBinding, EnvSource)}.
+ * </p>
+ */
+final class PrefixedSource implements EnvSource {
+
+    /**
+     * Source of the prefixed keys
+     */
+    final EnvSource source;
+
+    /**
+     * Prefix prepended to every key
+     */
+    final String prefix;
+
+    private PrefixedSource(EnvSource source, String prefix) {
+        this.source = source;
+        this.prefix = prefix;
+    }
+
+    /**
+     * Create a view of a source with a key prefix
+     * @param source source of the prefixed keys
+     * @param prefix prefix prepended to every key
+     * @return the prefixed view, or {@code source} itself for an empty prefix
+     */
+    static EnvSource of(EnvSource source, String prefix) {
+        if (prefix.isEmpty()) {
+            return source;
+        }
+        if (source instanceof PrefixedSource) {
+            PrefixedSource prefixed = (PrefixedSource) source;
+            return new PrefixedSource(prefixed.source, prefixed.prefix.concat(prefix));
+        }
+        return new PrefixedSource(source, prefix);
+    }
+
+    /**
+     * Create the same view over a different source, such as one wrapping {@link PrefixedSource#source}
+     * @param source source of the prefixed keys
+     * @return a view with the same prefix
+     */
+    PrefixedSource withSource(EnvSource source) {
+        return new PrefixedSource(source, prefix);
+    }
+
+    @Override
+    public String get(String key) {
+        return source.get(prefix, key);
+    }
+
+    @Override
+    public String get(String prefix, String suffix) {
+        return source.get(this.prefix.concat(prefix), suffix);
+    }
+}
@@ -0,0 +1,56 @@
+package com.madimadica.betterenv;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+
+/**
+ * Internal {@link BinderEngine#REFLECTION} implementations using {@link Constructor#newInstance(Object...)} and {@link Field#set(Object, Object)}.
+ */
+final class ReflectiveBinders {
+
+    /**
+     * Hide the constructor
+     */
+    private ReflectiveBinders() {}
+
+    /**
+     * Instantiator using {@link ClassUtils#instantiate(Constructor, Object...)}
+     * @param <T> type to create
+     */
+    static final class ReflectiveInstantiator<T> implements Instantiator<T> {
+        private final Constructor<T> constructor;
+
+        ReflectiveInstantiator(Constructor<T> constructor) {
+            this.constructor = constructor;
+        }
+
+        @Override
+        public T newInstance(Object[] args) {
+            return ClassUtils.instantiate(constructor, args);
+        }
+    }
+
+    /**
+     * Setter using {@link Field#set(Object, Object)}. The field must already be accessible.
+     */
+    static final class ReflectiveFieldSetter implements FieldSetter {
+        private final Field field;
+
+        ReflectiveFieldSetter(Field field) {
+            this.field = field;
+        }
+
+        private InvalidEnvTypeException failure(IllegalAccessException e) {
+            return new InvalidEnvTypeException("Unable to bind field \"" + field.getName() + "\"", e);
+        }
+
+        @Override
+        public void set(Object target, Object value) {
+            try {
+                field.set(target, value);
+            } catch (IllegalAccessException e) {
+                throw failure(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.madimadica.betterenv;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Internal Java Flight Recorder event of resolving a single {@link Env} field, disabled unless a recording enables it
+ * since there is one per field. Only loaded when {@link EnvEvents#AVAILABLE}, and never records environment variable values.
+ */
+@Name("com.madimadica.betterenv.Resolve")
+@Label("Env Resolve")
+@Category("better-env")
+@Description("Resolving and coercing the value of a single field")
+@StackTrace(false)
+@Enabled(false)
+final class ResolveEvent extends jdk.jfr.Event {
+
+    @Label("Type")
+    Class<?> type;
+
+    @Label("Field")
+    String field;
+
+    @Label("Aliases Tried")
+    @Description("Number of environment variable names looked up")
+    int aliasesTried;
+
+    @Label("Key")
+    @Description("Name of the environment variable whose value was used, or @Env.Fallback")
+    String key;
+
+    @Label("Fallback Used")
+    boolean fallbackUsed;
+
+    @Label("Success")
+    @Description("If a valid value was found, or the field is not required")
+    boolean success;
+
+    @Label("Coercion Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long coercionTime;
+}
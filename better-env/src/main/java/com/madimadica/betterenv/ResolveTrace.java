@@ -0,0 +1,40 @@
+package com.madimadica.betterenv;
+
+/**
+ * Internal details of resolving a single field, filled in by {@link BetterEnv#resolve(FieldBinding, EnvSource, ResolveTrace)}
+ * for {@link ResolveEvent}s and {@link BindingListener}s. Never holds environment variable values.
+ */
+final class ResolveTrace {
+
+    /**
+     * If {@link ResolveTrace#coercionNanos} is measured, which costs two clock reads per coercion
+     */
+    final boolean timed;
+
+    /**
+     * Number of keys looked up
+     */
+    int aliasesTried;
+
+    /**
+     * Key whose value was used, {@link EnvMetadata#FALLBACK_KEY} for the fallback, or null if there was no valid value
+     */
+    String key;
+
+    /**
+     * Time spent checking and coercing values, only measured if {@link ResolveTrace#timed}
+     */
+    long coercionNanos;
+
+    ResolveTrace(boolean timed) {
+        this.timed = timed;
+    }
+
+    /**
+     * Check if the fallback was used
+     * @return {@code true} if the value came from {@link Env.Fallback}
+     */
+    boolean isFallbackUsed() {
+        return EnvMetadata.FALLBACK_KEY.equals(key);
+    }
+}
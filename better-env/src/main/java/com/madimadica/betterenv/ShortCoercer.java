@@ -0,0 +1,21 @@
+package com.madimadica.betterenv;
+
+/**
+ * {@link Coercer} specialized for {@code short}, required to register a coercer for {@code short.class}.
+ */
+@FunctionalInterface
+public interface ShortCoercer extends Coercer<Short> {
+
+    /**
+     * Coerce a value to a {@code short}.
+     * @param input environment variable value
+     * @return the coerced value
+     * @throws RuntimeException if the value is invalid for the type
+     */
+    short coerceShort(String input);
+
+    @Override
+    default Short coerce(String input) {
+        return coerceShort(input);
+    }
+}
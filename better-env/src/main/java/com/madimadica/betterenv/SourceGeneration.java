@@ -0,0 +1,140 @@
+package com.madimadica.betterenv;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>
+ *     Internal version of the source of {@link BetterEnv}, with the results derived from it:
+ *     the version stamp of the {@link TypedLookups} cache, and the canonical instances of {@link BetterEnv#shared(Class)}.
+ * </p>
+ * <p>
+ *     A new generation is published whenever {@link BetterEnv#setSource(EnvSource)} replaces the source or an {@link EnvWatcher} reloads a changed file.
+ *     The shared instances are owned by their generation, so they are released together as soon as it is replaced.
+ * </p>
+ */
+final class SourceGeneration {
+
+    /**
+     * Latest generation, replaced as a whole
+     */
+    private static volatile SourceGeneration current = new SourceGeneration(0, BetterEnv.getSource());
+
+    /**
+     * Incremented for each new generation
+     */
+    final long version;
+
+    /**
+     * Source of {@link BetterEnv} in this generation
+     */
+    final EnvSource source;
+
+    /**
+     * If values of {@link SourceGeneration#source} can be cached, see {@link SourceGeneration#isCacheable(EnvSource)}
+     */
+    final boolean cacheable;
+
+    /**
+     * Canonical instance of each type loaded with {@link BetterEnv#shared(Class)}
+     */
+    private final ConcurrentMap<Class<?>, SharedInstance<?>> shared = new ConcurrentHashMap<>();
+
+    private SourceGeneration(long version, EnvSource source) {
+        this.version = version;
+        this.source = source;
+        this.cacheable = isCacheable(source);
+    }
+
+    /**
+     * Get the latest generation
+     * @return the current generation
+     */
+    static SourceGeneration current() {
+        return current;
+    }
+
+    /**
+     * Start a new generation after {@link BetterEnv#setSource(EnvSource)}, discarding every cached result and shared instance
+     * @param source the new source of {@link BetterEnv}
+     */
+    static synchronized void sourceChanged(EnvSource source) {
+        current = new SourceGeneration(current.version + 1, source);
+    }
+
+    /**
+     * Start a new generation after the values of a source changed in place, such as an {@link EnvWatcher} reloading a file
+     */
+    static synchronized void invalidate() {
+        SourceGeneration generation = current;
+        current = new SourceGeneration(generation.version + 1, generation.source);
+    }
+
+    /**
+     * Check if the values of a source can only change when {@link SourceGeneration#invalidate()} is called:
+     * snapshots, {@code .env} files, watchers of them, and combinations of these
+     * @param source source to check
+     * @return if parsed values of the source can be cached
+     */
+    static boolean isCacheable(EnvSource source) {
+        if (source instanceof EnvSnapshot || source instanceof CompactEnvSnapshot || source instanceof DotEnvSource) {
+            return true;
+        }
+        if (source instanceof EnvWatcher) {
+            return isCacheable(((EnvWatcher) source).getFallback());
+        }
+        if (source instanceof PrefixedSource) {
+            return isCacheable(((PrefixedSource) source).source);
+        }
+        if (source instanceof CompositeEnvSource) {
+            for (EnvSource part : ((CompositeEnvSource) source).getSources()) {
+                if (!isCacheable(part)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Get the canonical instance of a type in this generation, loading it on first use.
+     * Concurrent first calls for the same type wait for a single load, instead of each loading their own instance.
+     * @param type type to load
+     * @return the shared instance
+     * @param <T> type to bind/return
+     * @throws InvalidEnvironmentException if the source has invalid environment variables required to bind to type {@code T}.
+     * @throws InvalidEnvTypeException if the given type {@code T} has problems with the declared fields or constructors.
+     */
+    @SuppressWarnings("unchecked")
+    <T> T shared(Class<T> type) {
+        SharedInstance<?> instance = shared.get(type);
+        if (instance == null) {
+            instance = shared.computeIfAbsent(type, t -> new SharedInstance<>());
+        }
+        return ((SharedInstance<T>) instance).get(type, source);
+    }
+
+    /**
+     * Shared instance of one type, loaded at most once unless loading fails
+     * @param <T> the loaded type
+     */
+    private static final class SharedInstance<T> {
+        private volatile T instance;
+
+        private T get(Class<T> type, EnvSource source) {
+            T loaded = instance;
+            if (loaded != null) {
+                return loaded;
+            }
+            synchronized (this) {
+                loaded = instance;
+                if (loaded == null) {
+                    loaded = BetterEnv.load(type, source);
+                    instance = loaded;
+                }
+                return loaded;
+            }
+        }
+    }
+}
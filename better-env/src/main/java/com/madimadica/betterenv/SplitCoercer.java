@@ -0,0 +1,452 @@
+package com.madimadica.betterenv;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>
+ *     Internal built-in coercers of array, {@link List}, {@link Set} and {@link Map} fields, which split a value on the
+ *     delimiters of {@link Env.Delimiter} and coerce each element with the scalar {@link Coercer} of its type.
+ * </p>
+ * <p>
+ *     Elements are trimmed like {@link String#trim()}, and a value which is only whitespace has no elements.
+ *     {@code int[]} and {@code long[]} elements are parsed straight from ranges of the value, without a {@link String} or box per element.
+ *     Collections are unmodifiable, and keep the order of the value.
+ * </p>
+ */
+abstract class SplitCoercer implements Coercer<Object>, CheckedCoercer {
+
+    /**
+     * Default of {@link Env.Delimiter#value()}
+     */
+    static final String DEFAULT_DELIMITER = ",";
+
+    /**
+     * Default of {@link Env.Delimiter#keyValue()}
+     */
+    static final String DEFAULT_KEY_VALUE = "=";
+
+    /**
+     * Separates elements
+     */
+    final String delimiter;
+
+    SplitCoercer(String delimiter) {
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Create the coercer of a field type, if it is an array, {@link List}, {@link Set} or {@link Map} of types with a coercer.
+     * @param type declared type
+     * @param genericType declared generic type, for the element types of collections
+     * @param delimiters delimiters of the field, or {@code null} for the defaults
+     * @param registry registry of the element coercers
+     * @return a new coercer, or {@code null} if the type cannot be split
+     * @throws InvalidEnvTypeException if a delimiter is empty
+     */
+    static SplitCoercer of(Class<?> type, Type genericType, Env.Delimiter delimiters, CoercerRegistry registry) {
+        String delimiter = delimiters == null ? DEFAULT_DELIMITER : delimiters.value();
+        String keyValue = delimiters == null ? DEFAULT_KEY_VALUE : delimiters.keyValue();
+        if (delimiter.isEmpty() || keyValue.isEmpty()) {
+            throw new InvalidEnvTypeException("@Env.Delimiter delimiters cannot be empty");
+        }
+        if (type == int[].class) {
+            return new IntArray(delimiter);
+        }
+        if (type == long[].class) {
+            return new LongArray(delimiter);
+        }
+        if (type.isArray()) {
+            Coercer<?> element = registry.findRegistered(type.getComponentType());
+            return element == null ? null : new ObjectArray(delimiter, type.getComponentType(), element);
+        }
+        if (type != List.class && type != Set.class && type != Map.class) {
+            return null;
+        }
+        if (!(genericType instanceof ParameterizedType)) {
+            return null;
+        }
+        Type[] arguments = ((ParameterizedType) genericType).getActualTypeArguments();
+        for (Type argument : arguments) {
+            if (!(argument instanceof Class)) {
+                return null;
+            }
+        }
+        Coercer<?> first = registry.findRegistered((Class<?>) arguments[0]);
+        if (first == null) {
+            return null;
+        }
+        if (type == List.class) {
+            return new ListCoercer(delimiter, first);
+        }
+        if (type == Set.class) {
+            return new SetCoercer(delimiter, first);
+        }
+        Coercer<?> second = registry.findRegistered((Class<?>) arguments[1]);
+        return second == null ? null : new MapCoercer(delimiter, keyValue, first, second);
+    }
+
+    @Override
+    public Object coerce(String input) {
+        Object value = tryCoerce(input);
+        if (value == INVALID) {
+            throw new IllegalArgumentException(invalidReason(input));
+        }
+        return value;
+    }
+
+    @Override
+    public String invalidReason(String input) {
+        int index = 0;
+        for (int start = 0; start <= input.length(); ++index) {
+            int end = end(input, start);
+            String reason = checkElement(input, start, end);
+            if (reason != null) {
+                return "Element at index " + index + ": " + reason;
+            }
+            start = end + delimiter.length();
+        }
+        return "Invalid element";
+    }
+
+    /**
+     * Check a single element, called to find the first invalid element after {@link SplitCoercer#tryCoerce(String)} failed
+     * @param input full value
+     * @param start start of the untrimmed element, inclusive
+     * @param end end of the untrimmed element, exclusive
+     * @return an error message which doesn't contain the value, or {@code null} if the element is valid
+     */
+    abstract String checkElement(String input, int start, int end);
+
+    /**
+     * Count the elements of a value
+     * @param input full value
+     * @return number of elements, zero if the value is only whitespace
+     */
+    final int count(String input) {
+        if (trimStart(input, 0, input.length()) == input.length()) {
+            return 0;
+        }
+        int count = 1;
+        for (int i = input.indexOf(delimiter); i >= 0; i = input.indexOf(delimiter, i + delimiter.length())) {
+            ++count;
+        }
+        return count;
+    }
+
+    /**
+     * Find the end of the element starting at an index
+     * @param input full value
+     * @param start start of the element
+     * @return end of the element, exclusive, which is the start of the next delimiter or the end of the value
+     */
+    final int end(String input, int start) {
+        int end = input.indexOf(delimiter, start);
+        return end < 0 ? input.length() : end;
+    }
+
+    /**
+     * Skip leading whitespace of a range, like {@link String#trim()}
+     */
+    static int trimStart(String input, int start, int end) {
+        while (start < end && input.charAt(start) <= ' ') {
+            ++start;
+        }
+        return start;
+    }
+
+    /**
+     * Skip trailing whitespace of a range, like {@link String#trim()}
+     */
+    static int trimEnd(String input, int start, int end) {
+        while (end > start && input.charAt(end - 1) <= ' ') {
+            --end;
+        }
+        return end;
+    }
+
+    /**
+     * Copy a trimmed element
+     */
+    static String element(String input, int start, int end) {
+        int trimmedStart = trimStart(input, start, end);
+        return input.substring(trimmedStart, trimEnd(input, trimmedStart, end));
+    }
+
+    /**
+     * Coerce an element with a scalar coercer, without letting it throw
+     * @param coercer coercer of the element type
+     * @param element trimmed element
+     * @return the coerced element, or {@link CheckedCoercer#INVALID} if invalid
+     */
+    static Object coerceElement(Coercer<?> coercer, String element) {
+        if (coercer instanceof CheckedCoercer) {
+            return ((CheckedCoercer) coercer).tryCoerce(element);
+        }
+        try {
+            Object value = coercer.coerce(element);
+            return value == null ? INVALID : value;
+        } catch (RuntimeException e) {
+            return INVALID;
+        }
+    }
+
+    /**
+     * Describe why an element is invalid, with the same redaction as field values
+     * @param coercer coercer of the element type
+     * @param element trimmed element
+     * @return an error message which doesn't contain the value, or {@code null} if the element is valid
+     */
+    static String elementError(Coercer<?> coercer, String element) {
+        if (coercer instanceof CheckedCoercer) {
+            CheckedCoercer checked = (CheckedCoercer) coercer;
+            return checked.tryCoerce(element) == INVALID ? checked.invalidReason(element) : null;
+        }
+        try {
+            return coercer.coerce(element) == null ? "Coercer returned null" : null;
+        } catch (RuntimeException e) {
+            if (e instanceof NumberFormatException || !CoercerRegistry.isBuiltIn(coercer)) {
+                return e.getClass().getSimpleName();
+            }
+            return e.getMessage();
+        }
+    }
+
+    /**
+     * Splits {@code int[]} without boxing
+     */
+    private static final class IntArray extends SplitCoercer {
+        IntArray(String delimiter) {
+            super(delimiter);
+        }
+
+        @Override
+        public Object tryCoerce(String input) {
+            int[] values = new int[count(input)];
+            for (int i = 0, start = 0; i < values.length; ++i) {
+                int end = end(input, start);
+                int trimmedStart = trimStart(input, start, end);
+                long value = Parsers.parseInteger(input, trimmedStart, trimEnd(input, trimmedStart, end), Integer.MIN_VALUE, Integer.MAX_VALUE);
+                if (value == Parsers.INVALID) {
+                    return INVALID;
+                }
+                values[i] = (int) value;
+                start = end + delimiter.length();
+            }
+            return values;
+        }
+
+        @Override
+        String checkElement(String input, int start, int end) {
+            int trimmedStart = trimStart(input, start, end);
+            boolean valid = Parsers.isInteger(input, trimmedStart, trimEnd(input, trimmedStart, end), Integer.MIN_VALUE, Integer.MAX_VALUE);
+            return valid ? null : "NumberFormatException";
+        }
+    }
+
+    /**
+     * Splits {@code long[]} without boxing
+     */
+    private static final class LongArray extends SplitCoercer {
+        LongArray(String delimiter) {
+            super(delimiter);
+        }
+
+        @Override
+        public Object tryCoerce(String input) {
+            long[] values = new long[count(input)];
+            for (int i = 0, start = 0; i < values.length; ++i) {
+                int end = end(input, start);
+                int trimmedStart = trimStart(input, start, end);
+                int trimmedEnd = trimEnd(input, trimmedStart, end);
+                long value = Parsers.parseInteger(input, trimmedStart, trimmedEnd, Long.MIN_VALUE, Long.MAX_VALUE);
+                // Also Long.MIN_VALUE itself
+                if (value == Parsers.INVALID && !Parsers.isInteger(input, trimmedStart, trimmedEnd, Long.MIN_VALUE, Long.MAX_VALUE)) {
+                    return INVALID;
+                }
+                values[i] = value;
+                start = end + delimiter.length();
+            }
+            return values;
+        }
+
+        @Override
+        String checkElement(String input, int start, int end) {
+            int trimmedStart = trimStart(input, start, end);
+            boolean valid = Parsers.isInteger(input, trimmedStart, trimEnd(input, trimmedStart, end), Long.MIN_VALUE, Long.MAX_VALUE);
+            return valid ? null : "NumberFormatException";
+        }
+    }
+
+    /**
+     * Splits arrays of any other type with a coercer, such as {@code String[]}
+     */
+    private static final class ObjectArray extends SplitCoercer {
+        private final Class<?> componentType;
+        private final Coercer<?> element;
+
+        ObjectArray(String delimiter, Class<?> componentType, Coercer<?> element) {
+            super(delimiter);
+            this.componentType = componentType;
+            this.element = element;
+        }
+
+        @Override
+        public Object tryCoerce(String input) {
+            int count = count(input);
+            Object values = Array.newInstance(componentType, count);
+            for (int i = 0, start = 0; i < count; ++i) {
+                int end = end(input, start);
+                Object value = coerceElement(element, element(input, start, end));
+                if (value == INVALID) {
+                    return INVALID;
+                }
+                Array.set(values, i, value);
+                start = end + delimiter.length();
+            }
+            return values;
+        }
+
+        @Override
+        String checkElement(String input, int start, int end) {
+            return elementError(element, element(input, start, end));
+        }
+    }
+
+    /**
+     * Splits into a {@link Collection} of any type with a coercer
+     */
+    private abstract static class CollectionCoercer extends SplitCoercer {
+        private final Coercer<?> element;
+
+        CollectionCoercer(String delimiter, Coercer<?> element) {
+            super(delimiter);
+            this.element = element;
+        }
+
+        /**
+         * Fill a collection with the coerced elements
+         * @return {@code false} if an element is invalid
+         */
+        final boolean addAll(String input, Collection<Object> values) {
+            int count = count(input);
+            for (int i = 0, start = 0; i < count; ++i) {
+                int end = end(input, start);
+                Object value = coerceElement(element, element(input, start, end));
+                if (value == INVALID) {
+                    return false;
+                }
+                values.add(value);
+                start = end + delimiter.length();
+            }
+            return true;
+        }
+
+        @Override
+        String checkElement(String input, int start, int end) {
+            return elementError(element, element(input, start, end));
+        }
+    }
+
+    private static final class ListCoercer extends CollectionCoercer {
+        ListCoercer(String delimiter, Coercer<?> element) {
+            super(delimiter, element);
+        }
+
+        @Override
+        public Object tryCoerce(String input) {
+            List<Object> values = new ArrayList<>(count(input));
+            return addAll(input, values) ? Collections.unmodifiableList(values) : INVALID;
+        }
+    }
+
+    private static final class SetCoercer extends CollectionCoercer {
+        SetCoercer(String delimiter, Coercer<?> element) {
+            super(delimiter, element);
+        }
+
+        @Override
+        public Object tryCoerce(String input) {
+            Set<Object> values = new LinkedHashSet<>();
+            return addAll(input, values) ? Collections.unmodifiableSet(values) : INVALID;
+        }
+    }
+
+    /**
+     * Splits into a {@link Map} of entries, which are split into a key and value on the first {@link Env.Delimiter#keyValue()}
+     */
+    private static final class MapCoercer extends SplitCoercer {
+        private final String keyValue;
+        private final Coercer<?> key;
+        private final Coercer<?> value;
+
+        MapCoercer(String delimiter, String keyValue, Coercer<?> key, Coercer<?> value) {
+            super(delimiter);
+            this.keyValue = keyValue;
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public Object tryCoerce(String input) {
+            int count = count(input);
+            Map<Object, Object> entries = new LinkedHashMap<>();
+            for (int i = 0, start = 0; i < count; ++i) {
+                int end = end(input, start);
+                int separator = input.indexOf(keyValue, start);
+                if (separator < 0 || separator >= end) {
+                    return INVALID;
+                }
+                Object coercedKey = coerceElement(key, element(input, start, separator));
+                Object coercedValue = coerceElement(value, element(input, separator + keyValue.length(), end));
+                if (coercedKey == INVALID || coercedValue == INVALID || entries.put(coercedKey, coercedValue) != null) {
+                    return INVALID;
+                }
+                start = end + delimiter.length();
+            }
+            return Collections.unmodifiableMap(entries);
+        }
+
+        @Override
+        public String invalidReason(String input) {
+            // Duplicate keys are only found by coercing every entry
+            Set<Object> keys = new LinkedHashSet<>();
+            int count = count(input);
+            for (int i = 0, start = 0; i < count; ++i) {
+                int end = end(input, start);
+                String reason = checkElement(input, start, end);
+                if (reason == null && !keys.add(coerceElement(key, element(input, start, input.indexOf(keyValue, start))))) {
+                    reason = "Duplicate key";
+                }
+                if (reason != null) {
+                    return "Element at index " + i + ": " + reason;
+                }
+                start = end + delimiter.length();
+            }
+            return "Invalid element";
+        }
+
+        @Override
+        String checkElement(String input, int start, int end) {
+            int separator = input.indexOf(keyValue, start);
+            if (separator < 0 || separator >= end) {
+                return "Expected a key and value separated by \"" + keyValue + "\"";
+            }
+            String keyError = elementError(key, element(input, start, separator));
+            if (keyError != null) {
+                return "Key: " + keyError;
+            }
+            String valueError = elementError(value, element(input, separator + keyValue.length(), end));
+            return valueError == null ? null : "Value: " + valueError;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.madimadica.betterenv;
+
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * <p>
+ *     Internal cache of the parsed results of {@link BetterEnv#get(String)}, {@link BetterEnv#getInt(String)} and the other typed lookups,
+ *     so repeat lookups of the same name are a single map read with no parsing.
+ * </p>
+ * <p>
+ *     Each target type has a lock-free map from the environment variable name to the parsed result,
+ *     stamped with the {@link SourceGeneration} version it was parsed in, so a new version invalidates every cached result at once.
+ *     Results are only cached for sources whose values cannot otherwise change, see {@link SourceGeneration#isCacheable(EnvSource)}.
+ * </p>
+ */
+final class TypedLookups {
+
+    /**
+     * Most names cached per target type, so lookups of unbounded generated names can't grow the cache forever
+     */
+    static final int MAX_CACHED_NAMES = 1024;
+
+    static final Lookup<Optional<String>> STRING = new Lookup<>(Optional::ofNullable);
+
+    static final Lookup<Optional<Integer>> INT = new Lookup<>(value -> {
+        if (value == null) {
+            return Optional.empty();
+        }
+        long parsed = Parsers.parseInteger(value, 0, value.length(), Integer.MIN_VALUE, Integer.MAX_VALUE);
+        return parsed == Parsers.INVALID ? Optional.empty() : Optional.of((int) parsed);
+    });
+
+    static final Lookup<Optional<Long>> LONG = new Lookup<>(value -> {
+        if (value == null) {
+            return Optional.empty();
+        }
+        long parsed = Parsers.parseInteger(value, 0, value.length(), Long.MIN_VALUE, Long.MAX_VALUE);
+        if (parsed == Parsers.INVALID && !Parsers.isLong(value)) {
+            return Optional.empty();
+        }
+        return Optional.of(parsed);
+    });
+
+    static final Lookup<OptionalInt> AS_INT = new Lookup<>(value -> {
+        if (value == null) {
+            return OptionalInt.empty();
+        }
+        long parsed = Parsers.parseInteger(value, 0, value.length(), Integer.MIN_VALUE, Integer.MAX_VALUE);
+        return parsed == Parsers.INVALID ? OptionalInt.empty() : OptionalInt.of((int) parsed);
+    });
+
+    static final Lookup<OptionalLong> AS_LONG = new Lookup<>(value -> {
+        if (value == null) {
+            return OptionalLong.empty();
+        }
+        long parsed = Parsers.parseInteger(value, 0, value.length(), Long.MIN_VALUE, Long.MAX_VALUE);
+        if (parsed == Parsers.INVALID && !Parsers.isLong(value)) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(parsed);
+    });
+
+    static final Lookup<OptionalDouble> AS_DOUBLE = new Lookup<>(value -> {
+        if (value == null || !Parsers.isDouble(value)) {
+            return OptionalDouble.empty();
+        }
+        return OptionalDouble.of(Parsers.parseDouble(value));
+    });
+
+    static final Lookup<Optional<Boolean>> AS_BOOLEAN = new Lookup<>(value -> {
+        if (value == null || !Parsers.isBoolean(value)) {
+            return Optional.empty();
+        }
+        return Optional.of(Parsers.parseBoolean(value, 0, value.length()));
+    });
+
+    private TypedLookups() {}
+
+    /**
+     * Typed lookups of one target type, with the parsed result of each name
+     * @param <R> parsed result, such as {@code Optional<Integer>}
+     */
+    static final class Lookup<R> {
+        private final Function<String, R> parser;
+        private final ConcurrentMap<String, Cached<R>> byName = new ConcurrentHashMap<>();
+
+        private Lookup(Function<String, R> parser) {
+            this.parser = parser;
+        }
+
+        /**
+         * Get the parsed value of an environment variable of {@link BetterEnv#getSource()}
+         * @param name name of the environment variable
+         * @return the parsed result, the same instance for repeat lookups of a cacheable source
+         */
+        R get(String name) {
+            SourceGeneration generation = SourceGeneration.current();
+            if (!generation.cacheable) {
+                return parser.apply(generation.source.get(name));
+            }
+            Cached<R> cached = byName.get(name);
+            if (cached != null && cached.version == generation.version) {
+                return cached.value;
+            }
+            R value = parser.apply(generation.source.get(name));
+            if (cached != null || byName.size() < MAX_CACHED_NAMES) {
+                byName.put(name, new Cached<>(generation.version, value));
+            }
+            return value;
+        }
+
+        /**
+         * Get the number of cached names, including results of previous versions
+         * @return the number of cached names
+         */
+        int size() {
+            return byName.size();
+        }
+    }
+
+    /**
+     * Parsed result of one name
+     */
+    private static final class Cached<R> {
+        private final long version;
+        private final R value;
+
+        private Cached(long version, R value) {
+            this.version = version;
+            this.value = value;
+        }
+    }
+}
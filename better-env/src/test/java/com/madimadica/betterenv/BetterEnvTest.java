@@ -0,0 +1,383 @@
+package com.madimadica.betterenv;
+
+import com.madimadica.betterenv.pojos.*;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// run configuration env:
+// primitive_boolean=true;primitive_byte=1;primitive_char=A;primitive_double=8;primitive_float=7;primitive_int=3;primitive_long=4;primitive_short=2;reference_BigDecimal=0.123;reference_BigInteger=123;reference_Boolean=false;reference_Byte=9;reference_Character=Z;reference_Double=16;reference_Float=15;reference_Integer=11;reference_Long=12;reference_Short=10;reference_String=foo;reference_Blank=;reference_bar=bar
+class BetterEnvTest {
+
+    @Test
+    void load_primitivesAndWrappers() {
+        PojoPrimitiveAndWrapperTypes pojo = BetterEnv.load(PojoPrimitiveAndWrapperTypes.class);
+        assertEquals(1, pojo.getPrimitiveByte());
+        assertEquals(2, pojo.getPrimitiveShort());
+        assertEquals(3, pojo.getPrimitiveInt());
+        assertEquals(4L, pojo.getPrimitiveLong());
+        assertEquals('A', pojo.getPrimitiveChar());
+        assertTrue(pojo.getPrimitiveBoolean());
+        assertEquals(7.0f, pojo.getPrimitiveFloat());
+        assertEquals(8.0, pojo.getPrimitiveDouble());
+
+        assertEquals(Byte.valueOf((byte) 9), pojo.getReferenceByte());
+        assertEquals(Short.valueOf((short) 10), pojo.getReferenceShort());
+        assertEquals(Integer.valueOf(11), pojo.getReferenceInteger());
+        assertEquals(Long.valueOf(12), pojo.getReferenceLong());
+        assertEquals(Character.valueOf('Z'), pojo.getReferenceCharacter());
+        assertFalse(pojo.getReferenceBoolean());
+        assertEquals(Float.valueOf(15.0f), pojo.getReferenceFloat());
+        assertEquals(Double.valueOf(16.0), pojo.getReferenceDouble());
+    }
+
+    @Test
+    void load_stringsAndMath() {
+        PojoStringsAndMath pojo = BetterEnv.load(PojoStringsAndMath.class);
+        assertEquals("foo", pojo.getReferenceString());
+        assertEquals(new BigInteger("123"), pojo.getReferenceBigInteger());
+        assertEquals(new BigDecimal("0.123"), pojo.getReferenceBigDecimal());
+    }
+
+    @Test
+    void load_withNull() {
+        PojoNullable pojo = BetterEnv.load(PojoNullable.class);
+        assertEquals("foo", pojo.getReferenceString());
+        assertNull(pojo.getNullReference());
+    }
+
+    @Test
+    void load_withNullWithFallback() {
+        PojoNullableFallback pojo = BetterEnv.load(PojoNullableFallback.class);
+        assertEquals("foo", pojo.getReferenceString());
+        assertEquals("hi", pojo.getReferenceFallback());
+    }
+
+    @Test
+    void load_multipleTries() {
+        PojoMultipleTries pojo = BetterEnv.load(PojoMultipleTries.class);
+        assertEquals("foo", pojo.getS());
+    }
+
+    @Test
+    void load_withBlank() {
+        PojoWithBlank pojo = BetterEnv.load(PojoWithBlank.class);
+        assertEquals("", pojo.getBlank());
+    }
+
+    @Test
+    void load_withoutBlank() {
+        assertThrows(InvalidEnvironmentException.class, () -> BetterEnv.load(PojoWithoutBlank.class));
+    }
+
+    @Test
+    void load_someAnnotations() {
+        PojoSomeAnnotations pojo = BetterEnv.load(PojoSomeAnnotations.class);
+        assertEquals("foo", pojo.getReferenceString());
+        assertNull(pojo.getX());
+        assertNull(pojo.getY());
+    }
+
+    @Test
+    void load_someAnnotationsOverloaded() {
+        PojoSomeAnnotationsOverloaded pojo = BetterEnv.load(PojoSomeAnnotationsOverloaded.class);
+        assertEquals("foo", pojo.getReferenceString());
+        assertEquals("x", pojo.getX());
+        assertEquals("y", pojo.getY());
+    }
+
+
+    @Test
+    void load_someAnnotationsOverloadedFinal() {
+        PojoSomeAnnotationsOverloadedFinal pojo = BetterEnv.load(PojoSomeAnnotationsOverloadedFinal.class);
+        assertEquals("foo", pojo.getReferenceString());
+        assertEquals("x", pojo.getX());
+        assertEquals("y", pojo.getY());
+    }
+
+    @Test
+    void load_allArgs() {
+        PojoAnnotationsAllArgs pojo = BetterEnv.load(PojoAnnotationsAllArgs.class);
+        assertEquals("foo", pojo.getS());
+        assertEquals("bar", pojo.getBar());
+    }
+
+    @Test
+    void load_allArgsFinal() {
+        PojoAnnotationsAllArgsFinal pojo = BetterEnv.load(PojoAnnotationsAllArgsFinal.class);
+        assertEquals("foo", pojo.getS());
+        assertEquals("bar", pojo.getBar());
+    }
+
+    @Test
+    void load_withSource() {
+        Map<String, String> env = new HashMap<>();
+        env.put("reference_na2", "bar");
+        PojoMultipleTries pojo = BetterEnv.load(PojoMultipleTries.class, EnvSnapshot.of(env));
+        assertEquals("bar", pojo.getS());
+        assertThrows(InvalidEnvironmentException.class, () -> BetterEnv.load(PojoMultipleTries.class, EnvSnapshot.of(new HashMap<>())));
+    }
+
+    @Test
+    void load_stopsAtFirstValidKey() {
+        List<String> requested = new ArrayList<>();
+        PojoMultipleTries pojo = BetterEnv.load(PojoMultipleTries.class, key -> {
+            requested.add(key);
+            return key.equals("reference_na2") ? "bar" : null;
+        });
+        assertEquals("bar", pojo.getS());
+        assertEquals(Arrays.asList("reference_na1", "reference_na2"), requested);
+
+        requested.clear();
+        InvalidEnvironmentException e = assertThrows(InvalidEnvironmentException.class, () -> BetterEnv.load(PojoMultipleTries.class, key -> {
+            requested.add(key);
+            return key.equals("reference_na2") ? " " : null;
+        }));
+        assertEquals("Failed to load env data for type \"" + PojoMultipleTries.class.getName() + "\":"
+                + "\n\tField \"s\":"
+                + "\n\t\t\"reference_na1\": Missing environment variable"
+                + "\n\t\t\"reference_na2\": Cannot be blank"
+                + "\n\t\t\"reference_String\": Missing environment variable", e.getMessage());
+        // Resolved once without diagnostics, then again with them
+        assertEquals(6, requested.size());
+    }
+
+    @Test
+    void load_nested() {
+        Map<String, String> env = new HashMap<>();
+        env.put("APP_NAME", "app");
+        env.put("PRIMARY_DB_URL", "jdbc:primary");
+        env.put("REPLICA_DB_URL", "jdbc:replica");
+        env.put("REPLICA_DB_PORT", "6543");
+        PojoNestedConfig pojo = BetterEnv.load(PojoNestedConfig.class, EnvSnapshot.of(env));
+        assertEquals("app", pojo.getName());
+        assertEquals("jdbc:primary", pojo.getPrimary().getUrl());
+        assertEquals(5432, pojo.getPrimary().getPort());
+        assertEquals("jdbc:replica", pojo.getReplica().getUrl());
+        assertEquals(6543, pojo.getReplica().getPort());
+
+        env.remove("PRIMARY_DB_URL");
+        env.put("REPLICA_DB_PORT", "x");
+        env.put("REPLICA_DB_URL", " ");
+        InvalidEnvironmentException e = assertThrows(InvalidEnvironmentException.class, () -> BetterEnv.load(PojoNestedConfig.class, EnvSnapshot.of(env)));
+        assertEquals("Failed to load env data for type \"" + PojoNestedConfig.class.getName() + "\":"
+                + "\n\tField \"primary.url\":"
+                + "\n\t\t\"PRIMARY_DB_URL\": Missing environment variable"
+                + "\n\tField \"replica.url\":"
+                + "\n\t\t\"REPLICA_DB_URL\": Cannot be blank", e.getMessage());
+    }
+
+    @Test
+    void tryLoad() {
+        Map<String, String> env = new HashMap<>();
+        env.put("reference_na2", "bar");
+        LoadResult<PojoMultipleTries> loaded = BetterEnv.tryLoad(PojoMultipleTries.class, EnvSnapshot.of(env));
+        assertTrue(loaded.isSuccess());
+        assertEquals("bar", loaded.get().getS());
+        assertTrue(loaded.getFailures().isEmpty());
+        assertThrows(java.util.NoSuchElementException.class, loaded::toException);
+
+        env.put("reference_na2", " ");
+        LoadResult<PojoMultipleTries> failed = BetterEnv.tryLoad(PojoMultipleTries.class, EnvSnapshot.of(env));
+        assertFalse(failed.isSuccess());
+        assertFalse(failed.toOptional().isPresent());
+        assertEquals(1, failed.getFailures().size());
+        LoadResult.FieldFailure failure = failed.getFailures().get(0);
+        assertEquals("s", failure.getField());
+        assertEquals(3, failure.getAliasFailures().size());
+        assertEquals("reference_na2", failure.getAliasFailures().get(1).getKey());
+        assertEquals("Cannot be blank", failure.getAliasFailures().get(1).getError());
+
+        InvalidEnvironmentException e = assertThrows(InvalidEnvironmentException.class, failed::get);
+        assertEquals(assertThrows(InvalidEnvironmentException.class, () -> BetterEnv.load(PojoMultipleTries.class, EnvSnapshot.of(env))).getMessage(),
+                e.getMessage());
+    }
+
+    @Test
+    void tryLoad_nested() {
+        Map<String, String> env = new HashMap<>();
+        env.put("APP_NAME", "app");
+        env.put("PRIMARY_DB_URL", "jdbc:primary");
+        env.put("REPLICA_DB_PORT", "x");
+        LoadResult<PojoNestedConfig> failed = BetterEnv.tryLoad(PojoNestedConfig.class, EnvSnapshot.of(env));
+        assertEquals("[replica.url[REPLICA_DB_URL: Missing environment variable]]", failed.getFailures().toString());
+    }
+
+    @Test
+    void shared() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        BindingListener counter = new BindingListener() {
+            @Override
+            public void onBindStart(Class<?> type) {
+                if (type == PojoMultipleTries.class) {
+                    loads.incrementAndGet();
+                }
+            }
+        };
+        EnvSource original = BetterEnv.getSource();
+        BetterEnv.addListener(counter);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            BetterEnv.setSource(EnvSnapshot.of(Collections.singletonMap("reference_String", "first")));
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<PojoMultipleTries>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; ++i) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return BetterEnv.shared(PojoMultipleTries.class);
+                }));
+            }
+            start.countDown();
+            PojoMultipleTries first = futures.get(0).get();
+            for (Future<PojoMultipleTries> future : futures) {
+                assertSame(first, future.get());
+            }
+            assertEquals("first", first.getS());
+            assertEquals(1, loads.get());
+            assertNotSame(first, BetterEnv.load(PojoMultipleTries.class));
+
+            BetterEnv.setSource(EnvSnapshot.of(Collections.singletonMap("reference_String", "second")));
+            PojoMultipleTries second = BetterEnv.shared(PojoMultipleTries.class);
+            assertEquals("second", second.getS());
+            assertSame(second, BetterEnv.shared(PojoMultipleTries.class));
+
+            BetterEnv.setSource(EnvSnapshot.of(Collections.emptyMap()));
+            assertThrows(InvalidEnvironmentException.class, () -> BetterEnv.shared(PojoNullable.class));
+            assertThrows(InvalidEnvironmentException.class, () -> BetterEnv.shared(PojoNullable.class));
+        } finally {
+            executor.shutdown();
+            BetterEnv.removeListener(counter);
+            BetterEnv.setSource(original);
+        }
+    }
+
+    @Test
+    void setSource() {
+        EnvSource original = BetterEnv.getSource();
+        try {
+            Map<String, String> env = new HashMap<>();
+            env.put("reference_String", "baz");
+            env.put("primitive_int", "5");
+            BetterEnv.setSource(EnvSnapshot.of(env));
+            assertEquals("baz", BetterEnv.load(PojoMultipleTries.class).getS());
+            assertEquals("baz", BetterEnv.get("reference_String").orElse(null));
+            assertEquals(5, BetterEnv.getInt("primitive_int").orElse(null));
+            assertEquals(5L, BetterEnv.getLong("primitive_int").orElse(null));
+            assertFalse(BetterEnv.get("reference_bar").isPresent());
+        } finally {
+            BetterEnv.setSource(original);
+        }
+        assertEquals("foo", BetterEnv.load(PojoMultipleTries.class).getS());
+        assertThrows(NullPointerException.class, () -> BetterEnv.setSource(null));
+    }
+
+    @Test
+    void get() {
+        assertFalse(BetterEnv.get("ref_na").isPresent());
+        Optional<String> s = BetterEnv.get("reference_String");
+        assertTrue(s.isPresent());
+        assertEquals("foo", s.get());
+    }
+
+    @Test
+    void getInt() {
+        assertFalse(BetterEnv.get("primitive_integer").isPresent());
+        Optional<Integer> x = BetterEnv.getInt("primitive_int");
+        assertTrue(x.isPresent());
+        assertEquals(3, x.get());
+    }
+
+    @Test
+    void getLong() {
+        assertFalse(BetterEnv.get("primitive_integer").isPresent());
+        Optional<Long> x = BetterEnv.getLong("primitive_int");
+        assertTrue(x.isPresent());
+        assertEquals(3L, x.get());
+    }
+
+    @Test
+    void givenTypedLookups_thenCachedUntilSourceReplaced() {
+        EnvSource original = BetterEnv.getSource();
+        try {
+            Map<String, String> env = new HashMap<>();
+            env.put("CACHED_PORT", "8080");
+            BetterEnv.setSource(EnvSnapshot.of(env));
+            Optional<Integer> port = BetterEnv.getInt("CACHED_PORT");
+            assertEquals(8080, port.get());
+            assertSame(port, BetterEnv.getInt("CACHED_PORT"));
+            assertEquals(8080L, BetterEnv.getLong("CACHED_PORT").get());
+            assertEquals(8080, BetterEnv.getInt("CACHED_PORT", -1));
+
+            env.put("CACHED_PORT", "9090");
+            BetterEnv.setSource(EnvSnapshot.of(env));
+            assertEquals(9090, BetterEnv.getInt("CACHED_PORT").get());
+            assertEquals(9090, BetterEnv.getAsInt("CACHED_PORT").getAsInt());
+
+            // Values of arbitrary sources may change at any time, so they are never cached
+            BetterEnv.setSource(env::get);
+            assertEquals(9090, BetterEnv.getInt("CACHED_PORT", -1));
+            env.put("CACHED_PORT", "x");
+            assertEquals(-1, BetterEnv.getInt("CACHED_PORT", -1));
+            assertFalse(BetterEnv.getInt("CACHED_PORT").isPresent());
+        } finally {
+            BetterEnv.setSource(original);
+        }
+        assertEquals(3, BetterEnv.getInt("primitive_int").get());
+    }
+
+    @Test
+    void getAsPrimitive() {
+        OptionalInt i = BetterEnv.getAsInt("primitive_int");
+        assertTrue(i.isPresent());
+        assertEquals(3, i.getAsInt());
+        assertFalse(BetterEnv.getAsInt("reference_String").isPresent());
+        assertFalse(BetterEnv.getAsInt("ref_na").isPresent());
+
+        OptionalLong l = BetterEnv.getAsLong("primitive_long");
+        assertTrue(l.isPresent());
+        assertEquals(4L, l.getAsLong());
+        assertFalse(BetterEnv.getAsLong("reference_Blank").isPresent());
+
+        OptionalDouble d = BetterEnv.getAsDouble("reference_BigDecimal");
+        assertTrue(d.isPresent());
+        assertEquals(0.123, d.getAsDouble());
+        assertFalse(BetterEnv.getAsDouble("reference_bar").isPresent());
+
+        assertEquals(Optional.of(true), BetterEnv.getAsBoolean("primitive_boolean"));
+        assertEquals(Optional.of(false), BetterEnv.getAsBoolean("reference_Boolean"));
+        assertFalse(BetterEnv.getAsBoolean("reference_String").isPresent());
+    }
+
+    @Test
+    void getWithDefault() {
+        assertEquals(3, BetterEnv.getInt("primitive_int", -1));
+        assertEquals(-1, BetterEnv.getInt("reference_String", -1));
+        assertEquals(-1, BetterEnv.getInt("ref_na", -1));
+        assertEquals(4L, BetterEnv.getLong("primitive_long", -1L));
+        assertEquals(-1L, BetterEnv.getLong("reference_Blank", -1L));
+        assertEquals(8.0, BetterEnv.getDouble("primitive_double", -1.0));
+        assertEquals(-1.0, BetterEnv.getDouble("reference_bar", -1.0));
+        assertTrue(BetterEnv.getBoolean("primitive_boolean", false));
+        assertTrue(BetterEnv.getBoolean("reference_String", true));
+        assertFalse(BetterEnv.getBoolean("ref_na", false));
+    }
+}
+
@@ -0,0 +1,55 @@
+package com.madimadica.betterenv;
+
+import com.madimadica.betterenv.pojos.*;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinderEngineTest {
+
+    @Test
+    void fromProperty() {
+        assertEquals(BinderEngine.METHOD_HANDLES, BinderEngine.fromProperty(null));
+        assertEquals(BinderEngine.METHOD_HANDLES, BinderEngine.fromProperty("unknown"));
+        assertEquals(BinderEngine.METHOD_HANDLES, BinderEngine.fromProperty("method_handles"));
+        assertEquals(BinderEngine.REFLECTION, BinderEngine.fromProperty("reflection"));
+        assertEquals(BinderEngine.REFLECTION, BinderEngine.fromProperty(" REFLECTION "));
+    }
+
+    @Test
+    void givenAllArgsConstructor_thenInstantiate() {
+        for (BinderEngine engine : BinderEngine.values()) {
+            BindingPlan<PojoAnnotationsAllArgs> plan = BindingPlan.compile(PojoAnnotationsAllArgs.class, engine);
+            PojoAnnotationsAllArgs pojo = plan.newInstance(new Object[] {"foo", "bar"});
+            assertEquals("foo", pojo.getS());
+            assertEquals("bar", pojo.getBar());
+        }
+    }
+
+    @Test
+    void givenNoArgsConstructor_thenSetFields() {
+        for (BinderEngine engine : BinderEngine.values()) {
+            BindingPlan<PojoStringsAndMath> plan = BindingPlan.compile(PojoStringsAndMath.class, engine);
+            PojoStringsAndMath pojo = plan.newInstance(new Object[] {"foo", new BigInteger("1"), new BigDecimal("2.5")});
+            assertEquals("foo", pojo.getReferenceString());
+            assertEquals(new BigInteger("1"), pojo.getReferenceBigInteger());
+            assertEquals(new BigDecimal("2.5"), pojo.getReferenceBigDecimal());
+        }
+    }
+
+    @Test
+    void givenMissingOptionalPrimitive_thenSameExceptionForEachEngine() {
+        EnvSnapshot source = EnvSnapshot.of(java.util.Collections.singletonMap("reference_String", "foo"));
+        for (BinderEngine engine : BinderEngine.values()) {
+            EnvBinder binder = EnvBinder.builder().source(source).engine(engine).build();
+            for (Class<?> type : new Class<?>[] {PojoOptionalPrimitives.AllArgs.class, PojoOptionalPrimitives.NoArgs.class}) {
+                InvalidEnvTypeException e = assertThrows(InvalidEnvTypeException.class, () -> binder.load(type));
+                assertEquals("Unable to bind field \"missing\"", e.getMessage());
+                assertThrows(InvalidEnvTypeException.class, () -> binder.tryLoad(type));
+            }
+        }
+    }
+}
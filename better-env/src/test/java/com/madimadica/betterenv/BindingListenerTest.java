@@ -0,0 +1,74 @@
+package com.madimadica.betterenv;
+
+import com.madimadica.betterenv.pojos.PojoMultipleTries;
+import com.madimadica.betterenv.pojos.PojoNullable;
+import com.madimadica.betterenv.pojos.PojoNullableFallback;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BindingListenerTest {
+
+    private final List<String> calls = Collections.synchronizedList(new ArrayList<>());
+
+    private final BindingListener listener = new BindingListener() {
+        @Override
+        public void onBindStart(Class<?> type) {
+            calls.add("start " + type.getSimpleName());
+        }
+
+        @Override
+        public void onFieldResolved(Class<?> type, String field, String key) {
+            calls.add(field + "=" + key);
+        }
+
+        @Override
+        public void onBindEnd(Class<?> type) {
+            calls.add("end " + type.getSimpleName());
+        }
+
+        @Override
+        public void onBindFailure(Class<?> type, RuntimeException failure) {
+            calls.add("failure " + failure.getClass().getSimpleName());
+        }
+    };
+
+    @AfterEach
+    void removeListener() {
+        BetterEnv.removeListener(listener);
+    }
+
+    @Test
+    void givenListener_whenLoad_thenNotifiedWithKeyNames() {
+        BetterEnv.addListener(listener);
+        EnvSnapshot source = EnvSnapshot.of(Collections.singletonMap("reference_String", "secret"));
+
+        BetterEnv.load(PojoMultipleTries.class, source);
+        BetterEnv.load(PojoNullableFallback.class, source);
+        assertThrows(InvalidEnvironmentException.class, () -> BetterEnv.load(PojoNullable.class, EnvSnapshot.of(Collections.emptyMap())));
+
+        assertEquals(Arrays.asList(
+                "start PojoMultipleTries", "s=reference_String", "end PojoMultipleTries",
+                "start PojoNullableFallback", "referenceString=reference_String", "referenceFallback=@Env.Fallback", "end PojoNullableFallback",
+                "start PojoNullable", "referenceString=null", "failure InvalidEnvironmentException"
+        ), calls);
+        assertFalse(calls.toString().contains("secret"));
+    }
+
+    @Test
+    void givenRemovedListener_whenLoad_thenNotNotified() {
+        BetterEnv.addListener(listener);
+        assertTrue(BetterEnv.removeListener(listener));
+        assertFalse(BetterEnv.removeListener(listener));
+        assertNull(BindingListeners.registered());
+
+        BetterEnv.load(PojoMultipleTries.class, EnvSnapshot.of(Collections.singletonMap("reference_String", "foo")));
+        assertTrue(calls.isEmpty());
+    }
+}
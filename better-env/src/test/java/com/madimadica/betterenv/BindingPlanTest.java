@@ -0,0 +1,70 @@
+package com.madimadica.betterenv;
+
+import com.madimadica.betterenv.pojos.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BindingPlanTest {
+
+    @Test
+    void givenSameType_whenOf_thenReturnCachedPlan() {
+        BindingPlan<PojoMultipleTries> first = BindingPlan.of(PojoMultipleTries.class);
+        BindingPlan<PojoMultipleTries> second = BindingPlan.of(PojoMultipleTries.class);
+        assertSame(first, second);
+    }
+
+    @Test
+    void givenAnnotations_whenCompile_thenCopyAnnotationData() {
+        BindingPlan<PojoNullableFallback> plan = BindingPlan.compile(PojoNullableFallback.class, BinderEngine.METHOD_HANDLES);
+        FieldBinding[] fields = plan.getFields();
+        assertEquals(2, fields.length);
+
+        assertEquals("referenceString", fields[0].getName());
+        assertArrayEquals(new String[] {"reference_String"}, fields[0].getKeys());
+        assertTrue(fields[0].isRequired());
+        assertFalse(fields[0].isAllowBlank());
+        assertFalse(fields[0].hasFallback());
+
+        assertEquals("referenceFallback", fields[1].getName());
+        assertFalse(fields[1].isRequired());
+        assertTrue(fields[1].hasFallback());
+        assertEquals("hi", fields[1].getFallback());
+    }
+
+    @Test
+    void givenAllArgsConstructor_whenCompile_thenDontUseDefaultConstructor() {
+        assertFalse(BindingPlan.compile(PojoAnnotationsAllArgs.class, BinderEngine.METHOD_HANDLES).isUsingDefaultConstructor());
+        assertTrue(BindingPlan.compile(PojoWithBlank.class, BinderEngine.METHOD_HANDLES).isUsingDefaultConstructor());
+    }
+
+    @Test
+    void givenFinalFieldAndNoArgsConstructor_whenCompile_thenThrow() {
+        assertThrows(InvalidEnvTypeException.class, () -> BindingPlan.compile(PojoFinalNoArgs.class, BinderEngine.METHOD_HANDLES));
+        assertThrows(InvalidEnvTypeException.class, () -> BindingPlan.of(PojoFinalNoArgs.class));
+    }
+
+    @Test
+    void givenNestedType_whenCompile_thenReuseNestedPlanWithPrefixedKeys() {
+        BindingPlan<PojoNestedConfig> plan = BindingPlan.compile(PojoNestedConfig.class, BinderEngine.METHOD_HANDLES);
+        FieldBinding[] fields = plan.getFields();
+        assertEquals(3, fields.length);
+        assertFalse(fields[0].isNested());
+        assertSame(BindingPlan.of(PojoNestedDb.class), fields[1].getNestedPlan());
+        assertSame(BindingPlan.of(PojoNestedDb.class), fields[2].getNestedPlan());
+
+        FieldBinding[] leaves = plan.getLeafFields();
+        assertEquals(5, leaves.length);
+        assertEquals("primary.url", leaves[1].getName());
+        assertArrayEquals(new String[] {"PRIMARY_DB_URL"}, leaves[1].getKeys());
+        assertEquals("replica.port", leaves[4].getName());
+        assertArrayEquals(new String[] {"REPLICA_DB_PORT"}, leaves[4].getKeys());
+        assertEquals("5432", leaves[4].getFallback());
+        assertSame(BindingPlan.of(PojoNestedDb.class).getFields()[1].getCoercer(), leaves[4].getCoercer());
+    }
+
+    @Test
+    void givenNestedCycle_whenCompile_thenThrow() {
+        assertThrows(InvalidEnvTypeException.class, () -> BindingPlan.of(PojoNestedCycle.class));
+    }
+}
@@ -0,0 +1,69 @@
+package com.madimadica.betterenv;
+
+import com.madimadica.betterenv.pojos.PojoMultipleTries;
+import com.madimadica.betterenv.pojos.PojoNullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BindingStatsTest {
+
+    @AfterEach
+    void disable() {
+        BindingStats.disable();
+    }
+
+    @Test
+    void givenEnabled_whenLoad_thenCountPerType() {
+        BindingStats stats = BindingStats.enable();
+        assertSame(stats, BindingStats.enable());
+
+        Map<String, String> env = new HashMap<>();
+        env.put("reference_na2", "bar");
+        EnvSnapshot source = EnvSnapshot.of(env);
+        BetterEnv.load(PojoMultipleTries.class, source);
+        BetterEnv.load(PojoMultipleTries.class, source);
+        assertThrows(InvalidEnvironmentException.class, () -> BetterEnv.load(PojoNullable.class, source));
+
+        assertEquals(3, stats.getLoadCount());
+        assertEquals(1, stats.getFailureCount());
+        assertEquals(2L, stats.getLoadCountsByType().get(PojoMultipleTries.class.getName()));
+        assertEquals(0L, stats.getFailureCountsByType().get(PojoMultipleTries.class.getName()));
+        assertEquals(1L, stats.getFailureCountsByType().get(PojoNullable.class.getName()));
+        assertTrue(stats.getMaxBindTimeNanos() > 0);
+        assertTrue(stats.getTotalBindTimeNanos() >= stats.getMaxBindTimeNanos());
+        // 2 keys for each successful load, then 1 key until the failure, and 2 keys for its diagnostics
+        assertEquals(7, stats.getEnvLookups());
+        assertEquals(3, stats.getPlanCacheLookups());
+        assertTrue(stats.getPlanCacheHitRate() > 0);
+
+        stats.reset();
+        assertEquals(0, stats.getLoadCount());
+        assertTrue(Double.isNaN(stats.getPlanCacheHitRate()));
+    }
+
+    @Test
+    void givenEnabled_thenRegisteredWithJmx() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(BindingStats.OBJECT_NAME);
+        assertFalse(server.isRegistered(name));
+
+        BindingStats.enable();
+        BetterEnv.load(PojoMultipleTries.class, EnvSnapshot.of(java.util.Collections.singletonMap("reference_String", "foo")));
+        assertEquals(1L, server.getAttribute(name, "LoadCount"));
+        TabularData byType = (TabularData) server.getAttribute(name, "LoadCountsByType");
+        assertEquals(1L, byType.get(new Object[] {PojoMultipleTries.class.getName()}).get("value"));
+
+        BindingStats.disable();
+        assertFalse(server.isRegistered(name));
+        assertNull(BindingStats.active());
+    }
+}
@@ -0,0 +1,99 @@
+package com.madimadica.betterenv;
+
+import com.madimadica.betterenv.pojos.PojoCustomTypes;
+import com.madimadica.betterenv.pojos.PojoUuid;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoercerRegistryTest {
+
+    private static EnvSnapshot snapshot(String... keysAndValues) {
+        Map<String, String> env = new HashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            env.put(keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return EnvSnapshot.of(env);
+    }
+
+    @Test
+    void givenBuiltInTypes_thenSpecializedCoercers() {
+        assertSame(CoercerRegistry.STRING, CoercerRegistry.getDefault().find(String.class));
+        assertInstanceOf(BooleanCoercer.class, CoercerRegistry.getDefault().find(boolean.class));
+        assertInstanceOf(ByteCoercer.class, CoercerRegistry.getDefault().find(byte.class));
+        assertInstanceOf(ShortCoercer.class, CoercerRegistry.getDefault().find(short.class));
+        assertInstanceOf(CharCoercer.class, CoercerRegistry.getDefault().find(char.class));
+        assertInstanceOf(IntCoercer.class, CoercerRegistry.getDefault().find(int.class));
+        assertInstanceOf(LongCoercer.class, CoercerRegistry.getDefault().find(long.class));
+        assertInstanceOf(FloatCoercer.class, CoercerRegistry.getDefault().find(float.class));
+        assertInstanceOf(DoubleCoercer.class, CoercerRegistry.getDefault().find(double.class));
+        assertSame(CoercerRegistry.getDefault().find(int.class), CoercerRegistry.getDefault().find(Integer.class));
+        assertSame(CoercerRegistry.BIG_INTEGER, CoercerRegistry.getDefault().find(BigInteger.class));
+        assertSame(CoercerRegistry.BIG_DECIMAL, CoercerRegistry.getDefault().find(BigDecimal.class));
+        assertEquals(123, CoercerRegistry.INT.coerceInt("123"));
+        assertEquals('x', CoercerRegistry.CHAR.coerceChar("x"));
+        assertFalse(CoercerRegistry.BOOLEAN.coerceBoolean("False"));
+    }
+
+    @Test
+    void givenUnsupportedType_thenThrowingCoercer() {
+        Coercer<?> coercer = CoercerRegistry.getDefault().find(Thread.class);
+        assertTrue(CoercerRegistry.isBuiltIn(coercer));
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> coercer.coerce("foo"));
+        assertEquals("Unsupported type \"java.lang.Thread\"", e.getMessage());
+    }
+
+    @Test
+    void givenFieldBinding_thenCoercerLookedUpOnce() {
+        FieldBinding binding = new FieldBinding("port", int.class, new String[] {"PORT"}, true, false, null);
+        assertSame(CoercerRegistry.INT, binding.getCoercer());
+        assertTrue(binding.isBuiltInCoercer());
+    }
+
+    @Test
+    void givenRegisteredCoercers_thenBindCustomTypes() {
+        BetterEnv.registerCoercer(Duration.class, Duration::parse);
+        BetterEnv.registerCoercer(URI.class, URI::create);
+        PojoCustomTypes pojo = BetterEnv.load(PojoCustomTypes.class, snapshot("TIMEOUT", "PT30S", "ENDPOINT", "https://example.com/api"));
+        assertEquals(Duration.ofSeconds(30), pojo.getTimeout());
+        assertEquals(URI.create("https://example.com/api"), pojo.getEndpoint());
+        assertFalse(CoercerRegistry.isBuiltIn(CoercerRegistry.getDefault().find(Duration.class)));
+    }
+
+    @Test
+    void givenCustomCoercerFails_thenMessageRedacted() {
+        BetterEnv.registerCoercer(Duration.class, Duration::parse);
+        BetterEnv.registerCoercer(URI.class, URI::create);
+        InvalidEnvironmentException e = assertThrows(InvalidEnvironmentException.class,
+                () -> BetterEnv.load(PojoCustomTypes.class, snapshot("TIMEOUT", "secret-value", "ENDPOINT", "https://example.com")));
+        String expected = "Failed to load env data for type \"com.madimadica.betterenv.pojos.PojoCustomTypes\":" +
+                "\n\tField \"timeout\":" +
+                "\n\t\t\"TIMEOUT\": Failed to coerce type to \"java.time.Duration\": DateTimeParseException";
+        assertEquals(expected, e.getMessage());
+    }
+
+    @Test
+    void givenCompiledPlan_whenCoercerRegistered_thenPlanRecompiled() {
+        EnvSnapshot source = snapshot("ID", "123e4567-e89b-12d3-a456-426614174000");
+        InvalidEnvironmentException e = assertThrows(InvalidEnvironmentException.class, () -> BetterEnv.load(PojoUuid.class, source));
+        assertTrue(e.getMessage().endsWith("Unsupported type \"java.util.UUID\""));
+        BetterEnv.registerCoercer(UUID.class, UUID::fromString);
+        assertEquals(UUID.fromString("123e4567-e89b-12d3-a456-426614174000"), BetterEnv.load(PojoUuid.class, source).getId());
+    }
+
+    @Test
+    void givenPrimitiveType_whenNotSpecializedCoercer_thenThrows() {
+        assertThrows(IllegalArgumentException.class, () -> BetterEnv.registerCoercer(int.class, Integer::valueOf));
+        assertThrows(NullPointerException.class, () -> BetterEnv.registerCoercer(Duration.class, null));
+        assertSame(CoercerRegistry.INT, CoercerRegistry.getDefault().find(int.class));
+        assertFalse(CoercerRegistry.getDefault().isBuiltInOverridden());
+    }
+}
@@ -0,0 +1,78 @@
+package com.madimadica.betterenv;
+
+import com.madimadica.betterenv.pojos.PojoMultipleTries;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactEnvSnapshotTest {
+
+    @Test
+    void givenEmptyMap_thenEmptySnapshot() {
+        CompactEnvSnapshot snapshot = CompactEnvSnapshot.of(new HashMap<>());
+        assertEquals(0, snapshot.size());
+        assertEquals(0, snapshot.arenaSize());
+        assertNull(snapshot.get("FOO"));
+    }
+
+    @Test
+    void givenEntries_thenGetValues() {
+        Map<String, String> env = new HashMap<>();
+        env.put("FOO", "foo");
+        env.put("BAR", "");
+        env.put("NULL", null);
+        env.put("CAFÉ", "crème brûlée 🍰");
+        env.put("EMOJI_😀", "smile");
+        CompactEnvSnapshot snapshot = CompactEnvSnapshot.of(env);
+        assertEquals(4, snapshot.size());
+        assertEquals("foo", snapshot.get("FOO"));
+        assertSame(snapshot.get("FOO"), snapshot.get("FOO"));
+        assertEquals("", snapshot.get("BAR"));
+        assertNull(snapshot.get("NULL"));
+        assertNull(snapshot.get("foo"));
+        assertEquals("crème brûlée 🍰", snapshot.get("CAFÉ"));
+        assertEquals("smile", snapshot.get("EMOJI_😀"));
+        assertNull(snapshot.get("CAFE"));
+    }
+
+    @Test
+    void givenManyEntries_thenGetAllValues() {
+        Map<String, String> env = new HashMap<>();
+        int bytes = 0;
+        for (int i = 0; i < 5000; ++i) {
+            env.put("KEY_" + i, "value" + i);
+            bytes += ("KEY_" + i).length() + ("value" + i).length();
+        }
+        // Same String#hashCode
+        env.put("Aa", "1");
+        env.put("BB", "2");
+        CompactEnvSnapshot snapshot = CompactEnvSnapshot.of(env);
+        assertEquals(5002, snapshot.size());
+        assertEquals(bytes + 6, snapshot.arenaSize());
+        for (int i = 0; i < 5000; ++i) {
+            assertEquals("value" + i, snapshot.get("KEY_" + i));
+        }
+        assertEquals("1", snapshot.get("Aa"));
+        assertEquals("2", snapshot.get("BB"));
+        assertNull(snapshot.get("KEY_5000"));
+    }
+
+    @Test
+    void givenCompactSource_thenLoad() {
+        Map<String, String> env = new HashMap<>();
+        env.put("reference_String", "compact");
+        assertEquals("compact", BetterEnv.load(PojoMultipleTries.class, CompactEnvSnapshot.of(env)).getS());
+    }
+
+    @Test
+    void ofSystem() {
+        CompactEnvSnapshot snapshot = CompactEnvSnapshot.ofSystem();
+        assertEquals(System.getenv().size(), snapshot.size());
+        for (Map.Entry<String, String> entry : System.getenv().entrySet()) {
+            assertEquals(entry.getValue(), snapshot.get(entry.getKey()));
+        }
+    }
+}
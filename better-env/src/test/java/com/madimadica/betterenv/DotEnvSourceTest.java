@@ -0,0 +1,138 @@
+package com.madimadica.betterenv;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DotEnvSourceTest {
+
+    private static DotEnvSource parse(String contents) {
+        return DotEnvSource.of(contents.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void givenEmptyFile_thenNoEntries() {
+        DotEnvSource source = parse("");
+        assertEquals(0, source.size());
+        assertNull(source.get("FOO"));
+    }
+
+    @Test
+    void givenUnquotedValues_thenTrimmedWithoutComments() {
+        DotEnvSource source = parse(
+                "# comment\n" +
+                "\n" +
+                "FOO=foo\n" +
+                "  BAR = bar baz  \r\n" +
+                "export EXPORTED=1\n" +
+                "COLON: value\n" +
+                "URL=http://localhost:8080/#anchor # comment\n" +
+                "EMPTY=\n" +
+                "HASH= #comment\n" +
+                "COLOR=#ff0000 # red\n" +
+                "INVALID LINE\n" +
+                "=no key\n" +
+                "LAST=last"
+        );
+        assertEquals(9, source.size());
+        assertEquals("foo", source.get("FOO"));
+        assertEquals("bar baz", source.get("BAR"));
+        assertEquals("1", source.get("EXPORTED"));
+        assertEquals("value", source.get("COLON"));
+        assertEquals("http://localhost:8080/#anchor", source.get("URL"));
+        assertEquals("", source.get("EMPTY"));
+        assertEquals("", source.get("HASH"));
+        assertEquals("#ff0000", source.get("COLOR"));
+        assertEquals("last", source.get("LAST"));
+        assertNull(source.get("INVALID LINE"));
+        assertNull(source.get("export EXPORTED"));
+    }
+
+    @Test
+    void givenQuotedValues_thenUnquoted() {
+        DotEnvSource source = parse(
+                "SINGLE='a \\n # b' # comment\n" +
+                "DOUBLE=\"a\\tb\\n\\\"c\\\"\\\\ \\x\"\n" +
+                "MULTI=\"line 1\n" +
+                "line 2\"\n" +
+                "UNCLOSED=\"abc\n" +
+                "AFTER=after\n"
+        );
+        assertEquals("a \\n # b", source.get("SINGLE"));
+        assertEquals("a\tb\n\"c\"\\ \\x", source.get("DOUBLE"));
+        assertEquals("line 1\nline 2", source.get("MULTI"));
+        assertEquals("\"abc", source.get("UNCLOSED"));
+        assertEquals("after", source.get("AFTER"));
+    }
+
+    @Test
+    void givenDuplicateKeys_thenLastWins() {
+        DotEnvSource source = parse("FOO=1\nBAR=2\nFOO=3\n");
+        assertEquals(2, source.size());
+        assertEquals("3", source.get("FOO"));
+        assertEquals("2", source.get("BAR"));
+    }
+
+    @Test
+    void givenNonAsciiKeysAndValues_thenDecoded() {
+        DotEnvSource source = parse("\uFEFFCLÉ=välue\nKEY=日本\n");
+        assertEquals("välue", source.get("CLÉ"));
+        assertEquals("日本", source.get("KEY"));
+        assertNull(source.get("CLE"));
+    }
+
+    @Test
+    void givenManyEntries_thenGetAllValues() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 5000; ++i) {
+            sb.append("KEY_").append(i).append("=value").append(i).append('\n');
+        }
+        // Same String#hashCode
+        sb.append("Aa=1\nBB=2\n");
+        DotEnvSource source = parse(sb.toString());
+        assertEquals(5002, source.size());
+        for (int i = 0; i < 5000; ++i) {
+            assertEquals("value" + i, source.get("KEY_" + i));
+        }
+        assertEquals("1", source.get("Aa"));
+        assertEquals("2", source.get("BB"));
+        assertNull(source.get("KEY_5000"));
+    }
+
+    @Test
+    void givenFile_whenMappedOrRead_thenSameValues(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve(".env");
+        Files.write(file, "FOO=foo\nBAR=\"bar\"\n".getBytes(StandardCharsets.UTF_8));
+        for (DotEnvSource source : new DotEnvSource[] {DotEnvSource.map(file), DotEnvSource.read(file)}) {
+            assertEquals(2, source.size());
+            assertEquals("foo", source.get("FOO"));
+            assertEquals("bar", source.get("BAR"));
+        }
+    }
+
+    @Test
+    void givenSources_whenCombined_thenFirstTakesPrecedence() {
+        Map<String, String> env = new HashMap<>();
+        env.put("FOO", "env");
+        env.put("BAR", "env");
+        EnvSource file = parse("FOO=file\nBAZ=file\n");
+        EnvSource combined = file.orElse(EnvSnapshot.of(env));
+        assertEquals("file", combined.get("FOO"));
+        assertEquals("env", combined.get("BAR"));
+        assertEquals("file", combined.get("BAZ"));
+        assertNull(combined.get("QUX"));
+
+        EnvSource reversed = EnvSource.firstOf(EnvSnapshot.of(env), file);
+        assertEquals("env", reversed.get("FOO"));
+        assertEquals("file", reversed.get("BAZ"));
+        assertSame(file, EnvSource.firstOf(file));
+    }
+}
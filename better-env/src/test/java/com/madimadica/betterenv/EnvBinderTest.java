@@ -0,0 +1,176 @@
+package com.madimadica.betterenv;
+
+import com.madimadica.betterenv.pojos.PojoCurrency;
+import com.madimadica.betterenv.pojos.PojoLazyConfig;
+import com.madimadica.betterenv.pojos.PojoMultipleTries;
+import com.madimadica.betterenv.pojos.PojoNestedConfig;
+import com.madimadica.betterenv.pojos.PojoNestedDb;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnvBinderTest {
+
+    private static EnvSnapshot snapshot(String key, String value) {
+        return EnvSnapshot.of(Collections.singletonMap(key, value));
+    }
+
+    @Test
+    void givenBinders_whenLoadInParallel_thenEachUsesItsOwnSource() {
+        EnvSource before = BetterEnv.getSource();
+        EnvBinder base = EnvBinder.builder().source(snapshot("unused", "")).build();
+        IntStream.range(0, 1000).parallel().forEach(i -> {
+            EnvBinder binder = base.withSource(snapshot("reference_na2", "value" + i));
+            assertEquals("value" + i, binder.load(PojoMultipleTries.class).getS());
+        });
+        assertSame(before, BetterEnv.getSource());
+        assertSame(BetterEnv.getSource(), BetterEnv.getBinder().getSource());
+    }
+
+    @Test
+    void givenSources_thenFirstSourceWins() {
+        Map<String, String> env = new HashMap<>();
+        env.put("reference_na1", "first");
+        EnvBinder binder = EnvBinder.builder()
+                .source(snapshot("reference_na2", "second"))
+                .source(EnvSnapshot.of(env))
+                .build();
+        assertEquals("first", binder.load(PojoMultipleTries.class).getS());
+        assertEquals("second", binder.withSource(snapshot("reference_na2", "second")).load(PojoMultipleTries.class).getS());
+        assertFalse(binder.tryLoad(PojoNestedConfig.class).isSuccess());
+    }
+
+    @Test
+    void givenPrefix_thenAllKeysPrefixed() {
+        Map<String, String> env = new HashMap<>();
+        env.put("ACME_APP_NAME", "acme");
+        env.put("ACME_PRIMARY_DB_URL", "jdbc:acme");
+        env.put("ACME_REPLICA_DB_URL", "jdbc:acme-replica");
+        env.put("ACME_REPLICA_DB_PORT", "6543");
+        env.put("APP_NAME", "unprefixed");
+        env.put("PRIMARY_DB_URL", "jdbc:primary");
+        env.put("REPLICA_DB_URL", "jdbc:replica");
+        EnvBinder binder = EnvBinder.builder().source(EnvSnapshot.of(env)).build();
+        PojoNestedConfig config = binder.load(PojoNestedConfig.class, "ACME_");
+        assertEquals("acme", config.getName());
+        assertEquals("jdbc:acme", config.getPrimary().getUrl());
+        assertEquals(5432, config.getPrimary().getPort());
+        assertEquals(6543, config.getReplica().getPort());
+        assertEquals("unprefixed", binder.load(PojoNestedConfig.class, "").getName());
+
+        InvalidEnvironmentException e = assertThrows(InvalidEnvironmentException.class, () -> binder.load(PojoNestedConfig.class, "OTHER_"));
+        assertTrue(e.getMessage().contains("OTHER_PRIMARY_DB_URL"), e.getMessage());
+        assertEquals("[name[OTHER_APP_NAME: Missing environment variable], primary.url[OTHER_PRIMARY_DB_URL: Missing environment variable], "
+                        + "replica.url[OTHER_REPLICA_DB_URL: Missing environment variable]]",
+                binder.withSource(PrefixedSource.of(binder.getSource(), "OTHER_")).tryLoad(PojoNestedConfig.class).getFailures().toString());
+    }
+
+    @Test
+    void givenPrefixes_whenLoadPrefixed_thenEachBoundOrReportedTogether() {
+        Map<String, String> env = new HashMap<>();
+        List<String> prefixes = new ArrayList<>();
+        for (int i = 0; i < 100; ++i) {
+            env.put("T" + i + "_reference_String", "value" + i);
+            prefixes.add("T" + i + "_");
+        }
+        prefixes.add("T0_");
+        EnvBinder binder = EnvBinder.builder().source(EnvSnapshot.of(env)).build();
+        Map<String, PojoMultipleTries> loaded = binder.loadPrefixed(PojoMultipleTries.class, prefixes);
+        assertEquals(100, loaded.size());
+        assertEquals("T0_", loaded.keySet().iterator().next());
+        assertEquals("value42", loaded.get("T42_").getS());
+
+        prefixes.add(1, "MISSING_");
+        InvalidEnvironmentException e = assertThrows(InvalidEnvironmentException.class, () -> binder.loadPrefixed(PojoNestedDb.class, prefixes));
+        assertTrue(e.getMessage().startsWith("Failed to load env data for 101 of 101 prefixes"), e.getMessage());
+        assertEquals(101, e.getSuppressed().length);
+        assertTrue(e.getSuppressed()[1].getMessage().contains("MISSING_URL"));
+    }
+
+    @Test
+    void givenCoercer_thenOnlyUsedByBinder() {
+        EnvBinder binder = EnvBinder.builder()
+                .source(snapshot("reference_String", "foo"))
+                .coercer(String.class, String::toUpperCase)
+                .build();
+        assertEquals("FOO", binder.load(PojoMultipleTries.class).getS());
+        assertEquals("FOO", binder.load(PojoLazyConfig.class).s());
+        assertEquals("foo", BetterEnv.load(PojoMultipleTries.class, snapshot("reference_String", "foo")).getS());
+        assertFalse(CoercerRegistry.getDefault().isBuiltInOverridden());
+    }
+
+    @Test
+    void givenBuiltBinder_whenCoercerRegisteredWithBetterEnv_thenBinderUnaffected() {
+        EnvBinder before = EnvBinder.builder().source(snapshot("CURRENCY", "EUR")).build();
+        assertThrows(InvalidEnvironmentException.class, () -> before.load(PojoCurrency.class));
+        BetterEnv.registerCoercer(Currency.class, Currency::getInstance);
+        assertThrows(InvalidEnvironmentException.class, () -> before.load(PojoCurrency.class));
+        EnvBinder after = EnvBinder.builder().source(snapshot("CURRENCY", "EUR")).build();
+        assertEquals(Currency.getInstance("EUR"), after.load(PojoCurrency.class).getCurrency());
+    }
+
+    @Test
+    void givenPlanCaching_thenPlansIsolatedOrRecompiled() {
+        assertNotSame(PlanCache.SHARED, EnvBinder.builder().build().getPlans());
+
+        EnvBinder isolated = EnvBinder.builder().planCaching(EnvBinder.PlanCaching.ISOLATED).build();
+        assertSame(isolated.getPlans(), isolated.withSource(snapshot("unused", "")).getPlans());
+        BindingPlan<PojoNestedConfig> plan = isolated.getPlans().binding(PojoNestedConfig.class);
+        assertSame(plan, isolated.getPlans().binding(PojoNestedConfig.class));
+        assertNotSame(BindingPlan.of(PojoNestedConfig.class), plan);
+        assertSame(isolated.getPlans().binding(PojoNestedDb.class), plan.getFields()[1].getNestedPlan());
+
+        EnvBinder uncached = EnvBinder.builder().planCaching(EnvBinder.PlanCaching.NONE).build();
+        assertNotSame(uncached.getPlans().binding(PojoNestedConfig.class), uncached.getPlans().binding(PojoNestedConfig.class));
+    }
+
+    @Test
+    void givenListener_thenOnlyNotifiedByBinder() {
+        List<String> keys = Collections.synchronizedList(new ArrayList<>());
+        BindingListener listener = new BindingListener() {
+            @Override
+            public void onFieldResolved(Class<?> type, String field, String key) {
+                keys.add(key);
+            }
+        };
+        EnvBinder binder = EnvBinder.builder().source(snapshot("reference_String", "foo")).listener(listener).build();
+        binder.load(PojoMultipleTries.class);
+        BetterEnv.load(PojoMultipleTries.class, snapshot("reference_na1", "foo"));
+        assertEquals(Collections.singletonList("reference_String"), keys);
+    }
+
+    @Test
+    void givenListener_whenTryLoad_thenResolveOnceWithoutException() {
+        AtomicInteger lookups = new AtomicInteger();
+        EnvSource changing = key -> "reference_String".equals(key) ? (lookups.incrementAndGet() == 1 ? "foo" : " ") : null;
+        List<String> failures = new ArrayList<>();
+        EnvBinder binder = EnvBinder.builder().source(changing).listener(new BindingListener() {
+            @Override
+            public void onBindFailure(Class<?> type, RuntimeException e) {
+                failures.add(e.getClass().getSimpleName());
+            }
+        }).build();
+        assertEquals("foo", binder.tryLoad(PojoMultipleTries.class).get().getS());
+        assertEquals(1, lookups.get());
+
+        LoadResult<PojoMultipleTries> result = binder.tryLoad(PojoMultipleTries.class);
+        assertFalse(result.isSuccess());
+        assertEquals("[s[reference_na1: Missing environment variable, reference_na2: Missing environment variable, reference_String: Cannot be blank]]",
+                result.getFailures().toString());
+        assertEquals(Collections.singletonList("InvalidEnvironmentException"), failures);
+
+        lookups.set(0);
+        LoadResult<PojoMultipleTries> single = EnvBinder.builder().source(changing).build().tryLoad(PojoMultipleTries.class);
+        assertEquals("foo", single.get().getS());
+        assertEquals(1, lookups.get());
+    }
+}
@@ -0,0 +1,66 @@
+package com.madimadica.betterenv;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnvDiffTest {
+
+    private static EnvSnapshot large() {
+        Map<String, String> env = new HashMap<>();
+        for (int i = 0; i < 1000; ++i) {
+            env.put("KEY_" + i, "value" + i);
+        }
+        return EnvSnapshot.of(env);
+    }
+
+    @Test
+    void givenDerivedSnapshot_thenDiffIsRecordedChanges() {
+        EnvSnapshot before = large();
+        Map<String, String> changes = new HashMap<>();
+        changes.put("KEY_1", "changed");
+        changes.put("KEY_2", null);
+        changes.put("KEY_3", "value3");
+        changes.put("NEW", "new");
+        EnvSnapshot after = before.with(changes);
+        assertEquals(1000, after.size());
+        assertEquals("changed", after.get("KEY_1"));
+        assertNull(after.get("KEY_2"));
+        assertEquals("new", after.get("NEW"));
+        assertEquals("value1", before.get("KEY_1"));
+
+        EnvDiff diff = EnvDiff.between(before, after);
+        assertEquals(new HashSet<>(Arrays.asList("KEY_1", "KEY_2", "NEW")), diff.getChangedKeys());
+        assertEquals("value1", diff.getBefore("KEY_1"));
+        assertEquals("changed", diff.getAfter("KEY_1"));
+        assertEquals(diff.getChangedKeys(), EnvDiff.between(after, before).getChangedKeys());
+        assertTrue(EnvDiff.between(after, after).isEmpty());
+    }
+
+    @Test
+    void givenUnrelatedSnapshots_thenCompareEveryEntry() {
+        EnvSnapshot before = large();
+        Map<String, String> env = new HashMap<>();
+        for (int i = 1; i < 1000; ++i) {
+            env.put("KEY_" + i, i == 500 ? "changed" : "value" + i);
+        }
+        env.put("NEW", "new");
+        EnvDiff diff = EnvDiff.between(before, EnvSnapshot.of(env));
+        assertEquals(new HashSet<>(Arrays.asList("KEY_0", "KEY_500", "NEW")), diff.getChangedKeys());
+        assertTrue(EnvDiff.between(before, large()).isEmpty());
+    }
+
+    @Test
+    void givenSources_thenCompareGivenKeys() {
+        EnvSource before = EnvSnapshot.of(Collections.singletonMap("A", "1"));
+        EnvSource after = key -> "A".equals(key) ? "2" : null;
+        assertEquals(Collections.singleton("A"), EnvDiff.between(before, after, Arrays.asList("A", "B")).getChangedKeys());
+        assertTrue(EnvDiff.between(before, after, Collections.singleton("B")).isEmpty());
+    }
+}
@@ -0,0 +1,87 @@
+package com.madimadica.betterenv;
+
+import com.madimadica.betterenv.pojos.PojoMultipleTries;
+import com.madimadica.betterenv.pojos.PojoNullableFallback;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnvEventsTest {
+
+    @TempDir
+    Path dir;
+
+    private List<RecordedEvent> record(Runnable action) throws IOException {
+        Path file = dir.resolve("events.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(BindEvent.class).withThreshold(java.time.Duration.ZERO);
+            recording.enable(ResolveEvent.class).withThreshold(java.time.Duration.ZERO);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getEventType().getName().startsWith("com.madimadica.betterenv."))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void givenRecording_whenLoad_thenRecordBindAndResolveEvents() throws IOException {
+        Map<String, String> env = new HashMap<>();
+        env.put("reference_na2", "secret-value");
+        List<RecordedEvent> events = record(() -> BetterEnv.load(PojoMultipleTries.class, EnvSnapshot.of(env)));
+
+        assertTrue(EnvEvents.AVAILABLE);
+        assertEquals(2, events.size());
+        RecordedEvent resolve = events.get(0);
+        assertEquals("com.madimadica.betterenv.Resolve", resolve.getEventType().getName());
+        assertEquals("s", resolve.getString("field"));
+        assertEquals(2, resolve.getInt("aliasesTried"));
+        assertEquals("reference_na2", resolve.getString("key"));
+        assertFalse(resolve.getBoolean("fallbackUsed"));
+        assertTrue(resolve.getBoolean("success"));
+
+        RecordedEvent bind = events.get(1);
+        assertEquals("com.madimadica.betterenv.Bind", bind.getEventType().getName());
+        assertEquals(PojoMultipleTries.class.getName(), bind.getClass("type").getName());
+        assertEquals(1, bind.getInt("fieldCount"));
+        assertEquals("no-args constructor", bind.getString("strategy"));
+        assertTrue(bind.getBoolean("success"));
+
+        assertFalse(events.toString().contains("secret-value"));
+    }
+
+    @Test
+    void givenRecording_whenLoadFails_thenRecordFailure() throws IOException {
+        Map<String, String> env = new HashMap<>();
+        env.put("reference_String", "foo");
+        List<RecordedEvent> events = record(() -> {
+            assertThrows(InvalidEnvironmentException.class, () -> BetterEnv.load(PojoMultipleTries.class, EnvSnapshot.of(new HashMap<>())));
+            BetterEnv.load(PojoNullableFallback.class, EnvSnapshot.of(env));
+        });
+        RecordedEvent failedResolve = events.get(0);
+        assertEquals(3, failedResolve.getInt("aliasesTried"));
+        assertNull(failedResolve.getString("key"));
+        assertFalse(failedResolve.getBoolean("success"));
+        assertFalse(events.get(1).getBoolean("success"));
+
+        RecordedEvent fallback = events.stream()
+                .filter(e -> e.hasField("field") && "referenceFallback".equals(e.getString("field")))
+                .findFirst()
+                .orElseThrow(AssertionError::new);
+        assertTrue(fallback.getBoolean("fallbackUsed"));
+        assertEquals("@Env.Fallback", fallback.getString("key"));
+    }
+}
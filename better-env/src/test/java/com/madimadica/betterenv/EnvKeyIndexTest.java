@@ -0,0 +1,54 @@
+package com.madimadica.betterenv;
+
+import com.madimadica.betterenv.pojos.PojoMultipleTries;
+import com.madimadica.betterenv.pojos.PojoNestedConfig;
+import com.madimadica.betterenv.pojos.PojoNullableFallback;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnvKeyIndexTest {
+
+    @Test
+    void givenTypes_thenIndexAliasesNestedKeysAndFallbacks() {
+        EnvKeyIndex index = EnvKeyIndex.of(PojoMultipleTries.class, PojoNestedConfig.class, PojoNullableFallback.class);
+        assertEquals(Arrays.asList(PojoMultipleTries.class, PojoNestedConfig.class, PojoNullableFallback.class), Arrays.asList(index.getTypes().toArray()));
+        assertTrue(index.getKeys().containsAll(Arrays.asList("reference_na1", "reference_na2", "reference_String", "APP_NAME", "PRIMARY_DB_URL", "REPLICA_DB_PORT")));
+
+        List<EnvKeyIndex.KeyUsage> usages = index.getUsages("reference_na2");
+        assertEquals(1, usages.size());
+        assertEquals(PojoMultipleTries.class, usages.get(0).getType());
+        assertEquals("s", usages.get(0).getField());
+        assertEquals(1, usages.get(0).getAliasIndex());
+        assertNull(usages.get(0).getFallback());
+
+        EnvKeyIndex.KeyUsage port = index.getUsages("REPLICA_DB_PORT").get(0);
+        assertEquals("replica.port", port.getField());
+        assertEquals("5432", port.getFallback());
+
+        assertEquals(2, index.getUsages("reference_String").size());
+        assertTrue(index.getUsages("UNUSED").isEmpty());
+        assertSame(index, index.with(PojoMultipleTries.class));
+    }
+
+    @Test
+    void givenDiff_thenOnlyAffectedTypes() {
+        EnvKeyIndex index = EnvKeyIndex.of(PojoMultipleTries.class, PojoNestedConfig.class, PojoNullableFallback.class);
+        EnvSnapshot before = EnvSnapshot.of(Collections.singletonMap("APP_NAME", "app"));
+        Map<String, String> changes = new HashMap<>();
+        changes.put("PRIMARY_DB_URL", "jdbc:primary");
+        changes.put("UNUSED", "x");
+        EnvDiff diff = EnvDiff.between(before, before.with(changes));
+        assertEquals(Collections.singleton(PojoNestedConfig.class), index.getAffectedTypes(diff));
+        assertEquals("[PojoNestedConfig.primary.url[PRIMARY_DB_URL]]", index.getAffectedUsages(diff).toString());
+
+        EnvDiff shared = EnvDiff.between(before, before.with(Collections.singletonMap("reference_String", "s")));
+        assertEquals(Arrays.asList(PojoMultipleTries.class, PojoNullableFallback.class), Arrays.asList(index.getAffectedTypes(shared).toArray()));
+    }
+}
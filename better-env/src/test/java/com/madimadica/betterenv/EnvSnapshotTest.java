@@ -0,0 +1,95 @@
+package com.madimadica.betterenv;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnvSnapshotTest {
+
+    @Test
+    void givenEmptyMap_thenEmptySnapshot() {
+        EnvSnapshot snapshot = EnvSnapshot.of(new HashMap<>());
+        assertEquals(0, snapshot.size());
+        assertNull(snapshot.get("FOO"));
+    }
+
+    @Test
+    void givenEntries_thenGetValues() {
+        Map<String, String> env = new HashMap<>();
+        env.put("FOO", "foo");
+        env.put("BAR", "");
+        env.put("NULL", null);
+        EnvSnapshot snapshot = EnvSnapshot.of(env);
+        assertEquals(2, snapshot.size());
+        assertEquals("foo", snapshot.get("FOO"));
+        assertEquals("", snapshot.get("BAR"));
+        assertNull(snapshot.get("NULL"));
+        assertNull(snapshot.get("foo"));
+    }
+
+    @Test
+    void givenManyEntries_thenGetAllValues() {
+        Map<String, String> env = new HashMap<>();
+        for (int i = 0; i < 5000; ++i) {
+            env.put("KEY_" + i, "value" + i);
+        }
+        // Same String#hashCode
+        env.put("Aa", "1");
+        env.put("BB", "2");
+        EnvSnapshot snapshot = EnvSnapshot.of(env);
+        assertEquals(5002, snapshot.size());
+        for (int i = 0; i < 5000; ++i) {
+            assertEquals("value" + i, snapshot.get("KEY_" + i));
+        }
+        assertEquals("1", snapshot.get("Aa"));
+        assertEquals("2", snapshot.get("BB"));
+        assertNull(snapshot.get("KEY_5000"));
+    }
+
+    @Test
+    void givenSnapshotCopied_whenMapChanges_thenSnapshotUnchanged() {
+        Map<String, String> env = new HashMap<>();
+        env.put("FOO", "foo");
+        EnvSnapshot snapshot = EnvSnapshot.of(env);
+        env.put("FOO", "bar");
+        assertEquals("foo", snapshot.get("FOO"));
+    }
+
+    @Test
+    void givenPrefixAndSuffix_thenGetConcatenatedKey() {
+        Map<String, String> env = new HashMap<>();
+        for (int i = 0; i < 1000; ++i) {
+            env.put("TENANT_" + i + "_KEY", "value" + i);
+        }
+        env.put("Aa_KEY", "1");
+        env.put("BB_KEY", "2");
+        StringBuilder longSuffix = new StringBuilder("_");
+        for (int i = 0; i < 100; ++i) {
+            longSuffix.append('X');
+        }
+        env.put("T" + longSuffix, "long");
+        EnvSnapshot snapshot = EnvSnapshot.of(env);
+        for (int i = 0; i < 1000; ++i) {
+            assertEquals("value" + i, snapshot.get("TENANT_" + i, "_KEY"));
+            assertEquals("value" + i, snapshot.get("TENANT_" + i + "_KEY", ""));
+        }
+        assertEquals("1", snapshot.get("Aa", "_KEY"));
+        assertEquals("2", snapshot.get("BB", "_KEY"));
+        assertEquals("long", snapshot.get("T", longSuffix.toString()));
+        assertEquals("long", EnvSource.firstOf(EnvSnapshot.of(new HashMap<>()), snapshot).get("T", longSuffix.toString()));
+        assertNull(snapshot.get("TENANT_1", "_KE"));
+        assertNull(snapshot.get("TENANT_", "1_KEY_"));
+    }
+
+    @Test
+    void ofSystem() {
+        EnvSnapshot snapshot = EnvSnapshot.ofSystem();
+        assertEquals(System.getenv().size(), snapshot.size());
+        for (Map.Entry<String, String> entry : System.getenv().entrySet()) {
+            assertEquals(entry.getValue(), snapshot.get(entry.getKey()));
+        }
+    }
+}
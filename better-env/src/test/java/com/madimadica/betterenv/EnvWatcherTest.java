@@ -0,0 +1,181 @@
+package com.madimadica.betterenv;
+
+import com.madimadica.betterenv.pojos.PojoWatchedA;
+import com.madimadica.betterenv.pojos.PojoWatchedB;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnvWatcherTest {
+
+    private static final EnvSnapshot FALLBACK;
+
+    static {
+        Map<String, String> env = new HashMap<>();
+        env.put("reference_String", "foo");
+        env.put("WATCH_PORT", "80");
+        FALLBACK = EnvSnapshot.of(env);
+    }
+
+    private static void write(Path file, String contents) throws IOException {
+        Files.write(file, contents.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void givenFiles_thenResolveInOrderOfPrecedence(@TempDir Path dir) throws IOException {
+        Path first = dir.resolve("first.env");
+        Path second = dir.resolve("second.env");
+        write(first, "WATCH_A=first\n");
+        write(second, "WATCH_A=second\nWATCH_B=second\n");
+        EnvWatcher watcher = new EnvWatcher(FALLBACK, new Path[] {first, second, dir.resolve("missing.env")}, false);
+        assertEquals("first", watcher.get("WATCH_A"));
+        assertEquals("second", watcher.get("WATCH_B"));
+        assertEquals("80", watcher.get("WATCH_PORT"));
+        assertNull(watcher.get("WATCH_C"));
+    }
+
+    @Test
+    void givenChangedKey_whenRefreshed_thenOnlyAffectedTypesRebound(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("app.env");
+        write(file, "WATCH_A=a1\nWATCH_B=b1\n");
+        EnvWatcher watcher = new EnvWatcher(FALLBACK, new Path[] {file}, false);
+        LiveBinding<PojoWatchedA> a = watcher.bind(PojoWatchedA.class);
+        LiveBinding<PojoWatchedB> b = watcher.bind(PojoWatchedB.class);
+        PojoWatchedA a1 = a.get();
+        PojoWatchedB b1 = b.get();
+        assertEquals("a1", a1.getA());
+        assertEquals(80, a1.getPort());
+        assertEquals("b1", b1.getB());
+
+        write(file, "WATCH_A=a2\nWATCH_B=b1\nWATCH_PORT=8080\nOTHER=x\n");
+        assertEquals(new HashSet<>(Arrays.asList("WATCH_A", "WATCH_PORT", "OTHER")), watcher.refresh(Collections.singleton(file)));
+        assertNotSame(a1, a.get());
+        assertEquals("a2", a.get().getA());
+        assertEquals(8080, a.get().getPort());
+        assertSame(b1, b.get());
+
+        write(file, "WATCH_A=a2\nWATCH_PORT=8080\nOTHER=x\n");
+        assertEquals(Collections.singleton("WATCH_B"), watcher.refresh(Collections.singleton(file)));
+        assertEquals("foo", b.get().getB());
+    }
+
+    @Test
+    void givenUnchangedFiles_whenRefreshed_thenNothingRebound(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("app.env");
+        write(file, "WATCH_A=a1\n");
+        EnvWatcher watcher = new EnvWatcher(FALLBACK, new Path[] {file}, false);
+        LiveBinding<PojoWatchedA> a = watcher.bind(PojoWatchedA.class);
+        PojoWatchedA a1 = a.get();
+        assertTrue(watcher.refresh().isEmpty());
+        write(file, "WATCH_A=a1\n");
+        assertTrue(watcher.refresh(Collections.singleton(file)).isEmpty());
+        assertSame(a1, a.get());
+    }
+
+    @Test
+    void givenWatcherSource_whenRefreshed_thenTypedLookupsInvalidated(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("app.env");
+        write(file, "WATCH_PORT=81\n");
+        EnvWatcher watcher = new EnvWatcher(FALLBACK, new Path[] {file}, false);
+        EnvSource original = BetterEnv.getSource();
+        try {
+            BetterEnv.setSource(watcher);
+            assertEquals(81, BetterEnv.getInt("WATCH_PORT", -1));
+            write(file, "WATCH_PORT=82\n");
+            watcher.refresh(Collections.singleton(file));
+            assertEquals(82, BetterEnv.getInt("WATCH_PORT", -1));
+        } finally {
+            BetterEnv.setSource(original);
+        }
+    }
+
+    @Test
+    void givenInvalidChange_whenRefreshed_thenKeepPreviousInstance(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("app.env");
+        write(file, "WATCH_A=a1\n");
+        EnvWatcher watcher = new EnvWatcher(FALLBACK, new Path[] {file}, false);
+        LiveBinding<PojoWatchedA> a = watcher.bind(PojoWatchedA.class);
+        PojoWatchedA a1 = a.get();
+
+        write(file, "WATCH_A=a1\nWATCH_PORT=abc\n");
+        watcher.refresh(Collections.singleton(file));
+        assertSame(a1, a.get());
+        assertInstanceOf(InvalidEnvironmentException.class, a.getLastFailure());
+
+        write(file, "WATCH_A=a1\nWATCH_PORT=81\n");
+        watcher.refresh(Collections.singleton(file));
+        assertEquals(81, a.get().getPort());
+        assertNull(a.getLastFailure());
+    }
+
+    @Test
+    void givenDeletedFile_whenRefreshed_thenUseFallback(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("app.env");
+        write(file, "reference_String=file\n");
+        EnvWatcher watcher = new EnvWatcher(FALLBACK, new Path[] {file}, false);
+        LiveBinding<PojoWatchedB> b = watcher.bind(PojoWatchedB.class);
+        assertEquals("file", b.get().getB());
+        Files.delete(file);
+        assertEquals(Collections.singleton("reference_String"), watcher.refresh());
+        assertEquals("foo", b.get().getB());
+    }
+
+    @Test
+    void givenWatchService_whenFileChanges_thenRebound(@TempDir Path dir) throws IOException, InterruptedException {
+        Path file = dir.resolve("app.env");
+        write(file, "WATCH_A=a1\n");
+        try (EnvWatcher watcher = EnvWatcher.watch(FALLBACK, file)) {
+            LiveBinding<PojoWatchedA> a = watcher.bind(PojoWatchedA.class);
+            write(file, "WATCH_A=changed\n");
+            long deadline = System.nanoTime() + 30_000_000_000L;
+            while (!"changed".equals(a.get().getA()) && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+            assertEquals("changed", a.get().getA());
+        }
+    }
+
+    @Test
+    void givenRefreshThrows_whenFileChangesAgain_thenStillRebound(@TempDir Path dir) throws IOException, InterruptedException {
+        Path file = dir.resolve("app.env");
+        write(file, "WATCH_A=a1\n");
+        AtomicBoolean failing = new AtomicBoolean();
+        EnvSource fallback = key -> {
+            if (failing.get()) {
+                throw new IllegalStateException("Fallback unavailable");
+            }
+            return FALLBACK.get(key);
+        };
+        try (EnvWatcher watcher = EnvWatcher.watch(fallback, file)) {
+            LiveBinding<PojoWatchedA> a = watcher.bind(PojoWatchedA.class);
+            failing.set(true);
+            write(file, "WATCH_B=b1\n");
+            long deadline = System.nanoTime() + 30_000_000_000L;
+            while (watcher.getLastFailure() == null && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+            assertEquals("Fallback unavailable", watcher.getLastFailure().getMessage());
+            assertEquals("a1", a.get().getA());
+
+            failing.set(false);
+            write(file, "WATCH_A=changed\n");
+            while ((!"changed".equals(a.get().getA()) || watcher.getLastFailure() != null) && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+            assertEquals("changed", a.get().getA());
+            assertNull(watcher.getLastFailure());
+        }
+    }
+}
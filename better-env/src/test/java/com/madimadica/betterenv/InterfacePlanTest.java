@@ -0,0 +1,85 @@
+package com.madimadica.betterenv;
+
+import com.madimadica.betterenv.pojos.PojoLazyConfig;
+import com.madimadica.betterenv.pojos.PojoLazyDefaults;
+import com.madimadica.betterenv.pojos.PojoLazyInherited;
+import com.madimadica.betterenv.pojos.PojoLazyUnannotated;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InterfacePlanTest {
+
+    @Test
+    void givenInterface_thenLoadProxy() {
+        PojoLazyConfig config = BetterEnv.load(PojoLazyConfig.class);
+        assertEquals("foo", config.s());
+        assertEquals(3, config.i());
+        assertNull(config.missing());
+        assertEquals(42L, config.fallback());
+        assertEquals(config, config);
+        assertNotEquals(config, BetterEnv.load(PojoLazyConfig.class));
+        assertTrue(config.toString().startsWith(PojoLazyConfig.class.getName() + "@"));
+    }
+
+    @Test
+    void givenInvalidAccessor_thenOnlyFailOnAccess() {
+        PojoLazyConfig config = BetterEnv.load(PojoLazyConfig.class);
+        InvalidEnvironmentException e = assertThrows(InvalidEnvironmentException.class, config::invalid);
+        assertEquals("Failed to load env data for type \"com.madimadica.betterenv.pojos.PojoLazyConfig\":"
+                + "\n\tField \"invalid\":"
+                + "\n\t\t\"reference_bar\": Failed to coerce type to \"int\": NumberFormatException", e.getMessage());
+        assertEquals("foo", config.s());
+    }
+
+    @Test
+    void givenAccess_thenResolveOnceAndOnlyAccessedKeys() {
+        Map<String, String> env = new HashMap<>();
+        env.put("reference_String", "first");
+        env.put("primitive_int", "7");
+        List<String> lookups = new ArrayList<>();
+        EnvSource source = key -> {
+            lookups.add(key);
+            return env.get(key);
+        };
+        PojoLazyConfig config = BetterEnv.load(PojoLazyConfig.class, source);
+        assertTrue(lookups.isEmpty());
+        assertEquals("first", config.s());
+        env.put("reference_String", "second");
+        assertEquals("first", config.s());
+        assertEquals(7, config.i());
+        assertEquals(7, config.i());
+        assertEquals(Arrays.asList("reference_String", "reference_na", "primitive_int"), lookups);
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_16)
+    void givenDefaultMethod_thenInvokeIt() {
+        assertEquals("s=foo", BetterEnv.load(PojoLazyDefaults.class).describe());
+    }
+
+    @Test
+    void givenUnannotatedMethod_thenThrow() {
+        assertThrows(InvalidEnvTypeException.class, () -> BetterEnv.load(PojoLazyUnannotated.class));
+        assertThrows(InvalidEnvTypeException.class, () -> InterfacePlan.compile(Env.class));
+    }
+
+    @Test
+    void givenRedeclaredAccessors_thenMergeOnlyIfSame() {
+        assertEquals("foo", BetterEnv.load(PojoLazyInherited.Merged.class).s());
+        assertEquals(1, InterfacePlan.compile(PojoLazyInherited.Merged.class).getFields().length);
+        for (Class<?> type : Arrays.asList(PojoLazyInherited.ConflictingKey.class, PojoLazyInherited.ConflictingType.class,
+                PojoLazyInherited.ConflictingRequired.class)) {
+            InvalidEnvTypeException e = assertThrows(InvalidEnvTypeException.class, () -> BetterEnv.load(type));
+            assertTrue(e.getMessage().contains(PojoLazyInherited.First.class.getName()), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.madimadica.betterenv;
+
+import com.madimadica.betterenv.pojos.PojoFinalNoArgs;
+import com.madimadica.betterenv.pojos.PojoLazyConfig;
+import com.madimadica.betterenv.pojos.PojoLazyUnannotated;
+import com.madimadica.betterenv.pojos.PojoMultipleTries;
+import com.madimadica.betterenv.pojos.PojoNestedCycle;
+import com.madimadica.betterenv.pojos.PojoWatchedA;
+import com.madimadica.betterenv.pojos.PojoWatchedB;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadedTypesTest {
+
+    private static Map<String, String> env() {
+        Map<String, String> env = new HashMap<>();
+        env.put("reference_String", "foo");
+        env.put("WATCH_A", "a");
+        env.put("WATCH_PORT", "80");
+        return env;
+    }
+
+    @Test
+    void givenTypes_thenLoadEach() {
+        LoadedTypes loaded = BetterEnv.loadAll(EnvSnapshot.of(env()), PojoWatchedA.class, PojoWatchedB.class, PojoMultipleTries.class, PojoWatchedA.class);
+        assertEquals(3, loaded.size());
+        assertEquals(Arrays.asList(PojoWatchedA.class, PojoWatchedB.class, PojoMultipleTries.class), Arrays.asList(loaded.getTypes().toArray()));
+        assertEquals("a", loaded.get(PojoWatchedA.class).getA());
+        assertEquals(80, loaded.get(PojoWatchedA.class).getPort());
+        assertEquals("foo", loaded.get(PojoWatchedB.class).getB());
+        assertEquals("foo", loaded.get(PojoMultipleTries.class).getS());
+        assertFalse(loaded.contains(PojoLazyConfig.class));
+        assertThrows(IllegalArgumentException.class, () -> loaded.get(PojoLazyConfig.class));
+    }
+
+    @Test
+    void givenSharedKeys_thenResolveEachOnce() {
+        Map<String, String> env = env();
+        Map<String, AtomicInteger> lookups = new ConcurrentHashMap<>();
+        EnvSource source = key -> {
+            lookups.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+            return env.get(key);
+        };
+        LoadedTypes loaded = BetterEnv.loadAll(source, PojoWatchedB.class, PojoMultipleTries.class, PojoLazyConfig.class);
+        assertEquals("foo", loaded.get(PojoLazyConfig.class).s());
+        assertTrue(lookups.containsKey("WATCH_B"));
+        assertTrue(lookups.containsKey("reference_na"));
+        for (Map.Entry<String, AtomicInteger> entry : lookups.entrySet()) {
+            assertEquals(1, entry.getValue().get(), entry.getKey());
+        }
+    }
+
+    @Test
+    void givenInvalidTypes_thenReportAllTogether() {
+        Map<String, String> env = env();
+        env.remove("WATCH_A");
+        env.remove("reference_String");
+        InvalidEnvironmentException e = assertThrows(InvalidEnvironmentException.class,
+                () -> BetterEnv.loadAll(EnvSnapshot.of(env), PojoWatchedA.class, PojoWatchedB.class, PojoLazyConfig.class));
+        assertEquals("Failed to load env data for 2 of 3 types:"
+                + "\n\tFailed to load env data for type \"com.madimadica.betterenv.pojos.PojoWatchedA\":"
+                + "\n\t\tField \"a\":"
+                + "\n\t\t\t\"WATCH_A\": Missing environment variable"
+                + "\n\tFailed to load env data for type \"com.madimadica.betterenv.pojos.PojoWatchedB\":"
+                + "\n\t\tField \"b\":"
+                + "\n\t\t\t\"WATCH_B\": Missing environment variable"
+                + "\n\t\t\t\"reference_String\": Missing environment variable", e.getMessage());
+        assertEquals(2, e.getSuppressed().length);
+    }
+
+    @Test
+    void givenInvalidType_thenThrow() {
+        assertThrows(InvalidEnvTypeException.class, () -> BetterEnv.loadAll(EnvSnapshot.of(env()), PojoWatchedA.class, PojoLazyUnannotated.class));
+    }
+
+    @Test
+    void givenMalformedTypeAndInvalidEnvironment_thenThrowTypeException() {
+        Map<String, String> env = env();
+        env.remove("WATCH_A");
+        assertThrows(InvalidEnvTypeException.class, () -> BetterEnv.loadAll(EnvSnapshot.of(env), PojoWatchedA.class, PojoFinalNoArgs.class, PojoNestedCycle.class));
+    }
+}
@@ -0,0 +1,143 @@
+package com.madimadica.betterenv;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParsersTest {
+
+    private static final List<String> CORPUS = Arrays.asList(
+            "", " ", "+", "-", "0", "-0", "+0", "00", "1", "-1", "+1", " 1", "1 ", "1_000", "1,000", "1.", ".1", ".", "1.5", "-1.5",
+            "127", "128", "-128", "-129", "32767", "32768", "-32768", "-32769",
+            "2147483647", "2147483648", "-2147483648", "-2147483649", "0002147483647",
+            "9223372036854775807", "9223372036854775808", "-9223372036854775808", "-9223372036854775809", "99999999999999999999",
+            "١٢٣", "-१", "１", "++1", "--1", "+-1", "1-", "0x10", "0X1F", "1e", "1e5", "1E-5", "1e+5", "1e+", "1.e5", ".e5",
+            "1f", "1F", "1d", "1D", "1ff", "1.5fd", "1.5e10f", "NaN", "-NaN", "+Infinity", "-Infinity", "Infinity", "infinity", "nan",
+            "NaNf", "Infinityd", " NaN ", "\t1.5\n", "\u00001.5", "0x1p3", "0x1.8p1", "-0x1.8P-1f", "0x.8p1", "0x1", "0x1.8", "0xp1", "0x.p1",
+            "0x1p", "0x1p+", "0xG1p1", "1e99999", "1e-99999", "true", "TRUE", "True", "false", "FALSE", "fAlSe", "yes", "1 0", "٠x10"
+    );
+
+    private static boolean succeeds(String s, Consumer<String> parser) {
+        try {
+            parser.accept(s);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static void assertMatchesJdk(Predicate<String> check, Consumer<String> parser) {
+        List<String> inputs = new ArrayList<>(CORPUS);
+        Random random = new Random(42);
+        char[] alphabet = "0123456789+-.eEpPxXfFdDaAN ١".toCharArray();
+        for (int i = 0; i < 20000; ++i) {
+            char[] chars = new char[1 + random.nextInt(8)];
+            for (int j = 0; j < chars.length; ++j) {
+                chars[j] = alphabet[random.nextInt(alphabet.length)];
+            }
+            inputs.add(new String(chars));
+        }
+        for (String input : inputs) {
+            assertEquals(succeeds(input, parser), check.test(input), () -> "Input \"" + input + "\"");
+        }
+    }
+
+    @Test
+    void isByte() {
+        assertMatchesJdk(Parsers::isByte, Byte::parseByte);
+    }
+
+    @Test
+    void isShort() {
+        assertMatchesJdk(Parsers::isShort, Short::parseShort);
+    }
+
+    @Test
+    void isInt() {
+        assertMatchesJdk(Parsers::isInt, Integer::parseInt);
+    }
+
+    @Test
+    void isLong() {
+        assertMatchesJdk(Parsers::isLong, Long::parseLong);
+    }
+
+    @Test
+    void isFloat() {
+        assertMatchesJdk(Parsers::isFloat, Float::parseFloat);
+    }
+
+    @Test
+    void isDouble() {
+        assertMatchesJdk(Parsers::isDouble, Double::parseDouble);
+    }
+
+    @Test
+    void parseInteger() {
+        for (String input : CORPUS) {
+            long expected = succeeds(input, Long::parseLong) ? Long.parseLong(input) : Parsers.INVALID;
+            assertEquals(expected, Parsers.parseInteger(input, 0, input.length(), Long.MIN_VALUE, Long.MAX_VALUE), () -> "Input \"" + input + "\"");
+            long expectedInt = succeeds(input, Integer::parseInt) ? Integer.parseInt(input) : Parsers.INVALID;
+            assertEquals(expectedInt, Parsers.parseInteger(input, 0, input.length(), Integer.MIN_VALUE, Integer.MAX_VALUE), () -> "Input \"" + input + "\"");
+        }
+        assertTrue(Parsers.isLong("-9223372036854775808"));
+        assertEquals(Long.MIN_VALUE, CoercerRegistry.LONG.coerceLong("-9223372036854775808"));
+        assertEquals(Long.MIN_VALUE, ((CheckedCoercer) CoercerRegistry.LONG).tryCoerce("-9223372036854775808"));
+        assertSame(CheckedCoercer.INVALID, ((CheckedCoercer) CoercerRegistry.LONG).tryCoerce("-9223372036854775809"));
+        assertThrows(NumberFormatException.class, () -> CoercerRegistry.INT.coerceInt("12ab"));
+    }
+
+    @Test
+    void parseDouble() {
+        List<String> inputs = new ArrayList<>(CORPUS);
+        Random random = new Random(42);
+        for (int i = 0; i < 20000; ++i) {
+            StringBuilder sb = new StringBuilder();
+            if (random.nextBoolean()) {
+                sb.append('-');
+            }
+            int digits = 1 + random.nextInt(18);
+            int point = random.nextInt(digits + 1);
+            for (int j = 0; j < digits; ++j) {
+                if (j == point) {
+                    sb.append('.');
+                }
+                sb.append((char) ('0' + random.nextInt(10)));
+            }
+            inputs.add(sb.toString());
+        }
+        for (String input : inputs) {
+            if (Parsers.isDouble(input)) {
+                long expected = Double.doubleToRawLongBits(Double.parseDouble(input));
+                assertEquals(expected, Double.doubleToRawLongBits(Parsers.parseDouble(input)), () -> "Input \"" + input + "\"");
+            }
+        }
+    }
+
+    @Test
+    void isBoolean() {
+        assertTrue(Parsers.isBoolean("true"));
+        assertTrue(Parsers.isBoolean("TRUE"));
+        assertTrue(Parsers.isBoolean("fAlSe"));
+        assertFalse(Parsers.isBoolean(""));
+        assertFalse(Parsers.isBoolean("yes"));
+        assertFalse(Parsers.isBoolean(" true"));
+        assertTrue(Parsers.parseBoolean("TrUe", 0, 4));
+        assertFalse(Parsers.parseBoolean("false", 0, 5));
+    }
+
+    @Test
+    void givenRange_thenOnlyRangeChecked() {
+        assertTrue(Parsers.isInteger("a=123;", 2, 5, Integer.MIN_VALUE, Integer.MAX_VALUE));
+        assertFalse(Parsers.isInteger("a=123;", 2, 6, Integer.MIN_VALUE, Integer.MAX_VALUE));
+        assertTrue(Parsers.isFloatingPoint("[1.5e3]", 1, 6));
+        assertTrue(Parsers.isBoolean("x,true,y", 2, 6));
+    }
+}
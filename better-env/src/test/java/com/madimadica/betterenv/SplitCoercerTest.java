@@ -0,0 +1,89 @@
+package com.madimadica.betterenv;
+
+import com.madimadica.betterenv.pojos.PojoCollections;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SplitCoercerTest {
+
+    private static SplitCoercer coercer(String fieldName) throws NoSuchFieldException {
+        FieldBinding binding = new FieldBinding(PojoCollections.class.getDeclaredField(fieldName), CoercerRegistry.getDefault());
+        return assertInstanceOf(SplitCoercer.class, binding.getCoercer());
+    }
+
+    @Test
+    void givenPrimitiveArrays_thenParseEachElement() throws NoSuchFieldException {
+        assertArrayEquals(new int[] {80, 443, -1}, (int[]) coercer("ports").tryCoerce("80, 443 ,-1"));
+        assertArrayEquals(new long[] {Long.MIN_VALUE, 7}, (long[]) coercer("ids").tryCoerce("-9223372036854775808,7"));
+        assertArrayEquals(new int[0], (int[]) coercer("ports").tryCoerce("  "));
+
+        SplitCoercer ports = coercer("ports");
+        assertSame(CheckedCoercer.INVALID, ports.tryCoerce("80,x,443"));
+        assertEquals("Element at index 1: NumberFormatException", ports.invalidReason("80,x,443"));
+        assertSame(CheckedCoercer.INVALID, ports.tryCoerce("80,,443"));
+        assertSame(CheckedCoercer.INVALID, ports.tryCoerce("80,443,"));
+        assertEquals("Element at index 2: NumberFormatException", ports.invalidReason("80,443,"));
+        assertSame(CheckedCoercer.INVALID, coercer("ids").tryCoerce("9223372036854775808"));
+    }
+
+    @Test
+    void givenCollections_thenUnmodifiableInOrder() throws NoSuchFieldException {
+        assertArrayEquals(new String[] {"a", "b c", ""}, (String[]) coercer("hosts").tryCoerce(" a,b c ,"));
+
+        Object levels = coercer("levels").tryCoerce("3,1,2");
+        assertEquals(Arrays.asList(3, 1, 2), levels);
+        assertThrows(UnsupportedOperationException.class, () -> ((List<?>) levels).add(null));
+        assertEquals("Element at index 0: NumberFormatException", coercer("levels").invalidReason("one"));
+
+        Object tags = coercer("tags").tryCoerce("b,a,b");
+        assertEquals(Arrays.asList("b", "a"), new ArrayList<>((Set<?>) tags));
+
+        SplitCoercer weights = coercer("weights");
+        Map<String, Double> expected = new HashMap<>();
+        expected.put("east", 0.75);
+        expected.put("west", 0.25);
+        assertEquals(expected, weights.tryCoerce("east: 0.75; west:0.25"));
+        assertEquals(Collections.emptyMap(), weights.tryCoerce(""));
+        assertEquals("Element at index 1: Expected a key and value separated by \":\"", weights.invalidReason("east:1;west"));
+        assertEquals("Element at index 0: Value: NumberFormatException", weights.invalidReason("east:heavy"));
+        assertEquals("Element at index 1: Duplicate key", weights.invalidReason("east:1;east:2"));
+    }
+
+    @Test
+    void givenUnsupportedElementType_thenUnsupported() {
+        Coercer<?> coercer = CoercerRegistry.getDefault().find(List.class, List.class, null);
+        assertFalse(coercer instanceof SplitCoercer);
+        assertThrows(IllegalArgumentException.class, () -> coercer.coerce("a"));
+    }
+
+    @Test
+    void load_collections() {
+        Map<String, String> env = new HashMap<>();
+        env.put("PORTS", "80,443");
+        env.put("IDS", "1");
+        env.put("HOSTS", "a.example,b.example");
+        env.put("LEVELS", "1,2");
+        env.put("TAGS", "x");
+        env.put("WEIGHTS", "a:1;b:2");
+        PojoCollections pojo = BetterEnv.load(PojoCollections.class, EnvSnapshot.of(env));
+        assertArrayEquals(new int[] {80, 443}, pojo.getPorts());
+        assertArrayEquals(new String[] {"a.example", "b.example"}, pojo.getHosts());
+        assertEquals(Arrays.asList(1, 2), pojo.getLevels());
+        assertEquals(2.0, pojo.getWeights().get("b"));
+
+        env.put("PORTS", "80;443");
+        InvalidEnvironmentException e = assertThrows(InvalidEnvironmentException.class, () -> BetterEnv.load(PojoCollections.class, EnvSnapshot.of(env)));
+        assertEquals("Failed to load env data for type \"" + PojoCollections.class.getName() + "\":"
+                + "\n\tField \"ports\":"
+                + "\n\t\t\"PORTS\": Failed to coerce type to \"int[]\": Element at index 0: NumberFormatException", e.getMessage());
+    }
+}
@@ -0,0 +1,47 @@
+package com.madimadica.betterenv.pojos;
+
+import com.madimadica.betterenv.Env;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class PojoCollections {
+    @Env("PORTS")
+    private int[] ports;
+    @Env("IDS")
+    private long[] ids;
+    @Env("HOSTS")
+    private String[] hosts;
+    @Env("LEVELS")
+    private List<Integer> levels;
+    @Env("TAGS")
+    private Set<String> tags;
+    @Env("WEIGHTS")
+    @Env.Delimiter(value = ";", keyValue = ":")
+    private Map<String, Double> weights;
+
+    public int[] getPorts() {
+        return ports;
+    }
+
+    public long[] getIds() {
+        return ids;
+    }
+
+    public String[] getHosts() {
+        return hosts;
+    }
+
+    public List<Integer> getLevels() {
+        return levels;
+    }
+
+    public Set<String> getTags() {
+        return tags;
+    }
+
+    public Map<String, Double> getWeights() {
+        return weights;
+    }
+}
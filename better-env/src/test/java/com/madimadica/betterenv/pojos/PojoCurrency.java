@@ -0,0 +1,18 @@
+package com.madimadica.betterenv.pojos;
+
+import com.madimadica.betterenv.Env;
+
+import java.util.Currency;
+
+public class PojoCurrency {
+    @Env("CURRENCY")
+    private final Currency currency;
+
+    public PojoCurrency(Currency currency) {
+        this.currency = currency;
+    }
+
+    public Currency getCurrency() {
+        return currency;
+    }
+}
@@ -0,0 +1,21 @@
+package com.madimadica.betterenv.pojos;
+
+import com.madimadica.betterenv.Env;
+
+import java.net.URI;
+import java.time.Duration;
+
+public class PojoCustomTypes {
+    @Env("TIMEOUT")
+    private Duration timeout;
+    @Env("ENDPOINT")
+    private URI endpoint;
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public URI getEndpoint() {
+        return endpoint;
+    }
+}
@@ -0,0 +1,12 @@
+package com.madimadica.betterenv.pojos;
+
+import com.madimadica.betterenv.Env;
+
+public class PojoFinalNoArgs {
+    @Env("reference_String")
+    private final String referenceString = null;
+
+    public String getReferenceString() {
+        return referenceString;
+    }
+}
@@ -0,0 +1,21 @@
+package com.madimadica.betterenv.pojos;
+
+import com.madimadica.betterenv.Env;
+
+public interface PojoLazyConfig {
+    @Env("reference_String")
+    String s();
+
+    @Env({"reference_na", "primitive_int"})
+    int i();
+
+    @Env("reference_bar")
+    int invalid();
+
+    @Env(value = "reference_na", required = false)
+    Integer missing();
+
+    @Env(value = "reference_na", required = false)
+    @Env.Fallback("42")
+    long fallback();
+}
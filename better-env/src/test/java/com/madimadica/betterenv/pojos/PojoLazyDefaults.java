@@ -0,0 +1,12 @@
+package com.madimadica.betterenv.pojos;
+
+import com.madimadica.betterenv.Env;
+
+public interface PojoLazyDefaults {
+    @Env("reference_String")
+    String s();
+
+    default String describe() {
+        return "s=" + s();
+    }
+}
@@ -0,0 +1,40 @@
+package com.madimadica.betterenv.pojos;
+
+import com.madimadica.betterenv.Env;
+
+public final class PojoLazyInherited {
+    private PojoLazyInherited() {}
+
+    public interface First {
+        @Env("reference_String")
+        String s();
+    }
+
+    public interface SameAsFirst {
+        @Env("reference_String")
+        String s();
+    }
+
+    public interface OtherKey {
+        @Env("reference_bar")
+        String s();
+    }
+
+    public interface OtherType {
+        @Env("reference_String")
+        CharSequence s();
+    }
+
+    public interface OptionalFirst {
+        @Env(value = "reference_String", required = false)
+        String s();
+    }
+
+    public interface Merged extends First, SameAsFirst {}
+
+    public interface ConflictingKey extends First, OtherKey {}
+
+    public interface ConflictingType extends First, OtherType {}
+
+    public interface ConflictingRequired extends First, OptionalFirst {}
+}
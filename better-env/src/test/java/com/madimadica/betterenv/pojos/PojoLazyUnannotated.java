@@ -0,0 +1,10 @@
+package com.madimadica.betterenv.pojos;
+
+import com.madimadica.betterenv.Env;
+
+public interface PojoLazyUnannotated {
+    @Env("reference_String")
+    String s();
+
+    String other();
+}
@@ -0,0 +1,24 @@
+package com.madimadica.betterenv.pojos;
+
+import com.madimadica.betterenv.Env;
+
+public class PojoNestedConfig {
+    @Env("APP_NAME")
+    private String name;
+    @Env.Nested(prefix = "PRIMARY_DB_")
+    private PojoNestedDb primary;
+    @Env.Nested(prefix = "REPLICA_DB_")
+    private PojoNestedDb replica;
+
+    public String getName() {
+        return name;
+    }
+
+    public PojoNestedDb getPrimary() {
+        return primary;
+    }
+
+    public PojoNestedDb getReplica() {
+        return replica;
+    }
+}
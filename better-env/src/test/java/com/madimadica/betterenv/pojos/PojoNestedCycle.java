@@ -0,0 +1,8 @@
+package com.madimadica.betterenv.pojos;
+
+import com.madimadica.betterenv.Env;
+
+public class PojoNestedCycle {
+    @Env.Nested(prefix = "INNER_")
+    private PojoNestedCycle inner;
+}
@@ -0,0 +1,24 @@
+package com.madimadica.betterenv.pojos;
+
+import com.madimadica.betterenv.Env;
+
+public class PojoNestedDb {
+    @Env("URL")
+    private final String url;
+    @Env(value = "PORT", required = false)
+    @Env.Fallback("5432")
+    private final int port;
+
+    public PojoNestedDb(String url, int port) {
+        this.url = url;
+        this.port = port;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public int getPort() {
+        return port;
+    }
+}
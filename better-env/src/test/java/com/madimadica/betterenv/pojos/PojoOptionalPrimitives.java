@@ -0,0 +1,34 @@
+package com.madimadica.betterenv.pojos;
+
+import com.madimadica.betterenv.Env;
+
+public final class PojoOptionalPrimitives {
+    private PojoOptionalPrimitives() {}
+
+    public static class AllArgs {
+        @Env("reference_String")
+        private final String s;
+        @Env(value = "reference_NA", required = false)
+        private final int missing;
+
+        public AllArgs(String s, int missing) {
+            this.s = s;
+            this.missing = missing;
+        }
+
+        public int getMissing() {
+            return missing;
+        }
+    }
+
+    public static class NoArgs {
+        @Env("reference_String")
+        private String s;
+        @Env(value = "reference_NA", required = false)
+        private int missing;
+
+        public int getMissing() {
+            return missing;
+        }
+    }
+}
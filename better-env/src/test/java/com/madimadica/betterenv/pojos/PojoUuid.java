@@ -0,0 +1,18 @@
+package com.madimadica.betterenv.pojos;
+
+import com.madimadica.betterenv.Env;
+
+import java.util.UUID;
+
+public class PojoUuid {
+    @Env("ID")
+    private final UUID id;
+
+    public PojoUuid(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+}
@@ -0,0 +1,23 @@
+package com.madimadica.betterenv.pojos;
+
+import com.madimadica.betterenv.Env;
+
+public class PojoWatchedA {
+    @Env("WATCH_A")
+    private final String a;
+    @Env("WATCH_PORT")
+    private final int port;
+
+    public PojoWatchedA(String a, int port) {
+        this.a = a;
+        this.port = port;
+    }
+
+    public String getA() {
+        return a;
+    }
+
+    public int getPort() {
+        return port;
+    }
+}
@@ -0,0 +1,16 @@
+package com.madimadica.betterenv.pojos;
+
+import com.madimadica.betterenv.Env;
+
+public class PojoWatchedB {
+    @Env({"WATCH_B", "reference_String"})
+    private final String b;
+
+    public PojoWatchedB(String b) {
+        this.b = b;
+    }
+
+    public String getB() {
+        return b;
+    }
+}